@@ -0,0 +1,50 @@
+package model.imageoperations.singlein;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class represents the kernels of the per sample operations written with the vector API.
+ * The shift of a plane works on bytes directly, as many of them at a time as the widest vector
+ * of the processor holds, and clamps the values which wrap around with an unsigned comparison,
+ * so every value is the same as the one of the table read.
+ * The class needs the module jdk.incubator.vector to be built and run, and is only created
+ * through reflection by the plane kernels when that module is present.
+ */
+final class VectorPlaneKernels extends PlaneKernels {
+
+  private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED;
+
+  /**
+   * The method adds a shift to the values of a plane which fill whole byte vectors, clamping the
+   * result between 0 and 255.
+   *
+   * @param plane      Array of the values of the plane, overwritten with the result.
+   * @param pixelCount Integer signifying the number of values of the plane.
+   * @param delta      Integer between -255 and 255 added to every value.
+   * @return Integer signifying the index up to which the values were shifted.
+   */
+  @Override
+  int shiftPlane(byte[] plane, int pixelCount, int delta) {
+    int vectorEnd = BYTE_SPECIES.loopBound(pixelCount);
+    byte shift = (byte) delta;
+    if (delta >= 0) {
+      byte highestUnclamped = (byte) (255 - delta);
+      for (int index = 0; index < vectorEnd; index += BYTE_SPECIES.length()) {
+        ByteVector values = ByteVector.fromArray(BYTE_SPECIES, plane, index);
+        VectorMask<Byte> clamped = values.compare(VectorOperators.UNSIGNED_GT, highestUnclamped);
+        values.add(shift).blend((byte) 255, clamped).intoArray(plane, index);
+      }
+    } else {
+      byte lowestUnclamped = (byte) -delta;
+      for (int index = 0; index < vectorEnd; index += BYTE_SPECIES.length()) {
+        ByteVector values = ByteVector.fromArray(BYTE_SPECIES, plane, index);
+        VectorMask<Byte> clamped = values.compare(VectorOperators.UNSIGNED_LT, lowestUnclamped);
+        values.add(shift).blend((byte) 0, clamped).intoArray(plane, index);
+      }
+    }
+    return vectorEnd;
+  }
+}
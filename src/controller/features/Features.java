@@ -72,6 +72,13 @@ public interface Features {
    */
   void compressImage();
 
+  /**
+   * This call back method to the controller which gives information about the user induced event.
+   * When this is called the controller knows that the user wants to filter with their own kernel.
+   * The controller then performs the necessary actions to support the request made through UI.
+   */
+  void customFilter();
+
   /**
    * This call back method to the controller which gives information about the user induced event.
    * When this is called the controller gets to know that the user wants to perform a load op.
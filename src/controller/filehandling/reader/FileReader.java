@@ -2,6 +2,10 @@ package controller.filehandling.reader;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
+
+import model.RGBImage;
+import model.RGBImageInterface;
 
 /**
  * The class represents an input reader which reads the image data from a given specified file path.
@@ -12,13 +16,30 @@ public class FileReader implements InputReaderInterface {
 
   private final String filePath;
 
+  private final int pyramidLevel;
+
   /**
    * The constructor takes the file path where data is stored in the local machine for reading data.
    *
    * @param filePath String representing the path of the file where the image data is stored.
    */
   public FileReader(String filePath) {
+    this(filePath, 0);
+  }
+
+  /**
+   * The constructor takes the file path where data is stored in the local machine and the level
+   * of the wavelet pyramid at which the image is read. Each level halves the height and the width
+   * of the image. A wavelet file is only read down to that level, without the corrections kept
+   * for the whole image, so a value may be off by one from the same level of its compressed image.
+   * An image of another format is read whole and then brought down to the level exactly.
+   *
+   * @param filePath     String representing the path of the file where the image data is stored.
+   * @param pyramidLevel Integer signifying the level of the pyramid, 0 for the whole image.
+   */
+  public FileReader(String filePath, int pyramidLevel) {
     this.filePath = filePath;
+    this.pyramidLevel = pyramidLevel;
   }
 
   private String getFileExtension(String filePath) {
@@ -41,8 +62,17 @@ public class FileReader implements InputReaderInterface {
   @Override
   public int[][][] read() throws IOException {
     String fileExtension = getFileExtension(this.filePath);
+    if (pyramidLevel != 0 || fileExtension.equals(WaveletReader.FILE_EXTENSION)) {
+      return readImage().getPixel();
+    }
+    return readPixels(fileExtension);
+  }
+
+  private int[][][] readPixels(String fileExtension) throws IOException {
     if (fileExtension.equals("ppm")) {
       return PPMReader.readFileContent(new FileInputStream(filePath));
+    } else if (fileExtension.equals(RawPlanarReader.FILE_EXTENSION)) {
+      return RawPlanarReader.readFileContent(Paths.get(filePath)).getPixel();
     } else if (fileExtension.equals("png") || fileExtension.equals("jpg") ||
             fileExtension.equals("jpeg")) {
       return ImageIOReader.readFileContent(new FileInputStream(filePath));
@@ -50,4 +80,33 @@ public class FileReader implements InputReaderInterface {
       throw new IOException("Attempt to load in unknown file type extension");
     }
   }
+
+  /**
+   * The method reads the input source and returns back the data in the form of an image.
+   * Raw planar files are memory mapped, so none of their pixels are read by this call and they
+   * are paged in from the disk when accessed. Wavelet files are rebuilt level by level while they
+   * are read. The other formats are decoded to a heap image. When a level of the wavelet pyramid
+   * was given to the reader, a smaller image at that level is given back.
+   *
+   * @return An image containing the pixel data for all the channels-red, green and blue.
+   * @throws IOException Throws exception if an error occurred while reading the passed stream path.
+   */
+  public RGBImageInterface readImage() throws IOException {
+    String fileExtension = getFileExtension(this.filePath);
+    if (fileExtension.equals(WaveletReader.FILE_EXTENSION)) {
+      try (FileInputStream in = new FileInputStream(filePath)) {
+        return WaveletReader.readFileContent(in, pyramidLevel);
+      }
+    }
+    RGBImageInterface image;
+    if (fileExtension.equals(RawPlanarReader.FILE_EXTENSION)) {
+      image = RawPlanarReader.readFileContent(Paths.get(filePath));
+    } else {
+      image = new RGBImage(readPixels(fileExtension));
+    }
+    if (pyramidLevel == 0) {
+      return image;
+    }
+    return image.compressImage(0, pyramidLevel);
+  }
 }
@@ -0,0 +1,88 @@
+package controller.filehandling.reader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class represents a reader of the kernel of a filter given by the user.
+ * The kernel is either the path of a text file or the kernel itself written inline. The rows of
+ * the kernel are separated by new lines or semicolons and the weights of a row by spaces or
+ * commas. A weight may be written as a fraction like 1/16, and the text after a hash in a line of
+ * a file is a comment. For example "-1,0,1; -2,0,2; -1,0,1" is the kernel of a vertical edge.
+ */
+public class KernelReader {
+
+  /**
+   * The method reads the kernel from the file at the path passed, or from the text itself if no
+   * such file exists.
+   *
+   * @param kernelSource String which is the path of the kernel file or the kernel written inline.
+   * @return Matrix of the weights of the kernel, row by row.
+   * @throws IOException              Throws exception if the kernel file could not be read.
+   * @throws IllegalArgumentException Throws exception if a weight is not a number or the kernel
+   *                                  has no weights.
+   */
+  public static double[][] readKernel(String kernelSource)
+          throws IOException, IllegalArgumentException {
+    if (kernelSource == null) {
+      throw new IllegalArgumentException("Kernel passed for the filter does not exists.\n");
+    }
+    String kernelText = kernelSource;
+    Path kernelPath = getKernelPath(kernelSource);
+    if (kernelPath != null) {
+      kernelText = new String(Files.readAllBytes(kernelPath), StandardCharsets.UTF_8);
+    }
+    List<double[]> kernelRows = new ArrayList<>();
+    for (String line : kernelText.split("\\R")) {
+      int commentStart = line.indexOf('#');
+      String content = commentStart < 0 ? line : line.substring(0, commentStart);
+      for (String row : content.split(";")) {
+        String trimmedRow = row.trim();
+        if (!trimmedRow.isEmpty()) {
+          kernelRows.add(parseRow(trimmedRow));
+        }
+      }
+    }
+    if (kernelRows.isEmpty()) {
+      throw new IllegalArgumentException("Kernel passed for the filter has no weights.\n");
+    }
+    return kernelRows.toArray(new double[0][]);
+  }
+
+  private static Path getKernelPath(String kernelSource) {
+    try {
+      Path kernelPath = Paths.get(kernelSource);
+      return Files.isRegularFile(kernelPath) ? kernelPath : null;
+    } catch (RuntimeException ex) {
+      return null;
+    }
+  }
+
+  private static double[] parseRow(String row) {
+    String[] weights = row.split("[\\s,]+");
+    double[] kernelRow = new double[weights.length];
+    for (int y = 0; y < weights.length; y++) {
+      kernelRow[y] = parseWeight(weights[y]);
+    }
+    return kernelRow;
+  }
+
+  private static double parseWeight(String weight) {
+    try {
+      int slash = weight.indexOf('/');
+      if (slash < 0) {
+        return Double.parseDouble(weight);
+      }
+      return Double.parseDouble(weight.substring(0, slash))
+              / Double.parseDouble(weight.substring(slash + 1));
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("Weight: " + weight + " passed in the kernel "
+              + "is not a number, check again.\n");
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package controller.filehandling.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+import enums.ColorMapping;
+import model.OffHeapRGBImage;
+import model.RGBImageInterface;
+
+/**
+ * The class represents the read functionalities for the native raw planar image format.
+ * The file has a small header followed by one plane of height * width bytes per color channel.
+ * The planes are memory mapped instead of being parsed, so loading takes the same time for any
+ * image size and the pixels are paged in from the disk only when they are read.
+ * The methods for reading the document are static so no object creation is required for func calls.
+ */
+public class RawPlanarReader {
+
+  /**
+   * The extension used by the files stored in the raw planar format.
+   */
+  public static final String FILE_EXTENSION = "rgbp";
+
+  /**
+   * The four bytes "RGBP" present at the start of every raw planar file.
+   */
+  public static final int MAGIC_NUMBER = 0x52474250;
+
+  /**
+   * The version of the raw planar format written by this application.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  /**
+   * The channel layout value which means one contiguous plane per channel in red, green, blue order.
+   */
+  public static final int PLANAR_LAYOUT = 0;
+
+  /**
+   * The size in bytes of the header: magic, version, height, width, channel count and layout.
+   */
+  public static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+  /**
+   * The static method maps the raw planar file into an image without reading any of its pixels.
+   * The mapping is read-only and stays live, so the image is only as lasting as the file it maps:
+   * writing over the file, or cutting it short, changes or breaks the pixels of the image. The
+   * file writer never writes over a file but replaces it, so saving an image, even to the path
+   * it was loaded from, leaves the images already mapped from that path as they were loaded.
+   *
+   * @param filePath Path of the raw planar file which needs to be loaded in the application.
+   * @return An image whose channel planes are backed by the mapped file.
+   * @throws IOException Throws exception if the file cannot be opened or mapped.
+   */
+  public static RGBImageInterface readFileContent(Path filePath) throws IOException {
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header) < 0) {
+          throw new InputMismatchException("Found illegal format in the "
+                  + "passed raw planar file. The input is corrupted.\n");
+        }
+      }
+      header.flip();
+      checkHeader(header);
+      int height = header.getInt(2 * Integer.BYTES);
+      int width = header.getInt(3 * Integer.BYTES);
+      long planeSize = (long) height * width;
+      if (channel.size() != HEADER_SIZE + planeSize * ColorMapping.values().length) {
+        throw new InputMismatchException("Size of the raw planar file does not "
+                + "match the dimensions present in its header.\n");
+      }
+      ByteBuffer[] channelBuffers = new ByteBuffer[ColorMapping.values().length];
+      for (int k = 0; k < channelBuffers.length; k++) {
+        channelBuffers[k] = channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + k * planeSize, planeSize);
+      }
+      return new OffHeapRGBImage(height, width, channelBuffers);
+    }
+  }
+
+  private static void checkHeader(ByteBuffer header) {
+    if (header.getInt() != MAGIC_NUMBER || header.getInt() != FORMAT_VERSION) {
+      throw new InputMismatchException("Found illegal format in the "
+              + "passed raw planar file. The input is corrupted.\n");
+    }
+    int height = header.getInt();
+    int width = header.getInt();
+    if (height <= 0 || width <= 0 || (long) height * width > Integer.MAX_VALUE) {
+      throw new InputMismatchException("Dimensions present in the raw planar "
+              + "file are not supported: " + height + " x " + width + "\n");
+    }
+    if (header.getInt() != ColorMapping.values().length || header.getInt() != PLANAR_LAYOUT) {
+      throw new InputMismatchException("Channel layout of the raw planar "
+              + "file is not supported by the application.\n");
+    }
+  }
+}
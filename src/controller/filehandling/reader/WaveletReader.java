@@ -0,0 +1,263 @@
+package controller.filehandling.reader;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.InputMismatchException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.Compression;
+import model.imageoperations.singlein.HaarWavelet;
+import model.imageoperations.singlein.WaveletPyramid;
+
+/**
+ * The class represents the read functionalities for the native wavelet image format.
+ * The file has a small header followed by the deflated haar wavelet coefficients kept by the
+ * compression, rounded to a fixed number of binary places. The coefficients are stored part by
+ * part from the coarsest level down, the parts of all the channels one after the other, and each
+ * part as runs of zeros each followed by a value. The level of a part is undone as soon as the
+ * part has been read, so the image is rebuilt while the file is still being read. The file ends
+ * with the few corrections which make the rounded coefficients give back exactly the pixels of
+ * the compressed image. A smaller image at a level of the wavelet pyramid is read off the parts of
+ * the coarser levels only, so a thumbnail or preview reads no more than the start of the file.
+ * The corrections only fit the whole image and lie at the end of the file, so such an image is
+ * rebuilt from the rounded coefficients alone, and a few of its values may be one more or one
+ * less than those of the same level of the compressed image.
+ * A header whose image would not fit in the memory of the application is rejected before any of
+ * the planes are allocated.
+ * The methods for reading the document are static so no object creation is required for func calls.
+ */
+public class WaveletReader {
+
+  /**
+   * The extension used by the files stored in the wavelet format.
+   */
+  public static final String FILE_EXTENSION = "rgbw";
+
+  /**
+   * The four bytes "RGBW" present at the start of every wavelet file.
+   */
+  public static final int MAGIC_NUMBER = 0x52474257;
+
+  /**
+   * The version of the wavelet format written by this application.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  /**
+   * The number of binary places the coefficients are rounded to by this application.
+   */
+  public static final int QUANTIZATION_BITS = 6;
+
+  /**
+   * The size in bytes of the header: magic, version, height, width, channel count and the number
+   * of binary places of the coefficients.
+   */
+  public static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+  private static final int MAX_QUANTIZATION_BITS = 30;
+
+  private static final int MAX_DIMENSION = 1 << 30;
+
+  private static final int MAX_PADDED_LENGTH = Integer.MAX_VALUE - 8;
+
+  /**
+   * The static method reads the wavelet file from the input stream and rebuilds its image.
+   *
+   * @param in Input stream of the wavelet file which needs to be loaded in the application.
+   * @return An image containing the pixel data for all the channels-red, green and blue.
+   * @throws IOException Throws exception if the stream cannot be read.
+   */
+  public static RGBImageInterface readFileContent(InputStream in) throws IOException {
+    return readFileContent(in, 0);
+  }
+
+  /**
+   * The static method reads the wavelet file from the input stream and rebuilds its image at the
+   * level of the wavelet pyramid passed. Only the parts of the coefficients down to that level are
+   * read, and the rest of the stream is left unread. The corrections at the end of the stream are
+   * only read for the whole image, so at any other level a value may be off by one from the same
+   * level of the compressed image.
+   *
+   * @param in    Input stream of the wavelet file which needs to be loaded in the application.
+   * @param level Integer signifying the level of the pyramid, each one halving the height and the
+   *              width, 0 for the whole image.
+   * @return An image containing the pixel data for all the channels-red, green and blue.
+   * @throws IOException              Throws exception if the stream cannot be read.
+   * @throws IllegalArgumentException Throws exception if the level is not within the pyramid of
+   *                                  the image.
+   */
+  public static RGBImageInterface readFileContent(InputStream in, int level)
+          throws IOException, IllegalArgumentException {
+    int[] header = readHeader(in);
+    int height = header[0];
+    int width = header[1];
+    int quantizationBits = header[2];
+    int rows = Compression.getNearest2Power(height);
+    int cols = Compression.getNearest2Power(width);
+    int levelCount = Integer.numberOfTrailingZeros(Math.max(rows, cols)) + 1;
+    if (level < 0 || level >= levelCount) {
+      throw new IllegalArgumentException("Level: " + level + " passed for the wavelet "
+              + "file is not within its " + levelCount + " levels.\n");
+    }
+    int lastStride = 1 << level;
+    int topStride = HaarWavelet.getTopStride(rows, cols);
+    double scale = 1L << quantizationBits;
+    Inflater inflater = new Inflater();
+    InputStream body = new BufferedInputStream(new InflaterInputStream(in, inflater), 1 << 16);
+    try {
+      double[][] planes = new double[ColorMapping.values().length][rows * cols];
+      for (int stride = topStride; stride >= Math.min(lastStride, topStride); stride /= 2) {
+        for (double[] plane : planes) {
+          RunReader runReader = new RunReader(body);
+          for (int i = 0; i < rows; i++) {
+            int partEnd = HaarWavelet.getPartEnd(rows, cols, stride, i);
+            for (int j = HaarWavelet.getPartStart(rows, cols, stride, i); j < partEnd; j++) {
+              plane[i * cols + j] = runReader.next() / scale;
+            }
+          }
+        }
+        if (stride >= lastStride && stride < Math.max(rows, cols)) {
+          for (double[] plane : planes) {
+            HaarWavelet.inverseLevel(plane, rows, cols, stride);
+          }
+        }
+      }
+      PixelBuffer imageBuffer = new PixelBuffer();
+      if (level > 0) {
+        imageBuffer.resize(WaveletPyramid.getApproximationLength(height, rows, lastStride),
+                WaveletPyramid.getApproximationLength(width, cols, lastStride));
+        for (int k = 0; k < planes.length; k++) {
+          WaveletPyramid.copyApproximationToChannel(planes[k], rows, cols, lastStride,
+                  imageBuffer.getChannelPlane(k), height, width);
+        }
+        return imageBuffer.toImage();
+      }
+      imageBuffer.resize(height, width);
+      for (int k = 0; k < planes.length; k++) {
+        byte[] channel = imageBuffer.getChannelPlane(k);
+        Compression.copyPlaneToChannel(planes[k], cols, channel, height, width);
+        planes[k] = null;
+        RunReader runReader = new RunReader(body);
+        for (int n = 0; n < channel.length; n++) {
+          long value = (channel[n] & 255) + runReader.next();
+          if (value < 0 || value > 255) {
+            throw new InputMismatchException("Found illegal format in the "
+                    + "passed wavelet file. The input is corrupted.\n");
+          }
+          channel[n] = (byte) value;
+        }
+      }
+      return imageBuffer.toImage();
+    } catch (EOFException | ZipException e) {
+      throw new InputMismatchException("Found illegal format in the "
+              + "passed wavelet file. The input is corrupted.\n");
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * The static method reads only the header of the wavelet file from the input stream, to get the
+   * size of its image without rebuilding it.
+   *
+   * @param in Input stream of the wavelet file whose size is needed.
+   * @return Array of two integers, the height and the width of the image in the file.
+   * @throws IOException Throws exception if the stream cannot be read.
+   */
+  public static int[] readDimensions(InputStream in) throws IOException {
+    int[] header = readHeader(in);
+    return new int[]{header[0], header[1]};
+  }
+
+  private static int[] readHeader(InputStream in) throws IOException {
+    DataInputStream header = new DataInputStream(in);
+    try {
+      if (header.readInt() != MAGIC_NUMBER || header.readInt() != FORMAT_VERSION) {
+        throw new InputMismatchException("Found illegal format in the "
+                + "passed wavelet file. The input is corrupted.\n");
+      }
+      int height = header.readInt();
+      int width = header.readInt();
+      int channelCount = header.readInt();
+      int quantizationBits = header.readInt();
+      checkHeader(height, width, channelCount, quantizationBits);
+      return new int[]{height, width, quantizationBits};
+    } catch (EOFException e) {
+      throw new InputMismatchException("Found illegal format in the "
+              + "passed wavelet file. The input is corrupted.\n");
+    }
+  }
+
+  private static void checkHeader(int height, int width, int channelCount,
+                                  int quantizationBits) {
+    if (height <= 0 || width <= 0 || height > MAX_DIMENSION || width > MAX_DIMENSION) {
+      throw new InputMismatchException("Dimensions present in the wavelet "
+              + "file are not supported: " + height + " x " + width + "\n");
+    }
+    long paddedLength = (long) Compression.getNearest2Power(height)
+            * Compression.getNearest2Power(width);
+    long neededBytes = ColorMapping.values().length
+            * (paddedLength * Double.BYTES + (long) height * width);
+    if (paddedLength > MAX_PADDED_LENGTH || neededBytes > Runtime.getRuntime().maxMemory()) {
+      throw new InputMismatchException("Dimensions present in the wavelet "
+              + "file are too large to be loaded: " + height + " x " + width + "\n");
+    }
+    if (channelCount != ColorMapping.values().length || quantizationBits < 0
+            || quantizationBits > MAX_QUANTIZATION_BITS) {
+      throw new InputMismatchException("Channel layout of the wavelet "
+              + "file is not supported by the application.\n");
+    }
+  }
+
+  /**
+   * This class represents the reading of the values of a part stored as runs of zeros, each
+   * followed by a value, as unsigned variable length numbers.
+   */
+  private static final class RunReader {
+
+    private final InputStream body;
+
+    private long zerosLeft = -1;
+
+    private RunReader(InputStream body) {
+      this.body = body;
+    }
+
+    private long next() throws IOException {
+      if (zerosLeft < 0) {
+        zerosLeft = readNumber();
+      }
+      if (zerosLeft > 0) {
+        zerosLeft--;
+        return 0;
+      }
+      zerosLeft = -1;
+      long number = readNumber();
+      return (number >>> 1) ^ -(number & 1);
+    }
+
+    private long readNumber() throws IOException {
+      long number = 0;
+      for (int shift = 0; shift < Long.SIZE; shift += 7) {
+        int next = body.read();
+        if (next < 0) {
+          throw new EOFException();
+        }
+        number |= (long) (next & 0x7f) << shift;
+        if ((next & 0x80) == 0) {
+          return number;
+        }
+      }
+      throw new InputMismatchException("Found illegal format in the "
+              + "passed wavelet file. The input is corrupted.\n");
+    }
+  }
+}
@@ -1,8 +1,19 @@
 package controller.filehandling.writer;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
 
+import controller.filehandling.reader.RawPlanarReader;
+import controller.filehandling.reader.WaveletReader;
 import model.RGBImageInterface;
 
 /**
@@ -14,13 +25,30 @@ public class FileWriter implements OutputWriterInterface {
 
   private final String saveFilePath;
 
+  private final double compressionPercentage;
+
   /**
    * The constructor takes the file path where data is to be stored in the local machine.
    *
    * @param saveFilePath String representing the path of file where the image data is to be stored.
    */
   public FileWriter(String saveFilePath) {
+    this(saveFilePath, 0);
+  }
+
+  /**
+   * The constructor takes the file path where data is to be stored in the local machine and the
+   * percentage by which the image is compressed before it is stored. The wavelet format keeps
+   * only the coefficients left by the compression, so its files shrink as the percentage grows.
+   *
+   * @param saveFilePath          String representing the path of file where the image data is to
+   *                              be stored.
+   * @param compressionPercentage Double representing the ratio by which the image is compressed,
+   *                              0 to store the image as it is.
+   */
+  public FileWriter(String saveFilePath, double compressionPercentage) {
     this.saveFilePath = saveFilePath;
+    this.compressionPercentage = compressionPercentage;
   }
 
   private String getFileExtension(String filePath) {
@@ -35,6 +63,12 @@ public class FileWriter implements OutputWriterInterface {
   /**
    * The methods represent the saving operation of the image.
    * An image can be saved to a specified file path in different formats like .ppm, .png, .jpg.
+   * The image is compressed first when a compression percentage was given to the writer.
+   * The image is written to a temporary file next to the path, which then replaces the file at
+   * the path in one step. A file already at the path is never written over, so an image loaded
+   * from it, like a mapped raw planar image, keeps its pixels even when saved back to its path.
+   * A new file gets the permissions of the umask, and a replaced file keeps its permissions and,
+   * where the user is allowed to keep them, its owner and group.
    * This can be done from controller as IO operations should be handled by the controller of MVC.
    * The old and new image both are retained in the memory.
    *
@@ -44,12 +78,68 @@ public class FileWriter implements OutputWriterInterface {
   @Override
   public void write(RGBImageInterface image) throws IOException {
     String extension = getFileExtension(saveFilePath);
-    if (extension.equals("ppm")) {
-      PPMWriter.writeToStorageDisk(image, new FileOutputStream(saveFilePath));
-    } else if (extension.equals("png") || extension.equals("jpg") || extension.equals("jpeg")) {
-      ImageIOWriter.writeToStorageDisk(image, new FileOutputStream(saveFilePath), extension);
-    } else {
+    if (!extension.equals(WaveletReader.FILE_EXTENSION) && !extension.equals("ppm")
+            && !extension.equals(RawPlanarReader.FILE_EXTENSION) && !extension.equals("png")
+            && !extension.equals("jpg") && !extension.equals("jpeg")) {
       throw new IOException("Attempt to save in unknown file type extension");
     }
+    if (compressionPercentage != 0 && !extension.equals(WaveletReader.FILE_EXTENSION)) {
+      image = image.compressImage(compressionPercentage);
+    }
+    Path savePath = Paths.get(saveFilePath).toAbsolutePath();
+    Path tempPath = null;
+    try {
+      OutputStream out = null;
+      while (out == null) {
+        tempPath = savePath.resolveSibling("." + savePath.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+          out = Files.newOutputStream(tempPath, StandardOpenOption.CREATE_NEW,
+                  StandardOpenOption.WRITE);
+        } catch (FileAlreadyExistsException e) {
+          tempPath = null;
+        }
+      }
+      try (OutputStream tempOut = out) {
+        writeToStream(image, tempOut, extension);
+      }
+      copyAttributes(savePath, tempPath);
+      Files.move(tempPath, savePath, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      if (tempPath != null) {
+        Files.deleteIfExists(tempPath);
+      }
+    }
+  }
+
+  private static void copyAttributes(Path savePath, Path tempPath) throws IOException {
+    if (!Files.exists(savePath)
+            || !Files.getFileStore(tempPath).supportsFileAttributeView("posix")) {
+      return;
+    }
+    PosixFileAttributes attributes = Files.readAttributes(savePath, PosixFileAttributes.class);
+    Files.setPosixFilePermissions(tempPath, attributes.permissions());
+    try {
+      PosixFileAttributeView tempView = Files.getFileAttributeView(tempPath,
+              PosixFileAttributeView.class);
+      tempView.setGroup(attributes.group());
+      tempView.setOwner(attributes.owner());
+    } catch (IOException e) {
+      // only a privileged user can give the file to another owner, it then stays with the saver
+    }
+  }
+
+  private void writeToStream(RGBImageInterface image, OutputStream out, String extension)
+          throws IOException {
+    if (extension.equals(WaveletReader.FILE_EXTENSION)) {
+      WaveletWriter.writeToStorageDisk(image, out, compressionPercentage);
+    } else if (extension.equals("ppm")) {
+      PPMWriter.writeToStorageDisk(image, out);
+    } else if (extension.equals(RawPlanarReader.FILE_EXTENSION)) {
+      RawPlanarWriter.writeToStorageDisk(image, out);
+    } else {
+      ImageIOWriter.writeToStorageDisk(image, out, extension);
+    }
   }
 }
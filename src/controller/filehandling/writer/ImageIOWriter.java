@@ -8,6 +8,7 @@ import java.util.InputMismatchException;
 import javax.imageio.ImageIO;
 
 import enums.ColorMapping;
+import model.PixelView;
 import model.RGBImageInterface;
 
 /**
@@ -29,9 +30,9 @@ public class ImageIOWriter {
   public static void writeToStorageDisk(RGBImageInterface image,
                                         OutputStream out,
                                         String fileExtension) throws IOException {
-    checkDimensionMatrix(image.getPixel());
-    BufferedImage imageSavingElement = getBufferedImage(image.getImageWidth(),
-            image.getImageHeight(), image.getPixel());
+    PixelView pixelView = image.getTransientPixelView();
+    checkDimensionView(pixelView);
+    BufferedImage imageSavingElement = getBufferedImage(pixelView);
     try {
       ImageIO.write(imageSavingElement, fileExtension, out);
     } catch (IOException e) {
@@ -40,22 +41,10 @@ public class ImageIOWriter {
     }
   }
 
-  private static void checkDimensionMatrix(int[][][] mat) {
-    if (mat.length == 0 || mat[0].length == 0) {
+  private static void checkDimensionView(PixelView pixelView) {
+    if (pixelView.getImageHeight() == 0 || pixelView.getImageWidth() == 0) {
       throw new InputMismatchException("The dimension of all the pixel arrays are not same\n");
     }
-    int height = mat.length;
-    int width = mat[0].length;
-    for (int i = 0; i < height; i++) {
-      if (mat[i].length != width) {
-        throw new InputMismatchException("The dimension of all the pixel arrays are not same\n");
-      }
-      for (int j = 0; j < width; j++) {
-        if (mat[i][j].length != ColorMapping.values().length) {
-          throw new InputMismatchException("The dimension of all the pixel arrays are not same\n");
-        }
-      }
-    }
   }
 
   /**
@@ -82,4 +71,29 @@ public class ImageIOWriter {
     }
     return imageSavingElement;
   }
+
+  /**
+   * Method takes a read-only view of the image and returns a new object accessible by buffer class.
+   * The pixel values are read straight from the view so the image matrix is never copied for it.
+   *
+   * @param pixelView Read-only view of the rgb image which needs to be converted.
+   * @return An object of Buffered Image class that can be accessed by different awt components.
+   */
+  public static BufferedImage getBufferedImage(PixelView pixelView) {
+    int width = pixelView.getImageWidth();
+    int height = pixelView.getImageHeight();
+    BufferedImage imageSavingElement = new BufferedImage(width,
+            height, BufferedImage.TYPE_3BYTE_BGR);
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int index = i * width + j;
+        int redPixelValue = pixelView.getChannelValue(ColorMapping.red.ordinal(), index);
+        int greenPixelValue = pixelView.getChannelValue(ColorMapping.green.ordinal(), index);
+        int bluePixelValue = pixelView.getChannelValue(ColorMapping.blue.ordinal(), index);
+        int rgbPixel = (redPixelValue << 16 | greenPixelValue << 8 | bluePixelValue);
+        imageSavingElement.setRGB(j, i, rgbPixel);
+      }
+    }
+    return imageSavingElement;
+  }
 }
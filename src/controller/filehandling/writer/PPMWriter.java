@@ -4,6 +4,7 @@ package controller.filehandling.writer;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import model.PixelView;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
@@ -24,8 +25,7 @@ public class PPMWriter {
    */
   public static void writeToStorageDisk(RGBImageInterface image,
                                         OutputStream out) throws IOException {
-    StringBuilder ppmImageData = convertImageMatrixToString(image.getImageHeight(),
-            image.getImageWidth(), image.getPixel());
+    StringBuilder ppmImageData = convertImageViewToString(image.getTransientPixelView());
     try {
       out.write(new String(ppmImageData).getBytes());
     } catch (IOException e) {
@@ -59,4 +59,24 @@ public class PPMWriter {
     return s;
   }
 
+  /**
+   * The method takes a read-only view of the image and returns a PPM file string of the data.
+   * The pixel values are read straight from the view so no intermediate matrix is created for it.
+   *
+   * @param pixelView Read-only view of the image whose pixels are converted to the PPM string.
+   * @return StringBuilder which contains PPM file image data as a string containing headers.
+   */
+  public static StringBuilder convertImageViewToString(PixelView pixelView) {
+    int imageHeight = pixelView.getImageHeight();
+    int imageWidth = pixelView.getImageWidth();
+    StringBuilder s = new StringBuilder();
+    s.append("P3 ").append(imageWidth).append(" ").append(imageHeight).append("\n255\n");
+    for (int index = 0; index < imageHeight * imageWidth; index++) {
+      for (int k = 0; k < ColorMapping.values().length; k++) {
+        s.append(" ").append(pixelView.getChannelValue(k, index)).append(" ");
+      }
+    }
+    return s;
+  }
+
 }
@@ -0,0 +1,61 @@
+package controller.filehandling.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.InputMismatchException;
+
+import controller.filehandling.reader.RawPlanarReader;
+import enums.ColorMapping;
+import model.PixelView;
+import model.RGBImageInterface;
+
+/**
+ * The class represents the write functionalities for the native raw planar image format.
+ * The header and the channel planes are written as it is, without any encoding of the pixels,
+ * so the file can later be memory mapped by the raw planar reader.
+ * The methods for writing the document are static so no object creation is required for func calls.
+ */
+public class RawPlanarWriter {
+
+  /**
+   * The static methods performs the write operation to write the image to a specified OutputStream.
+   * The method also throws exception if the info could not be written to the specified file path.
+   *
+   * @param image RGB Image whose data needs to be saved to a particular Output stream path.
+   * @param out   Output stream where the data of the image is transferred in the raw format.
+   * @throws IOException Throws exception if the image data cannot be written to the output stream.
+   */
+  public static void writeToStorageDisk(RGBImageInterface image,
+                                        OutputStream out) throws IOException {
+    PixelView pixelView = image.getTransientPixelView();
+    int height = pixelView.getImageHeight();
+    int width = pixelView.getImageWidth();
+    if (height == 0 || width == 0) {
+      throw new InputMismatchException("The dimension of all the pixel arrays are not same\n");
+    }
+    try {
+      DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+      data.writeInt(RawPlanarReader.MAGIC_NUMBER);
+      data.writeInt(RawPlanarReader.FORMAT_VERSION);
+      data.writeInt(height);
+      data.writeInt(width);
+      data.writeInt(ColorMapping.values().length);
+      data.writeInt(RawPlanarReader.PLANAR_LAYOUT);
+      byte[] rowValues = new byte[width];
+      for (int k = 0; k < ColorMapping.values().length; k++) {
+        for (int i = 0; i < height; i++) {
+          for (int j = 0; j < width; j++) {
+            rowValues[j] = (byte) pixelView.getChannelValue(k, i * width + j);
+          }
+          data.write(rowValues);
+        }
+      }
+      data.flush();
+    } catch (IOException e) {
+      throw new IOException("Unable to save the image to the particular "
+              + "outStream passed to the raw planar writer.\n");
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package controller.filehandling.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.InputMismatchException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import controller.filehandling.reader.WaveletReader;
+import model.PixelView;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.Compression;
+import model.imageoperations.singlein.HaarWavelet;
+
+/**
+ * The class represents the write functionalities for the native wavelet image format.
+ * The image is compressed by the percentage passed and only the haar wavelet coefficients kept by
+ * the compression are written, so the file shrinks as the percentage grows. The coefficients are
+ * rounded to a fixed number of binary places and written part by part from the coarsest level
+ * down, as runs of zeros each followed by a value, and the whole is deflated. The pixels rebuilt
+ * from the rounded coefficients are compared with the pixels of the compressed image and the few
+ * which differ are written at the end, so the file gives back exactly the compressed image.
+ * The methods for writing the document are static so no object creation is required for func calls.
+ */
+public class WaveletWriter {
+
+  /**
+   * The static methods performs the write operation to write the image to a specified OutputStream.
+   * The method also throws exception if the info could not be written to the specified file path.
+   *
+   * @param image                 RGB Image whose data needs to be saved to a particular Output
+   *                              stream path.
+   * @param out                   Output stream where the data of the image is transferred in the
+   *                              wavelet format.
+   * @param compressionPercentage Double representing the ratio by which the image is compressed
+   *                              before it is written, 0 to keep all the coefficients.
+   * @throws IOException              Throws exception if the image data cannot be written to the
+   *                                  output stream.
+   * @throws IllegalArgumentException Throws exception if the percentage is not between 0 and 100.
+   */
+  public static void writeToStorageDisk(RGBImageInterface image, OutputStream out,
+                                        double compressionPercentage)
+          throws IOException, IllegalArgumentException {
+    PixelView pixelView = image.getTransientPixelView();
+    int height = pixelView.getImageHeight();
+    int width = pixelView.getImageWidth();
+    if (height == 0 || width == 0) {
+      throw new InputMismatchException("The dimension of all the pixel arrays are not same\n");
+    }
+    double[][] coefficients = new Compression(compressionPercentage, false)
+            .getCoefficients(image);
+    int rows = Compression.getNearest2Power(height);
+    int cols = Compression.getNearest2Power(width);
+    double scale = 1L << WaveletReader.QUANTIZATION_BITS;
+    Deflater deflater = null;
+    try {
+      DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(WaveletReader.MAGIC_NUMBER);
+      header.writeInt(WaveletReader.FORMAT_VERSION);
+      header.writeInt(height);
+      header.writeInt(width);
+      header.writeInt(coefficients.length);
+      header.writeInt(WaveletReader.QUANTIZATION_BITS);
+      header.flush();
+      deflater = new Deflater();
+      DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, 1 << 16);
+      OutputStream body = new BufferedOutputStream(deflated, 1 << 16);
+      for (int stride = HaarWavelet.getTopStride(rows, cols); stride >= 1; stride /= 2) {
+        for (double[] plane : coefficients) {
+          RunWriter runWriter = new RunWriter(body);
+          for (int i = 0; i < rows; i++) {
+            int partEnd = HaarWavelet.getPartEnd(rows, cols, stride, i);
+            for (int j = HaarWavelet.getPartStart(rows, cols, stride, i); j < partEnd; j++) {
+              runWriter.add(Math.round(plane[i * cols + j] * scale));
+            }
+          }
+          runWriter.finish();
+        }
+      }
+      double[] roundedPlane = new double[rows * cols];
+      byte[] rebuiltChannel = new byte[height * width];
+      byte[] compressedChannel = new byte[height * width];
+      for (double[] plane : coefficients) {
+        for (int n = 0; n < plane.length; n++) {
+          roundedPlane[n] = Math.round(plane[n] * scale) / scale;
+        }
+        HaarWavelet.inverse(roundedPlane, rows, cols);
+        Compression.copyPlaneToChannel(roundedPlane, cols, rebuiltChannel, height, width);
+        HaarWavelet.inverse(plane, rows, cols);
+        Compression.copyPlaneToChannel(plane, cols, compressedChannel, height, width);
+        RunWriter runWriter = new RunWriter(body);
+        for (int n = 0; n < compressedChannel.length; n++) {
+          runWriter.add((compressedChannel[n] & 255) - (rebuiltChannel[n] & 255));
+        }
+        runWriter.finish();
+      }
+      body.flush();
+      deflated.finish();
+      out.flush();
+    } catch (IOException e) {
+      throw new IOException("Unable to save the image to the particular "
+              + "outStream passed to the wavelet writer.\n");
+    } finally {
+      if (deflater != null) {
+        deflater.end();
+      }
+    }
+  }
+
+  /**
+   * The static method finds the smallest percentage by which the image can be compressed while
+   * its wavelet file takes no more bytes than the target. The percentage is found by a binary
+   * search to within the precision of the compression, taking the file to shrink as the
+   * percentage grows. The files are only counted, not kept, and the image is only transformed
+   * for the first of them.
+   *
+   * @param image       RGB Image which is to be saved in the wavelet format.
+   * @param targetBytes Long signifying the largest number of bytes allowed for the file.
+   * @return Double signifying the percentage of compression, 100 if no compression meets the
+   *         target.
+   * @throws IOException Throws exception if the image data cannot be written.
+   */
+  public static double findPercentageForSize(RGBImageInterface image, long targetBytes)
+          throws IOException {
+    if (getFileSize(image, 0) <= targetBytes) {
+      return 0;
+    }
+    double low = 0;
+    double high = 100;
+    while (high - low > Compression.PERCENTAGE_PRECISION) {
+      double middle = (low + high) / 2;
+      if (getFileSize(image, middle) <= targetBytes) {
+        high = middle;
+      } else {
+        low = middle;
+      }
+    }
+    return high;
+  }
+
+  private static long getFileSize(RGBImageInterface image, double compressionPercentage)
+          throws IOException {
+    ByteCounter byteCounter = new ByteCounter();
+    writeToStorageDisk(image, byteCounter, compressionPercentage);
+    return byteCounter.byteCount;
+  }
+
+  /**
+   * This class represents an output stream which only counts the bytes written to it.
+   */
+  private static final class ByteCounter extends OutputStream {
+
+    private long byteCount;
+
+    @Override
+    public void write(int b) {
+      byteCount++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      byteCount += len;
+    }
+  }
+
+  /**
+   * This class represents the writing of the values of a part as runs of zeros, each followed by
+   * a value, as unsigned variable length numbers.
+   */
+  private static final class RunWriter {
+
+    private final OutputStream body;
+
+    private long zeroCount;
+
+    private RunWriter(OutputStream body) {
+      this.body = body;
+    }
+
+    private void add(long value) throws IOException {
+      if (value == 0) {
+        zeroCount++;
+        return;
+      }
+      writeNumber(zeroCount);
+      writeNumber((value << 1) ^ (value >> 63));
+      zeroCount = 0;
+    }
+
+    private void finish() throws IOException {
+      if (zeroCount > 0) {
+        writeNumber(zeroCount);
+      }
+    }
+
+    private void writeNumber(long number) throws IOException {
+      long rest = number;
+      while ((rest & ~0x7fL) != 0) {
+        body.write((int) ((rest & 0x7f) | 0x80));
+        rest >>>= 7;
+      }
+      body.write((int) rest);
+    }
+  }
+}
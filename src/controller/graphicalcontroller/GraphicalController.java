@@ -1,21 +1,28 @@
 package controller.graphicalcontroller;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.InputMismatchException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JFrame;
+import javax.swing.SwingWorker;
 
 import controller.RGBImageControllerInterface;
 import controller.features.FeatureImpl;
 import controller.features.Features;
 import controller.filehandling.reader.FileReader;
-import controller.filehandling.reader.InputReaderInterface;
+import controller.filehandling.reader.KernelReader;
+import controller.filehandling.reader.WaveletReader;
 import controller.filehandling.writer.FileWriter;
 import controller.filehandling.writer.ImageIOWriter;
 import controller.filehandling.writer.OutputWriterInterface;
 import enums.LevelAdjustment;
 import enums.UpdateType;
+import model.AbstractRGBImage;
 import model.RGBImageInterface;
 import view.IView;
 import view.dialogmenus.multiipdialog.GreyScaleDialog;
@@ -28,10 +35,19 @@ import view.dialogmenus.multiipdialog.LevelAdjustDialog;
  * The GUI controller can perform several actions like display image and histogram on the display.
  * It can handle several image operations like blur, sepia, etc. along with split preview options.
  * The controller is the one which interacts with the external env so it performs load and save op.
+ * A wavelet file is first shown at a coarse level of its pyramid, read off the start of the file
+ * and scaled to the size of the image, and the whole image replaces it once it has been read in
+ * the background. The operations are disabled until then, and the image shown before is put back
+ * if the file cannot be read.
+ * The images are never changed once made, so loading, applying or cancelling an operation hands
+ * the image itself over between the preview and the live image instead of copying its pixels, and
+ * the screen is drawn from a view of the image. The image left behind is closed.
  */
 public class GraphicalController implements GraphicalControllerInterface,
         RGBImageControllerInterface {
 
+  private static final int PREVIEW_LEVEL = 3;
+
   private RGBImageInterface liveImageModel;
 
   private RGBImageInterface currentPreviewImage;
@@ -69,20 +85,19 @@ public class GraphicalController implements GraphicalControllerInterface,
     try {
       String filePath = view.getInputFilePath();
       checkNullFilePath(filePath);
-      InputReaderInterface fileReader = new FileReader(filePath);
-      this.currentPreviewImage.checkAndAssignValues(fileReader.read());
+      if (filePath.endsWith("." + WaveletReader.FILE_EXTENSION)) {
+        loadWaveletImage(filePath);
+        return;
+      }
+      replacePreviewImage(new FileReader(filePath).readImage());
     } catch (IllegalArgumentException ex) {
       view.setPopupMessage(ex.getMessage());
       return;
-    } catch (IOException ex) {
+    } catch (IOException | InputMismatchException ex) {
       view.setErrorMessage("Wrong or illegal value passed to the file load operation.");
       return;
     }
-    messageForUnsavedImage();
-    isSaved = false;
-    updateLiveImage(UpdateType.NEW.ordinal());
-    refreshImageOnScreen(this.currentPreviewImage);
-    view.setPopupMessage("Image Preview Loaded");
+    showLoadedImage();
   }
 
   /**
@@ -129,8 +144,9 @@ public class GraphicalController implements GraphicalControllerInterface,
               "The preview % of image on which change in sharpness operation is visible");
       RGBImageInterface displayImage = this.liveImageModel.changeSharpness(kernelMap,
               splitPercentage);
-      currentPreviewImage = this.liveImageModel.changeSharpness(kernelMap, 100);
+      replacePreviewImage(this.liveImageModel.changeSharpness(kernelMap, 100));
       refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
     } catch (Exception ex) {
@@ -156,9 +172,10 @@ public class GraphicalController implements GraphicalControllerInterface,
       int greyScaleValueMap = greyScaleValues.get(1);
       RGBImageInterface displayImage = this.liveImageModel.greyScaleImage(greyScaleValueMap,
               splitPercentage);
-      currentPreviewImage = this.liveImageModel.greyScaleImage(greyScaleValueMap,
-              100);
+      replacePreviewImage(this.liveImageModel.greyScaleImage(greyScaleValueMap,
+              100));
       refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
     } catch (Exception ex) {
@@ -181,8 +198,9 @@ public class GraphicalController implements GraphicalControllerInterface,
                       + "Preview Option",
               "The preview % of image on which change in sepia operation is visible");
       RGBImageInterface displayImage = this.liveImageModel.sepiaImage(splitPercentage);
-      currentPreviewImage = this.liveImageModel.sepiaImage(100);
+      replacePreviewImage(this.liveImageModel.sepiaImage(100));
       refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
     } catch (Exception ex) {
@@ -205,8 +223,9 @@ public class GraphicalController implements GraphicalControllerInterface,
                       + "Correction Split",
               "The preview % of image on which Color Correction operation is visible");
       RGBImageInterface displayImage = this.liveImageModel.colorCorrectionImage(splitPercentage);
-      currentPreviewImage = this.liveImageModel.colorCorrectionImage(100);
+      replacePreviewImage(this.liveImageModel.colorCorrectionImage(100));
       refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
     } catch (Exception ex) {
@@ -233,9 +252,10 @@ public class GraphicalController implements GraphicalControllerInterface,
       int splitPercentage = levelAdjustmentValues.get(0);
       RGBImageInterface displayImage = this.liveImageModel.levelsAdjustment(blackPoint,
               midPoint, highlightPoint, splitPercentage);
-      currentPreviewImage = this.liveImageModel.levelsAdjustment(blackPoint,
-              midPoint, highlightPoint, 100);
+      replacePreviewImage(this.liveImageModel.levelsAdjustment(blackPoint,
+              midPoint, highlightPoint, 100));
       refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
     } catch (Exception ex) {
@@ -256,7 +276,7 @@ public class GraphicalController implements GraphicalControllerInterface,
       return;
     }
     try {
-      currentPreviewImage = this.liveImageModel.flipImage(axisNameMap);
+      replacePreviewImage(this.liveImageModel.flipImage(axisNameMap));
       refreshImageOnScreen(currentPreviewImage);
     } catch (Exception ex) {
       view.setErrorMessage("Flip operation failed. \nReason: " + ex.getMessage());
@@ -276,7 +296,7 @@ public class GraphicalController implements GraphicalControllerInterface,
       return;
     }
     try {
-      currentPreviewImage = this.liveImageModel.getSingleComponentImage(colorType);
+      replacePreviewImage(this.liveImageModel.getSingleComponentImage(colorType));
       refreshImageOnScreen(currentPreviewImage);
     } catch (Exception ex) {
       view.setErrorMessage("Single channel operation failed. \nReason: " + ex.getMessage());
@@ -297,7 +317,7 @@ public class GraphicalController implements GraphicalControllerInterface,
       int compressionPercentage = view.displayDialogSingleSplitPreview("Image "
                       + "Compression Factor",
               "The current compression factor of the image is");
-      currentPreviewImage = this.liveImageModel.compressImage(compressionPercentage);
+      replacePreviewImage(this.liveImageModel.compressImage(compressionPercentage));
       refreshImageOnScreen(currentPreviewImage);
     } catch (NullPointerException ex) {
       getExceptionFromExternalEnv(ex);
@@ -306,6 +326,36 @@ public class GraphicalController implements GraphicalControllerInterface,
     }
   }
 
+  /**
+   * The method handles the request to filter the image with a kernel given by the user.
+   * The controller reads the kernel and commands the model to get a new image with it.
+   * It then orders the view to display the new image as requested by the user for the application.
+   */
+  @Override
+  public void applyCustomFilter() {
+    if (checkNullImage()) {
+      return;
+    }
+    try {
+      String kernelSource = view.displayDialogTextInput("Custom Filter",
+              "Kernel file path, or rows of weights like -1,0,1; -2,0,2; -1,0,1");
+      checkNullFilePath(kernelSource);
+      double[][] kernel = KernelReader.readKernel(kernelSource);
+      int splitPercentage = view.displayDialogSingleSplitPreview("Custom Filter "
+                      + "Split",
+              "The preview % of image on which the custom filter is visible");
+      RGBImageInterface displayImage = this.liveImageModel.convolveImage(kernel,
+              splitPercentage);
+      replacePreviewImage(this.liveImageModel.convolveImage(kernel, 100));
+      refreshImageOnScreen(displayImage);
+      releaseImage(displayImage);
+    } catch (NullPointerException ex) {
+      getExceptionFromExternalEnv(ex);
+    } catch (Exception ex) {
+      view.setErrorMessage("Custom filter operation failed. \nReason: " + ex.getMessage());
+    }
+  }
+
   /**
    * The method sets up the live image by putting a command call to view for the display of the img.
    * The image on display can either be rolled back to the prev version or it can be updated to new.
@@ -334,13 +384,70 @@ public class GraphicalController implements GraphicalControllerInterface,
             + "\nCurrent operation is being cancelled.");
   }
 
+  private void loadWaveletImage(String filePath) throws IOException {
+    int[] dimensions;
+    try (FileInputStream in = new FileInputStream(filePath)) {
+      dimensions = WaveletReader.readDimensions(in);
+    }
+    RGBImageInterface coarseImage;
+    try {
+      coarseImage = new FileReader(filePath, PREVIEW_LEVEL).readImage();
+    } catch (IllegalArgumentException ex) {
+      coarseImage = null;
+    }
+    view.setOperationsEnabled(false);
+    if (coarseImage != null) {
+      view.displayImage(getLiveImage(coarseImage).getScaledInstance(dimensions[1],
+              dimensions[0], Image.SCALE_FAST));
+      releaseImage(coarseImage);
+    }
+    new SwingWorker<RGBImageInterface, Void>() {
+      @Override
+      protected RGBImageInterface doInBackground() throws IOException {
+        return new FileReader(filePath).readImage();
+      }
+
+      @Override
+      protected void done() {
+        view.setOperationsEnabled(true);
+        try {
+          replacePreviewImage(get());
+        } catch (InterruptedException | ExecutionException ex) {
+          restoreImageOnScreen();
+          view.setErrorMessage("Wrong or illegal value passed to the file load operation.");
+          return;
+        }
+        showLoadedImage();
+      }
+    }.execute();
+  }
+
+  private void restoreImageOnScreen() {
+    if (this.currentPreviewImage.getImageWidth() == 0
+            || this.currentPreviewImage.getImageHeight() == 0) {
+      Image emptyImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+      this.view.displayImage(emptyImage);
+      this.view.displayHistogram(emptyImage);
+      return;
+    }
+    refreshImageOnScreen(this.currentPreviewImage);
+  }
+
+  private void showLoadedImage() {
+    messageForUnsavedImage();
+    isSaved = false;
+    updateLiveImage(UpdateType.NEW.ordinal());
+    refreshImageOnScreen(this.currentPreviewImage);
+    view.setPopupMessage("Image Preview Loaded");
+  }
+
   private void setFeaturesInView() {
     this.view.setFeatures(features);
   }
 
   private boolean checkNullImage() {
-    if (this.liveImageModel.getImageWidth() == 0 || this.liveImageModel.getImageHeight() == 0
-            || this.liveImageModel == null || this.liveImageModel.getPixel() == null) {
+    if (this.liveImageModel == null || this.liveImageModel.getImageWidth() == 0
+            || this.liveImageModel.getImageHeight() == 0) {
       view.setErrorMessage("No image has been loaded but an action has been requested."
               + "\nLoad an image to use the operations.");
       return true;
@@ -349,13 +456,14 @@ public class GraphicalController implements GraphicalControllerInterface,
   }
 
   private Image getLiveImage(RGBImageInterface liveImageModel) {
-    return ImageIOWriter.getBufferedImage(liveImageModel.getImageWidth(),
-            liveImageModel.getImageHeight(), liveImageModel.getPixel());
+    return ImageIOWriter.getBufferedImage(liveImageModel.getTransientPixelView());
   }
 
   private void refreshImageOnScreen(RGBImageInterface resultImage) {
     Image liveImage = getLiveImage(resultImage);
-    Image liveImageHistogram = getLiveImage(resultImage.getPixelHistogram());
+    RGBImageInterface histogramImage = resultImage.getPixelHistogram();
+    Image liveImageHistogram = getLiveImage(histogramImage);
+    releaseImage(histogramImage);
 
     this.view.displayImage(liveImage);
     this.view.displayHistogram(liveImageHistogram);
@@ -369,10 +477,27 @@ public class GraphicalController implements GraphicalControllerInterface,
   }
 
   private void updateLiveImage(int updateType) {
+    RGBImageInterface replacedImage;
     if (updateType == UpdateType.OLD.ordinal()) {
-      this.currentPreviewImage.checkAndAssignValues(this.liveImageModel.getPixel());
+      replacedImage = this.currentPreviewImage;
+      this.currentPreviewImage = this.liveImageModel;
     } else {
-      this.liveImageModel.checkAndAssignValues(currentPreviewImage.getPixel());
+      replacedImage = this.liveImageModel;
+      this.liveImageModel = this.currentPreviewImage;
+    }
+    releaseImage(replacedImage);
+  }
+
+  private void replacePreviewImage(RGBImageInterface previewImage) {
+    RGBImageInterface replacedImage = this.currentPreviewImage;
+    this.currentPreviewImage = previewImage;
+    releaseImage(replacedImage);
+  }
+
+  private void releaseImage(RGBImageInterface rgbImage) {
+    if (rgbImage instanceof AbstractRGBImage && rgbImage != this.liveImageModel
+            && rgbImage != this.currentPreviewImage) {
+      ((AbstractRGBImage) rgbImage).close();
     }
   }
 
@@ -86,6 +86,13 @@ public interface GraphicalControllerInterface {
    */
   void compressImage();
 
+  /**
+   * The method handles the request to filter the image with a kernel given by the user.
+   * The controller reads the kernel and commands the model to get a new image with it.
+   * It then orders the view to display the new image as requested by the user for the application.
+   */
+  void applyCustomFilter();
+
   /**
    * The method sets up the live image by putting a command call to view for the display of the img.
    * The image on display can either be rolled back to the prev version or it can be updated to new.
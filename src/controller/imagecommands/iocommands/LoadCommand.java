@@ -4,10 +4,13 @@ import java.io.IOException;
 import java.util.Map;
 
 import controller.filehandling.reader.FileReader;
-import controller.filehandling.reader.InputReaderInterface;
 import controller.imagecommands.RGBImageCommandInterface;
-import model.RGBImage;
+import enums.ImageStorage;
+import model.AbstractRGBImage;
+import model.LazyRGBImage;
+import model.OffHeapRGBImage;
 import model.RGBImageInterface;
+import model.TiledRGBImage;
 
 /**
  * LoadController is a class implementing RGBImageCommandInterface.
@@ -24,6 +27,10 @@ public class LoadCommand implements RGBImageCommandInterface {
 
   private final String imageFilePath;
 
+  private final int imageStorage;
+
+  private final int pyramidLevel;
+
   /**
    * Constructor takes the cmd args as an input and assign the file path and names to the fields.
    *
@@ -31,11 +38,39 @@ public class LoadCommand implements RGBImageCommandInterface {
    * @throws IllegalArgumentException Throws exception if the string array is not of required len.
    */
   public LoadCommand(String[] commandArguments) throws IllegalArgumentException {
-    if (commandArguments.length != 2) {
+    this(commandArguments, ImageStorage.heap.ordinal());
+  }
+
+  /**
+   * Constructor takes the cmd args and the kind of storage in which the image needs to be kept.
+   * Images kept outside the heap do not add to the garbage collection work of the application,
+   * tiled images let the operations on them work one tile at a time and lazy images run a chain
+   * of per pixel operations in a single pass once the pixels are needed.
+   * The level of the wavelet pyramid is optional and loads a smaller version of the image, which
+   * is read from the start of a wavelet file without reading the rest of it. Such an image may
+   * have values off by one, as the corrections at the end of the file are not read.
+   *
+   * @param commandArguments Array of strings containing the information about path and file name.
+   * @param imageStorage     Integer representing the storage mapping with the Enum data.
+   * @throws IllegalArgumentException Throws exception if the string array is not of required len.
+   */
+  public LoadCommand(String[] commandArguments, int imageStorage)
+          throws IllegalArgumentException {
+    if (commandArguments.length != 2 && commandArguments.length != 4) {
       throw new IllegalArgumentException("Wrong number of parameters passed for load command.\n");
     }
+    if (imageStorage < 0 || imageStorage >= ImageStorage.values().length) {
+      throw new IllegalArgumentException("Storage value passed for the load "
+              + "command is not defined in the system. Try again.\n");
+    }
     imageFilePath = commandArguments[0];
     imageName = commandArguments[1];
+    this.imageStorage = imageStorage;
+    if (commandArguments.length == 2) {
+      pyramidLevel = 0;
+    } else {
+      pyramidLevel = Integer.parseInt(commandArguments[3]);
+    }
   }
 
 
@@ -58,8 +93,24 @@ public class LoadCommand implements RGBImageCommandInterface {
     if (rgbImage != null) {
       System.out.println("Changing the existing image present in Cache.");
     }
-    InputReaderInterface reader = new FileReader(imageFilePath);
-    rgbImage = new RGBImage(reader.read());
+    FileReader reader = new FileReader(imageFilePath, pyramidLevel);
+    rgbImage = reader.readImage();
+    if (imageStorage == ImageStorage.offHeap.ordinal()
+            && !(rgbImage instanceof OffHeapRGBImage)) {
+      rgbImage = new OffHeapRGBImage(rgbImage.getTransientPixelView());
+    } else if (imageStorage == ImageStorage.tiled.ordinal()
+            && rgbImage instanceof OffHeapRGBImage) {
+      rgbImage = new TiledRGBImage(rgbImage.getPixelView(), TiledRGBImage.DEFAULT_TILE_SIZE);
+    } else if (imageStorage == ImageStorage.tiled.ordinal()) {
+      RGBImageInterface decodedImage = rgbImage;
+      rgbImage = TiledRGBImage.copyOf(decodedImage.getTransientPixelView(),
+              TiledRGBImage.DEFAULT_TILE_SIZE);
+      if (decodedImage instanceof AbstractRGBImage) {
+        ((AbstractRGBImage) decodedImage).close();
+      }
+    } else if (imageStorage == ImageStorage.lazy.ordinal()) {
+      rgbImage = new LazyRGBImage(rgbImage);
+    }
     cachedImage.put(imageName, rgbImage);
   }
 }
@@ -3,14 +3,20 @@ package controller.imagecommands.iocommands;
 import java.io.IOException;
 import java.util.Map;
 
+import controller.filehandling.reader.WaveletReader;
 import controller.filehandling.writer.FileWriter;
 import controller.filehandling.writer.OutputWriterInterface;
+import controller.filehandling.writer.WaveletWriter;
 import controller.imagecommands.RGBImageCommandInterface;
+import enums.RateTarget;
 import model.RGBImageInterface;
+import model.imageoperations.singlein.Compression;
 
 /**
  * This class represents the saving image part of the controller.
  * The class takes the image name and saves it to that particular file location.
+ * It also takes the compression % if the image needs to be compressed before it is saved, or a
+ * target peak signal to noise ratio or wavelet file size from which the % is searched for.
  * It throws exception if file path is not accessible or null.
  */
 public class SaveCommand implements RGBImageCommandInterface {
@@ -19,19 +25,40 @@ public class SaveCommand implements RGBImageCommandInterface {
 
   private final String imageFilePath;
 
+  private final int rateTarget;
+
+  private final double targetValue;
+
   /**
    * Constructor takes the cmd args as an input and assign the file path and names to the fields.
+   * The compression percentage is optional and is 0 when it is not passed. In its place the args
+   * can end with psnr and the lowest peak signal to noise ratio allowed in dB, or with size and
+   * the largest number of bytes allowed for a wavelet file.
    *
    * @param commandArguments Array of strings containing the information about path and file name.
    * @throws IllegalArgumentException Throws exception if the string array is not of required len.
    */
   public SaveCommand(String[] commandArguments) {
-    if (commandArguments.length != 2) {
+    if (commandArguments.length < 2 || commandArguments.length > 4) {
       throw new IllegalArgumentException("Number of parameters passed for the save command "
               + "does not match as per the syntax.\n");
     }
     imageFilePath = commandArguments[0];
     imageName = commandArguments[1];
+    if (commandArguments.length == 2) {
+      rateTarget = RateTarget.percentage.ordinal();
+      targetValue = 0;
+    } else if (commandArguments.length == 3) {
+      rateTarget = RateTarget.percentage.ordinal();
+      targetValue = Double.parseDouble(commandArguments[2]);
+    } else if (commandArguments[2].equals(RateTarget.psnr.name())
+            || commandArguments[2].equals(RateTarget.size.name())) {
+      rateTarget = RateTarget.valueOf(commandArguments[2]).ordinal();
+      targetValue = Double.parseDouble(commandArguments[3]);
+    } else {
+      throw new IllegalArgumentException("Target passed for the save command "
+              + "is not psnr or size.\n");
+    }
   }
 
 
@@ -55,7 +82,22 @@ public class SaveCommand implements RGBImageCommandInterface {
       System.out.println("No such images named: " + this.imageName + " exists in the memory\n");
       return;
     }
-    OutputWriterInterface writer = new FileWriter(imageFilePath);
+    double compressionPercentage = targetValue;
+    if (rateTarget == RateTarget.psnr.ordinal()) {
+      compressionPercentage = Compression.findPercentageForPsnr(rgbCachedImage, targetValue);
+      System.out.println("Compression percentage picked for the target: "
+              + compressionPercentage + "\n");
+    } else if (rateTarget == RateTarget.size.ordinal()) {
+      if (!imageFilePath.endsWith("." + WaveletReader.FILE_EXTENSION)) {
+        throw new IllegalArgumentException("Target size can only be used to save "
+                + "in the wavelet format.\n");
+      }
+      compressionPercentage = WaveletWriter.findPercentageForSize(rgbCachedImage,
+              (long) targetValue);
+      System.out.println("Compression percentage picked for the target: "
+              + compressionPercentage + "\n");
+    }
+    OutputWriterInterface writer = new FileWriter(imageFilePath, compressionPercentage);
     writer.write(rgbCachedImage);
   }
 }
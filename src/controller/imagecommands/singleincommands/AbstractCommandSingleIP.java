@@ -1,13 +1,18 @@
 package controller.imagecommands.singleincommands;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.function.Function;
 
 import controller.imagecommands.RGBImageCommandInterface;
+import model.AbstractRGBImage;
 import model.RGBImageInterface;
 
 /**
  * This abstract class represents an abstract controller which handles single input related query.
  * The class takes the operation index, existing and new image name to perform the operation.
+ * When both the names are the same, the old image is given up, so the model is allowed to write
+ * the result over its pixels instead of creating a full copy of the image.
  */
 public abstract class AbstractCommandSingleIP implements RGBImageCommandInterface {
 
@@ -46,10 +51,41 @@ public abstract class AbstractCommandSingleIP implements RGBImageCommandInterfac
       return;
     }
 
-    RGBImageInterface rgbImage = defineImageOperation(existingImage, imageOperationValueIndex);
+    RGBImageInterface rgbImage = operateOnCachedImage(cachedImage, rgbExistingImage,
+            rgbModifiedImage, image -> defineImageOperation(image, imageOperationValueIndex));
     cachedImage.put(rgbModifiedImage, rgbImage);
   }
 
+  /**
+   * The method runs the operation on a cached image whose result is cached under the new name.
+   * If the result replaces the same image that is operated on, and no other name refers to that
+   * image, the image is marked as overwritable so that the model can do the operation in place.
+   *
+   * @param cachedImage      The set of images presently in use in the memory of this application.
+   * @param rgbExistingImage Name of the image on which the operation is performed.
+   * @param rgbModifiedImage Name under which the result of the operation is cached.
+   * @param imageOperation   Operation which is called on the existing image.
+   * @return The image which is the result of the operation.
+   */
+  static RGBImageInterface operateOnCachedImage(Map<String, RGBImageInterface> cachedImage,
+                                                String rgbExistingImage, String rgbModifiedImage,
+                                                Function<RGBImageInterface,
+                                                        RGBImageInterface> imageOperation) {
+    RGBImageInterface existingImage = cachedImage.get(rgbExistingImage);
+    if (!rgbExistingImage.equals(rgbModifiedImage)
+            || !(existingImage instanceof AbstractRGBImage)
+            || Collections.frequency(cachedImage.values(), existingImage) != 1) {
+      return imageOperation.apply(existingImage);
+    }
+    AbstractRGBImage overwritableImage = (AbstractRGBImage) existingImage;
+    overwritableImage.setOverwritable(true);
+    try {
+      return imageOperation.apply(existingImage);
+    } finally {
+      overwritableImage.setOverwritable(false);
+    }
+  }
+
   /**
    * The method represent the image controller operation for the single input param.
    * This is override by the respective controller utilities as per the required functionality.
@@ -0,0 +1,78 @@
+package controller.imagecommands.singleincommands;
+
+import java.util.Map;
+
+import controller.imagecommands.RGBImageCommandInterface;
+import enums.ColorMapping;
+import model.RGBImageInterface;
+
+/**
+ * The class represents the custom color matrix command of the main controller.
+ * The command takes the nine weights of a 3 x 3 matrix row by row, followed by the image names.
+ * It also takes the split % if the user want to compare the original and the updated image.
+ */
+public class ColorMatrixCommand implements RGBImageCommandInterface {
+
+  private static final int WEIGHT_COUNT = ColorMapping.values().length
+          * ColorMapping.values().length;
+
+  private final double[][] colorMatrix;
+
+  private final String rgbExistingImage;
+
+  private final String rgbModifiedImage;
+
+  private final double splitPercentage;
+
+  /**
+   * Constructor takes the cmd args as an input and assign the matrix and image names to the fields.
+   * It assigns the split percentage of the image that is used for the split operation.
+   *
+   * @param commandArguments Array of strings containing the weights and the image names.
+   * @throws IllegalArgumentException Throws exception if the string array is not of required len.
+   */
+  public ColorMatrixCommand(String[] commandArguments) throws IllegalArgumentException {
+    if (commandArguments.length != WEIGHT_COUNT + 2
+            && commandArguments.length != WEIGHT_COUNT + 4) {
+      throw new IllegalArgumentException("The number of parameters does not match "
+              + "with the expected number of parameters for the passed operation.\n");
+    }
+    int channelCount = ColorMapping.values().length;
+    this.colorMatrix = new double[channelCount][channelCount];
+    for (int i = 0; i < WEIGHT_COUNT; i++) {
+      colorMatrix[i / channelCount][i % channelCount] = Double.parseDouble(commandArguments[i]);
+    }
+    this.rgbExistingImage = commandArguments[WEIGHT_COUNT];
+    this.rgbModifiedImage = commandArguments[WEIGHT_COUNT + 1];
+    if (commandArguments.length == WEIGHT_COUNT + 2) {
+      this.splitPercentage = 100;
+    } else {
+      this.splitPercentage = Double.parseDouble(commandArguments[WEIGHT_COUNT + 3]);
+    }
+  }
+
+  /**
+   * The command calls the color matrix method from the model class to get new transformed image.
+   * Each channel of the new image is the weighted sum of the r,g,b values of the present image.
+   *
+   * @param cachedImage The set of images presently in use in the memory of this application.
+   * @throws IllegalArgumentException Throws exception if the input is of null type.
+   */
+  @Override
+  public void execute(Map<String, RGBImageInterface> cachedImage) throws IllegalArgumentException {
+    if (cachedImage == null) {
+      throw new IllegalArgumentException("The lookup table passed for "
+              + "the image processing app does not exists.\n");
+    }
+    RGBImageInterface existingImage = cachedImage.get(rgbExistingImage);
+
+    if (existingImage == null) {
+      return;
+    }
+
+    RGBImageInterface rgbImage = AbstractCommandSingleIP.operateOnCachedImage(cachedImage,
+            rgbExistingImage, rgbModifiedImage,
+            image -> image.colorMatrixImage(colorMatrix, splitPercentage));
+    cachedImage.put(rgbModifiedImage, rgbImage);
+  }
+}
@@ -57,7 +57,8 @@ public class ColorTransformationCommand implements RGBImageCommandInterface {
     if (existingImage == null) {
       return;
     }
-    RGBImageInterface rgbImage = existingImage.sepiaImage(this.splitPercentage);
+    RGBImageInterface rgbImage = AbstractCommandSingleIP.operateOnCachedImage(cachedImage,
+            rgbExistingImage, rgbModifiedImage, image -> image.sepiaImage(splitPercentage));
     cachedImage.put(rgbModifiedImage, rgbImage);
   }
 }
@@ -3,36 +3,61 @@ package controller.imagecommands.singleincommands;
 import java.util.Map;
 
 import controller.imagecommands.RGBImageCommandInterface;
+import enums.RateTarget;
 import model.RGBImageInterface;
+import model.imageoperations.singlein.Compression;
 
 /**
  * The class represents the image compression command of the main controller.
  * The command takes an array of strings as input and sends the command to compress the image.
- * It also takes the split % if the user want to compare the original and the updated image.
+ * It also takes the level of the wavelet pyramid if only a smaller version of the compressed
+ * image is needed, like a thumbnail or a preview, and can search for the % which meets a target
+ * peak signal to noise ratio.
  */
 public class CompressCommand implements RGBImageCommandInterface {
 
-  private final double compressPercentage;
+  private final int rateTarget;
+
+  private final double targetValue;
 
   private final String rgbExistingImage;
 
   private final String rgbModifiedImage;
 
+  private final int pyramidLevel;
+
   /**
    * Constructor takes the cmd args as an input and assign the image names to the fields
    * It assigns the compress percentage of the image that is used for the compress operation.
+   * When the args start with psnr, the percentage is replaced by the lowest peak signal to noise
+   * ratio allowed in dB, and the largest percentage meeting it is searched for.
    *
    * @param commandArguments Array of strings containing the information about the image names.
    * @throws IllegalArgumentException Throws exception if the string array is not of required len.
    */
   public CompressCommand(String[] commandArguments) throws IllegalArgumentException {
-    if (commandArguments.length != 3) {
+    int offset = 0;
+    if (commandArguments.length > 0 && commandArguments[0].equals(RateTarget.psnr.name())) {
+      offset = 1;
+    }
+    int argumentCount = commandArguments.length - offset;
+    if (argumentCount != 3 && argumentCount != 5) {
       throw new IllegalArgumentException("The number of parameters does not match "
               + "with the expected number of parameters for the passed operation.\n");
     }
-    this.compressPercentage = Double.parseDouble(commandArguments[0]);
-    this.rgbExistingImage = commandArguments[1];
-    this.rgbModifiedImage = commandArguments[2];
+    if (offset == 0) {
+      this.rateTarget = RateTarget.percentage.ordinal();
+    } else {
+      this.rateTarget = RateTarget.psnr.ordinal();
+    }
+    this.targetValue = Double.parseDouble(commandArguments[offset]);
+    this.rgbExistingImage = commandArguments[offset + 1];
+    this.rgbModifiedImage = commandArguments[offset + 2];
+    if (argumentCount == 3) {
+      this.pyramidLevel = 0;
+    } else {
+      this.pyramidLevel = Integer.parseInt(commandArguments[offset + 4]);
+    }
   }
 
   /**
@@ -53,7 +78,18 @@ public class CompressCommand implements RGBImageCommandInterface {
     if (existingImage == null) {
       return;
     }
-    RGBImageInterface rgbImage = existingImage.compressImage(compressPercentage);
+    double compressPercentage = targetValue;
+    if (rateTarget == RateTarget.psnr.ordinal()) {
+      compressPercentage = Compression.findPercentageForPsnr(existingImage, targetValue);
+      System.out.println("Compression percentage picked for the target: "
+              + compressPercentage + "\n");
+    }
+    RGBImageInterface rgbImage;
+    if (pyramidLevel == 0) {
+      rgbImage = existingImage.compressImage(compressPercentage);
+    } else {
+      rgbImage = existingImage.compressImage(compressPercentage, pyramidLevel);
+    }
     cachedImage.put(rgbModifiedImage, rgbImage);
   }
 }
@@ -0,0 +1,74 @@
+package controller.imagecommands.singleincommands;
+
+import java.io.IOException;
+import java.util.Map;
+
+import controller.filehandling.reader.KernelReader;
+import controller.imagecommands.RGBImageCommandInterface;
+import model.RGBImageInterface;
+
+/**
+ * The class represents the custom kernel filter command of the main controller.
+ * The command takes the path of a kernel file or the kernel written inline, and the image names.
+ * It also takes the split % if the user want to compare the original and the updated image.
+ */
+public class ConvolveCommand implements RGBImageCommandInterface {
+
+  private final String kernelSource;
+
+  private final String rgbExistingImage;
+
+  private final String rgbModifiedImage;
+
+  private final double splitPercentage;
+
+  /**
+   * Constructor takes the cmd args as an input and assign the kernel and image names to the fields.
+   * It assigns the split percentage of the image that is used for the split operation.
+   *
+   * @param commandArguments Array of strings containing the kernel and the image names.
+   * @throws IllegalArgumentException Throws exception if the string array is not of required len.
+   */
+  public ConvolveCommand(String[] commandArguments) throws IllegalArgumentException {
+    if (commandArguments.length != 3 && commandArguments.length != 5) {
+      throw new IllegalArgumentException("The number of parameters does not match "
+              + "with the expected number of parameters for the passed operation.\n");
+    }
+    this.kernelSource = commandArguments[0];
+    this.rgbExistingImage = commandArguments[1];
+    this.rgbModifiedImage = commandArguments[2];
+    if (commandArguments.length == 3) {
+      this.splitPercentage = 100;
+    } else {
+      this.splitPercentage = Double.parseDouble(commandArguments[4]);
+    }
+  }
+
+  /**
+   * The command reads the kernel and calls the convolve method from the model class to get new
+   * filtered image.
+   *
+   * @param cachedImage The set of images presently in use in the memory of this application.
+   * @throws IllegalArgumentException Throws exception if the input is of null type.
+   * @throws IOException              Throws exception if the kernel file could not be read.
+   */
+  @Override
+  public void execute(Map<String, RGBImageInterface> cachedImage)
+          throws IllegalArgumentException, IOException {
+    if (cachedImage == null) {
+      throw new IllegalArgumentException("The lookup table passed for "
+              + "the image processing app does not exists.\n");
+    }
+    RGBImageInterface existingImage = cachedImage.get(rgbExistingImage);
+
+    if (existingImage == null) {
+      return;
+    }
+
+    double[][] kernel = KernelReader.readKernel(kernelSource);
+    RGBImageInterface rgbImage = AbstractCommandSingleIP.operateOnCachedImage(cachedImage,
+            rgbExistingImage, rgbModifiedImage,
+            image -> image.convolveImage(kernel, splitPercentage));
+    cachedImage.put(rgbModifiedImage, rgbImage);
+  }
+}
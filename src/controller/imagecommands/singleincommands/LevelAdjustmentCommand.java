@@ -68,8 +68,9 @@ public class LevelAdjustmentCommand implements RGBImageCommandInterface {
       return;
     }
 
-    RGBImageInterface rgbImage = existingImage.levelsAdjustment(shadowPoint, midPoint,
-            highlightPoint, splitPercentage);
+    RGBImageInterface rgbImage = AbstractCommandSingleIP.operateOnCachedImage(cachedImage,
+            rgbExistingImage, rgbModifiedImage, image -> image.levelsAdjustment(shadowPoint,
+                    midPoint, highlightPoint, splitPercentage));
     cachedImage.put(rgbModifiedImage, rgbImage);
   }
 }
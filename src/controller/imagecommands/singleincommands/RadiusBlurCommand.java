@@ -0,0 +1,71 @@
+package controller.imagecommands.singleincommands;
+
+import java.util.Map;
+
+import controller.imagecommands.RGBImageCommandInterface;
+import model.RGBImageInterface;
+
+/**
+ * The class represents the blur of any strength command of the main controller.
+ * The command takes the blur type mapping, the radius or standard deviation and the image names.
+ * It also takes the split % if the user want to compare the original and the updated image.
+ */
+public class RadiusBlurCommand implements RGBImageCommandInterface {
+
+  private final int blurType;
+
+  private final double radius;
+
+  private final String rgbExistingImage;
+
+  private final String rgbModifiedImage;
+
+  private final double splitPercentage;
+
+  /**
+   * Constructor takes the cmd args as an input and assign the blur values and image names.
+   * It assigns the split percentage of the image that is used for the split operation.
+   *
+   * @param commandArguments Array of strings containing the blur values and the image names.
+   * @throws IllegalArgumentException Throws exception if the string array is not of required len.
+   */
+  public RadiusBlurCommand(String[] commandArguments) throws IllegalArgumentException {
+    if (commandArguments.length != 4 && commandArguments.length != 6) {
+      throw new IllegalArgumentException("The number of parameters does not match "
+              + "with the expected number of parameters for the passed operation.\n");
+    }
+    this.blurType = Integer.parseInt(commandArguments[0]);
+    this.radius = Double.parseDouble(commandArguments[1]);
+    this.rgbExistingImage = commandArguments[2];
+    this.rgbModifiedImage = commandArguments[3];
+    if (commandArguments.length == 4) {
+      this.splitPercentage = 100;
+    } else {
+      this.splitPercentage = Double.parseDouble(commandArguments[5]);
+    }
+  }
+
+  /**
+   * The command calls the radius blur method from the model class to get new blurred image.
+   *
+   * @param cachedImage The set of images presently in use in the memory of this application.
+   * @throws IllegalArgumentException Throws exception if the input is of null type.
+   */
+  @Override
+  public void execute(Map<String, RGBImageInterface> cachedImage) throws IllegalArgumentException {
+    if (cachedImage == null) {
+      throw new IllegalArgumentException("The lookup table passed for "
+              + "the image processing app does not exists.\n");
+    }
+    RGBImageInterface existingImage = cachedImage.get(rgbExistingImage);
+
+    if (existingImage == null) {
+      return;
+    }
+
+    RGBImageInterface rgbImage = AbstractCommandSingleIP.operateOnCachedImage(cachedImage,
+            rgbExistingImage, rgbModifiedImage,
+            image -> image.radiusBlurImage(blurType, radius, splitPercentage));
+    cachedImage.put(rgbModifiedImage, rgbImage);
+  }
+}
@@ -26,17 +26,22 @@ import controller.imagecommands.multioutcommand.SplitChannelsCommand;
 import controller.imagecommands.RGBImageCommandInterface;
 import controller.imagecommands.singleincommands.BrightnessCommand;
 import controller.imagecommands.singleincommands.ColorCorrectionCommand;
+import controller.imagecommands.singleincommands.ColorMatrixCommand;
 import controller.imagecommands.singleincommands.ColorTransformationCommand;
 import controller.imagecommands.singleincommands.CompressCommand;
+import controller.imagecommands.singleincommands.ConvolveCommand;
 import controller.imagecommands.singleincommands.FlipImageCommand;
 import controller.imagecommands.singleincommands.GreyScaleCommand;
 import controller.imagecommands.singleincommands.HistogramCommand;
 import controller.imagecommands.singleincommands.LevelAdjustmentCommand;
+import controller.imagecommands.singleincommands.RadiusBlurCommand;
 import controller.imagecommands.singleincommands.RGBFilterCommand;
 import controller.imagecommands.singleincommands.SharpnessCommand;
 import enums.AxisName;
+import enums.BlurType;
 import enums.ColorMapping;
 import enums.GreyScaleType;
+import enums.ImageStorage;
 import enums.KernelImage;
 import model.RGBImageInterface;
 
@@ -65,7 +70,7 @@ public class RGBImageController implements RGBImageControllerInterface {
   public RGBImageController(InputStream in, OutputStream out) {
     this.in = in;
     this.out = out;
-    cachedImages = new HashMap<>();
+    cachedImages = new ReleasingImageCache();
     knownCommands = getFamiliarCommands();
   }
 
@@ -85,6 +90,12 @@ public class RGBImageController implements RGBImageControllerInterface {
     Map<String, Function<String[], RGBImageCommandInterface>> knownCommands = new HashMap<>();
 
     knownCommands.put("load", args -> new LoadCommand(args));
+    knownCommands.put("load-offheap",
+        args -> new LoadCommand(args, ImageStorage.offHeap.ordinal()));
+    knownCommands.put("load-tiled",
+        args -> new LoadCommand(args, ImageStorage.tiled.ordinal()));
+    knownCommands.put("load-lazy",
+        args -> new LoadCommand(args, ImageStorage.lazy.ordinal()));
     knownCommands.put("save", args -> new SaveCommand(args));
 
     knownCommands.put("red-component",
@@ -146,7 +157,20 @@ public class RGBImageController implements RGBImageControllerInterface {
         return new SharpnessCommand(newArgs);
       });
 
+    knownCommands.put("box-blur",
+        args -> {
+        String[] newArgs = concatenateStringArrays(args, BlurType.box.ordinal());
+        return new RadiusBlurCommand(newArgs);
+      });
+    knownCommands.put("gaussian-blur",
+        args -> {
+        String[] newArgs = concatenateStringArrays(args, BlurType.gaussian.ordinal());
+        return new RadiusBlurCommand(newArgs);
+      });
+    knownCommands.put("convolve", args -> new ConvolveCommand(args));
+
     knownCommands.put("sepia", args -> new ColorTransformationCommand(args));
+    knownCommands.put("color-matrix", args -> new ColorMatrixCommand(args));
     knownCommands.put("compress", args -> new CompressCommand(args));
     knownCommands.put("histogram", args -> new HistogramCommand(args));
     knownCommands.put("color-correct", args -> new ColorCorrectionCommand(args));
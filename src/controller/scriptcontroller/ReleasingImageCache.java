@@ -0,0 +1,52 @@
+package controller.scriptcontroller;
+
+import java.util.HashMap;
+
+import model.AbstractRGBImage;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the set of named images that a script is working on.
+ * Whenever a name is overwritten or removed, the image it pointed to is released right away,
+ * returning its off-heap buffers or its pooled planes instead of waiting for the garbage collector.
+ * An image which is still cached under another name is left untouched.
+ */
+final class ReleasingImageCache extends HashMap<String, RGBImageInterface> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The method caches the image under the name and releases the image it replaces, if any.
+   *
+   * @param imageName Name of the image used by the script commands.
+   * @param rgbImage  Image which needs to be cached under the name.
+   * @return The image which was cached under the name before this call, or null.
+   */
+  @Override
+  public RGBImageInterface put(String imageName, RGBImageInterface rgbImage) {
+    RGBImageInterface replacedImage = super.put(imageName, rgbImage);
+    if (replacedImage != rgbImage) {
+      releaseImage(replacedImage);
+    }
+    return replacedImage;
+  }
+
+  /**
+   * The method removes the image cached under the name and releases it.
+   *
+   * @param imageName Name of the image used by the script commands.
+   * @return The image which was cached under the name before this call, or null.
+   */
+  @Override
+  public RGBImageInterface remove(Object imageName) {
+    RGBImageInterface removedImage = super.remove(imageName);
+    releaseImage(removedImage);
+    return removedImage;
+  }
+
+  private void releaseImage(RGBImageInterface rgbImage) {
+    if (rgbImage instanceof AbstractRGBImage && !containsValue(rgbImage)) {
+      ((AbstractRGBImage) rgbImage).close();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package enums;
+
+/**
+ * Enum to store the blur types which take a strength and their mapping to fixed values.
+ * The box blur takes the mean over a square around the pixel of the given radius, the gaussian
+ * blur approximates a gaussian of the given standard deviation with three box blurs.
+ * Box is assigned a numerical value of 0 and gaussian is assigned a value of 1.
+ */
+public enum BlurType {
+  box(0),
+  gaussian(1);
+
+  final int blurValue;
+
+  /**
+   * The constructor assigns the blur value mapping to each of the enum objects.
+   *
+   * @param blurValue Integer representing the enum map for the diff blur types: box & gaussian.
+   */
+  BlurType(int blurValue) {
+    this.blurValue = blurValue;
+  }
+}
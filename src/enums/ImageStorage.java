@@ -0,0 +1,27 @@
+package enums;
+
+/**
+ * Enum to store the kinds of storage in which the pixels of a loaded image can be kept.
+ * Heap keeps one packed plane per channel, offHeap keeps the planes outside the java heap and
+ * tiled splits the image into tiles which are only computed when they are read and lazy keeps the
+ * per pixel operations pending until the pixels are read, running them in a single pass.
+ * Heap is assigned a value of 0, offHeap is assigned a value of 1, tiled a value of 2 and lazy a
+ * value of 3.
+ */
+public enum ImageStorage {
+  heap(0),
+  offHeap(1),
+  tiled(2),
+  lazy(3);
+
+  final int storageValue;
+
+  /**
+   * The constructor assigns the storage value mapping to each of the enum objects.
+   *
+   * @param storageValue Integer representing the enum map for the diff storage kinds.
+   */
+  ImageStorage(int storageValue) {
+    this.storageValue = storageValue;
+  }
+}
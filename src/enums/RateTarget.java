@@ -0,0 +1,25 @@
+package enums;
+
+/**
+ * Enum to store the kinds of target from which the percentage of compression of an image is set.
+ * Percentage takes the percentage itself, psnr searches for the largest percentage which keeps
+ * the peak signal to noise ratio of the image at or above a number of dB and size searches for
+ * the smallest percentage which keeps its wavelet file within a number of bytes.
+ * Percentage is assigned a value of 0, psnr is assigned a value of 1 and size a value of 2.
+ */
+public enum RateTarget {
+  percentage(0),
+  psnr(1),
+  size(2);
+
+  final int targetValue;
+
+  /**
+   * The constructor assigns the target value mapping to each of the enum objects.
+   *
+   * @param targetValue Integer representing the enum map for the diff kinds of target.
+   */
+  RateTarget(int targetValue) {
+    this.targetValue = targetValue;
+  }
+}
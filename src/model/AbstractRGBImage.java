@@ -0,0 +1,463 @@
+package model;
+
+import java.util.List;
+
+import enums.AxisName;
+import enums.BlurType;
+import enums.ColorMapping;
+import enums.GreyScaleType;
+import enums.KernelImage;
+import model.imageoperations.multiin.CombineChannelImage;
+import model.imageoperations.multiin.MultipleImagesSingleOperation;
+import model.imageoperations.multiout.MultipleOperationImages;
+import model.imageoperations.multiout.SplitChannelImage;
+import model.imageoperations.singlein.Brightness;
+import model.imageoperations.singlein.ColorCorrection;
+import model.imageoperations.singlein.ColorMatrix;
+import model.imageoperations.singlein.ColorMatrixOperation;
+import model.imageoperations.singlein.ColorTransformation;
+import model.imageoperations.singlein.Compression;
+import model.imageoperations.singlein.Flip;
+import model.imageoperations.singlein.GreyScale;
+import model.imageoperations.singlein.Histogram;
+import model.imageoperations.singlein.ImageOperation;
+import model.imageoperations.singlein.InPlaceOperation;
+import model.imageoperations.singlein.LevelsAdjustment;
+import model.imageoperations.singlein.Monochrome;
+import model.imageoperations.singlein.ParallelBandOperation;
+import model.imageoperations.singlein.PointOperation;
+import model.imageoperations.singlein.RadiusBlur;
+import model.imageoperations.singlein.Sharpness;
+import model.imageoperations.singlein.SplitBuffer;
+
+/**
+ * This abstract class represents the image transformation operations common to every image.
+ * The operations only read the pixels through the accessors of the interface, so the class
+ * does not depend on how the pixels of an image are stored by its sub-classes.
+ */
+public abstract class AbstractRGBImage implements RGBImageInterface, AutoCloseable {
+
+  private boolean overwritable;
+
+  /**
+   * The method tells the image whether its owner is about to replace it with the result of the
+   * next operation. While it is set, the operations which can run in place write their result
+   * over the pixels of this image and return the image itself instead of a new one.
+   * The owner must not use the old pixels of the image, or its earlier views, after that.
+   *
+   * @param overwritable True if the next operation may overwrite this image, false otherwise.
+   */
+  public void setOverwritable(boolean overwritable) {
+    this.overwritable = overwritable;
+  }
+
+  /**
+   * The method releases the memory held by the pixels of the image once it is not needed anymore.
+   * Images which do not hold any releasable memory do nothing here.
+   * The views of the image handed out earlier must not be read after this.
+   */
+  @Override
+  public void close() {
+    // nothing to release by default
+  }
+
+  /**
+   * The method represents the flipping action carried out by an image on itself.
+   * Image can flip along different axis like horizontal or vertical depending on the requirement.
+   * The old and new image both are retained in the memory.
+   *
+   * @param axisDirection Integer representing the axis direction mapping with the Enum data.
+   * @return Modified image which contains the data of the flipped version of the previous image.
+   * @throws IllegalArgumentException Throws exception if the data could not be written to the path.
+   */
+  @Override
+  public RGBImageInterface flipImage(int axisDirection) throws IllegalArgumentException {
+    if (axisDirection >= AxisName.values().length) {
+      throw new IllegalArgumentException("Wrong axis value passed to the model "
+              + "for flipping the image.\n");
+    }
+    InPlaceOperation imageOperation = new Flip(axisDirection);
+    if (overwriteInPlace(imageOperation, 100)) {
+      return this;
+    }
+    return new ParallelBandOperation(imageOperation).operation(this);
+  }
+
+  /**
+   * The method represents the changing brightness option on the present image.
+   * It increases or decreases the brightness as needed for this image.
+   * It ensures that after the operation the pixel value are within the range of 0 to 255.
+   *
+   * @param deltaChangeValue Amount to change for the individual pixels of the image.
+   * @return Modified image which contains the data of the brighter version of the previous image.
+   */
+  @Override
+  public RGBImageInterface changeBrightness(int deltaChangeValue) {
+    PointOperation imageOperation = new Brightness(deltaChangeValue);
+    return pointImageOperation(100, imageOperation, imageOperation);
+  }
+
+  /**
+   * The method represents the changing sharpness option on the present image.
+   * The operation can blur or sharpen the image depending on the input type provided to the method.
+   *
+   * @param kernelType Containing the mapping to an Enum which store data for changing sharpness.
+   * @return Modified img which contains the data of the changed sharpness version of the prev img.
+   * @throws IllegalArgumentException Throws exception if kernel mapping is invalid or not exists.
+   */
+  @Override
+  public RGBImageInterface changeSharpness(int kernelType, double splitPercentage)
+          throws IllegalArgumentException {
+    if (kernelType >= KernelImage.values().length) {
+      throw new IllegalArgumentException("Wrong kernel value passed to model for "
+              + "changing the sharpness operation on the image.\n");
+    }
+    ImageOperation imageOperation = new Sharpness(kernelType);
+    return bufferImageOperation(splitPercentage, imageOperation);
+  }
+
+  /**
+   * The method represents the combining different channeled images into a single image.
+   * The present image is also added to the list and passed to the operation for combining RGB vals.
+   *
+   * @param imageComponents List of images having different color-greyscale images.
+   * @return An image containing the data of combinations of all the images that are passed to it.
+   * @throws IllegalArgumentException Throws exception if param is invalid or not exists.
+   */
+  @Override
+  public RGBImageInterface combineImageComponents(List<RGBImageInterface> imageComponents)
+          throws IllegalArgumentException {
+    if (imageComponents == null) {
+      throw new IllegalArgumentException("Image set for channel combination "
+              + "cannot be null.\n");
+    }
+    MultipleImagesSingleOperation imageOperation = new CombineChannelImage();
+    imageComponents.add(0, this);
+    return imageOperation.operation(imageComponents);
+  }
+
+  /**
+   * The method represents the split image operation on this img into different color-greyscale img.
+   * It divides it into different channel images of same depth.
+   *
+   * @return List of images which are generated after applying image processing operation.
+   */
+  @Override
+  public List<RGBImageInterface> splitImageComponents() {
+    MultipleOperationImages multiOP = new SplitChannelImage();
+    return multiOP.operation(this);
+  }
+
+  /**
+   * This represents the Monochrome operation on the present image that calls this method.
+   *
+   * @param colorValue Takes the color component type to get a new color-greyscale image.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown If the colorValue is not a valid input.
+   */
+  @Override
+  public RGBImageInterface getSingleComponentImage(int colorValue)
+          throws IllegalArgumentException {
+    if (colorValue >= ColorMapping.values().length) {
+      throw new IllegalArgumentException("Wrong color value passed to model for "
+              + "performing the monochrome operation on the image.\n");
+    }
+    PointOperation imageOperation = new Monochrome(colorValue);
+    return pointImageOperation(100, imageOperation, imageOperation);
+  }
+
+  /**
+   * This method represents the greyscale operation on the present single image currently in use.
+   *
+   * @param greyScaleType Takes the type of action to perform on this to get a new black-white img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown If the greyScaleType is not a valid input.
+   */
+  @Override
+  public RGBImageInterface greyScaleImage(int greyScaleType, double splitPercentage)
+          throws IllegalArgumentException {
+    if (greyScaleType >= GreyScaleType.values().length) {
+      throw new IllegalArgumentException("Wrong greyscale value passed to model for "
+              + "greyscale operation on image.\n");
+    }
+    PointOperation imageOperation = new GreyScale(greyScaleType);
+    return pointImageOperation(splitPercentage, imageOperation,
+            new SplitBuffer(splitPercentage, imageOperation));
+  }
+
+  /**
+   * Method represents the sepia color transformation on the present single image currently in use.
+   *
+   * @return An image as the result of the action performed on the present image.
+   */
+  @Override
+  public RGBImageInterface sepiaImage(double splitPercentage) {
+    PointOperation imageOperation = new ColorTransformation();
+    return pointImageOperation(splitPercentage, imageOperation,
+            new SplitBuffer(splitPercentage, imageOperation));
+  }
+
+  /**
+   * Method represents the level adjustment operation on an existing image currently present in use.
+   * The values of the individual pixels is changed as per the quadratic equation.
+   *
+   * @param b               Shadow-point where the intensity of the
+   *                        pixel decreases around that range.
+   * @param m               Mid-point where the intensity of the pixel
+   *                        changes non-linearly as per the curve eq.
+   * @param w               Highlight-point where the intensity of the pixel
+   *                        is increased which satisfy the curve.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown If the b,m,w are not in ascending order.
+   */
+  @Override
+  public RGBImageInterface levelsAdjustment(double b,
+                                            double m,
+                                            double w,
+                                            double splitPercentage)
+          throws IllegalArgumentException {
+    if (b >= m || m >= w || b < 0) {
+      throw new IllegalArgumentException("Wrong values for levels "
+              + "adjustment operation. Check values of B, M, W again.\n");
+    }
+    PointOperation imageOperation = new LevelsAdjustment(b, m, w);
+    return pointImageOperation(splitPercentage, imageOperation,
+            new SplitBuffer(splitPercentage, imageOperation));
+  }
+
+  /**
+   * Method represents the histogram plotting of the r,g,b pixel operation on an image.
+   * The histogram represents the intensity values Vs frequency of those values on the axes.
+   *
+   * @return An image as the result of the action performed on the present image.
+   */
+  @Override
+  public RGBImageInterface getPixelHistogram() {
+    ImageOperation imageOperation = new Histogram();
+    return imageOperation.operation(this);
+  }
+
+  /**
+   * Method represents the compression operation part on the image, and it is a lossy one.
+   * The data of the pixels is lost when it is reverted back to its original size.
+   *
+   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive.
+   */
+  @Override
+  public RGBImageInterface compressImage(double compressionPercentage)
+          throws IllegalArgumentException {
+    if (compressionPercentage < 0) {
+      throw new IllegalArgumentException("Illegal compression percentage"
+              + " passed to the application. Please check and try again.\n");
+
+    }
+    ImageOperation imageOperation = new Compression(compressionPercentage);
+    return imageOperation.operation(this);
+  }
+
+  /**
+   * Method represents the compression operation part on the image rebuilt at a lower resolution.
+   * Only the levels of the wavelet down to the level asked are undone.
+   *
+   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+   * @param level                 Level of the wavelet pyramid, 0 for the whole compressed image.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive
+   *                                  or the level is not within the pyramid of the image.
+   */
+  @Override
+  public RGBImageInterface compressImage(double compressionPercentage, int level)
+          throws IllegalArgumentException {
+    if (compressionPercentage < 0) {
+      throw new IllegalArgumentException("Illegal compression percentage"
+              + " passed to the application. Please check and try again.\n");
+    }
+    return new Compression(compressionPercentage).getPyramid(this).getImage(level);
+  }
+
+  /**
+   * Method represents the color correction part on an existing image.
+   * The intensity values for different channels are aligned long the common global max peak.
+   *
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   */
+  @Override
+  public RGBImageInterface colorCorrectionImage(double splitPercentage) {
+    ImageOperation imageOperation = new ColorCorrection();
+    return bufferImageOperation(splitPercentage, imageOperation);
+  }
+
+  /**
+   * Method represents the color matrix transformation on an existing image.
+   * The new value of each channel is the sum of the old channel values weighted by its row.
+   *
+   * @param colorMatrix     3 x 3 matrix where the row c holds the weights for the channel c.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the matrix is not a 3 x 3 matrix.
+   */
+  @Override
+  public RGBImageInterface colorMatrixImage(double[][] colorMatrix, double splitPercentage)
+          throws IllegalArgumentException {
+    PointOperation imageOperation = new ColorMatrixOperation(new ColorMatrix(colorMatrix));
+    return pointImageOperation(splitPercentage, imageOperation,
+            new SplitBuffer(splitPercentage, imageOperation));
+  }
+
+  /**
+   * Method represents the blur of any strength on the present single image currently in use.
+   * The cost of the blur does not depend on its radius.
+   *
+   * @param blurType        Containing the mapping to an Enum which store the blur types.
+   * @param radius          Radius of the box blur or standard deviation of the gaussian blur.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the type or radius is invalid.
+   */
+  @Override
+  public RGBImageInterface radiusBlurImage(int blurType, double radius, double splitPercentage)
+          throws IllegalArgumentException {
+    if (blurType >= BlurType.values().length) {
+      throw new IllegalArgumentException("Wrong blur value passed to model for "
+              + "blurring the image.\n");
+    }
+    ImageOperation imageOperation = new RadiusBlur(blurType, radius);
+    return bufferImageOperation(splitPercentage, imageOperation);
+  }
+
+  /**
+   * Method represents the filtering of the present single image with a kernel given by the user.
+   * The kernel is run by the same convolution engine as the blur and sharpen kernels.
+   *
+   * @param kernel          Matrix of weights with an odd number of rows and columns.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the kernel is invalid.
+   */
+  @Override
+  public RGBImageInterface convolveImage(double[][] kernel, double splitPercentage)
+          throws IllegalArgumentException {
+    ImageOperation imageOperation = new Sharpness(kernel);
+    return bufferImageOperation(splitPercentage, imageOperation);
+  }
+
+  /**
+   * The method checks that the pixel matrix is rectangular, has every channel and is in range.
+   *
+   * @param pixelMatrix 3-d Matrix signifying the pixels which need to be assigned to an image.
+   * @throws IllegalArgumentException Throws exception if the matrix is not a valid image matrix.
+   */
+  protected void checkValidDimensionImage(int[][][] pixelMatrix)
+          throws IllegalArgumentException {
+    if (pixelMatrix == null) {
+      throw new IllegalArgumentException("The image matrix passed is a null reference. "
+              + "Aborting the program.\n");
+    }
+
+    checkInitialDim(pixelMatrix);
+    int height = pixelMatrix.length;
+    int width = pixelMatrix[0].length;
+    for (int i = 0; i < pixelMatrix.length; i++) {
+      for (int j = 0; j < pixelMatrix[i].length; j++) {
+        if (pixelMatrix[i].length != width
+                || pixelMatrix[i][j].length != ColorMapping.values().length) {
+          throw new IllegalArgumentException("Input values of the "
+                  + "array does not match as expected.\n");
+        }
+        for (int k = 0; k < pixelMatrix[i][j].length; k++) {
+          if (pixelMatrix[i][j][k] < 0 || pixelMatrix[i][j][k] > RGBImage.MAX) {
+            throw new IllegalArgumentException("Pixel value: " + pixelMatrix[i][j][k]
+                    + " is outside the allowed range of 0 to " + RGBImage.MAX + ".\n");
+          }
+        }
+      }
+    }
+  }
+
+  private void checkInitialDim(int[][][] pixelMatrix) {
+    int height = pixelMatrix.length;
+    if (height == 0) {
+      throw new IllegalArgumentException("Input values of the array does not match as expected.\n");
+    }
+    int width = 0;
+    if (pixelMatrix[0] != null && pixelMatrix[0].length > 0) {
+      width = pixelMatrix[0].length;
+    } else {
+      throw new IllegalArgumentException("Input values of the array does not match as expected.\n");
+    }
+  }
+
+  /**
+   * Getter method to get the deep copy of the image pixel matrix currently in use.
+   *
+   * @return 3-d Matrix signifying the pixels of the present image in use.
+   */
+  @Override
+  public int[][][] getPixel() {
+    PixelView pixelView = getTransientPixelView();
+    int height = pixelView.getImageHeight();
+    int width = pixelView.getImageWidth();
+    int[][][] copyPixelMatrix = new int[height][width][ColorMapping.values().length];
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int pixelIndex = i * width + j;
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          copyPixelMatrix[i][j][k] = pixelView.getChannelValue(k, pixelIndex);
+        }
+      }
+    }
+    return copyPixelMatrix;
+  }
+
+  /**
+   * The method runs the operation directly on the pixels of this image if the image supports it.
+   * Images which cannot be written in place return false and the operation creates a new image.
+   *
+   * @param imageOperation Operation which can write its result over its own input.
+   * @return True if the operation was run on this image, false if it could not be done in place.
+   */
+  protected boolean operateInPlace(InPlaceOperation imageOperation) {
+    return false;
+  }
+
+  /**
+   * The method lets the image keep a per pixel operation pending instead of running it now.
+   * Images which compute their pixels right away return null, and the operation is run on them.
+   *
+   * @param imageOperation  Per pixel operation which needs to be applied on this image.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image on which the operation is pending, or null if it needs to be run now.
+   */
+  protected RGBImageInterface deferPointOperation(PointOperation imageOperation,
+                                                  double splitPercentage) {
+    return null;
+  }
+
+  private RGBImageInterface pointImageOperation(double splitPercentage,
+                                                PointOperation imageOperation,
+                                                ImageOperation eagerOperation) {
+    RGBImageInterface deferredImage = deferPointOperation(imageOperation, splitPercentage);
+    if (deferredImage != null) {
+      return deferredImage;
+    }
+    if (overwriteInPlace(imageOperation, splitPercentage)) {
+      return this;
+    }
+    return new ParallelBandOperation(eagerOperation).operation(this);
+  }
+
+  private boolean overwriteInPlace(InPlaceOperation imageOperation, double splitPercentage) {
+    return overwritable && splitPercentage == 100 && operateInPlace(imageOperation);
+  }
+
+  private RGBImageInterface bufferImageOperation(double splitPercentage,
+                                                 ImageOperation imageOperation) {
+    ImageOperation bufferOperation = new SplitBuffer(splitPercentage, imageOperation);
+    return new ParallelBandOperation(bufferOperation).operation(this);
+  }
+
+}
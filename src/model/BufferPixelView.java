@@ -0,0 +1,96 @@
+package model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class represents a read-only view over channel planes which are stored in byte buffers.
+ * The buffers are shared with the image and never written once published, so no copy is needed.
+ * The buffers are freed when the image is closed, so the view checks the image before every read
+ * and throws an exception instead of reading freed memory.
+ * The class is package private so that only the model can reach the buffers behind the view.
+ */
+final class BufferPixelView implements PixelView {
+
+  private final OffHeapRGBImage image;
+
+  private final ByteBuffer[] channelBuffers;
+
+  private final int height;
+
+  private final int width;
+
+  /**
+   * Constructor to create a view over the channel buffers of an image.
+   *
+   * @param image          Image which owns the buffers and frees them when it is closed.
+   * @param height         Integer signifying the height of the image stored in the buffers.
+   * @param width          Integer signifying the width of the image stored in the buffers.
+   * @param channelBuffers Array of buffers, one for each of the color channel of the image.
+   */
+  BufferPixelView(OffHeapRGBImage image, int height, int width, ByteBuffer[] channelBuffers) {
+    this.image = image;
+    this.height = height;
+    this.width = width;
+    this.channelBuffers = channelBuffers;
+  }
+
+  /**
+   * Getter method to get the height of the image this view is looking at.
+   *
+   * @return Integer signifying the height of the image behind the view.
+   */
+  @Override
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image this view is looking at.
+   *
+   * @return Integer signifying the width of the image behind the view.
+   */
+  @Override
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   * @throws IllegalStateException Throws exception if the image of the view has been closed.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) throws IllegalStateException {
+    checkOpen();
+    return channelBuffers[channel].get(pixelIndex) & RGBImage.MAX;
+  }
+
+  /**
+   * The method copies consecutive values of a channel into a byte array in a single bulk copy.
+   *
+   * @param channel          Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex       Integer signifying the row-major position of the first pixel copied.
+   * @param destination      Array into which the values are copied as unsigned bytes.
+   * @param destinationIndex Integer signifying the position of the first value in the array.
+   * @param length           Integer signifying the number of values to copy.
+   * @throws IllegalStateException Throws exception if the image of the view has been closed.
+   */
+  @Override
+  public void copyChannelValues(int channel, int pixelIndex, byte[] destination,
+                                int destinationIndex, int length) throws IllegalStateException {
+    checkOpen();
+    ByteBuffer channelBuffer = channelBuffers[channel].duplicate();
+    channelBuffer.position(pixelIndex);
+    channelBuffer.get(destination, destinationIndex, length);
+  }
+
+  private void checkOpen() {
+    if (image.isClosed()) {
+      throw new IllegalStateException("The off-heap image of the view has been "
+              + "closed and its pixels cannot be read anymore.\n");
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package model;
+
+import java.util.Arrays;
+
+import enums.ColorMapping;
+
+/**
+ * This class represents a writable copy of an image which is only allocated when it is written.
+ * Every channel keeps sharing the plane of the source view until the first write lands on it.
+ * Operations which leave some of the channels untouched therefore never pay for copying them.
+ * The object itself is not thread safe, but the images created from it are immutable snapshots.
+ * The planes written by this object are borrowed from the plane pool and handed over to the image
+ * created from it, while the planes shared with other images are retained for that image.
+ */
+public final class CopyOnWritePixels {
+
+  private final PixelView sourceView;
+
+  private final byte[][] channelPlanes;
+
+  private final boolean[] ownedPlanes;
+
+  private final int height;
+
+  private final int width;
+
+  /**
+   * Constructor to create a writable copy on top of a read-only view of an existing image.
+   *
+   * @param sourceView Read-only view of the image whose pixels are used until they are written.
+   * @throws IllegalArgumentException Throws exception if the view passed is a null reference.
+   */
+  public CopyOnWritePixels(PixelView sourceView) throws IllegalArgumentException {
+    if (sourceView == null) {
+      throw new IllegalArgumentException("The pixel view passed for the "
+              + "copy on write operation cannot be null.\n");
+    }
+    this.sourceView = sourceView;
+    this.height = sourceView.getImageHeight();
+    this.width = sourceView.getImageWidth();
+    this.channelPlanes = new byte[ColorMapping.values().length][];
+    this.ownedPlanes = new boolean[ColorMapping.values().length];
+    for (int k = 0; k < channelPlanes.length; k++) {
+      channelPlanes[k] = sharedPlane(sourceView, k);
+    }
+  }
+
+  /**
+   * Getter method to get the height of the image that is being written.
+   *
+   * @return Integer signifying the height of the image.
+   */
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image that is being written.
+   *
+   * @return Integer signifying the width of the image.
+   */
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get the present value of a channel including all the writes done so far.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  public int getChannelValue(int channel, int pixelIndex) {
+    byte[] plane = channelPlanes[channel];
+    if (plane == null) {
+      return sourceView.getChannelValue(channel, pixelIndex);
+    }
+    return plane[pixelIndex] & RGBImage.MAX;
+  }
+
+  /**
+   * The method writes a single channel value of a pixel, copying that channel on its first write.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @param value      Integer between 0 and 255 which is the new value of the channel.
+   */
+  public void setChannelValue(int channel, int pixelIndex, int value) {
+    if (!ownedPlanes[channel]) {
+      channelPlanes[channel] = copyPlane(channel);
+      ownedPlanes[channel] = true;
+    }
+    channelPlanes[channel][pixelIndex] = (byte) value;
+  }
+
+  /**
+   * The method sets all the values of a channel to zero without copying the old values at all.
+   *
+   * @param channel Integer representing the color channel mapping with the Enum data.
+   */
+  public void clearChannel(int channel) {
+    byte[] plane = ownedPlanes[channel] ? channelPlanes[channel]
+            : PlaneBufferPool.getDefault().borrowPlane(height * width);
+    Arrays.fill(plane, (byte) 0);
+    channelPlanes[channel] = plane;
+    ownedPlanes[channel] = true;
+  }
+
+  /**
+   * The method replaces a whole channel with the same channel of another image of same size.
+   * The channel is shared with the other image without a copy whenever it is possible.
+   *
+   * @param channel   Integer representing the color channel mapping with the Enum data.
+   * @param otherView Read-only view of the image from which the channel is to be taken.
+   * @throws IllegalArgumentException Throws exception if the dimensions of the views differ.
+   */
+  public void replaceChannel(int channel, PixelView otherView) throws IllegalArgumentException {
+    if (otherView == null || otherView.getImageHeight() != height
+            || otherView.getImageWidth() != width) {
+      throw new IllegalArgumentException("Images dimensions for replacing "
+              + "the channel doesn't match.\n");
+    }
+    if (ownedPlanes[channel]) {
+      PlaneBufferPool.getDefault().releasePlane(channelPlanes[channel]);
+    }
+    byte[] plane = sharedPlane(otherView, channel);
+    ownedPlanes[channel] = plane == null;
+    if (plane == null) {
+      plane = materializePlane(otherView, channel);
+    }
+    channelPlanes[channel] = plane;
+  }
+
+  /**
+   * The method returns an immutable image containing all the writes done till now.
+   * Channels that were never written are shared with the source image instead of being copied.
+   * Any later write on this object copies the channel again, so the returned image never changes.
+   *
+   * @return An image which contains the present state of the pixels.
+   */
+  public RGBImageInterface toImage() {
+    byte[][] resultPlanes = new byte[channelPlanes.length][];
+    for (int k = 0; k < channelPlanes.length; k++) {
+      if (channelPlanes[k] == null) {
+        channelPlanes[k] = materializePlane(sourceView, k);
+      } else if (!ownedPlanes[k]) {
+        PlaneBufferPool.getDefault().retainPlane(channelPlanes[k]);
+      }
+      resultPlanes[k] = channelPlanes[k];
+      ownedPlanes[k] = false;
+    }
+    return new RGBImage(height, width, resultPlanes);
+  }
+
+  private byte[] copyPlane(int channel) {
+    byte[] plane = channelPlanes[channel];
+    if (plane == null) {
+      return materializePlane(sourceView, channel);
+    }
+    byte[] copiedPlane = PlaneBufferPool.getDefault().borrowPlane(plane.length);
+    System.arraycopy(plane, 0, copiedPlane, 0, plane.length);
+    return copiedPlane;
+  }
+
+  private static byte[] sharedPlane(PixelView view, int channel) {
+    if (view instanceof PlanarPixelView) {
+      return ((PlanarPixelView) view).getChannelPlane(channel);
+    }
+    return null;
+  }
+
+  private static byte[] materializePlane(PixelView view, int channel) {
+    byte[] plane = PlaneBufferPool.getDefault()
+            .borrowPlane(view.getImageHeight() * view.getImageWidth());
+    for (int index = 0; index < plane.length; index++) {
+      plane[index] = (byte) view.getChannelValue(channel, index);
+    }
+    return plane;
+  }
+}
@@ -0,0 +1,285 @@
+package model;
+
+import java.util.Collections;
+
+import model.imageoperations.singlein.FusedPointOperation;
+import model.imageoperations.singlein.ParallelBandOperation;
+import model.imageoperations.singlein.PointOperation;
+
+/**
+ * This class represents an image whose per pixel operations are only recorded when called.
+ * Brightness, levels adjustment, sepia, greyscale and component operations return a new lazy image
+ * holding the chain of operations still to be applied on the source. The whole chain is run in a
+ * single pass over the source when the pixels are first read, for example to be saved or shown,
+ * so a chain of four operations reads and writes the image once instead of four times.
+ * The other operations read the pixels of the image, and their result is kept lazy as well.
+ */
+public class LazyRGBImage extends AbstractRGBImage {
+
+  private RGBImageInterface sourceImage;
+
+  private FusedPointOperation pendingOperation;
+
+  /**
+   * Constructor to create a lazy image on top of an existing image without any pending operation.
+   * The lazy image becomes the owner of the image passed and releases it when it is closed.
+   *
+   * @param sourceImage Image whose pixels are used by the operations of the lazy image.
+   * @throws IllegalArgumentException Throws exception if the image passed is a null reference.
+   */
+  public LazyRGBImage(RGBImageInterface sourceImage) throws IllegalArgumentException {
+    this(sourceImage, null);
+  }
+
+  private LazyRGBImage(RGBImageInterface sourceImage, FusedPointOperation pendingOperation)
+          throws IllegalArgumentException {
+    if (sourceImage == null) {
+      throw new IllegalArgumentException("The image passed for the lazy image "
+              + "cannot be a null reference.\n");
+    }
+    this.sourceImage = sourceImage;
+    this.pendingOperation = pendingOperation;
+  }
+
+  /**
+   * Getter method to get the number of per pixel operations which are still to be applied.
+   *
+   * @return Integer signifying the length of the pending chain, 0 once the pixels are computed.
+   */
+  public int getPendingOperationCount() {
+    return pendingOperation == null ? 0 : pendingOperation.getOperationCount();
+  }
+
+  /**
+   * The method runs the pending chain of operations now, so that the pixels are computed.
+   * The chain is run only once, later reads use the computed pixels.
+   */
+  public void materialize() {
+    if (pendingOperation == null) {
+      return;
+    }
+    RGBImageInterface computedImage = new ParallelBandOperation(pendingOperation)
+            .operation(sourceImage);
+    releaseSource();
+    this.sourceImage = computedImage;
+    this.pendingOperation = null;
+  }
+
+  /**
+   * The method adds the per pixel operation to a copy of the pending chain of this image.
+   * The pixels of the source are shared with the new image, so nothing is computed here.
+   * Split previews are not kept pending, as only a part of the image is changed by them.
+   *
+   * @param imageOperation  Per pixel operation which needs to be applied on this image.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return A lazy image on which the operation is pending, or null for a split preview.
+   */
+  @Override
+  protected RGBImageInterface deferPointOperation(PointOperation imageOperation,
+                                                  double splitPercentage) {
+    if (splitPercentage != 100 || getImageHeight() <= 0 || getImageWidth() <= 0) {
+      return null;
+    }
+    FusedPointOperation chainedOperation = pendingOperation == null
+            ? new FusedPointOperation(Collections.singletonList(imageOperation))
+            : pendingOperation.andThen(imageOperation);
+    return new LazyRGBImage(shareSource(), chainedOperation);
+  }
+
+  /**
+   * The method flips the image and keeps the result lazy for the operations done after it.
+   *
+   * @param axisDirection Integer representing the axis direction mapping with the Enum data.
+   * @return Lazy image which contains the data of the flipped version of the previous image.
+   * @throws IllegalArgumentException Throws exception if the axis passed is not defined.
+   */
+  @Override
+  public RGBImageInterface flipImage(int axisDirection) throws IllegalArgumentException {
+    return keepLazy(super.flipImage(axisDirection));
+  }
+
+  /**
+   * The method changes the sharpness of the image and keeps the result lazy for the operations
+   * done after it.
+   *
+   * @param kernelType      Containing the mapping to an Enum which store data for sharpness.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return Lazy image which contains the data of the changed sharpness version of the image.
+   * @throws IllegalArgumentException Throws exception if kernel mapping is invalid or not exists.
+   */
+  @Override
+  public RGBImageInterface changeSharpness(int kernelType, double splitPercentage)
+          throws IllegalArgumentException {
+    return keepLazy(super.changeSharpness(kernelType, splitPercentage));
+  }
+
+  /**
+   * The method blurs the image by the radius and keeps the result lazy for the operations done
+   * after it.
+   *
+   * @param blurType        Containing the mapping to an Enum which store the blur types.
+   * @param radius          Radius of the box blur or standard deviation of the gaussian blur.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return Lazy image which contains the data of the blurred version of the image.
+   * @throws IllegalArgumentException Exception is thrown if the type or radius is invalid.
+   */
+  @Override
+  public RGBImageInterface radiusBlurImage(int blurType, double radius, double splitPercentage)
+          throws IllegalArgumentException {
+    return keepLazy(super.radiusBlurImage(blurType, radius, splitPercentage));
+  }
+
+  /**
+   * The method filters the image with the kernel and keeps the result lazy for the operations
+   * done after it.
+   *
+   * @param kernel          Matrix of weights with an odd number of rows and columns.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return Lazy image which contains the data of the filtered version of the image.
+   * @throws IllegalArgumentException Exception is thrown if the kernel is invalid.
+   */
+  @Override
+  public RGBImageInterface convolveImage(double[][] kernel, double splitPercentage)
+          throws IllegalArgumentException {
+    return keepLazy(super.convolveImage(kernel, splitPercentage));
+  }
+
+  /**
+   * The method compresses the image and keeps the result lazy for the operations done after it.
+   *
+   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+   * @return Lazy image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive.
+   */
+  @Override
+  public RGBImageInterface compressImage(double compressionPercentage)
+          throws IllegalArgumentException {
+    return keepLazy(super.compressImage(compressionPercentage));
+  }
+
+  /**
+   * The method compresses the image at a lower resolution and keeps the result lazy for the
+   * operations done after it.
+   *
+   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+   * @param level                 Level of the wavelet pyramid, 0 for the whole compressed image.
+   * @return Lazy image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive
+   *                                  or the level is not within the pyramid of the image.
+   */
+  @Override
+  public RGBImageInterface compressImage(double compressionPercentage, int level)
+          throws IllegalArgumentException {
+    return keepLazy(super.compressImage(compressionPercentage, level));
+  }
+
+  /**
+   * The method color corrects the image and keeps the result lazy for the operations done after
+   * it.
+   *
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return Lazy image as the result of the action performed on the present image.
+   */
+  @Override
+  public RGBImageInterface colorCorrectionImage(double splitPercentage) {
+    return keepLazy(super.colorCorrectionImage(splitPercentage));
+  }
+
+  /**
+   * The method assigns new pixels to the image and drops the pending chain of operations.
+   *
+   * @param pixelMatrix 3-d Matrix signifying the pixels which need to be assigned to the image.
+   * @throws IllegalArgumentException Throws exception if the matrix is not a valid image matrix.
+   */
+  @Override
+  public void checkAndAssignValues(int[][][] pixelMatrix) throws IllegalArgumentException {
+    RGBImageInterface assignedImage = new RGBImage(pixelMatrix);
+    releaseSource();
+    this.sourceImage = assignedImage;
+    this.pendingOperation = null;
+  }
+
+  /**
+   * Getter method to get the height of the image, which is known without computing the pixels.
+   *
+   * @return Integer signifying the height of the image.
+   */
+  @Override
+  public int getImageHeight() {
+    return sourceImage.getImageHeight();
+  }
+
+  /**
+   * Getter method to get the width of the image, which is known without computing the pixels.
+   *
+   * @return Integer signifying the width of the image.
+   */
+  @Override
+  public int getImageWidth() {
+    return sourceImage.getImageWidth();
+  }
+
+  /**
+   * Getter method to get the value of a channel of a pixel, computing the pixels if needed.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the index of the pixel in row-major order.
+   * @return Integer signifying the value of the channel of the pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    materialize();
+    return sourceImage.getChannelValue(channel, pixelIndex);
+  }
+
+  /**
+   * Getter method to get a read-only view over the pixels, computing the pixels if needed.
+   *
+   * @return Immutable view signifying the pixels of the present image in use.
+   */
+  @Override
+  public PixelView getPixelView() {
+    materialize();
+    return sourceImage.getPixelView();
+  }
+
+  /**
+   * Getter method to get a read-only view over the pixels which is only read during the call that
+   * asks for it, computing the pixels if needed.
+   *
+   * @return View signifying the pixels of the present image in use, read within the call only.
+   */
+  @Override
+  public PixelView getTransientPixelView() {
+    materialize();
+    return sourceImage.getTransientPixelView();
+  }
+
+  /**
+   * The method releases the pixels held by the image and drops the pending chain of operations.
+   * The lazy images created from this one keep their own share of the pixels.
+   */
+  @Override
+  public void close() {
+    releaseSource();
+    this.sourceImage = new RGBImage();
+    this.pendingOperation = null;
+  }
+
+  private RGBImageInterface shareSource() {
+    return new CopyOnWritePixels(sourceImage.getTransientPixelView()).toImage();
+  }
+
+  private RGBImageInterface keepLazy(RGBImageInterface rgbImage) {
+    if (rgbImage == this || rgbImage instanceof LazyRGBImage) {
+      return rgbImage;
+    }
+    return new LazyRGBImage(rgbImage);
+  }
+
+  private void releaseSource() {
+    if (sourceImage instanceof AbstractRGBImage) {
+      ((AbstractRGBImage) sourceImage).close();
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import enums.ColorMapping;
+
+/**
+ * This class represents an image whose pixels are stored outside the java heap.
+ * Every channel is kept as one direct or memory mapped byte buffer, so the garbage collector never
+ * has to scan or move the pixel data. Direct buffers are still counted against the limit set by
+ * -XX:MaxDirectMemorySize, which is the maximum heap size unless it is given, so holding an image
+ * larger than the heap needs that limit raised. Mapped buffers, like the ones of a raw planar
+ * file, are paged in from the file by the system and are not counted against either limit.
+ * The life of the pixel data is explicit: the owner closes the image once it is not needed
+ * anymore, which frees its direct buffers and unmaps its mapped ones right away, where the
+ * runtime lets the buffers be freed, instead of leaving them to the garbage collector.
+ * All the image operations work on this image in the same way as on the heap backed image, and
+ * give back their results as heap images.
+ */
+public class OffHeapRGBImage extends AbstractRGBImage {
+
+  private static final Object UNSAFE;
+
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+      unsafeField.setAccessible(true);
+      unsafe = unsafeField.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // without the cleaner the buffers are freed by the garbage collector
+      invokeCleaner = null;
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  private ByteBuffer[] channelBuffers;
+
+  private int height;
+
+  private int width;
+
+  private boolean closed;
+
+  /**
+   * Constructor to create an off-heap image object using the pixel image matrix passed to it.
+   *
+   * @param pixelMatrix 3-d Matrix which signifies the img data in matrix format.
+   * @throws IllegalArgumentException Throws exception if the matrix is not a valid image matrix.
+   */
+  public OffHeapRGBImage(int[][][] pixelMatrix) throws IllegalArgumentException {
+    checkAndAssignValues(pixelMatrix);
+  }
+
+  /**
+   * Constructor to create an off-heap image directly from the channel buffers passed to it.
+   * Each buffer stores one color channel as height * width unsigned bytes in row-major order,
+   * starting at index 0. The buffers are used as it is without any copy, for example the
+   * planes of a memory mapped file, so the caller must not modify them later. The image becomes
+   * the owner of the buffers and frees or unmaps them when it is closed.
+   *
+   * @param height         Integer signifying the height of the image stored in the buffers.
+   * @param width          Integer signifying the width of the image stored in the buffers.
+   * @param channelBuffers Array of buffers, one for each of the color channel of the image.
+   * @throws IllegalArgumentException Throws exception if the buffers do not match the dimensions.
+   */
+  public OffHeapRGBImage(int height, int width, ByteBuffer[] channelBuffers)
+          throws IllegalArgumentException {
+    if (height <= 0 || width <= 0 || (long) height * width > Integer.MAX_VALUE
+            || channelBuffers == null || channelBuffers.length != ColorMapping.values().length) {
+      throw new IllegalArgumentException("Input values of the array does not match as expected.\n");
+    }
+    for (ByteBuffer buffer : channelBuffers) {
+      if (buffer == null || buffer.capacity() != height * width) {
+        throw new IllegalArgumentException("Input values of the "
+                + "array does not match as expected.\n");
+      }
+    }
+    this.height = height;
+    this.width = width;
+    this.channelBuffers = channelBuffers;
+  }
+
+  /**
+   * Constructor to create an off-heap copy of the image which is visible through the view.
+   * The pixels are copied channel by channel, so no pixel matrix is created on the heap for it.
+   *
+   * @param sourceView Read-only view of the image which needs to be moved out of the heap.
+   * @throws IllegalArgumentException Throws exception if the view is null or has no pixels.
+   */
+  public OffHeapRGBImage(PixelView sourceView) throws IllegalArgumentException {
+    if (sourceView == null || sourceView.getImageHeight() <= 0
+            || sourceView.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for the off-heap "
+              + "storage is not as expected, check again.\n");
+    }
+    this.height = sourceView.getImageHeight();
+    this.width = sourceView.getImageWidth();
+    this.channelBuffers = allocateBuffers(height, width);
+    byte[] rowValues = new byte[width];
+    for (int k = 0; k < channelBuffers.length; k++) {
+      for (int i = 0; i < height; i++) {
+        for (int j = 0; j < width; j++) {
+          rowValues[j] = (byte) sourceView.getChannelValue(k, i * width + j);
+        }
+        channelBuffers[k].put(rowValues);
+      }
+    }
+  }
+
+  /**
+   * The method is used to check and assign new image matrix value to the model currently in use.
+   * New buffers are allocated for the values, so the views created earlier keep their pixels.
+   *
+   * @param pixelMatrix 3-d Matrix signifying the pixels of the present image in use.
+   * @throws IllegalStateException Throws exception if the image has already been closed.
+   */
+  @Override
+  public void checkAndAssignValues(int[][][] pixelMatrix) throws IllegalStateException {
+    checkOpen();
+    checkValidDimensionImage(pixelMatrix);
+    int newHeight = pixelMatrix.length;
+    int newWidth = pixelMatrix[0].length;
+    ByteBuffer[] newBuffers = allocateBuffers(newHeight, newWidth);
+    byte[] rowValues = new byte[newWidth];
+    for (int k = 0; k < newBuffers.length; k++) {
+      for (int i = 0; i < newHeight; i++) {
+        for (int j = 0; j < newWidth; j++) {
+          rowValues[j] = (byte) pixelMatrix[i][j][k];
+        }
+        newBuffers[k].put(rowValues);
+      }
+    }
+    this.height = newHeight;
+    this.width = newWidth;
+    this.channelBuffers = newBuffers;
+  }
+
+  private static ByteBuffer[] allocateBuffers(int height, int width) {
+    if ((long) height * width > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Image of size " + height + " x " + width
+              + " is too large for a single off-heap channel buffer.\n");
+    }
+    ByteBuffer[] buffers = new ByteBuffer[ColorMapping.values().length];
+    for (int k = 0; k < buffers.length; k++) {
+      buffers[k] = ByteBuffer.allocateDirect(height * width);
+    }
+    return buffers;
+  }
+
+  /**
+   * Getter method to get the height of the image currently in use.
+   *
+   * @return Integer signifying the height of the present image in use.
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Getter method to get the width of the image currently in use.
+   *
+   * @return Integer signifying the width of the present image in use.
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The pixel at row i and column j of the image is present at the index i * width + j.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   * @throws IllegalStateException Throws exception if the image has already been closed.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) throws IllegalStateException {
+    checkOpen();
+    return channelBuffers[channel].get(pixelIndex) & RGBImage.MAX;
+  }
+
+  /**
+   * Getter method to get a read-only view over the pixels of the image currently in use.
+   * The buffers of the image are never written after they are assigned, so the view shares them.
+   *
+   * @return Immutable view signifying the pixels of the present image in use.
+   * @throws IllegalStateException Throws exception if the image has already been closed.
+   */
+  @Override
+  public PixelView getPixelView() throws IllegalStateException {
+    checkOpen();
+    if (channelBuffers == null) {
+      return new PlanarPixelView(0, 0, new byte[ColorMapping.values().length][0]);
+    }
+    ByteBuffer[] readOnlyBuffers = new ByteBuffer[channelBuffers.length];
+    for (int k = 0; k < channelBuffers.length; k++) {
+      readOnlyBuffers[k] = channelBuffers[k].asReadOnlyBuffer();
+    }
+    return new BufferPixelView(this, height, width, readOnlyBuffers);
+  }
+
+  /**
+   * The method tells whether the image has been closed and its pixel data has been released.
+   *
+   * @return True if the image has been closed, false if it can still be used.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * The method ends the life of the image and frees the buffers which hold its pixels right away.
+   * The image cannot be read or assigned after this, calling the method again has no effect.
+   * Views handed out earlier must not be read after this either, they throw an exception if they
+   * are read on the thread which closed the image.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    this.closed = true;
+    if (channelBuffers != null) {
+      for (ByteBuffer buffer : channelBuffers) {
+        freeBuffer(buffer);
+      }
+    }
+    this.channelBuffers = null;
+    this.height = 0;
+    this.width = 0;
+  }
+
+  private static void freeBuffer(ByteBuffer buffer) {
+    if (INVOKE_CLEANER == null || !buffer.isDirect()) {
+      return;
+    }
+    try {
+      INVOKE_CLEANER.invoke(UNSAFE, buffer);
+    } catch (ReflectiveOperationException | IllegalArgumentException e) {
+      // a slice or duplicate of another buffer is freed with that buffer by the garbage collector
+    }
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("The off-heap image has already been "
+              + "closed and cannot be used anymore.\n");
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package model;
+
+import enums.ColorMapping;
+
+/**
+ * This class represents a writable destination that the image operations write their result into.
+ * The buffer keeps its channel planes between the operations, so running an operation again on an
+ * image of the same size reuses the same memory instead of creating and validating a new image.
+ * The planes are trusted internal memory: they are written directly by the operations, and they
+ * are never checked value by value as the pixel matrix passed to an image is.
+ * The buffer must not be the storage of the source image of the operation writing into it.
+ */
+public final class PixelBuffer implements AutoCloseable {
+
+  private byte[][] channelPlanes;
+
+  private int height;
+
+  private int width;
+
+  /**
+   * Constructor to create an empty buffer, which gets its planes when it is first resized.
+   */
+  public PixelBuffer() {
+    this.channelPlanes = null;
+    this.height = 0;
+    this.width = 0;
+  }
+
+  /**
+   * Constructor to create a buffer over the planes of an image, used to run an operation in place.
+   * The planes stay owned by the image, so the buffer must not be closed or turned into an image.
+   *
+   * @param height        Integer signifying the height of the image stored in the planes.
+   * @param width         Integer signifying the width of the image stored in the planes.
+   * @param channelPlanes Array of packed planes, one for each of the color channel of the image.
+   */
+  PixelBuffer(int height, int width, byte[][] channelPlanes) {
+    this.channelPlanes = channelPlanes;
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * The method makes the buffer hold an image of the given size.
+   * The present planes are kept if the size is the same, otherwise they are given back to the
+   * plane pool and new ones are borrowed. The values present in the planes are not defined after
+   * this call, so the operation has to write every value of the buffer.
+   *
+   * @param height Integer signifying the height of the image the buffer needs to hold.
+   * @param width  Integer signifying the width of the image the buffer needs to hold.
+   * @throws IllegalArgumentException Throws exception if the dimensions are not positive.
+   */
+  public void resize(int height, int width) throws IllegalArgumentException {
+    if (height <= 0 || width <= 0 || (long) height * width > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Dimensions passed for the pixel "
+              + "buffer are not as expected, check again.\n");
+    }
+    if (channelPlanes != null && this.height == height && this.width == width) {
+      return;
+    }
+    releasePlanes();
+    this.channelPlanes = PlaneBufferPool.getDefault()
+            .borrowPlanes(ColorMapping.values().length, height * width);
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Getter method to get the height of the image held by the buffer.
+   *
+   * @return Integer signifying the height of the image, 0 if the buffer is empty.
+   */
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image held by the buffer.
+   *
+   * @return Integer signifying the width of the image, 0 if the buffer is empty.
+   */
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get the writable plane of a channel of the buffer.
+   * The plane stores height * width unsigned bytes in row-major order.
+   *
+   * @param channel Integer representing the color channel mapping with the Enum data.
+   * @return The plane of the channel which is written in place.
+   * @throws IllegalStateException Throws exception if the buffer has not been resized yet.
+   */
+  public byte[] getChannelPlane(int channel) throws IllegalStateException {
+    checkNotEmpty();
+    return channelPlanes[channel];
+  }
+
+  /**
+   * Getter method to get a view over the pixels present in the buffer.
+   * Unlike the view of an image, this view shows the later writes done on the buffer as well,
+   * so it should only be read until the buffer is written again.
+   *
+   * @return View signifying the pixels present in the buffer.
+   * @throws IllegalStateException Throws exception if the buffer has not been resized yet.
+   */
+  public PixelView getPixelView() throws IllegalStateException {
+    checkNotEmpty();
+    return new PlanarPixelView(height, width, channelPlanes);
+  }
+
+  /**
+   * The method hands the planes of the buffer over to a new immutable image without any copy.
+   * The buffer becomes empty and borrows new planes on its next resize.
+   *
+   * @return An image which contains the pixels present in the buffer.
+   * @throws IllegalStateException Throws exception if the buffer has not been resized yet.
+   */
+  public RGBImageInterface toImage() throws IllegalStateException {
+    checkNotEmpty();
+    RGBImageInterface resultImage = new RGBImage(height, width, channelPlanes);
+    this.channelPlanes = null;
+    this.height = 0;
+    this.width = 0;
+    return resultImage;
+  }
+
+  /**
+   * The method gives the planes of the buffer back to the plane pool and empties the buffer.
+   */
+  @Override
+  public void close() {
+    releasePlanes();
+    this.channelPlanes = null;
+    this.height = 0;
+    this.width = 0;
+  }
+
+  private void releasePlanes() {
+    if (channelPlanes != null) {
+      for (byte[] plane : channelPlanes) {
+        PlaneBufferPool.getDefault().releasePlane(plane);
+      }
+    }
+  }
+
+  private void checkNotEmpty() {
+    if (channelPlanes == null) {
+      throw new IllegalStateException("The pixel buffer is empty, "
+              + "resize it before it is used.\n");
+    }
+  }
+}
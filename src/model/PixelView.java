@@ -0,0 +1,54 @@
+package model;
+
+/**
+ * This interface represents a read-only view over the pixels of an image currently in the memory.
+ * A view never copies the image data, so operations can scan the image without any extra cost.
+ * Every view shows the pixels of the image as they were when the view was taken, even when the
+ * image is overwritten in place later, which makes it safe to share across threads.
+ * A view does not own the memory it reads, so it must not outlive the image it was taken from:
+ * once the image is closed, its planes go back to the plane pool and are reused by other images,
+ * and reading the view after that gives the pixels of those images instead.
+ */
+public interface PixelView {
+
+  /**
+   * Getter method to get the height of the image this view is looking at.
+   *
+   * @return Integer signifying the height of the image behind the view.
+   */
+  int getImageHeight();
+
+  /**
+   * Getter method to get the width of the image this view is looking at.
+   *
+   * @return Integer signifying the width of the image behind the view.
+   */
+  int getImageWidth();
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The pixel at row i and column j of the image is present at the index i * width + j.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  int getChannelValue(int channel, int pixelIndex);
+
+  /**
+   * The method copies consecutive values of a channel into a byte array, starting at a pixel.
+   * Views backed by packed memory copy them in bulk, the others read one value at a time.
+   *
+   * @param channel          Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex       Integer signifying the row-major position of the first pixel copied.
+   * @param destination      Array into which the values are copied as unsigned bytes.
+   * @param destinationIndex Integer signifying the position of the first value in the array.
+   * @param length           Integer signifying the number of values to copy.
+   */
+  default void copyChannelValues(int channel, int pixelIndex, byte[] destination,
+                                 int destinationIndex, int length) {
+    for (int index = 0; index < length; index++) {
+      destination[destinationIndex + index] = (byte) getChannelValue(channel, pixelIndex + index);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * This class represents a read-only view over the packed channel planes of an image.
+ * The planes are shared with the image, which copies them before writing them while the view can
+ * still read them, so no copy is needed.
+ * The class is package private so that only the model can reach the planes behind the view.
+ */
+final class PlanarPixelView implements PixelView {
+
+  private final byte[][] channelPlanes;
+
+  private final int height;
+
+  private final int width;
+
+  /**
+   * Constructor to create a view over the packed channel planes of an image.
+   *
+   * @param height        Integer signifying the height of the image stored in the planes.
+   * @param width         Integer signifying the width of the image stored in the planes.
+   * @param channelPlanes Array of packed planes, one for each of the color channel of the image.
+   */
+  PlanarPixelView(int height, int width, byte[][] channelPlanes) {
+    this.height = height;
+    this.width = width;
+    this.channelPlanes = channelPlanes;
+  }
+
+  /**
+   * Getter method to get the height of the image this view is looking at.
+   *
+   * @return Integer signifying the height of the image behind the view.
+   */
+  @Override
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image this view is looking at.
+   *
+   * @return Integer signifying the width of the image behind the view.
+   */
+  @Override
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    return channelPlanes[channel][pixelIndex] & RGBImage.MAX;
+  }
+
+  /**
+   * The method copies consecutive values of a channel into a byte array in a single bulk copy.
+   *
+   * @param channel          Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex       Integer signifying the row-major position of the first pixel copied.
+   * @param destination      Array into which the values are copied as unsigned bytes.
+   * @param destinationIndex Integer signifying the position of the first value in the array.
+   * @param length           Integer signifying the number of values to copy.
+   */
+  @Override
+  public void copyChannelValues(int channel, int pixelIndex, byte[] destination,
+                                int destinationIndex, int length) {
+    System.arraycopy(channelPlanes[channel], pixelIndex, destination, destinationIndex, length);
+  }
+
+  byte[] getChannelPlane(int channel) {
+    return channelPlanes[channel];
+  }
+}
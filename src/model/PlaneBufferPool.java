@@ -0,0 +1,284 @@
+package model;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * This class represents a pool of channel planes which are recycled between intermediate images.
+ * Free planes are kept in buckets by their size, so an operation on an image of the same size as
+ * an earlier one borrows its destination planes instead of allocating new ones.
+ * A borrowed plane has an owner count. An image adopts the planes it is created with, images
+ * sharing a plane retain it, and closing an image releases its planes. The plane goes back to its
+ * bucket when the last owner releases it. An object which reads a plane but is never closed, like
+ * a view, can own it as well, and releases it once it is garbage collected. The views of an image
+ * are not owners by default though, so they are not to be read after the image is closed.
+ * Planes which were never borrowed from the pool are ignored, so an image made of such planes can
+ * be closed safely.
+ * In debug mode the pool remembers where every plane was borrowed and reports the planes which
+ * were garbage collected without being released. Debug mode of the default pool is switched on
+ * with the system property imageprocessing.pool.debug=true.
+ */
+public final class PlaneBufferPool {
+
+  private static final PlaneBufferPool DEFAULT_POOL = new PlaneBufferPool(
+          Boolean.getBoolean("imageprocessing.pool.debug"),
+          Runtime.getRuntime().maxMemory() / 8);
+
+  private final boolean debugMode;
+
+  private final long maxRetainedBytes;
+
+  private final Map<Integer, ArrayDeque<byte[]>> freePlanes;
+
+  private final Map<byte[], Integer> ownerCounts;
+
+  private final Map<byte[], LeakRecord> leakRecords;
+
+  private final Set<LeakRecord> liveRecords;
+
+  private final ReferenceQueue<byte[]> collectedPlanes;
+
+  private final List<String> leakReports;
+
+  private long retainedBytes;
+
+  private Cleaner holderCleaner;
+
+  /**
+   * Constructor to create a pool of channel planes.
+   *
+   * @param debugMode        True if the pool needs to track the planes for leaks.
+   * @param maxRetainedBytes Maximum number of bytes of free planes kept by the pool at a time.
+   * @throws IllegalArgumentException Throws exception if the maximum is negative.
+   */
+  public PlaneBufferPool(boolean debugMode, long maxRetainedBytes)
+          throws IllegalArgumentException {
+    if (maxRetainedBytes < 0) {
+      throw new IllegalArgumentException("Maximum size of the plane pool "
+              + "cannot be negative.\n");
+    }
+    this.debugMode = debugMode;
+    this.maxRetainedBytes = maxRetainedBytes;
+    this.freePlanes = new HashMap<>();
+    this.ownerCounts = new WeakHashMap<>();
+    this.leakRecords = new WeakHashMap<>();
+    this.liveRecords = new HashSet<>();
+    this.collectedPlanes = new ReferenceQueue<>();
+    this.leakReports = new ArrayList<>();
+  }
+
+  /**
+   * Getter method to get the pool shared by all the images of the application.
+   *
+   * @return The default pool of channel planes.
+   */
+  public static PlaneBufferPool getDefault() {
+    return DEFAULT_POOL;
+  }
+
+  /**
+   * The method borrows a plane of the given length, reusing a free plane of that size if present.
+   * The contents of a reused plane are not cleared, so the caller has to write every value of it.
+   * The caller is the only owner of the plane until it is adopted by an image or released.
+   *
+   * @param length Integer signifying the number of values needed in the plane.
+   * @return A plane of exactly the asked length.
+   */
+  public synchronized byte[] borrowPlane(int length) {
+    pollCollectedPlanes();
+    byte[] plane = null;
+    ArrayDeque<byte[]> bucket = freePlanes.get(length);
+    if (bucket != null && !bucket.isEmpty()) {
+      plane = bucket.pop();
+      retainedBytes -= length;
+    } else {
+      plane = new byte[length];
+    }
+    ownerCounts.put(plane, 1);
+    if (debugMode) {
+      LeakRecord record = new LeakRecord(plane, collectedPlanes);
+      leakRecords.put(plane, record);
+      liveRecords.add(record);
+    }
+    return plane;
+  }
+
+  /**
+   * The method borrows one plane of the given length for each of the channels of an image.
+   *
+   * @param channelCount Integer signifying the number of planes needed.
+   * @param length       Integer signifying the number of values needed in each of the planes.
+   * @return Array of planes, each of exactly the asked length.
+   */
+  public byte[][] borrowPlanes(int channelCount, int length) {
+    byte[][] planes = new byte[channelCount][];
+    for (int k = 0; k < channelCount; k++) {
+      planes[k] = borrowPlane(length);
+    }
+    return planes;
+  }
+
+  /**
+   * The method adds one more owner to a borrowed plane, used when an image shares the plane.
+   * Planes which were not borrowed from this pool are ignored.
+   *
+   * @param plane The plane which is shared by one more owner.
+   */
+  public synchronized void retainPlane(byte[] plane) {
+    Integer count = ownerCounts.get(plane);
+    if (count != null) {
+      ownerCounts.put(plane, count + 1);
+    }
+  }
+
+  /**
+   * The method adds one more owner to a borrowed plane on behalf of an object which reads the
+   * plane but is never closed, like a view handed out earlier. The plane is released for that
+   * object once the object is garbage collected, so it is not reused while the object can still
+   * read it. Planes which were not borrowed from this pool are ignored.
+   *
+   * @param plane  The plane which is read by the object.
+   * @param holder The object reading the plane, which owns it until it is unreachable.
+   */
+  public void retainPlaneWhileReachable(byte[] plane, Object holder) {
+    Cleaner cleaner;
+    synchronized (this) {
+      Integer count = ownerCounts.get(plane);
+      if (count == null) {
+        return;
+      }
+      ownerCounts.put(plane, count + 1);
+      if (holderCleaner == null) {
+        holderCleaner = Cleaner.create();
+      }
+      cleaner = holderCleaner;
+    }
+    cleaner.register(holder, () -> releasePlane(plane));
+  }
+
+  /**
+   * The method removes one owner of a borrowed plane and returns it to its bucket if it was
+   * the last one. Planes which were not borrowed from this pool are ignored.
+   *
+   * @param plane The plane which is not used by the owner anymore.
+   * @throws IllegalStateException Throws exception in debug mode if the plane is already free.
+   */
+  public synchronized void releasePlane(byte[] plane) throws IllegalStateException {
+    if (plane == null) {
+      return;
+    }
+    Integer count = ownerCounts.get(plane);
+    if (count == null) {
+      if (debugMode && isFree(plane)) {
+        throw new IllegalStateException("A plane of " + plane.length
+                + " bytes was released more times than it was owned.\n");
+      }
+      return;
+    }
+    if (count > 1) {
+      ownerCounts.put(plane, count - 1);
+      return;
+    }
+    ownerCounts.remove(plane);
+    LeakRecord record = leakRecords.remove(plane);
+    if (record != null) {
+      liveRecords.remove(record);
+      record.clear();
+    }
+    if (retainedBytes + plane.length <= maxRetainedBytes) {
+      freePlanes.computeIfAbsent(plane.length, length -> new ArrayDeque<>()).push(plane);
+      retainedBytes += plane.length;
+    }
+  }
+
+  /**
+   * The method tells whether a borrowed plane has exactly one owner, so it can be written in place
+   * without any other image seeing the change. Planes not borrowed from the pool are never
+   * reported as exclusive, as their other users are not known.
+   *
+   * @param plane The plane which needs to be written in place.
+   * @return True if the plane is borrowed from the pool and has only one owner.
+   */
+  public synchronized boolean isExclusivelyOwned(byte[] plane) {
+    Integer count = ownerCounts.get(plane);
+    return count != null && count == 1;
+  }
+
+  /**
+   * Getter method to get the number of free planes present in the pool for the given length.
+   *
+   * @param length Integer signifying the number of values of the planes.
+   * @return Integer signifying how many planes of that length can be borrowed without allocation.
+   */
+  public synchronized int getFreePlaneCount(int length) {
+    ArrayDeque<byte[]> bucket = freePlanes.get(length);
+    return bucket == null ? 0 : bucket.size();
+  }
+
+  /**
+   * The method reports the planes which were garbage collected without being released.
+   * Each report contains the place in the code where the plane was borrowed.
+   * Leaks are only tracked in debug mode, otherwise the list is always empty.
+   *
+   * @return List of reports of the leaked planes found so far.
+   */
+  public synchronized List<String> getLeakReports() {
+    pollCollectedPlanes();
+    return new ArrayList<>(leakReports);
+  }
+
+  private boolean isFree(byte[] plane) {
+    ArrayDeque<byte[]> bucket = freePlanes.get(plane.length);
+    if (bucket != null) {
+      for (byte[] freePlane : bucket) {
+        if (freePlane == plane) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void pollCollectedPlanes() {
+    LeakRecord record = (LeakRecord) collectedPlanes.poll();
+    while (record != null) {
+      if (liveRecords.remove(record)) {
+        StringBuilder report = new StringBuilder();
+        report.append("A plane of ").append(record.length)
+                .append(" bytes was garbage collected without being released. Borrowed at:\n");
+        for (StackTraceElement element : record.borrowSite) {
+          report.append("\tat ").append(element).append("\n");
+        }
+        leakReports.add(report.toString());
+        System.err.print(report);
+      }
+      record = (LeakRecord) collectedPlanes.poll();
+    }
+  }
+
+  /**
+   * This class represents the debug record of a borrowed plane, remembering where it was borrowed.
+   * The plane itself is only weakly referenced so the record does not keep it alive.
+   */
+  private static final class LeakRecord extends WeakReference<byte[]> {
+
+    private final int length;
+
+    private final StackTraceElement[] borrowSite;
+
+    private LeakRecord(byte[] plane, ReferenceQueue<byte[]> queue) {
+      super(plane, queue);
+      this.length = plane.length;
+      this.borrowSite = new Throwable().getStackTrace();
+    }
+  }
+}
@@ -1,41 +1,28 @@
 package model;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
 
-import enums.AxisName;
 import enums.ColorMapping;
-import enums.GreyScaleType;
-import enums.KernelImage;
-import model.imageoperations.multiin.CombineChannelImage;
-import model.imageoperations.multiin.MultipleImagesSingleOperation;
-import model.imageoperations.multiout.MultipleOperationImages;
-import model.imageoperations.multiout.SplitChannelImage;
-import model.imageoperations.singlein.Brightness;
-import model.imageoperations.singlein.ColorCorrection;
-import model.imageoperations.singlein.ColorTransformation;
-import model.imageoperations.singlein.Compression;
-import model.imageoperations.singlein.Flip;
-import model.imageoperations.singlein.GreyScale;
-import model.imageoperations.singlein.Histogram;
-import model.imageoperations.singlein.ImageOperation;
-import model.imageoperations.singlein.LevelsAdjustment;
-import model.imageoperations.singlein.Monochrome;
-import model.imageoperations.singlein.Sharpness;
-import model.imageoperations.singlein.SplitBuffer;
+import model.imageoperations.singlein.InPlaceOperation;
 
 /**
  * This class represents an image. The image class can contain different fields like height, width.
  * The image can also perform various image transformation operation on itself and get new objects.
  * This it main model class for the MVC architecture of image processing application.
+ * The pixels of this image are kept on the java heap as one packed byte plane per channel.
  */
-public class RGBImage implements RGBImageInterface {
+public class RGBImage extends AbstractRGBImage {
 
-  private int[][][] pixelMatrix;
+  private byte[][] channelPlanes;
 
   private int height;
 
   private int width;
 
+  private final List<WeakReference<PlanarPixelView>> handedViews = new ArrayList<>();
+
   public static final int MAX = 255;
 
 
@@ -48,309 +35,244 @@ public class RGBImage implements RGBImageInterface {
     checkAndAssignValues(pixelMatrix);
   }
 
+  /**
+   * Constructor to create an image object directly from the packed channel planes passed to it.
+   * Each plane stores one color channel as height * width unsigned bytes in row-major order.
+   * The planes are used as it is without any copy, so the caller must not modify them later.
+   * The image becomes the owner of the planes and returns them to the plane pool when closed.
+   *
+   * @param height        Integer signifying the height of the image stored in the planes.
+   * @param width         Integer signifying the width of the image stored in the planes.
+   * @param channelPlanes Array of packed planes, one for each of the color channel of the image.
+   * @throws IllegalArgumentException Throws exception if the planes do not match the dimensions.
+   */
+  public RGBImage(int height, int width, byte[][] channelPlanes)
+          throws IllegalArgumentException {
+    checkValidChannelPlanes(height, width, channelPlanes);
+    this.channelPlanes = channelPlanes;
+    this.height = height;
+    this.width = width;
+  }
+
   /**
    * Constructor to create an empty image object.
    * The object here behaves like a container of an img.
    * While creation of the object it is empty but can get new items over the time.
    */
   public RGBImage() {
-    this.pixelMatrix = null;
+    this.channelPlanes = null;
     this.height = 0;
     this.width = 0;
   }
 
   /**
    * The method is used to check and assign new image matrix value to the model currently in use.
+   * The matrix is packed into one contiguous plane per channel and is not retained by the image.
+   * The planes of the pixels assigned before go back to the plane pool, right away when no view
+   * handed out by getPixelView can still read them, and once those views are garbage collected
+   * otherwise, so the views keep reading the earlier pixels.
    *
    * @param pixelMatrix 3-d Matrix signifying the pixels of the present image in use.
    */
   @Override
   public void checkAndAssignValues(int[][][] pixelMatrix) {
     checkValidDimensionImage(pixelMatrix);
-    this.pixelMatrix = pixelMatrix;
+    releaseReplacedPlanes();
     this.height = pixelMatrix.length;
     this.width = pixelMatrix[0].length;
+    this.channelPlanes = packPixelMatrix(pixelMatrix, height, width);
   }
 
-  private void checkValidDimensionImage(int[][][] pixelMatrix) {
-    if (pixelMatrix == null) {
-      throw new IllegalArgumentException("The image matrix passed is a null reference. "
-              + "Aborting the program.\n");
+  private void releaseReplacedPlanes() {
+    List<PlanarPixelView> liveViews = takeLiveViews();
+    if (channelPlanes == null) {
+      return;
     }
+    PlaneBufferPool planePool = PlaneBufferPool.getDefault();
+    for (int k = 0; k < channelPlanes.length; k++) {
+      byte[] plane = channelPlanes[k];
+      for (PixelView pixelView : getReadingViews(liveViews, k, plane)) {
+        planePool.retainPlaneWhileReachable(plane, pixelView);
+      }
+      planePool.releasePlane(plane);
+    }
+  }
 
-    checkInitialDim(pixelMatrix);
-    int height = pixelMatrix.length;
-    int width = pixelMatrix[0].length;
-    for (int i = 0; i < pixelMatrix.length; i++) {
-      for (int j = 0; j < pixelMatrix[i].length; j++) {
-        if (pixelMatrix[i].length != width
-                || pixelMatrix[i][j].length != ColorMapping.values().length) {
-          throw new IllegalArgumentException("Input values of the "
-                  + "array does not match as expected.\n");
+  private static byte[][] packPixelMatrix(int[][][] pixelMatrix, int height, int width) {
+    byte[][] planes = PlaneBufferPool.getDefault()
+            .borrowPlanes(ColorMapping.values().length, height * width);
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int pixelIndex = i * width + j;
+        for (int k = 0; k < planes.length; k++) {
+          planes[k][pixelIndex] = (byte) pixelMatrix[i][j][k];
         }
       }
     }
+    return planes;
   }
 
-  private void checkInitialDim(int[][][] pixelMatrix) {
-    int height = pixelMatrix.length;
-    if (height == 0) {
+  private void checkValidChannelPlanes(int height, int width, byte[][] channelPlanes) {
+    if (height <= 0 || width <= 0 || channelPlanes == null
+            || channelPlanes.length != ColorMapping.values().length) {
       throw new IllegalArgumentException("Input values of the array does not match as expected.\n");
     }
-    int width = 0;
-    if (pixelMatrix[0] != null && pixelMatrix[0].length > 0) {
-      width = pixelMatrix[0].length;
-    } else {
-      throw new IllegalArgumentException("Input values of the array does not match as expected.\n");
+    for (byte[] plane : channelPlanes) {
+      if (plane == null || plane.length != height * width) {
+        throw new IllegalArgumentException("Input values of the "
+                + "array does not match as expected.\n");
+      }
     }
   }
 
   /**
-   * The method represents the flipping action carried out by an image on itself.
-   * Image can flip along different axis like horizontal or vertical depending on the requirement.
-   * The old and new image both are retained in the memory.
+   * Getter method to get the height of the image currently in use.
    *
-   * @param axisDirection Integer representing the axis direction mapping with the Enum data.
-   * @return Modified image which contains the data of the flipped version of the previous image.
-   * @throws IllegalArgumentException Throws exception if the data could not be written to the path.
+   * @return Integer signifying the height of the present image in use.
    */
   @Override
-  public RGBImageInterface flipImage(int axisDirection) throws IllegalArgumentException {
-    if (axisDirection >= AxisName.values().length) {
-      throw new IllegalArgumentException("Wrong axis value passed to the model "
-              + "for flipping the image.\n");
-    }
-    ImageOperation imageOperation = new Flip(axisDirection);
-    return imageOperation.operation(this);
+  public int getImageHeight() {
+    return this.height;
   }
 
   /**
-   * The method represents the changing brightness option on the present image.
-   * It increases or decreases the brightness as needed for this image.
-   * It ensures that after the operation the pixel value are within the range of 0 to 255.
+   * Getter method to get the width of the image currently in use.
    *
-   * @param deltaChangeValue Amount to change for the individual pixels of the image.
-   * @return Modified image which contains the data of the brighter version of the previous image.
+   * @return Integer signifying the width of the present image in use.
    */
   @Override
-  public RGBImageInterface changeBrightness(int deltaChangeValue) {
-    ImageOperation imageOperation = new Brightness(deltaChangeValue);
-    return imageOperation.operation(this);
+  public int getImageWidth() {
+    return this.width;
   }
 
   /**
-   * The method represents the changing sharpness option on the present image.
-   * The operation can blur or sharpen the image depending on the input type provided to the method.
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The pixel at row i and column j of the image is present at the index i * width + j.
    *
-   * @param kernelType Containing the mapping to an Enum which store data for changing sharpness.
-   * @return Modified img which contains the data of the changed sharpness version of the prev img.
-   * @throws IllegalArgumentException Throws exception if kernel mapping is invalid or not exists.
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
    */
   @Override
-  public RGBImageInterface changeSharpness(int kernelType, double splitPercentage)
-          throws IllegalArgumentException {
-    if (kernelType >= KernelImage.values().length) {
-      throw new IllegalArgumentException("Wrong kernel value passed to model for "
-              + "changing the sharpness operation on the image.\n");
-    }
-    ImageOperation imageOperation = new Sharpness(kernelType);
-    return bufferImageOperation(splitPercentage, imageOperation);
+  public int getChannelValue(int channel, int pixelIndex) {
+    return channelPlanes[channel][pixelIndex] & MAX;
   }
 
   /**
-   * The method represents the combining different channeled images into a single image.
-   * The present image is also added to the list and passed to the operation for combining RGB vals.
+   * Getter method to get a read-only view over the pixels of the image currently in use.
+   * The view shares the planes of the image and keeps showing the same pixels even if the image
+   * is assigned new values or overwritten in place later, as the image remembers the views it
+   * handed out and copies the planes they still read before writing them. The view does not own
+   * the planes though, so it is only valid until the image is closed.
    *
-   * @param imageComponents List of images having different color-greyscale images.
-   * @return An image containing the data of combinations of all the images that are passed to it.
-   * @throws IllegalArgumentException Throws exception if param is invalid or not exists.
+   * @return Immutable view signifying the pixels of the present image in use.
    */
   @Override
-  public RGBImageInterface combineImageComponents(List<RGBImageInterface> imageComponents)
-          throws IllegalArgumentException {
-    if (imageComponents == null) {
-      throw new IllegalArgumentException("Image set for channel combination "
-              + "cannot be null.\n");
+  public PixelView getPixelView() {
+    if (channelPlanes == null) {
+      return new PlanarPixelView(0, 0, new byte[ColorMapping.values().length][0]);
     }
-    MultipleImagesSingleOperation imageOperation = new CombineChannelImage();
-    imageComponents.add(0, this);
-    return imageOperation.operation(imageComponents);
-  }
-
-  /**
-   * The method represents the split image operation on this img into different color-greyscale img.
-   * It divides it into different channel images of same depth.
-   *
-   * @return List of images which are generated after applying image processing operation.
-   */
-  @Override
-  public List<RGBImageInterface> splitImageComponents() {
-    MultipleOperationImages multiOP = new SplitChannelImage();
-    return multiOP.operation(this);
-  }
-
-  /**
-   * This represents the Monochrome operation on the present image that calls this method.
-   *
-   * @param colorValue Takes the color component type to get a new color-greyscale image.
-   * @return An image as the result of the action performed on the present image.
-   * @throws IllegalArgumentException Exception is thrown If the colorValue is not a valid input.
-   */
-  @Override
-  public RGBImageInterface getSingleComponentImage(int colorValue)
-          throws IllegalArgumentException {
-    if (colorValue >= ColorMapping.values().length) {
-      throw new IllegalArgumentException("Wrong color value passed to model for "
-              + "performing the monochrome operation on the image.\n");
+    PlanarPixelView pixelView = new PlanarPixelView(height, width, channelPlanes);
+    synchronized (handedViews) {
+      handedViews.removeIf(viewReference -> viewReference.get() == null);
+      handedViews.add(new WeakReference<>(pixelView));
     }
-    ImageOperation imageOperation = new Monochrome(colorValue);
-    return imageOperation.operation(this);
+    return pixelView;
   }
 
   /**
-   * This method represents the greyscale operation on the present single image currently in use.
+   * Getter method to get a read-only view over the pixels which is only read during the call that
+   * asks for it. The image does not remember this view, so it is not copied for when the image
+   * is overwritten in place later, and the operations and writers scanning the image leave the
+   * next in-place operation free to write the planes without any copy.
    *
-   * @param greyScaleType Takes the type of action to perform on this to get a new black-white img.
-   * @return An image as the result of the action performed on the present image.
-   * @throws IllegalArgumentException Exception is thrown If the greyScaleType is not a valid input.
+   * @return View signifying the pixels of the present image in use, read within the call only.
    */
   @Override
-  public RGBImageInterface greyScaleImage(int greyScaleType, double splitPercentage)
-          throws IllegalArgumentException {
-    if (greyScaleType >= GreyScaleType.values().length) {
-      throw new IllegalArgumentException("Wrong greyscale value passed to model for "
-              + "greyscale operation on image.\n");
+  public PixelView getTransientPixelView() {
+    if (channelPlanes == null) {
+      return new PlanarPixelView(0, 0, new byte[ColorMapping.values().length][0]);
     }
-    ImageOperation imageOperation = new GreyScale(greyScaleType);
-    return bufferImageOperation(splitPercentage, imageOperation);
-  }
-
-  /**
-   * Method represents the sepia color transformation on the present single image currently in use.
-   *
-   * @return An image as the result of the action performed on the present image.
-   */
-  @Override
-  public RGBImageInterface sepiaImage(double splitPercentage) {
-    ImageOperation imageOperation = new ColorTransformation();
-    return bufferImageOperation(splitPercentage, imageOperation);
+    return new PlanarPixelView(height, width, channelPlanes);
   }
 
-  /**
-   * Method represents the level adjustment operation on an existing image currently present in use.
-   * The values of the individual pixels is changed as per the quadratic equation.
-   *
-   * @param b               Shadow-point where the intensity of the
-   *                        pixel decreases around that range.
-   * @param m               Mid-point where the intensity of the pixel
-   *                        changes non-linearly as per the curve eq.
-   * @param w               Highlight-point where the intensity of the pixel
-   *                        is increased which satisfy the curve.
-   * @param splitPercentage Double value representing the split ratio of original and modified img.
-   * @return An image as the result of the action performed on the present image.
-   * @throws IllegalArgumentException Exception is thrown If the b,m,w are not in ascending order.
-   */
-  @Override
-  public RGBImageInterface levelsAdjustment(double b,
-                                            double m,
-                                            double w,
-                                            double splitPercentage)
-          throws IllegalArgumentException {
-    if (b >= m || m >= w || b < 0) {
-      throw new IllegalArgumentException("Wrong values for levels "
-              + "adjustment operation. Check values of B, M, W again.\n");
+  private List<PlanarPixelView> takeLiveViews() {
+    List<PlanarPixelView> liveViews = new ArrayList<>();
+    synchronized (handedViews) {
+      for (WeakReference<PlanarPixelView> viewReference : handedViews) {
+        PlanarPixelView pixelView = viewReference.get();
+        if (pixelView != null) {
+          liveViews.add(pixelView);
+        }
+      }
+      handedViews.clear();
     }
-    ImageOperation imageOperation = new LevelsAdjustment(b, m, w);
-    return bufferImageOperation(splitPercentage, imageOperation);
+    return liveViews;
   }
 
-  /**
-   * Method represents the histogram plotting of the r,g,b pixel operation on an image.
-   * The histogram represents the intensity values Vs frequency of those values on the axes.
-   *
-   * @return An image as the result of the action performed on the present image.
-   */
-  @Override
-  public RGBImageInterface getPixelHistogram() {
-    ImageOperation imageOperation = new Histogram();
-    return imageOperation.operation(this);
-  }
-
-  /**
-   * Method represents the compression operation part on the image, and it is a lossy one.
-   * The data of the pixels is lost when it is reverted back to its original size.
-   *
-   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
-   * @return An image as the result of the action performed on the present image.
-   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive.
-   */
-  @Override
-  public RGBImageInterface compressImage(double compressionPercentage)
-          throws IllegalArgumentException {
-    if (compressionPercentage < 0) {
-      throw new IllegalArgumentException("Illegal compression percentage"
-              + " passed to the application. Please check and try again.\n");
-
+  private static List<PlanarPixelView> getReadingViews(List<PlanarPixelView> liveViews,
+                                                       int channel, byte[] plane) {
+    List<PlanarPixelView> readingViews = new ArrayList<>();
+    for (PlanarPixelView pixelView : liveViews) {
+      if (pixelView.getChannelPlane(channel) == plane) {
+        readingViews.add(pixelView);
+      }
     }
-    ImageOperation imageOperation = new Compression(compressionPercentage);
-    return imageOperation.operation(this);
-  }
-
-  /**
-   * Method represents the color correction part on an existing image.
-   * The intensity values for different channels are aligned long the common global max peak.
-   *
-   * @param splitPercentage Double value representing the split ratio of original and modified img.
-   * @return An image as the result of the action performed on the present image.
-   */
-  @Override
-  public RGBImageInterface colorCorrectionImage(double splitPercentage) {
-    ImageOperation imageOperation = new ColorCorrection();
-    return bufferImageOperation(splitPercentage, imageOperation);
+    return readingViews;
   }
 
-
   /**
-   * Getter method to get the height of the image currently in use.
+   * The method runs the operation directly on the planes of this image, overwriting its pixels.
+   * A plane which is shared with another image, or which a view handed out by getPixelView can
+   * still read, is first replaced by a private copy, so only the planes owned by this image alone
+   * are written without any copy and other images and the earlier views never change. The
+   * planes left to the views go back to the plane pool once the views are garbage collected.
+   * The transient views of the image are not kept safe, so scanning the image never makes the
+   * next in-place operation copy it.
    *
-   * @return Integer signifying the height of the present image in use.
+   * @param imageOperation Operation which can write its result over its own input.
+   * @return True if the operation was run on this image, false if the image is empty.
    */
   @Override
-  public int getImageHeight() {
-    return this.height;
-  }
-
-  /**
-   * Getter method to get the width of the image currently in use.
-   *
-   * @return Integer signifying the width of the present image in use.
-   */
-  @Override
-  public int getImageWidth() {
-    return this.width;
+  protected boolean operateInPlace(InPlaceOperation imageOperation) {
+    if (channelPlanes == null) {
+      return false;
+    }
+    PlaneBufferPool planePool = PlaneBufferPool.getDefault();
+    List<PlanarPixelView> liveViews = takeLiveViews();
+    byte[][] privatePlanes = channelPlanes.clone();
+    for (int k = 0; k < privatePlanes.length; k++) {
+      byte[] plane = privatePlanes[k];
+      List<PlanarPixelView> readingViews = getReadingViews(liveViews, k, plane);
+      if (!readingViews.isEmpty() || !planePool.isExclusivelyOwned(plane)) {
+        privatePlanes[k] = planePool.borrowPlane(plane.length);
+        System.arraycopy(plane, 0, privatePlanes[k], 0, plane.length);
+        for (PixelView pixelView : readingViews) {
+          planePool.retainPlaneWhileReachable(plane, pixelView);
+        }
+        planePool.releasePlane(plane);
+      }
+    }
+    this.channelPlanes = privatePlanes;
+    imageOperation.operationInPlace(new PixelBuffer(height, width, privatePlanes));
+    return true;
   }
 
   /**
-   * Getter method to get the deep copy of the image pixel matrix currently in use.
-   *
-   * @return 3-d Matrix signifying the pixels of the present image in use.
+   * The method returns the planes of the image to the plane pool and empties the image.
+   * The planes shared with other images stay in use until those images are closed as well.
+   * Views handed out earlier must not be read after this, as they do not own the planes and the
+   * pool may hand the planes to another image right away.
    */
   @Override
-  public int[][][] getPixel() {
-    int[][][] copyPixelMatrix = new int[height][width][ColorMapping.values().length];
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        System.arraycopy(pixelMatrix[i][j], 0,
-                copyPixelMatrix[i][j], 0, ColorMapping.values().length);
+  public void close() {
+    if (channelPlanes != null) {
+      for (byte[] plane : channelPlanes) {
+        PlaneBufferPool.getDefault().releasePlane(plane);
       }
     }
-    return copyPixelMatrix;
-  }
-
-  private RGBImageInterface bufferImageOperation(double splitPercentage,
-                                                 ImageOperation imageOperation) {
-    ImageOperation bufferOperation = new SplitBuffer(splitPercentage, imageOperation);
-    return bufferOperation.operation(this);
+    this.channelPlanes = null;
+    this.height = 0;
+    this.width = 0;
   }
-
 }
@@ -129,6 +129,21 @@ public interface RGBImageInterface {
    */
   RGBImageInterface compressImage(double compressionPercentage) throws IllegalArgumentException;
 
+  /**
+   * Method represents the compression operation part on the image rebuilt at a lower resolution.
+   * Only the levels of the wavelet down to the level asked are undone, so a thumbnail or preview
+   * of the compressed image is given without the whole inverse transform.
+   *
+   * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+   * @param level                 Level of the wavelet pyramid, each one halving the height and
+   *                              the width, 0 for the whole compressed image.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the % of compression is non-positive
+   *                                  or the level is not within the pyramid of the image.
+   */
+  RGBImageInterface compressImage(double compressionPercentage, int level)
+          throws IllegalArgumentException;
+
   /**
    * Method represents the color correction part on an existing image.
    * The intensity values for different channels are aligned long the common global max peak.
@@ -138,6 +153,43 @@ public interface RGBImageInterface {
    */
   RGBImageInterface colorCorrectionImage(double splitPercentage);
 
+  /**
+   * Method represents the color matrix transformation on an existing image.
+   * The new value of each channel is the sum of the old channel values weighted by its row.
+   *
+   * @param colorMatrix     3 x 3 matrix where the row c holds the weights for the channel c.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the matrix is not a 3 x 3 matrix.
+   */
+  RGBImageInterface colorMatrixImage(double[][] colorMatrix, double splitPercentage)
+          throws IllegalArgumentException;
+
+  /**
+   * Method represents the blur of any strength on the present image.
+   * The box blur takes the mean within a radius, the gaussian blur uses a standard deviation.
+   *
+   * @param blurType        Containing the mapping to an Enum which store the blur types.
+   * @param radius          Radius of the box blur or standard deviation of the gaussian blur.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the type or radius is invalid.
+   */
+  RGBImageInterface radiusBlurImage(int blurType, double radius, double splitPercentage)
+          throws IllegalArgumentException;
+
+  /**
+   * Method represents the filtering of the present image with a kernel given by the user.
+   * Each pixel becomes the sum of the pixels around it weighted by the kernel.
+   *
+   * @param kernel          Matrix of weights with an odd number of rows and columns.
+   * @param splitPercentage Double value representing the split ratio of original and modified img.
+   * @return An image as the result of the action performed on the present image.
+   * @throws IllegalArgumentException Exception is thrown if the kernel is invalid.
+   */
+  RGBImageInterface convolveImage(double[][] kernel, double splitPercentage)
+          throws IllegalArgumentException;
+
   /**
    * Getter method to get the height of the image currently in use.
    *
@@ -152,6 +204,37 @@ public interface RGBImageInterface {
    */
   int getImageWidth();
 
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The pixel at row i and column j of the image is present at the index i * width + j.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  int getChannelValue(int channel, int pixelIndex);
+
+  /**
+   * Getter method to get a read-only view over the pixels of the image currently in use.
+   * The view does not copy any data and keeps showing the same pixels even if the image
+   * is assigned new values later, so it can be shared across threads.
+   *
+   * @return Immutable view signifying the pixels of the present image in use.
+   */
+  PixelView getPixelView();
+
+  /**
+   * Getter method to get a read-only view over the pixels of the image which is only read during
+   * the call that asks for it, like the scan of an operation or of a writer. Unlike the view of
+   * getPixelView, this view is not kept safe from the image being overwritten in place later, so
+   * the image does not have to copy its pixels for it. It must not be kept after the call.
+   *
+   * @return View signifying the pixels of the present image in use, read within the call only.
+   */
+  default PixelView getTransientPixelView() {
+    return getPixelView();
+  }
+
   /**
    * Getter method to get the deep copy of the image pixel matrix currently in use.
    *
@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * This class represents a horizontal band of rows of another image, seen as an image of its own.
+ * The band reads the pixels of the image it is taken from without copying them, so an operation
+ * can be run on a part of a large image without first cutting that part out.
+ * The band never owns any pixels, closing it leaves the image it is taken from untouched.
+ */
+public class RowBandImage extends AbstractRGBImage {
+
+  private PixelView bandView;
+
+  /**
+   * Constructor to create the band of the rows of the view passed to it.
+   *
+   * @param sourceView View of the whole image from which the band is taken.
+   * @param rowStart   Integer signifying the first row of the image which is in the band.
+   * @param rowCount   Integer signifying the number of rows in the band.
+   * @throws IllegalArgumentException Throws exception if the rows are not within the image.
+   */
+  public RowBandImage(PixelView sourceView, int rowStart, int rowCount)
+          throws IllegalArgumentException {
+    if (sourceView == null || rowStart < 0 || rowCount <= 0
+            || rowStart + rowCount > sourceView.getImageHeight()) {
+      throw new IllegalArgumentException("Rows passed for the band of "
+              + "the image are not as expected, check again.\n");
+    }
+    this.bandView = new RowBandPixelView(sourceView, rowStart, rowCount);
+  }
+
+  /**
+   * The method is used to check and assign new image matrix value to the model currently in use.
+   * The band then holds the new pixels and no longer looks at the image it was taken from.
+   *
+   * @param pixelMatrix 3-d Matrix signifying the pixels of the present image in use.
+   */
+  @Override
+  public void checkAndAssignValues(int[][][] pixelMatrix) {
+    this.bandView = new RGBImage(pixelMatrix).getPixelView();
+  }
+
+  /**
+   * Getter method to get the height of the image currently in use.
+   *
+   * @return Integer signifying the number of rows in the band.
+   */
+  @Override
+  public int getImageHeight() {
+    return bandView.getImageHeight();
+  }
+
+  /**
+   * Getter method to get the width of the image currently in use.
+   *
+   * @return Integer signifying the width of the present image in use.
+   */
+  @Override
+  public int getImageWidth() {
+    return bandView.getImageWidth();
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The index counts from the first row of the band, not from the first row of the image.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the band.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    return bandView.getChannelValue(channel, pixelIndex);
+  }
+
+  /**
+   * Getter method to get a read-only view over the pixels of the band.
+   *
+   * @return Immutable view signifying the pixels of the present image in use.
+   */
+  @Override
+  public PixelView getPixelView() {
+    return bandView;
+  }
+}
@@ -0,0 +1,79 @@
+package model;
+
+/**
+ * This class represents a read-only view over a horizontal band of rows of another view.
+ * The band shares the pixels of the view it is taken from, so no pixel is copied to create it.
+ */
+final class RowBandPixelView implements PixelView {
+
+  private final PixelView sourceView;
+
+  private final int height;
+
+  private final int width;
+
+  private final int pixelOffset;
+
+  /**
+   * Constructor takes the view and the rows of it which form the band.
+   *
+   * @param sourceView View of the whole image from which the band is taken.
+   * @param rowStart   Integer signifying the first row of the image which is in the band.
+   * @param rowCount   Integer signifying the number of rows in the band.
+   */
+  RowBandPixelView(PixelView sourceView, int rowStart, int rowCount) {
+    this.sourceView = sourceView;
+    this.height = rowCount;
+    this.width = sourceView.getImageWidth();
+    this.pixelOffset = rowStart * width;
+  }
+
+  /**
+   * Getter method to get the height of the band this view is looking at.
+   *
+   * @return Integer signifying the number of rows in the band.
+   */
+  @Override
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image this view is looking at.
+   *
+   * @return Integer signifying the width of the image behind the view.
+   */
+  @Override
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its index within the band.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the band.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    return sourceView.getChannelValue(channel, pixelOffset + pixelIndex);
+  }
+
+  /**
+   * The method copies consecutive values of a channel of the band using the bulk copy of the
+   * view the band is taken from.
+   *
+   * @param channel          Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex       Integer signifying the position of the first pixel in the band.
+   * @param destination      Array into which the values are copied as unsigned bytes.
+   * @param destinationIndex Integer signifying the position of the first value in the array.
+   * @param length           Integer signifying the number of values to copy.
+   */
+  @Override
+  public void copyChannelValues(int channel, int pixelIndex, byte[] destination,
+                                int destinationIndex, int length) {
+    sourceView.copyChannelValues(channel, pixelOffset + pixelIndex, destination,
+            destinationIndex, length);
+  }
+}
@@ -0,0 +1,129 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import enums.ColorMapping;
+
+/**
+ * This class represents the grid of fixed size tiles which holds the pixels of a tiled image.
+ * A tile is allocated and computed by the renderer only when one of its pixels is read.
+ * A computed tile is never written again, so the grid is an immutable view of the image and can
+ * be shared across threads. If two threads compute the same tile at once, only one is kept.
+ * Once every tile has been computed the grid lets go of its renderer, and of the source image
+ * the renderer reads, as no tile is ever computed again.
+ */
+final class TileGrid implements PixelView {
+
+  private final int height;
+
+  private final int width;
+
+  private final int tileSize;
+
+  private final int tilesAcross;
+
+  private volatile TileRenderer renderer;
+
+  private final AtomicReferenceArray<byte[][]> tiles;
+
+  /**
+   * Constructor to create an empty grid whose tiles are computed by the renderer on demand.
+   *
+   * @param height   Integer signifying the height of the image stored in the grid.
+   * @param width    Integer signifying the width of the image stored in the grid.
+   * @param tileSize Integer signifying the height and width of every tile except the last ones.
+   * @param renderer Renderer which computes the pixels of a tile when it is first read.
+   */
+  TileGrid(int height, int width, int tileSize, TileRenderer renderer) {
+    this.height = height;
+    this.width = width;
+    this.tileSize = tileSize;
+    this.renderer = renderer;
+    this.tilesAcross = (width + tileSize - 1) / tileSize;
+    int tilesDown = (height + tileSize - 1) / tileSize;
+    this.tiles = new AtomicReferenceArray<>(tilesAcross * tilesDown);
+  }
+
+  /**
+   * Getter method to get the height of the image this grid is holding.
+   *
+   * @return Integer signifying the height of the image behind the view.
+   */
+  @Override
+  public int getImageHeight() {
+    return height;
+  }
+
+  /**
+   * Getter method to get the width of the image this grid is holding.
+   *
+   * @return Integer signifying the width of the image behind the view.
+   */
+  @Override
+  public int getImageWidth() {
+    return width;
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The tile holding the pixel is computed first if it has not been read before.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    int row = pixelIndex / width;
+    int col = pixelIndex - row * width;
+    int tileRow = row / tileSize;
+    int tileCol = col / tileSize;
+    byte[][] tile = getTile(tileRow, tileCol);
+    int tileWidth = Math.min(tileSize, width - tileCol * tileSize);
+    int tileIndex = (row - tileRow * tileSize) * tileWidth + col - tileCol * tileSize;
+    return tile[channel][tileIndex] & RGBImage.MAX;
+  }
+
+  int getTileSize() {
+    return tileSize;
+  }
+
+  void materializeAllTiles() {
+    int tilesDown = tiles.length() / tilesAcross;
+    for (int tileRow = 0; tileRow < tilesDown; tileRow++) {
+      for (int tileCol = 0; tileCol < tilesAcross; tileCol++) {
+        getTile(tileRow, tileCol);
+      }
+    }
+    renderer = null;
+  }
+
+  int getMaterializedTileCount() {
+    int count = 0;
+    for (int t = 0; t < tiles.length(); t++) {
+      if (tiles.get(t) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private byte[][] getTile(int tileRow, int tileCol) {
+    int tileNumber = tileRow * tilesAcross + tileCol;
+    byte[][] tile = tiles.get(tileNumber);
+    TileRenderer tileRenderer = renderer;
+    if (tile != null || tileRenderer == null) {
+      return tiles.get(tileNumber);
+    }
+    int rowStart = tileRow * tileSize;
+    int colStart = tileCol * tileSize;
+    int tileHeight = Math.min(tileSize, height - rowStart);
+    int tileWidth = Math.min(tileSize, width - colStart);
+    tile = new byte[ColorMapping.values().length][tileHeight * tileWidth];
+    tileRenderer.renderTile(rowStart, colStart, tileHeight, tileWidth, tile);
+    if (!tiles.compareAndSet(tileNumber, null, tile)) {
+      tile = tiles.get(tileNumber);
+    }
+    return tile;
+  }
+}
@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * This interface represents the computation of a single rectangular tile of a tiled image.
+ * A tiled image calls it only when some pixel of the tile is read for the first time.
+ */
+public interface TileRenderer {
+
+  /**
+   * The method computes the pixels of one tile and writes them to the planes passed to it.
+   * Each plane stores one color channel of the tile as tileHeight * tileWidth unsigned bytes
+   * in row-major order, where index 0 is the pixel present at rowStart and colStart of the image.
+   *
+   * @param rowStart   Integer signifying the row of the image where the tile starts.
+   * @param colStart   Integer signifying the column of the image where the tile starts.
+   * @param tileHeight Integer signifying the number of rows present in the tile.
+   * @param tileWidth  Integer signifying the number of columns present in the tile.
+   * @param tilePlanes Array of planes, one for each color channel, where the tile is written.
+   */
+  void renderTile(int rowStart, int colStart, int tileHeight, int tileWidth, byte[][] tilePlanes);
+}
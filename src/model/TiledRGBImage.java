@@ -0,0 +1,185 @@
+package model;
+
+/**
+ * This class represents an image which is split into fixed size tiles, for example 256 x 256.
+ * A tile is only allocated and computed when one of its pixels is read, so saving or displaying
+ * the image pulls in just the tiles it needs and a chain of operations produces output tile by
+ * tile, keeping the working set small enough for the CPU cache.
+ * Operations which support tiles return a new tiled image computed from the tiles of this one,
+ * the rest of the operations work on this image in the same way as on any other image.
+ */
+public class TiledRGBImage extends AbstractRGBImage {
+
+  /**
+   * Default height and width of the tiles of an image when no tile size is passed.
+   */
+  public static final int DEFAULT_TILE_SIZE = 256;
+
+  private TileGrid tileGrid;
+
+  /**
+   * Constructor to create a tiled image whose tiles are computed by the renderer on demand.
+   *
+   * @param height   Integer signifying the height of the image.
+   * @param width    Integer signifying the width of the image.
+   * @param tileSize Integer signifying the height and width of a single tile of the image.
+   * @param renderer Renderer which computes the pixels of a tile when it is first read.
+   * @throws IllegalArgumentException Throws exception if the dimensions or renderer are invalid.
+   */
+  public TiledRGBImage(int height, int width, int tileSize, TileRenderer renderer)
+          throws IllegalArgumentException {
+    if (height <= 0 || width <= 0 || tileSize <= 0 || renderer == null) {
+      throw new IllegalArgumentException("Values passed for the tiled image "
+              + "are not as expected, check again.\n");
+    }
+    this.tileGrid = new TileGrid(height, width, tileSize, renderer);
+  }
+
+  /**
+   * Constructor to create a tiled image whose tiles are copied from the view when first read.
+   *
+   * @param sourceView Read-only view of the image which needs to be split into tiles.
+   * @param tileSize   Integer signifying the height and width of a single tile of the image.
+   * @throws IllegalArgumentException Throws exception if the view or tile size is invalid.
+   */
+  public TiledRGBImage(PixelView sourceView, int tileSize) throws IllegalArgumentException {
+    this(checkedHeight(sourceView), sourceView.getImageWidth(), tileSize,
+            (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> copyRegion(sourceView,
+                    rowStart, colStart, tileHeight, tileWidth, tilePlanes));
+  }
+
+  /**
+   * The static method creates a tiled image whose tiles are all copied from the view right away.
+   * The image keeps no reference to the view, so the source image can be closed or collected as
+   * soon as this returns and only the tiles are left in memory.
+   *
+   * @param sourceView Read-only view of the image which needs to be split into tiles.
+   * @param tileSize   Integer signifying the height and width of a single tile of the image.
+   * @return A new tiled image holding a copy of the pixels of the view.
+   * @throws IllegalArgumentException Throws exception if the view or tile size is invalid.
+   */
+  public static TiledRGBImage copyOf(PixelView sourceView, int tileSize)
+          throws IllegalArgumentException {
+    TiledRGBImage tiledImage = new TiledRGBImage(sourceView, tileSize);
+    tiledImage.tileGrid.materializeAllTiles();
+    return tiledImage;
+  }
+
+  /**
+   * Constructor to create a tiled image of the default tile size using the pixel image matrix.
+   *
+   * @param pixelMatrix 3-d Matrix which signifies the img data in matrix format.
+   * @throws IllegalArgumentException Throws exception if the matrix is not a valid image matrix.
+   */
+  public TiledRGBImage(int[][][] pixelMatrix) throws IllegalArgumentException {
+    this(new RGBImage(pixelMatrix).getPixelView(), DEFAULT_TILE_SIZE);
+  }
+
+  private static int checkedHeight(PixelView sourceView) {
+    if (sourceView == null) {
+      throw new IllegalArgumentException("Image passed for the tiled "
+              + "image is not as expected, check again.\n");
+    }
+    return sourceView.getImageHeight();
+  }
+
+  private static void copyRegion(PixelView sourceView, int rowStart, int colStart,
+                                 int tileHeight, int tileWidth, byte[][] tilePlanes) {
+    int width = sourceView.getImageWidth();
+    for (int k = 0; k < tilePlanes.length; k++) {
+      for (int i = 0; i < tileHeight; i++) {
+        sourceView.copyChannelValues(k, (rowStart + i) * width + colStart, tilePlanes[k],
+                i * tileWidth, tileWidth);
+      }
+    }
+  }
+
+  /**
+   * The method is used to check and assign new image matrix value to the model currently in use.
+   * The tile size of the image is kept and the new tiles are created when they are first read.
+   *
+   * @param pixelMatrix 3-d Matrix signifying the pixels of the present image in use.
+   */
+  @Override
+  public void checkAndAssignValues(int[][][] pixelMatrix) {
+    PixelView sourceView = new RGBImage(pixelMatrix).getPixelView();
+    this.tileGrid = new TileGrid(sourceView.getImageHeight(), sourceView.getImageWidth(),
+            tileGrid.getTileSize(),
+            (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> copyRegion(sourceView,
+                    rowStart, colStart, tileHeight, tileWidth, tilePlanes));
+  }
+
+  /**
+   * The method creates a new tiled image of the same size and tiles, computed by the renderer.
+   * Nothing is computed by this call, the tiles of the new image are rendered when first read.
+   *
+   * @param renderer Renderer which computes the pixels of a tile of the new image.
+   * @return A new tiled image having the same dimensions and tile size as this image.
+   */
+  public TiledRGBImage deriveImage(TileRenderer renderer) {
+    return new TiledRGBImage(getImageHeight(), getImageWidth(), getTileSize(), renderer);
+  }
+
+  /**
+   * Getter method to get the height and width of a single tile of the image.
+   * The tiles in the last row and column are smaller if the image is not a multiple of the size.
+   *
+   * @return Integer signifying the tile size of the present image in use.
+   */
+  public int getTileSize() {
+    return tileGrid.getTileSize();
+  }
+
+  /**
+   * Getter method to get the number of tiles which have been computed so far.
+   *
+   * @return Integer signifying the tiles of the present image which are held in memory.
+   */
+  public int getMaterializedTileCount() {
+    return tileGrid.getMaterializedTileCount();
+  }
+
+  /**
+   * Getter method to get the height of the image currently in use.
+   *
+   * @return Integer signifying the height of the present image in use.
+   */
+  @Override
+  public int getImageHeight() {
+    return tileGrid.getImageHeight();
+  }
+
+  /**
+   * Getter method to get the width of the image currently in use.
+   *
+   * @return Integer signifying the width of the present image in use.
+   */
+  @Override
+  public int getImageWidth() {
+    return tileGrid.getImageWidth();
+  }
+
+  /**
+   * Getter method to get a single channel value of a pixel using its flat row-major index.
+   * The pixel at row i and column j of the image is present at the index i * width + j.
+   *
+   * @param channel    Integer representing the color channel mapping with the Enum data.
+   * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+   * @return Integer between 0 and 255 signifying the value of the channel for that pixel.
+   */
+  @Override
+  public int getChannelValue(int channel, int pixelIndex) {
+    return tileGrid.getChannelValue(channel, pixelIndex);
+  }
+
+  /**
+   * Getter method to get a read-only view over the pixels of the image currently in use.
+   * The tiles are never written once computed, so the view is the tile grid itself.
+   *
+   * @return Immutable view signifying the pixels of the present image in use.
+   */
+  @Override
+  public PixelView getPixelView() {
+    return tileGrid;
+  }
+}
@@ -3,7 +3,7 @@ package model.imageoperations.multiin;
 import java.util.List;
 
 import enums.ColorMapping;
-import model.RGBImage;
+import model.CopyOnWritePixels;
 import model.RGBImageInterface;
 
 /**
@@ -28,18 +28,11 @@ public class CombineChannelImage implements MultipleImagesSingleOperation {
               + "on image is not as expected, check again.\n");
     }
     checkValidDimImages(rgbImages);
-    int[][][] pixelMatrix = rgbImages.get(0).getPixel();
-    int height = rgbImages.get(0).getImageHeight();
-    int width = rgbImages.get(0).getImageWidth();
+    CopyOnWritePixels combinedPixels = new CopyOnWritePixels(rgbImages.get(0).getTransientPixelView());
     for (int color = 1; color < ColorMapping.values().length; color++) {
-      int[][][] rgbImagePixelMatrix = rgbImages.get(color).getPixel();
-      for (int i = 0; i < height; i++) {
-        for (int j = 0; j < width; j++) {
-          pixelMatrix[i][j][color] = rgbImagePixelMatrix[i][j][color];
-        }
-      }
+      combinedPixels.replaceChannel(color, rgbImages.get(color).getTransientPixelView());
     }
-    return new RGBImage(pixelMatrix);
+    return combinedPixels.toImage();
   }
 
   private void checkValidDimImages(List<RGBImageInterface> rgbImages) {
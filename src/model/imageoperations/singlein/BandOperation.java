@@ -0,0 +1,18 @@
+package model.imageoperations.singlein;
+
+/**
+ * This interface represents an image operation where each row of the result only depends on a
+ * few rows of the source image around the same row, like the per pixel operations or a kernel.
+ * Such an operation can be run on horizontal bands of the image one at a time, as long as each
+ * band is given the halo rows above and below it, and the bands give the same result together.
+ */
+public interface BandOperation extends ImageOperation {
+
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * Operations which need the whole image in the way they are created return a negative value.
+   *
+   * @return Integer signifying the halo rows a band needs, or -1 if the image cannot be split.
+   */
+  int getHaloRows();
+}
@@ -1,18 +1,22 @@
 package model.imageoperations.singlein;
 
-import enums.ColorMapping;
-import model.RGBImage;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
+import model.TiledRGBImage;
 
 /**
  * This class represents the brightness operation on a single image currently present in the memory.
  * It takes the image and change the brightness of the image as required by the client using this.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
+ * The new value of every possible channel value is computed once and kept in a lookup table.
  */
-public class Brightness implements ImageOperation {
+public class Brightness implements LookupOperation {
 
   private final int deltaChangeValue;
 
+  private final LookupTable lookupTable;
+
   /**
    * This constructor takes numerical change required for each pixel of the img as part of this op.
    *
@@ -21,6 +25,7 @@ public class Brightness implements ImageOperation {
    */
   public Brightness(int deltaChangeValue) {
     this.deltaChangeValue = deltaChangeValue;
+    this.lookupTable = LookupTable.compile((channel, value) -> changeValue(value));
   }
 
   /**
@@ -34,21 +39,92 @@ public class Brightness implements ImageOperation {
 
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    if (rgbImage instanceof TiledRGBImage) {
+      PixelView sourceView = rgbImage.getPixelView();
+      return ((TiledRGBImage) rgbImage).deriveImage(
+              (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> renderTile(sourceView,
+                      rowStart, colStart, tileHeight, tileWidth, tilePlanes));
+    }
+    return lookupTable.applyToImage(rgbImage.getTransientPixelView());
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * Every channel value of the image is shifted by the delta and clamped to the valid range.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    lookupTable.apply(sourceView, destination);
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for changing the brightness of image "
              + "transformation is not as expected, check again.\n");
     }
-    int height = rgbImage.getImageHeight();
-    int width = rgbImage.getImageWidth();
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          pixelMatrix[i][j][k] += deltaChangeValue;
-          pixelMatrix[i][j][k] = Math.max(0, Math.min(255, pixelMatrix[i][j][k]));
+  }
+
+  private int changeValue(int oldValue) {
+    return Math.max(0, Math.min(255, oldValue + deltaChangeValue));
+  }
+
+  private void renderTile(PixelView sourceView, int rowStart, int colStart,
+                          int tileHeight, int tileWidth, byte[][] tilePlanes) {
+    int width = sourceView.getImageWidth();
+    for (int k = 0; k < tilePlanes.length; k++) {
+      byte[] plane = tilePlanes[k];
+      for (int i = 0; i < tileHeight; i++) {
+        int sourceRowStart = (rowStart + i) * width + colStart;
+        for (int j = 0; j < tileWidth; j++) {
+          int oldValue = sourceView.getChannelValue(k, sourceRowStart + j);
+          plane[i * tileWidth + j] = (byte) lookupTable.lookup(k, oldValue);
         }
       }
     }
-    return new RGBImage(pixelMatrix);
   }
+
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. Each channel value is shifted by the delta where it is stored.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for changing the brightness in place "
+              + "is not as expected, check again.\n");
+    }
+    lookupTable.applyInPlace(image);
+  }
+
+  /**
+   * The method shifts each channel value of a single pixel by the delta, within 0 to 255.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    lookupTable.lookupPixel(rgbPixel);
+  }
+
+  /**
+   * Getter method to get the table giving the changed brightness of every channel value.
+   *
+   * @return The lookup table of the operation.
+   */
+  @Override
+  public LookupTable getLookupTable() {
+    return lookupTable;
+  }
+
 }
@@ -0,0 +1,131 @@
+package model.imageoperations.singlein;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the set of the distinct magnitudes of the wavelet coefficients, each
+ * rounded to two decimal places, from which the threshold of the compression is picked.
+ * A magnitude is kept as the whole number of hundredths it rounds to. The small ones, which are
+ * nearly all of them, are marked in a bitmap, so adding a coefficient takes a constant time and
+ * the same magnitude is only counted once. The few large ones are kept in a list which is sorted
+ * and cleared of repeats when the set is first read. The magnitude of a given rank is then found
+ * by counting the marked bits a word at a time.
+ */
+final class CoefficientMagnitudes {
+
+  private static final int BITMAP_SIZE = 1 << 24;
+
+  private final long[] bitmap = new long[BITMAP_SIZE / Long.SIZE];
+
+  private long[] largeMagnitudes = new long[16];
+
+  private int largeCount;
+
+  private int bitmapCount = -1;
+
+  /**
+   * The method adds the magnitudes of the coefficients of a plane to the set.
+   *
+   * @param plane Array of the coefficients of a plane.
+   */
+  void addAll(double[] plane) {
+    bitmapCount = -1;
+    for (double coefficient : plane) {
+      add(Math.round(Math.abs(coefficient * 100)));
+    }
+  }
+
+  /**
+   * The method adds the magnitudes of the coefficients of a plane held in floats to the set.
+   *
+   * @param plane Array of the coefficients of a plane.
+   */
+  void addAll(float[] plane) {
+    bitmapCount = -1;
+    for (double coefficient : plane) {
+      add(Math.round(Math.abs(coefficient * 100)));
+    }
+  }
+
+  /**
+   * The method adds the magnitudes of another set to this set.
+   *
+   * @param other The set whose magnitudes are to be added.
+   */
+  void addAll(CoefficientMagnitudes other) {
+    bitmapCount = -1;
+    for (int word = 0; word < bitmap.length; word++) {
+      bitmap[word] |= other.bitmap[word];
+    }
+    for (int i = 0; i < other.largeCount; i++) {
+      add(other.largeMagnitudes[i]);
+    }
+  }
+
+  private void add(long hundredths) {
+    if (hundredths < BITMAP_SIZE) {
+      bitmap[(int) (hundredths >>> 6)] |= 1L << hundredths;
+      return;
+    }
+    if (largeCount == largeMagnitudes.length) {
+      largeMagnitudes = Arrays.copyOf(largeMagnitudes, 2 * largeCount);
+    }
+    largeMagnitudes[largeCount++] = hundredths;
+  }
+
+  /**
+   * Getter method to get the number of distinct magnitudes in the set.
+   *
+   * @return Integer signifying the number of distinct magnitudes.
+   */
+  int size() {
+    return getBitmapCount() + largeCount;
+  }
+
+  /**
+   * Getter method to get the magnitude of the rank passed, counted from the smallest one.
+   *
+   * @param rank Integer signifying the number of distinct magnitudes smaller than the one asked.
+   * @return Double which is the magnitude rounded to two decimal places.
+   * @throws IllegalArgumentException Throws exception if the rank is not within the set.
+   */
+  double getMagnitude(int rank) throws IllegalArgumentException {
+    if (rank < 0 || rank >= size()) {
+      throw new IllegalArgumentException("Rank: " + rank + " passed for the magnitudes "
+              + "is not within the set, check again.\n");
+    }
+    if (rank >= bitmapCount) {
+      return (double) largeMagnitudes[rank - bitmapCount] / 100;
+    }
+    int remaining = rank;
+    int word = 0;
+    while (Long.bitCount(bitmap[word]) <= remaining) {
+      remaining -= Long.bitCount(bitmap[word]);
+      word++;
+    }
+    long bits = bitmap[word];
+    for (int i = 0; i < remaining; i++) {
+      bits &= bits - 1;
+    }
+    return (double) ((long) word * Long.SIZE + Long.numberOfTrailingZeros(bits)) / 100;
+  }
+
+  private int getBitmapCount() {
+    if (bitmapCount < 0) {
+      int count = 0;
+      for (long word : bitmap) {
+        count += Long.bitCount(word);
+      }
+      bitmapCount = count;
+      Arrays.sort(largeMagnitudes, 0, largeCount);
+      int distinctCount = 0;
+      for (int i = 0; i < largeCount; i++) {
+        if (i == 0 || largeMagnitudes[i] != largeMagnitudes[i - 1]) {
+          largeMagnitudes[distinctCount++] = largeMagnitudes[i];
+        }
+      }
+      largeCount = distinctCount;
+    }
+    return bitmapCount;
+  }
+}
@@ -2,7 +2,8 @@ package model.imageoperations.singlein;
 
 import java.util.Arrays;
 
-import model.RGBImage;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
@@ -10,6 +11,7 @@ import enums.ColorMapping;
  * This class represents the color correction operation on a single image currently in the memory.
  * It takes the image and realigns the pixel intensity peaks of the image to a common value.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
+ * Once the peaks are found, the shift of every channel is applied through a lookup table.
  */
 public class ColorCorrection implements ImageOperation {
 
@@ -24,35 +26,54 @@ public class ColorCorrection implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    return getShiftTable(getChannelShifts(sourceView)).applyToImage(sourceView);
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * Every channel is shifted so that its histogram peak moves to the average of the peaks.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    getShiftTable(getChannelShifts(sourceView)).apply(sourceView, destination);
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for Color Correction image "
               + "transformation is not as expected, check again.\n");
     }
+  }
+
+  private int[] getChannelShifts(PixelView sourceView) {
     int[] peaksValue = new int[ColorMapping.values().length];
     Arrays.fill(peaksValue, 0);
-    int[][][] imgMatrix = rgbImage.getPixel();
     for (int color = 0; color < ColorMapping.values().length; color++) {
-      int peakValue = getPeakFreqForSingleChannel(imgMatrix, color);
+      int peakValue = getPeakFreqForSingleChannel(sourceView, color);
       peaksValue[color] = peakValue;
     }
     int avg = calculateAvgPeakForImage(peaksValue);
+    int[] deltaShifts = new int[ColorMapping.values().length];
     for (int color = 0; color < ColorMapping.values().length; color++) {
-      int deltaShift = 0;
       if (avg != Integer.MAX_VALUE) {
-        deltaShift = avg - peaksValue[color];
+        deltaShifts[color] = avg - peaksValue[color];
       }
-      colorCorrectedImageMatrix(imgMatrix, color, deltaShift);
     }
-    return new RGBImage(imgMatrix);
+    return deltaShifts;
   }
 
-  private void colorCorrectedImageMatrix(int[][][] pixelMat, int channelMap, int deltaPixelShift) {
-    for (int i = 0; i < pixelMat.length; i++) {
-      for (int j = 0; j < pixelMat[i].length; j++) {
-        pixelMat[i][j][channelMap] += deltaPixelShift;
-        pixelMat[i][j][channelMap] = Math.max(0, Math.min(255, pixelMat[i][j][channelMap]));
-      }
-    }
+  private LookupTable getShiftTable(int[] deltaShifts) {
+    return LookupTable.compile((channel, value) -> Math.max(0, Math.min(255,
+            value + deltaShifts[channel])));
   }
 
   private int calculateAvgPeakForImage(int[] colorPeaks) {
@@ -71,16 +92,14 @@ public class ColorCorrection implements ImageOperation {
     }
   }
 
-  private int getPeakFreqForSingleChannel(int[][][] pixelMatrix, int channelIndex) {
+  private int getPeakFreqForSingleChannel(PixelView sourceView, int channelIndex) {
     int[] channelDepthAr = new int[256];
     Arrays.fill(channelDepthAr, 0);
     int maxPeakFreq = 0;
     int peakChannelDepth = 0;
-    for (int[][] matrix : pixelMatrix) {
-      for (int[] ints : matrix) {
-        int channelDepthValue = ints[channelIndex];
-        channelDepthAr[channelDepthValue]++;
-      }
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int index = 0; index < pixelCount; index++) {
+      channelDepthAr[sourceView.getChannelValue(channelIndex, index)]++;
     }
     for (int i = 0; i < channelDepthAr.length; i++) {
       if (channelDepthAr[i] > maxPeakFreq) {
@@ -0,0 +1,246 @@
+package model.imageoperations.singlein;
+
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.PixelView;
+
+/**
+ * This class represents a linear transform of the channels of a pixel by a 3 x 3 matrix.
+ * The new value of a channel is the weighted sum of the old channel values given by its row,
+ * truncated to an integer, divided by an integer divisor and clamped to the range of 0 to 255.
+ * Sepia, the luma and intensity greyscale and the single channel filter are such transforms.
+ * The weighted sum is computed in the same order for every transform, so the result is the same
+ * as the one of the operations which compute the sums on their own. The matrices are never
+ * changed once created.
+ */
+public final class ColorMatrix {
+
+  private final double[][] weights;
+
+  private final int divisor;
+
+  /**
+   * Constructor takes the weights of the transform, each row giving the weights of a channel.
+   *
+   * @param weights 3 x 3 matrix, where the row c holds the weights of the old channel values which
+   *                are summed to get the new value of the channel c.
+   * @throws IllegalArgumentException Throws exception if the matrix is not 3 x 3 or not finite.
+   */
+  public ColorMatrix(double[][] weights) throws IllegalArgumentException {
+    this(weights, 1);
+  }
+
+  /**
+   * Constructor takes the weights of the transform and an integer by which the truncated sum is
+   * divided, which lets the integer average of the channels be computed exactly.
+   *
+   * @param weights 3 x 3 matrix, where the row c holds the weights of the old channel values which
+   *                are summed to get the new value of the channel c.
+   * @param divisor Positive integer by which the truncated weighted sum is divided.
+   * @throws IllegalArgumentException Throws exception if the matrix is not 3 x 3 or not finite,
+   *                                  or if the divisor is not positive.
+   */
+  public ColorMatrix(double[][] weights, int divisor) throws IllegalArgumentException {
+    int channelCount = ColorMapping.values().length;
+    if (weights == null || weights.length != channelCount || divisor <= 0) {
+      throw new IllegalArgumentException("Color matrix passed is not "
+              + "a 3 x 3 matrix, check again.\n");
+    }
+    this.weights = new double[channelCount][];
+    for (int c = 0; c < channelCount; c++) {
+      if (weights[c] == null || weights[c].length != channelCount) {
+        throw new IllegalArgumentException("Color matrix passed is not "
+                + "a 3 x 3 matrix, check again.\n");
+      }
+      for (double weight : weights[c]) {
+        if (Double.isNaN(weight) || Double.isInfinite(weight)) {
+          throw new IllegalArgumentException("Color matrix passed has a weight "
+                  + "which is not a finite number.\n");
+        }
+      }
+      this.weights[c] = weights[c].clone();
+    }
+    this.divisor = divisor;
+  }
+
+  /**
+   * The method creates a single matrix which gives the same result as applying this matrix and
+   * then the matrix passed, if the two can be merged without changing any value.
+   * That is the case when the second matrix only keeps or copies channels, like the single
+   * channel filter, or when the first matrix only keeps or clears channels; merging any other
+   * pair would skip the truncation and clamping done between the two.
+   *
+   * @param nextMatrix Matrix which needs to be applied on the result of this matrix.
+   * @return A matrix giving the same result as both the matrices together, or null if the two
+   *         cannot be merged exactly.
+   * @throws IllegalArgumentException Throws exception if the matrix passed is a null reference.
+   */
+  public ColorMatrix andThen(ColorMatrix nextMatrix) throws IllegalArgumentException {
+    if (nextMatrix == null) {
+      throw new IllegalArgumentException("Matrix passed for the color matrix composition "
+              + "cannot be a null reference.\n");
+    }
+    int channelCount = weights.length;
+    double[][] composedWeights = new double[channelCount][channelCount];
+    if (nextMatrix.isChannelSelection()) {
+      for (int c = 0; c < channelCount; c++) {
+        int sourceChannel = nextMatrix.getSelectedChannel(c);
+        if (sourceChannel >= 0) {
+          composedWeights[c] = weights[sourceChannel].clone();
+        }
+      }
+      return new ColorMatrix(composedWeights, divisor);
+    }
+    if (isChannelSelection() && divisor == 1) {
+      boolean keepsOnlyOwnChannels = true;
+      for (int c = 0; c < channelCount; c++) {
+        int sourceChannel = getSelectedChannel(c);
+        keepsOnlyOwnChannels &= sourceChannel < 0 || sourceChannel == c;
+      }
+      if (keepsOnlyOwnChannels) {
+        for (int c = 0; c < channelCount; c++) {
+          for (int k = 0; k < channelCount; k++) {
+            composedWeights[c][k] = getSelectedChannel(k) < 0 ? 0 : nextMatrix.weights[c][k];
+          }
+        }
+        return new ColorMatrix(composedWeights, nextMatrix.divisor);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The method transforms the channel values of a single pixel by the matrix.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  public void multiplyPixel(int[] rgbPixel) {
+    int red = rgbPixel[0];
+    int green = rgbPixel[1];
+    int blue = rgbPixel[2];
+    for (int c = 0; c < weights.length; c++) {
+      rgbPixel[c] = weightedValue(c, red, green, blue);
+    }
+  }
+
+  /**
+   * Getter method to get the new value of a channel of a pixel after the transform.
+   *
+   * @param channel Integer representing the color channel mapping with the Enum data.
+   * @param red     Integer signifying the old red value of the pixel.
+   * @param green   Integer signifying the old green value of the pixel.
+   * @param blue    Integer signifying the old blue value of the pixel.
+   * @return Integer between 0 and 255 signifying the new value of the channel.
+   */
+  public int weightedValue(int channel, int red, int green, int blue) {
+    double[] row = weights[channel];
+    double weightedSum = 0;
+    weightedSum += row[0] * red;
+    weightedSum += row[1] * green;
+    weightedSum += row[2] * blue;
+    return Math.max(0, Math.min(255, ((int) weightedSum) / divisor));
+  }
+
+  /**
+   * The method transforms every pixel of the view and writes it into the buffer in a single pass
+   * which does not allocate anything per pixel. The buffer is resized to the size of the view.
+   * The channels of the view are first copied into the buffer in bulk, so the transform itself
+   * runs over plain arrays.
+   *
+   * @param sourceView  View of the image whose pixels need to be transformed.
+   * @param destination Buffer into which the transformed pixels are written.
+   */
+  public void apply(PixelView sourceView, PixelBuffer destination) {
+    destination.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int k = 0; k < weights.length; k++) {
+      sourceView.copyChannelValues(k, 0, destination.getChannelPlane(k), 0, pixelCount);
+    }
+    applyInPlace(destination);
+  }
+
+  /**
+   * The method transforms every pixel held by the buffer and overwrites it with the result.
+   * Without a divisor the planes are transformed by a loop which keeps the weights in locals and
+   * has no calls, adding the weighted sum in the same order as for a single pixel.
+   *
+   * @param image Buffer holding the pixels which are replaced by the transformed values.
+   */
+  public void applyInPlace(PixelBuffer image) {
+    int pixelCount = image.getImageHeight() * image.getImageWidth();
+    byte[] redPlane = image.getChannelPlane(ColorMapping.red.ordinal());
+    byte[] greenPlane = image.getChannelPlane(ColorMapping.green.ordinal());
+    byte[] bluePlane = image.getChannelPlane(ColorMapping.blue.ordinal());
+    if (divisor == 1) {
+      multiplyPlanes(redPlane, greenPlane, bluePlane, pixelCount);
+    } else {
+      multiplyPlanesWithDivisor(redPlane, greenPlane, bluePlane, pixelCount);
+    }
+  }
+
+  private void multiplyPlanes(byte[] redPlane, byte[] greenPlane, byte[] bluePlane,
+                              int pixelCount) {
+    double redFromRed = weights[0][0];
+    double redFromGreen = weights[0][1];
+    double redFromBlue = weights[0][2];
+    double greenFromRed = weights[1][0];
+    double greenFromGreen = weights[1][1];
+    double greenFromBlue = weights[1][2];
+    double blueFromRed = weights[2][0];
+    double blueFromGreen = weights[2][1];
+    double blueFromBlue = weights[2][2];
+    for (int index = 0; index < pixelCount; index++) {
+      int red = redPlane[index] & 255;
+      int green = greenPlane[index] & 255;
+      int blue = bluePlane[index] & 255;
+      int newRed = (int) (redFromRed * red + redFromGreen * green + redFromBlue * blue);
+      int newGreen = (int) (greenFromRed * red + greenFromGreen * green + greenFromBlue * blue);
+      int newBlue = (int) (blueFromRed * red + blueFromGreen * green + blueFromBlue * blue);
+      redPlane[index] = (byte) Math.max(0, Math.min(255, newRed));
+      greenPlane[index] = (byte) Math.max(0, Math.min(255, newGreen));
+      bluePlane[index] = (byte) Math.max(0, Math.min(255, newBlue));
+    }
+  }
+
+  private void multiplyPlanesWithDivisor(byte[] redPlane, byte[] greenPlane, byte[] bluePlane,
+                                         int pixelCount) {
+    for (int index = 0; index < pixelCount; index++) {
+      int red = redPlane[index] & 255;
+      int green = greenPlane[index] & 255;
+      int blue = bluePlane[index] & 255;
+      redPlane[index] = (byte) weightedValue(0, red, green, blue);
+      greenPlane[index] = (byte) weightedValue(1, red, green, blue);
+      bluePlane[index] = (byte) weightedValue(2, red, green, blue);
+    }
+  }
+
+  private boolean isChannelSelection() {
+    if (divisor != 1) {
+      return false;
+    }
+    for (int c = 0; c < weights.length; c++) {
+      int nonZeroCount = 0;
+      for (double weight : weights[c]) {
+        if (weight != 0) {
+          if (weight != 1) {
+            return false;
+          }
+          nonZeroCount++;
+        }
+      }
+      if (nonZeroCount > 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int getSelectedChannel(int channel) {
+    for (int k = 0; k < weights[channel].length; k++) {
+      if (weights[channel][k] != 0) {
+        return k;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,95 @@
+package model.imageoperations.singlein;
+
+import model.PixelBuffer;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the operation which transforms every pixel of an image by a given color
+ * matrix. It is used to run a custom matrix given by the user, or a matrix merged from a chain of
+ * operations like sepia followed by a single channel filter, as a single operation.
+ */
+public class ColorMatrixOperation implements MatrixOperation {
+
+  private final ColorMatrix colorMatrix;
+
+  /**
+   * Constructor takes the matrix by which the pixels of the image are transformed.
+   *
+   * @param colorMatrix Matrix giving the weights of the old channel values for every channel.
+   * @throws IllegalArgumentException Throws exception if the matrix passed is a null reference.
+   */
+  public ColorMatrixOperation(ColorMatrix colorMatrix) throws IllegalArgumentException {
+    if (colorMatrix == null) {
+      throw new IllegalArgumentException("Matrix passed for the color matrix operation "
+              + "cannot be a null reference.\n");
+    }
+    this.colorMatrix = colorMatrix;
+  }
+
+  /**
+   * The method performs an action on the existing image in memory of the image processing app.
+   * Returns the images containing the data that can be accessed and operated by this interface.
+   *
+   * @param rgbImage Image currently in memory on which the working is to be done.
+   * @return An image as the result of the action performed on the former image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    PixelBuffer matrixBuffer = new PixelBuffer();
+    operation(rgbImage, matrixBuffer);
+    return matrixBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for the color matrix operation "
+              + "is not as expected, check again.\n");
+    }
+    colorMatrix.apply(rgbImage.getTransientPixelView(), destination);
+  }
+
+  /**
+   * The method transforms the pixels held by the buffer by the matrix and overwrites them.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for the color matrix operation in place "
+              + "is not as expected, check again.\n");
+    }
+    colorMatrix.applyInPlace(image);
+  }
+
+  /**
+   * The method transforms the channel values of a single pixel by the matrix.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    colorMatrix.multiplyPixel(rgbPixel);
+  }
+
+  /**
+   * Getter method to get the matrix giving the result of the operation for a pixel.
+   *
+   * @return The color matrix of the operation.
+   */
+  @Override
+  public ColorMatrix getColorMatrix() {
+    return colorMatrix;
+  }
+}
@@ -1,8 +1,6 @@
 package model.imageoperations.singlein;
 
-
-import enums.ColorMapping;
-import model.RGBImage;
+import model.PixelBuffer;
 import model.RGBImageInterface;
 
 /**
@@ -10,25 +8,13 @@ import model.RGBImageInterface;
  * It takes the image and converts to sepia image as required by the client using this.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
  */
-public class ColorTransformation implements ImageOperation {
+public class ColorTransformation implements MatrixOperation {
 
-  private final double[][] SEPIA_WEIGHTS = {
+  private static final ColorMatrix SEPIA_MATRIX = new ColorMatrix(new double[][]{
           {0.393, 0.769, 0.189},
           {0.349, 0.686, 0.168},
           {0.272, 0.534, 0.131}
-  };
-
-  private int[] matrixMultiplication(int[] rgbPixels) {
-    int[] transformedResult = new int[rgbPixels.length];
-    for (int i = 0; i < rgbPixels.length; i++) {
-      double weightedSum = 0;
-      for (int k = 0; k < rgbPixels.length; k++) {
-        weightedSum += SEPIA_WEIGHTS[i][k] * rgbPixels[k];
-      }
-      transformedResult[i] = Math.max(0, Math.min(255, (int) weightedSum));
-    }
-    return transformedResult;
-  }
+  });
 
   /**
    * The method performs an action on the existing image in memory of the image processing app.
@@ -40,22 +26,68 @@ public class ColorTransformation implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelBuffer sepiaBuffer = new PixelBuffer();
+    SEPIA_MATRIX.apply(rgbImage.getTransientPixelView(), sepiaBuffer);
+    return sepiaBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * Each channel of a pixel is set to the weighted sum of the channels of the old pixel.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    SEPIA_MATRIX.apply(rgbImage.getTransientPixelView(), destination);
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for sepia image "
               + "transformation is not as expected, check again. \n");
     }
-    int height = rgbImage.getImageHeight();
-    int width = rgbImage.getImageWidth();
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        int[] imagePixels = new int[ColorMapping.values().length];
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          imagePixels[k] = pixelMatrix[i][j][k];
-        }
-        pixelMatrix[i][j] = matrixMultiplication(imagePixels);
-      }
+  }
+
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. All the channels of a pixel are read before any of them is overwritten.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for sepia image transformation in place "
+              + "is not as expected, check again.\n");
     }
-    return new RGBImage(pixelMatrix);
+    SEPIA_MATRIX.applyInPlace(image);
+  }
+
+  /**
+   * The method sets the channel values of a single pixel to their sepia weighted sums.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    SEPIA_MATRIX.multiplyPixel(rgbPixel);
+  }
+
+  /**
+   * Getter method to get the sepia matrix giving the result of the operation for a pixel.
+   *
+   * @return The color matrix of the operation.
+   */
+  @Override
+  public ColorMatrix getColorMatrix() {
+    return SEPIA_MATRIX;
   }
+
 }
@@ -1,14 +1,9 @@
 package model.imageoperations.singlein;
 
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.function.BiFunction;
-import java.util.function.Function;
-import java.util.stream.IntStream;
-
-import model.RGBImage;
+import java.util.concurrent.ForkJoinTask;
+
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
@@ -16,11 +11,30 @@ import enums.ColorMapping;
  * This class represents the compression operation on an image.
  * The class takes the percentage of values to be removed for the compression as a field.
  * The new image has lower definition compared to its original one.
+ * The height and the width of the channels are each padded to a power of two, so the memory and
+ * the time follow the area of the image even when it is far from a square, and the channels are
+ * transformed in place by the haar wavelet. The coefficients are held in doubles, or in floats to take half the memory
+ * when the single precision is asked for, either by the constructor or by running with
+ * -Dimageprocessing.compression.singleprecision=true.
+ * The channels are transformed on the shared pool at the same time, and the passes of each level
+ * are split further into bands of rows or of columns. The distinct magnitudes of the channels are
+ * merged before the threshold is picked, so the result is the same whatever the number of
+ * threads.
+ * The transform of the last image compressed in doubles is kept, so trying another percentage on
+ * the same image only picks a new threshold and transforms the channels back, and the percentage
+ * which meets a target peak signal to noise ratio is searched for on top of it.
  */
 public class Compression implements ImageOperation {
 
+  /**
+   * Largest gap left between the percentages around the target by the search for a percentage.
+   */
+  public static final double PERCENTAGE_PRECISION = 0.1;
+
   private final double compressionPercentage;
 
+  private final boolean singlePrecision;
+
   /**
    * The constructor of the class takes the percentage by which image needs to be compressed.
    * Assigns back the value to its private field for the operation
@@ -28,10 +42,25 @@ public class Compression implements ImageOperation {
    * @param compressionPercentage Double representing the ratio by which img needs to be compressed.
    */
   public Compression(double compressionPercentage) throws IllegalArgumentException {
+    this(compressionPercentage, Boolean.getBoolean("imageprocessing.compression.singleprecision"));
+  }
+
+  /**
+   * The constructor of the class takes the percentage by which image needs to be compressed and
+   * the precision in which the coefficients of the wavelet are held.
+   *
+   * @param compressionPercentage Double representing the ratio by which img needs to be compressed.
+   * @param singlePrecision       True if the coefficients are to be held in floats, which takes
+   *                              half the memory of doubles.
+   * @throws IllegalArgumentException Throws exception if the percentage is not between 0 and 100.
+   */
+  public Compression(double compressionPercentage, boolean singlePrecision)
+          throws IllegalArgumentException {
     if (compressionPercentage < 0 || compressionPercentage > 100) {
       throw new IllegalArgumentException("Compression percentage is invalid\n");
     }
     this.compressionPercentage = compressionPercentage;
+    this.singlePrecision = singlePrecision;
   }
 
   /**
@@ -45,187 +74,290 @@ public class Compression implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
-    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
-      throw new IllegalArgumentException("Image passed for compression image "
-              + "transformation is not as expected, check again.\n");
-    }
-    double[][][] operatedImageMatrix = getSquareMatrix(rgbImage);
-    getCompressedSquareMatrix(operatedImageMatrix);
-    int[][][] pixelMat = rgbImage.getPixel();
-    getCompressedImgMatrix(operatedImageMatrix, pixelMat);
-    return new RGBImage(pixelMat);
-  }
-
-  private double[][][] getSquareMatrix(RGBImageInterface rgbImage) {
-    int height = rgbImage.getImageHeight();
-    int width = rgbImage.getImageWidth();
-    int heightPad = Math.max(height, getNearest2Power(height));
-    int widthPad = Math.max(width, getNearest2Power(width));
-    int squareMatrixDimension = Math.max(heightPad, widthPad);
-    double[][][] newSquarePaddedMat = new double
-            [ColorMapping.values().length][squareMatrixDimension][squareMatrixDimension];
-    copyDataToNewMatrix(newSquarePaddedMat, rgbImage.getPixel());
-    return newSquarePaddedMat;
+    PixelBuffer compressedBuffer = new PixelBuffer();
+    operation(rgbImage, compressedBuffer);
+    return compressedBuffer.toImage();
   }
 
-  private void copyDataToNewMatrix(double[][][] newMatrix, int[][][] oldMatrix) {
-    for (int k = 0; k < ColorMapping.values().length; k++) {
-      for (int i = 0; i < oldMatrix.length; i++) {
-        for (int j = 0; j < oldMatrix[i].length; j++) {
-          newMatrix[k][i][j] = oldMatrix[i][j][k];
-        }
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The image is compressed in the same way as the image returned by the other operation.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    int rows = getNearest2Power(height);
+    int cols = getNearest2Power(width);
+    destination.resize(height, width);
+    if (singlePrecision) {
+      float[][] coefficients = new float[ColorMapping.values().length][];
+      CoefficientMagnitudes[] channelMagnitudes = new CoefficientMagnitudes[coefficients.length];
+      ForkJoinTask<?>[] forwardTasks = new ForkJoinTask<?>[coefficients.length];
+      for (int k = 0; k < coefficients.length; k++) {
+        int channel = k;
+        forwardTasks[k] = ForkJoinTask.adapt(() -> {
+          coefficients[channel] = new float[rows * cols];
+          copyChannelToPlane(sourceView, channel, coefficients[channel], cols);
+          HaarWavelet.forward(coefficients[channel], rows, cols);
+          channelMagnitudes[channel] = new CoefficientMagnitudes();
+          channelMagnitudes[channel].addAll(coefficients[channel]);
+        });
+      }
+      ParallelBandOperation.invokeOnSharedPool(forwardTasks);
+      double thresholdValue = calculateThreshold(mergeMagnitudes(channelMagnitudes));
+      ForkJoinTask<?>[] inverseTasks = new ForkJoinTask<?>[coefficients.length];
+      for (int k = 0; k < coefficients.length; k++) {
+        int channel = k;
+        inverseTasks[k] = ForkJoinTask.adapt(() -> {
+          eliminateSmallValues(coefficients[channel], thresholdValue);
+          HaarWavelet.inverse(coefficients[channel], rows, cols);
+          copyPlaneToChannel(coefficients[channel], cols, destination.getChannelPlane(channel),
+                  height, width);
+        });
+      }
+      ParallelBandOperation.invokeOnSharedPool(inverseTasks);
+    } else {
+      double[][] coefficients = getCoefficients(rgbImage);
+      ForkJoinTask<?>[] inverseTasks = new ForkJoinTask<?>[coefficients.length];
+      for (int k = 0; k < coefficients.length; k++) {
+        int channel = k;
+        inverseTasks[k] = ForkJoinTask.adapt(() -> {
+          HaarWavelet.inverse(coefficients[channel], rows, cols);
+          copyPlaneToChannel(coefficients[channel], cols, destination.getChannelPlane(channel),
+                  height, width);
+        });
       }
+      ParallelBandOperation.invokeOnSharedPool(inverseTasks);
     }
   }
 
-  private int getNearest2Power(int targetNum) {
-    int res = 1;
-    while (res < targetNum) {
-      res = res * 2;
+  /**
+   * The method transforms the channels of the image by the haar wavelet and removes the
+   * coefficients below the threshold, the same way the compression does before it transforms them
+   * back. A plane is as high and as wide as the image padded to powers of two, and its values are
+   * laid out the way the haar wavelet leaves them. The coefficients are always held in doubles,
+   * and the transform of the image is reused when the image was the last one compressed.
+   *
+   * @param rgbImage Image whose coefficients are needed.
+   * @return Array of one plane of the coefficients which are kept for each channel.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  public double[][] getCoefficients(RGBImageInterface rgbImage)
+          throws IllegalArgumentException {
+    checkImage(rgbImage);
+    ForwardTransform forwardTransform = ForwardTransform.getTransform(rgbImage);
+    double thresholdValue = calculateThreshold(forwardTransform.getMagnitudes());
+    double[][] forwardPlanes = forwardTransform.getPlanes();
+    double[][] coefficients = new double[forwardPlanes.length][];
+    ForkJoinTask<?>[] thresholdTasks = new ForkJoinTask<?>[coefficients.length];
+    for (int k = 0; k < coefficients.length; k++) {
+      int channel = k;
+      thresholdTasks[k] = ForkJoinTask.adapt(() -> coefficients[channel] =
+              copyLargeValues(forwardPlanes[channel], thresholdValue));
     }
-    return res;
+    ParallelBandOperation.invokeOnSharedPool(thresholdTasks);
+    return coefficients;
   }
 
-  private void getCompressedSquareMatrix(double[][][] pixelSquareMatrix) {
-    for (int i = 0; i < ColorMapping.values().length; i++) {
-      performHaarTransformation(pixelSquareMatrix[i]);
-    }
-    eliminateSmallValues(pixelSquareMatrix);
-    for (int i = 0; i < ColorMapping.values().length; i++) {
-      performInvHaarTransformation(pixelSquareMatrix[i]);
-    }
+  /**
+   * The method gives the pyramid of the coefficients kept by the compression of the image, from
+   * which the compressed image can be rebuilt at a lower resolution without undoing all the levels
+   * of the wavelet.
+   *
+   * @param rgbImage Image whose pyramid is needed.
+   * @return Pyramid of the coefficients which are kept for the channels of the image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  public WaveletPyramid getPyramid(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    double[][] coefficients = getCoefficients(rgbImage);
+    return new WaveletPyramid(coefficients, rgbImage.getImageHeight(),
+            rgbImage.getImageWidth());
   }
 
-  private void performHaarTransformation(double[][] originalImage) {
-    int subArrayLength = originalImage.length;
-    while (subArrayLength > 1) {
-      for (int i = 0; i < originalImage.length; i++) {
-        haarWaveletRowTransform(originalImage, i, subArrayLength, this::transform);
+  /**
+   * The method finds the largest percentage by which the image can be compressed while the peak
+   * signal to noise ratio of the compressed image stays at or above the target. The percentage is
+   * found by a binary search to within PERCENTAGE_PRECISION, taking the ratio to fall as the
+   * percentage grows. The image is compressed in doubles at every step, so only the first step
+   * transforms it and the others reuse its transform.
+   *
+   * @param rgbImage   Image which is to be compressed.
+   * @param targetPsnr Double signifying the lowest peak signal to noise ratio allowed, in dB.
+   * @return Double signifying the percentage of compression, 0 if no compression meets the target.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  public static double findPercentageForPsnr(RGBImageInterface rgbImage, double targetPsnr)
+          throws IllegalArgumentException {
+    checkImage(rgbImage);
+    try (PixelBuffer compressedBuffer = new PixelBuffer()) {
+      if (getPsnr(rgbImage, 100, compressedBuffer) >= targetPsnr) {
+        return 100;
       }
-      for (int j = 0; j < originalImage.length; j++) {
-        haarWaveletColTransform(originalImage, j, subArrayLength, this::transform);
+      double low = 0;
+      double high = 100;
+      while (high - low > PERCENTAGE_PRECISION) {
+        double middle = (low + high) / 2;
+        if (getPsnr(rgbImage, middle, compressedBuffer) >= targetPsnr) {
+          low = middle;
+        } else {
+          high = middle;
+        }
       }
-      subArrayLength /= 2;
+      return low;
     }
   }
 
-  private void performInvHaarTransformation(double[][] originalImage) {
-    int subArrayLength = 2;
-    while (subArrayLength <= originalImage.length) {
-      for (int j = 0; j < originalImage.length; j++) {
-        haarWaveletColTransform(originalImage, j, subArrayLength, this::inverseTransform);
-      }
-      for (int i = 0; i < originalImage.length; i++) {
-        haarWaveletRowTransform(originalImage, i, subArrayLength, this::inverseTransform);
+  /**
+   * The method gives the peak signal to noise ratio of an image against the image it was made
+   * from, over all the channels, which grows as the images get closer.
+   *
+   * @param original Read-only view of the image the other one was made from.
+   * @param changed  Read-only view of the image made from the original one.
+   * @return Double signifying the ratio in dB, infinite if the images are the same.
+   * @throws IllegalArgumentException Throws exception if the images are not of the same size.
+   */
+  public static double getPsnr(PixelView original, PixelView changed)
+          throws IllegalArgumentException {
+    int height = original.getImageHeight();
+    int width = original.getImageWidth();
+    if (height != changed.getImageHeight() || width != changed.getImageWidth()) {
+      throw new IllegalArgumentException("Images passed for the signal to noise "
+              + "ratio are not of the same size, check again.\n");
+    }
+    byte[] originalLine = new byte[width];
+    byte[] changedLine = new byte[width];
+    long squaredError = 0;
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      for (int i = 0; i < height; i++) {
+        original.copyChannelValues(k, i * width, originalLine, 0, width);
+        changed.copyChannelValues(k, i * width, changedLine, 0, width);
+        for (int j = 0; j < width; j++) {
+          int error = (originalLine[j] & 255) - (changedLine[j] & 255);
+          squaredError += error * error;
+        }
       }
-      subArrayLength *= 2;
     }
+    double meanSquaredError = (double) squaredError / ((long) height * width
+            * ColorMapping.values().length);
+    return 10 * Math.log10(255.0 * 255.0 / meanSquaredError);
   }
 
-  private void haarWaveletRowTransform(double[][] matrix, int row,
-                                       int length, Function<double[], double[]> haarFunc) {
-    double[] rowSubArray = Arrays.copyOfRange(matrix[row], 0, length);
-    double[] transformResultSubArray = haarFunc.apply(rowSubArray);
-    System.arraycopy(transformResultSubArray, 0, matrix[row], 0, length);
+  /**
+   * The method gives the length of a side of the planes of the coefficients, which is the length
+   * of the side of the image padded to a power of two.
+   *
+   * @param targetNum Integer signifying the height or the width of the image.
+   * @return Integer signifying the smallest power of two which is not below the length.
+   */
+  public static int getNearest2Power(int targetNum) {
+    int res = 1;
+    while (res < targetNum) {
+      res = res * 2;
+    }
+    return res;
   }
 
-  private void haarWaveletColTransform(double[][] matrix, int col,
-                                       int length, Function<double[], double[]> haarFunc) {
-    double[] colSubArray = IntStream.range(0, length).mapToDouble(i -> matrix[i][col]).toArray();
-    double[] transformResultSubArray = haarFunc.apply(colSubArray);
-    for (int i = 0; i < transformResultSubArray.length; i++) {
-      matrix[i][col] = transformResultSubArray[i];
+  /**
+   * The method writes the values of a plane given back by the inverse transform into a channel
+   * of the image, rounded and kept between 0 and 255 the way the compression does.
+   *
+   * @param plane   Array of the values of the plane, row by row.
+   * @param cols    Integer signifying the width of the plane.
+   * @param channel Array of the values of the channel, row by row.
+   * @param height  Integer signifying the height of the image.
+   * @param width   Integer signifying the width of the image.
+   */
+  public static void copyPlaneToChannel(double[] plane, int cols, byte[] channel, int height,
+                                        int width) {
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int value = (int) Math.round(Math.abs(plane[i * cols + j]));
+        channel[i * width + j] = (byte) Math.max(0, Math.min(255, value));
+      }
     }
   }
 
-  private double[] transform(double[] originalPixel) {
-    double[] avgPixelArray = getTransformationArray(originalPixel,
-      (a, b) -> ((a + b) / Math.sqrt(2)));
-    double[] diffPixelArray = getTransformationArray(originalPixel,
-      (a, b) -> ((a - b) / Math.sqrt(2)));
-    double[] resultArray = new double[avgPixelArray.length + diffPixelArray.length];
-    System.arraycopy(avgPixelArray, 0, resultArray, 0, avgPixelArray.length);
-    System.arraycopy(diffPixelArray, 0, resultArray,
-            avgPixelArray.length, diffPixelArray.length);
-    return resultArray;
+  private static double getPsnr(RGBImageInterface rgbImage, double compressionPercentage,
+                                PixelBuffer compressedBuffer) {
+    new Compression(compressionPercentage, false).operation(rgbImage, compressedBuffer);
+    return getPsnr(rgbImage.getTransientPixelView(), compressedBuffer.getPixelView());
   }
 
-  private double[] getTransformationArray(double[] originalPixel,
-                                          BiFunction<Double, Double, Double> functionObj) {
-    double[] resultArray = new double[originalPixel.length / 2];
-    for (int i = 0; i + 1 < originalPixel.length; i += 2) {
-      double a = originalPixel[i];
-      double b = originalPixel[i + 1];
-      double operatedValue = functionObj.apply(a, b);
-      resultArray[i / 2] = operatedValue;
+  private static void checkImage(RGBImageInterface rgbImage) {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for compression image "
+              + "transformation is not as expected, check again.\n");
     }
-    return resultArray;
   }
 
-  private Set<Double> getSortedAbsPixelValues(double[][][] transformedMatrix) {
-    Set<Double> set = new TreeSet<>();
-    for (int k = 0; k < ColorMapping.values().length; k++) {
-      for (int i = 0; i < transformedMatrix[k].length; i++) {
-        for (int j = 0; j < transformedMatrix[k][i].length; j++) {
-          double num = (double) Math.round(Math.abs(transformedMatrix[k][i][j] * 100)) / 100;
-          set.add(num);
-        }
+  private static void copyChannelToPlane(PixelView sourceView, int channel, float[] plane,
+                                         int cols) {
+    int width = sourceView.getImageWidth();
+    byte[] line = new byte[width];
+    for (int i = 0; i < sourceView.getImageHeight(); i++) {
+      sourceView.copyChannelValues(channel, i * width, line, 0, width);
+      for (int j = 0; j < width; j++) {
+        plane[i * cols + j] = line[j] & 255;
       }
     }
-    return set;
   }
 
-  private double calculateThreshold(Set<Double> set) {
-    double num = (double) set.size() * compressionPercentage;
+  private static CoefficientMagnitudes mergeMagnitudes(
+          CoefficientMagnitudes[] channelMagnitudes) {
+    CoefficientMagnitudes magnitudes = channelMagnitudes[0];
+    for (int k = 1; k < channelMagnitudes.length; k++) {
+      magnitudes.addAll(channelMagnitudes[k]);
+    }
+    return magnitudes;
+  }
+
+  private double calculateThreshold(CoefficientMagnitudes magnitudes) {
+    double num = (double) magnitudes.size() * compressionPercentage;
     int cnt = (int) Math.round(num / 100);
+    if (cnt == 0) {
+      // the magnitudes are rounded, so even the smallest of them could be above a coefficient
+      return 0;
+    }
     double thresholdValue = Double.POSITIVE_INFINITY;
-
-    Iterator<Double> iterator = set.iterator();
-
-    if (set.size() > cnt) {
-      for (int i = 0; i < cnt + 1; i++) {
-        thresholdValue = iterator.next();
-      }
+    if (magnitudes.size() > cnt) {
+      thresholdValue = magnitudes.getMagnitude(cnt);
     }
     return thresholdValue;
   }
 
-  private void eliminateSmallValues(double[][][] transformedMatrix) {
-    Set<Double> set = getSortedAbsPixelValues(transformedMatrix);
-    double thresholdValue = calculateThreshold(set);
-    for (int k = 0; k < ColorMapping.values().length; k++) {
-      for (int i = 0; i < transformedMatrix[k].length; i++) {
-        for (int j = 0; j < transformedMatrix[k][i].length; j++) {
-          if (Math.abs(transformedMatrix[k][i][j]) < thresholdValue) {
-            transformedMatrix[k][i][j] = 0.0;
-          }
-        }
+  private static double[] copyLargeValues(double[] plane, double thresholdValue) {
+    double[] largeValues = new double[plane.length];
+    for (int n = 0; n < plane.length; n++) {
+      if (Math.abs(plane[n]) >= thresholdValue) {
+        largeValues[n] = plane[n];
       }
     }
+    return largeValues;
   }
 
-  private double[] inverseTransform(double[] transformedPixel) {
-    double[] interleavePixels = new double[transformedPixel.length];
-    for (int i = 0; i < transformedPixel.length / 2; i++) {
-      double a = transformedPixel[i];
-      double b = transformedPixel[i + (transformedPixel.length / 2)];
-      double avg = (a + b) / Math.sqrt(2);
-      double diff = (a - b) / Math.sqrt(2);
-      interleavePixels[2 * i] = avg;
-      interleavePixels[2 * i + 1] = diff;
+  private static void eliminateSmallValues(float[] plane, double thresholdValue) {
+    for (int n = 0; n < plane.length; n++) {
+      if (Math.abs(plane[n]) < thresholdValue) {
+        plane[n] = 0.0f;
+      }
     }
-    return interleavePixels;
   }
 
-  private void getCompressedImgMatrix(double[][][] operatedImg, int[][][] pixelMat) {
-    for (int i = 0; i < pixelMat.length; i++) {
-      for (int j = 0; j < pixelMat[i].length; j++) {
-        for (int k = 0; k < pixelMat[i][j].length; k++) {
-          int value = (int) Math.round(Math.abs(operatedImg[k][i][j]));
-          pixelMat[i][j][k] = Math.max(0, Math.min(255, value));
-        }
+  private static void copyPlaneToChannel(float[] plane, int cols, byte[] channel, int height,
+                                         int width) {
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        int value = Math.round(Math.abs(plane[i * cols + j]));
+        channel[i * width + j] = (byte) Math.max(0, Math.min(255, value));
       }
     }
   }
-
 }
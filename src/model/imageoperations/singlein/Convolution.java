@@ -0,0 +1,617 @@
+package model.imageoperations.singlein;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.PixelView;
+import model.PlaneBufferPool;
+
+/**
+ * This class represents the convolution of an image with a kernel of odd height and width.
+ * The new value of a pixel is the sum of the pixels around it weighted by the kernel, clamped to
+ * the range of 0 to 255, where the pixels outside the image are left out of the sum.
+ * The pixels whose whole neighbourhood is inside the image are computed by a loop without any
+ * bounds check, only the pixels near the edges check every tap, and all the channels are done
+ * row by row in a single scan of the image.
+ * A kernel which is the product of a column and a row, like the blur kernel, is run as a pass
+ * along the rows followed by a pass along the columns when the weights are fractions with small
+ * powers of two as denominators, as every sum is then exact and the result is the same as the one
+ * of the full kernel. Other kernels add the taps in the same order as the full kernel would.
+ * The taps of weight zero are dropped when the convolution is made, as adding them never changes
+ * a sum, and a kernel whose weights are such fractions and whose sum stays small is run on whole
+ * numbers scaled by the power of two, which gives the same sums as the weights themselves.
+ * A kernel with more taps than a 5 by 5 kernel which cannot be split is multiplied in the
+ * frequency domain instead, as the cost of the direct sum grows with the number of taps while the
+ * cost of the fourier transform grows only with the logarithm of the block size. The region is cut into
+ * blocks which overlap by the kernel size, two channels are packed as the real and imaginary
+ * parts of one transform, and the transform of the kernel is worked out once for each block
+ * size. The sums are then only exact to a small rounding error, so a pixel whose sum lies on a
+ * whole number within that error may differ by one from the direct sum.
+ */
+public final class Convolution {
+
+  private static final double EXACT_WEIGHT_SCALE = 1 << 16;
+
+  private static final double MAX_EXACT_KERNEL_GAIN = 1 << 12;
+
+  private static final int FIXED_POINT_SHIFT = 16;
+
+  private static final double MAX_FIXED_POINT_GAIN = (double) Integer.MAX_VALUE
+          / (255.0 * (1 << FIXED_POINT_SHIFT));
+
+  private static final int MAX_DIRECT_TAPS = 5 * 5;
+
+  private static final int MIN_FOURIER_BLOCK = 32;
+
+  private static final int FOURIER_BLOCK_SPAN = 8;
+
+  private static final double FOURIER_TOLERANCE = 1e-6;
+
+  private final double[][] kernel;
+
+  private final int rowRadius;
+
+  private final int colRadius;
+
+  private final double[] tapWeights;
+
+  private final int[] tapRows;
+
+  private final int[] tapCols;
+
+  private final int[] fixedPointWeights;
+
+  private final double[] columnWeights;
+
+  private final double[] rowWeights;
+
+  private final boolean fourier;
+
+  private final Map<Long, FourierKernel> fourierKernels = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor takes the kernel of the convolution.
+   *
+   * @param kernel Matrix of weights with an odd number of rows and columns, whose centre is
+   *               the weight of the pixel itself.
+   * @throws IllegalArgumentException Throws exception if the kernel is not of odd dimensions or
+   *                                  has a weight which is not a finite number.
+   */
+  public Convolution(double[][] kernel) throws IllegalArgumentException {
+    if (kernel == null || kernel.length % 2 == 0 || kernel[0] == null
+            || kernel[0].length % 2 == 0) {
+      throw new IllegalArgumentException("Kernel passed for the convolution "
+              + "is not of odd height and width, check again.\n");
+    }
+    this.kernel = new double[kernel.length][];
+    for (int x = 0; x < kernel.length; x++) {
+      if (kernel[x] == null || kernel[x].length != kernel[0].length) {
+        throw new IllegalArgumentException("Kernel passed for the convolution "
+                + "is not of odd height and width, check again.\n");
+      }
+      for (double weight : kernel[x]) {
+        if (Double.isNaN(weight) || Double.isInfinite(weight)) {
+          throw new IllegalArgumentException("Kernel passed for the convolution has a weight "
+                  + "which is not a finite number.\n");
+        }
+      }
+      this.kernel[x] = kernel[x].clone();
+    }
+    this.rowRadius = kernel.length / 2;
+    this.colRadius = kernel[0].length / 2;
+    int tapCount = 0;
+    for (double[] kernelRow : kernel) {
+      for (double weight : kernelRow) {
+        tapCount += weight != 0 ? 1 : 0;
+      }
+    }
+    this.tapWeights = new double[tapCount];
+    this.tapRows = new int[tapCount];
+    this.tapCols = new int[tapCount];
+    int tap = 0;
+    for (int x = 0; x < kernel.length; x++) {
+      for (int y = 0; y < kernel[0].length; y++) {
+        if (kernel[x][y] != 0) {
+          tapWeights[tap] = kernel[x][y];
+          tapRows[tap] = x - rowRadius;
+          tapCols[tap] = y - colRadius;
+          tap++;
+        }
+      }
+    }
+    this.fixedPointWeights = getFixedPointWeights(tapWeights);
+    double[][] factors = findExactFactors(this.kernel);
+    this.columnWeights = factors == null ? null : factors[0];
+    this.rowWeights = factors == null ? null : factors[1];
+    this.fourier = factors == null && tapCount > MAX_DIRECT_TAPS;
+  }
+
+  /**
+   * Getter method to get a copy of the kernel of the convolution.
+   *
+   * @return Matrix of the weights of the kernel.
+   */
+  public double[][] getKernel() {
+    double[][] kernelCopy = new double[kernel.length][];
+    for (int x = 0; x < kernel.length; x++) {
+      kernelCopy[x] = kernel[x].clone();
+    }
+    return kernelCopy;
+  }
+
+  /**
+   * Getter method to get the number of rows of the kernel above and below its centre.
+   *
+   * @return Integer signifying the rows of the image around a pixel which decide its value.
+   */
+  public int getRowRadius() {
+    return rowRadius;
+  }
+
+  /**
+   * Getter method to get the number of columns of the kernel on each side of its centre.
+   *
+   * @return Integer signifying the columns of the image around a pixel which decide its value.
+   */
+  public int getColumnRadius() {
+    return colRadius;
+  }
+
+  /**
+   * Getter method to know if the kernel is run as a row pass followed by a column pass.
+   *
+   * @return True if the kernel is the exact product of a column and a row.
+   */
+  public boolean isSeparable() {
+    return columnWeights != null;
+  }
+
+  /**
+   * Getter method to get the number of taps of the kernel whose weight is not zero, which are the
+   * only taps added for each pixel.
+   *
+   * @return Integer signifying the number of taps added for each pixel.
+   */
+  public int getTapCount() {
+    return tapWeights.length;
+  }
+
+  /**
+   * Getter method to know if the kernel is run on whole numbers scaled by a power of two.
+   *
+   * @return True if every weight is a fraction with a small power of two as denominator and the
+   *         kernel is neither split nor multiplied in the frequency domain.
+   */
+  public boolean usesFixedPoint() {
+    return fixedPointWeights != null && !isSeparable() && !fourier;
+  }
+
+  /**
+   * Getter method to know if the kernel is multiplied with the image in the frequency domain.
+   *
+   * @return True if the kernel has more taps than a 5 by 5 kernel and is not the product of a
+   *         column and a row.
+   */
+  public boolean usesFourierTransform() {
+    return fourier;
+  }
+
+  /**
+   * The method convolves every pixel of the view and writes it into the buffer.
+   * The buffer is resized to the size of the view.
+   *
+   * @param sourceView  View of the image which needs to be convolved.
+   * @param destination Buffer into which the convolved pixels are written.
+   */
+  public void apply(PixelView sourceView, PixelBuffer destination) {
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    destination.resize(height, width);
+    byte[][] planes = new byte[ColorMapping.values().length][];
+    for (int k = 0; k < planes.length; k++) {
+      planes[k] = destination.getChannelPlane(k);
+    }
+    applyToRegion(sourceView, 0, 0, height, width, planes);
+  }
+
+  /**
+   * The method convolves the pixels of a rectangular region of the view, reading only the part
+   * of the view the region and its neighbourhood cover.
+   *
+   * @param sourceView   View of the image which needs to be convolved.
+   * @param rowStart     Integer signifying the first row of the region in the image.
+   * @param colStart     Integer signifying the first column of the region in the image.
+   * @param regionHeight Integer signifying the number of rows in the region.
+   * @param regionWidth  Integer signifying the number of columns in the region.
+   * @param regionPlanes Array of planes, one per channel, into which the region is written row
+   *                     by row with regionWidth values in each row.
+   */
+  public void applyToRegion(PixelView sourceView, int rowStart, int colStart, int regionHeight,
+                            int regionWidth, byte[][] regionPlanes) {
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    int windowRow = Math.max(0, rowStart - rowRadius);
+    int windowCol = Math.max(0, colStart - colRadius);
+    int windowHeight = Math.min(height, rowStart + regionHeight + rowRadius) - windowRow;
+    int windowWidth = Math.min(width, colStart + regionWidth + colRadius) - windowCol;
+    PlaneBufferPool planePool = PlaneBufferPool.getDefault();
+    byte[][] windowPlanes = planePool.borrowPlanes(regionPlanes.length,
+            windowHeight * windowWidth);
+    for (int k = 0; k < windowPlanes.length; k++) {
+      if (windowWidth == width) {
+        sourceView.copyChannelValues(k, windowRow * width, windowPlanes[k], 0,
+                windowHeight * windowWidth);
+      } else {
+        for (int i = 0; i < windowHeight; i++) {
+          sourceView.copyChannelValues(k, (windowRow + i) * width + windowCol, windowPlanes[k],
+                  i * windowWidth, windowWidth);
+        }
+      }
+    }
+    Window window = new Window(windowPlanes, windowHeight, windowWidth, rowStart - windowRow,
+            colStart - windowCol);
+    if (isSeparable()) {
+      convolveSeparable(window, regionHeight, regionWidth, regionPlanes);
+    } else if (fourier) {
+      convolveFourier(window, regionHeight, regionWidth, regionPlanes);
+    } else {
+      convolveFull(window, regionHeight, regionWidth, regionPlanes);
+    }
+    for (byte[] plane : windowPlanes) {
+      planePool.releasePlane(plane);
+    }
+  }
+
+  private void convolveFull(Window window, int regionHeight, int regionWidth,
+                            byte[][] regionPlanes) {
+    int windowWidth = window.width;
+    int[] tapOffsets = new int[tapWeights.length];
+    for (int tap = 0; tap < tapOffsets.length; tap++) {
+      tapOffsets[tap] = tapRows[tap] * windowWidth + tapCols[tap];
+    }
+    for (int i = 0; i < regionHeight; i++) {
+      int row = i + window.rowOffset;
+      boolean interiorRow = row >= rowRadius && row + rowRadius < window.height;
+      int interiorStart = interiorRow ? clampColumn(colRadius - window.colOffset, regionWidth)
+              : regionWidth;
+      int interiorEnd = interiorRow ? Math.max(interiorStart,
+              clampColumn(windowWidth - colRadius - window.colOffset, regionWidth))
+              : regionWidth;
+      for (int k = 0; k < regionPlanes.length; k++) {
+        byte[] source = window.planes[k];
+        byte[] plane = regionPlanes[k];
+        int regionRowStart = i * regionWidth;
+        for (int j = 0; j < interiorStart; j++) {
+          plane[regionRowStart + j] = clampSum(edgeSum(window, source, row,
+                  j + window.colOffset));
+        }
+        int centre = row * windowWidth + interiorStart + window.colOffset;
+        if (fixedPointWeights != null) {
+          for (int j = interiorStart; j < interiorEnd; j++, centre++) {
+            int sum = 0;
+            for (int tap = 0; tap < tapOffsets.length; tap++) {
+              sum += (source[centre + tapOffsets[tap]] & 255) * fixedPointWeights[tap];
+            }
+            plane[regionRowStart + j] = (byte) Math.min(255,
+                    Math.max(0, sum >> FIXED_POINT_SHIFT));
+          }
+        } else {
+          for (int j = interiorStart; j < interiorEnd; j++, centre++) {
+            double sum = 0.0;
+            for (int tap = 0; tap < tapOffsets.length; tap++) {
+              sum += (double) (source[centre + tapOffsets[tap]] & 255) * tapWeights[tap];
+            }
+            plane[regionRowStart + j] = clampSum(sum);
+          }
+        }
+        for (int j = interiorEnd; j < regionWidth; j++) {
+          plane[regionRowStart + j] = clampSum(edgeSum(window, source, row,
+                  j + window.colOffset));
+        }
+      }
+    }
+  }
+
+  private double edgeSum(Window window, byte[] source, int row, int col) {
+    double sum = 0.0;
+    for (int tap = 0; tap < tapWeights.length; tap++) {
+      int tapRow = row + tapRows[tap];
+      int tapCol = col + tapCols[tap];
+      if (tapRow >= 0 && tapRow < window.height && tapCol >= 0 && tapCol < window.width) {
+        sum += (double) (source[tapRow * window.width + tapCol] & 255) * tapWeights[tap];
+      }
+    }
+    return sum;
+  }
+
+  private void convolveSeparable(Window window, int regionHeight, int regionWidth,
+                                 byte[][] regionPlanes) {
+    int ringSize = 2 * rowRadius + 1;
+    double[][][] rowSums = new double[regionPlanes.length][ringSize][regionWidth];
+    double[] columnSum = new double[regionWidth];
+    int nextRow = Math.max(0, window.rowOffset - rowRadius);
+    for (int i = 0; i < regionHeight; i++) {
+      int row = i + window.rowOffset;
+      int lastRow = Math.min(window.height - 1, row + rowRadius);
+      for (; nextRow <= lastRow; nextRow++) {
+        for (int k = 0; k < regionPlanes.length; k++) {
+          sumAlongRow(window, window.planes[k], nextRow, rowSums[k][nextRow % ringSize],
+                  regionWidth);
+        }
+      }
+      int firstTap = Math.max(-rowRadius, -row);
+      int lastTap = Math.min(rowRadius, window.height - 1 - row);
+      for (int k = 0; k < regionPlanes.length; k++) {
+        Arrays.fill(columnSum, 0.0);
+        for (int tap = firstTap; tap <= lastTap; tap++) {
+          double weight = columnWeights[tap + rowRadius];
+          double[] rowSum = rowSums[k][(row + tap) % ringSize];
+          for (int j = 0; j < regionWidth; j++) {
+            columnSum[j] += weight * rowSum[j];
+          }
+        }
+        byte[] plane = regionPlanes[k];
+        int regionRowStart = i * regionWidth;
+        for (int j = 0; j < regionWidth; j++) {
+          plane[regionRowStart + j] = clampSum(columnSum[j]);
+        }
+      }
+    }
+  }
+
+  private void sumAlongRow(Window window, byte[] source, int row, double[] rowSum,
+                           int regionWidth) {
+    int interiorStart = clampColumn(colRadius - window.colOffset, regionWidth);
+    int interiorEnd = Math.max(interiorStart,
+            clampColumn(window.width - colRadius - window.colOffset, regionWidth));
+    for (int j = 0; j < interiorStart; j++) {
+      rowSum[j] = edgeRowSum(window, source, row, j + window.colOffset);
+    }
+    int first = row * window.width + interiorStart + window.colOffset - colRadius;
+    for (int j = interiorStart; j < interiorEnd; j++, first++) {
+      double sum = 0.0;
+      for (int tap = 0; tap < rowWeights.length; tap++) {
+        sum += rowWeights[tap] * (source[first + tap] & 255);
+      }
+      rowSum[j] = sum;
+    }
+    for (int j = interiorEnd; j < regionWidth; j++) {
+      rowSum[j] = edgeRowSum(window, source, row, j + window.colOffset);
+    }
+  }
+
+  private double edgeRowSum(Window window, byte[] source, int row, int col) {
+    double sum = 0.0;
+    int lastTap = Math.min(colRadius, window.width - 1 - col);
+    for (int tap = Math.max(-colRadius, -col); tap <= lastTap; tap++) {
+      sum += rowWeights[tap + colRadius] * (source[row * window.width + col + tap] & 255);
+    }
+    return sum;
+  }
+
+  private void convolveFourier(Window window, int regionHeight, int regionWidth,
+                               byte[][] regionPlanes) {
+    int blockRows = getFourierBlockSize(kernel.length, regionHeight);
+    int blockCols = getFourierBlockSize(kernel[0].length, regionWidth);
+    FourierKernel fourierKernel = fourierKernels.computeIfAbsent(
+            ((long) blockRows << 32) | blockCols,
+            key -> new FourierKernel(kernel, new FourierTransform(blockRows, blockCols)));
+    ForkJoinTask<?>[] channelTasks = new ForkJoinTask<?>[(regionPlanes.length + 1) / 2];
+    for (int k = 0; k < regionPlanes.length; k += 2) {
+      int first = k;
+      int second = k + 1 < regionPlanes.length ? k + 1 : -1;
+      channelTasks[k / 2] = ForkJoinTask.adapt(() -> convolveBlocks(window, fourierKernel,
+              first, second, regionHeight, regionWidth, regionPlanes));
+    }
+    ParallelBandOperation.invokeOnSharedPool(channelTasks);
+  }
+
+  private void convolveBlocks(Window window, FourierKernel fourierKernel, int first, int second,
+                              int regionHeight, int regionWidth, byte[][] regionPlanes) {
+    FourierTransform transform = fourierKernel.transform;
+    int blockRows = transform.getRows();
+    int blockCols = transform.getCols();
+    int outputRows = blockRows - 2 * rowRadius;
+    int outputCols = blockCols - 2 * colRadius;
+    double[] real = new double[blockRows * blockCols];
+    double[] imaginary = new double[blockRows * blockCols];
+    for (int blockRow = 0; blockRow < regionHeight; blockRow += outputRows) {
+      for (int blockCol = 0; blockCol < regionWidth; blockCol += outputCols) {
+        int sourceRow = blockRow + window.rowOffset - rowRadius;
+        int sourceCol = blockCol + window.colOffset - colRadius;
+        Arrays.fill(real, 0.0);
+        Arrays.fill(imaginary, 0.0);
+        int firstRow = Math.max(0, -sourceRow);
+        int lastRow = Math.min(blockRows, window.height - sourceRow);
+        int firstCol = Math.max(0, -sourceCol);
+        int lastCol = Math.min(blockCols, window.width - sourceCol);
+        for (int a = firstRow; a < lastRow; a++) {
+          int sourceStart = (sourceRow + a) * window.width + sourceCol;
+          for (int b = firstCol; b < lastCol; b++) {
+            real[a * blockCols + b] = window.planes[first][sourceStart + b] & 255;
+            if (second >= 0) {
+              imaginary[a * blockCols + b] = window.planes[second][sourceStart + b] & 255;
+            }
+          }
+        }
+        transform.transform(real, imaginary, false);
+        double[] kernelReal = fourierKernel.real;
+        double[] kernelImaginary = fourierKernel.imaginary;
+        for (int n = 0; n < real.length; n++) {
+          double productReal = real[n] * kernelReal[n] - imaginary[n] * kernelImaginary[n];
+          imaginary[n] = real[n] * kernelImaginary[n] + imaginary[n] * kernelReal[n];
+          real[n] = productReal;
+        }
+        transform.transform(real, imaginary, true);
+        int rowCount = Math.min(outputRows, regionHeight - blockRow);
+        int colCount = Math.min(outputCols, regionWidth - blockCol);
+        for (int i = 0; i < rowCount; i++) {
+          int blockStart = (i + 2 * rowRadius) * blockCols + 2 * colRadius;
+          int regionStart = (blockRow + i) * regionWidth + blockCol;
+          for (int j = 0; j < colCount; j++) {
+            regionPlanes[first][regionStart + j] = clampFourierSum(real[blockStart + j]);
+            if (second >= 0) {
+              regionPlanes[second][regionStart + j] = clampFourierSum(imaginary[blockStart + j]);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static int getFourierBlockSize(int kernelSize, int regionSize) {
+    int preferredSize = Math.max(MIN_FOURIER_BLOCK,
+            nextPowerOfTwo(FOURIER_BLOCK_SPAN * (kernelSize - 1)));
+    return Math.min(preferredSize, nextPowerOfTwo(regionSize + kernelSize - 1));
+  }
+
+  private static int nextPowerOfTwo(int size) {
+    return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  private static byte clampFourierSum(double sum) {
+    double nearest = Math.rint(sum);
+    return clampSum(Math.abs(sum - nearest) < FOURIER_TOLERANCE ? nearest : sum);
+  }
+
+  private static int clampColumn(int column, int regionWidth) {
+    return Math.max(0, Math.min(regionWidth, column));
+  }
+
+  private static byte clampSum(double sum) {
+    return (byte) Math.min(255, Math.max(0, sum));
+  }
+
+  private static double[][] findExactFactors(double[][] kernel) {
+    int pivotRow = 0;
+    int pivotCol = 0;
+    for (int x = 0; x < kernel.length; x++) {
+      for (int y = 0; y < kernel[0].length; y++) {
+        if (Math.abs(kernel[x][y]) > Math.abs(kernel[pivotRow][pivotCol])) {
+          pivotRow = x;
+          pivotCol = y;
+        }
+      }
+    }
+    double pivot = kernel[pivotRow][pivotCol];
+    if (pivot == 0 || (kernel.length == 1 && kernel[0].length == 1)) {
+      return null;
+    }
+    double[][] factors = factorize(kernel, pivotRow, pivotCol, 1, pivot);
+    return factors != null ? factors : factorize(kernel, pivotRow, pivotCol, pivot, 1);
+  }
+
+  private static double[][] factorize(double[][] kernel, int pivotRow, int pivotCol,
+                                      double columnScale, double rowScale) {
+    double[] column = new double[kernel.length];
+    double[] row = new double[kernel[0].length];
+    double columnGain = 0;
+    double rowGain = 0;
+    for (int x = 0; x < column.length; x++) {
+      column[x] = kernel[x][pivotCol] / columnScale;
+      columnGain += Math.abs(column[x]);
+    }
+    for (int y = 0; y < row.length; y++) {
+      row[y] = kernel[pivotRow][y] / rowScale;
+      rowGain += Math.abs(row[y]);
+    }
+    if (!isExactWeight(column) || !isExactWeight(row)
+            || columnGain * rowGain > MAX_EXACT_KERNEL_GAIN) {
+      return null;
+    }
+    for (int x = 0; x < column.length; x++) {
+      for (int y = 0; y < row.length; y++) {
+        if (column[x] * row[y] != kernel[x][y]) {
+          return null;
+        }
+      }
+    }
+    return new double[][]{column, row};
+  }
+
+  private static int[] getFixedPointWeights(double[] weights) {
+    double gain = 0;
+    for (double weight : weights) {
+      gain += Math.abs(weight);
+    }
+    if (!isExactWeight(weights) || gain >= MAX_FIXED_POINT_GAIN) {
+      return null;
+    }
+    int[] fixedWeights = new int[weights.length];
+    for (int tap = 0; tap < weights.length; tap++) {
+      fixedWeights[tap] = (int) (weights[tap] * (1 << FIXED_POINT_SHIFT));
+    }
+    return fixedWeights;
+  }
+
+  private static boolean isExactWeight(double[] weights) {
+    for (double weight : weights) {
+      double scaledWeight = weight * EXACT_WEIGHT_SCALE;
+      if (scaledWeight != Math.rint(scaledWeight)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * This class represents the fourier transform of the kernel for one block size, flipped so that
+   * the product with the transform of a block gives the weighted sums of the kernel, and divided
+   * by the number of values in the block to undo the scale of the inverse transform.
+   */
+  private static final class FourierKernel {
+
+    private final FourierTransform transform;
+
+    private final double[] real;
+
+    private final double[] imaginary;
+
+    private FourierKernel(double[][] kernel, FourierTransform transform) {
+      int blockCols = transform.getCols();
+      int blockSize = transform.getRows() * blockCols;
+      this.transform = transform;
+      this.real = new double[blockSize];
+      this.imaginary = new double[blockSize];
+      for (int x = 0; x < kernel.length; x++) {
+        for (int y = 0; y < kernel[0].length; y++) {
+          real[(kernel.length - 1 - x) * blockCols + kernel[0].length - 1 - y] = kernel[x][y];
+        }
+      }
+      transform.transform(real, imaginary, false);
+      for (int n = 0; n < blockSize; n++) {
+        real[n] /= blockSize;
+        imaginary[n] /= blockSize;
+      }
+    }
+  }
+
+  /**
+   * This class represents the part of the image copied for a region, along with the position of
+   * the region within it.
+   */
+  private static final class Window {
+
+    private final byte[][] planes;
+
+    private final int height;
+
+    private final int width;
+
+    private final int rowOffset;
+
+    private final int colOffset;
+
+    private Window(byte[][] planes, int height, int width, int rowOffset, int colOffset) {
+      this.planes = planes;
+      this.height = height;
+      this.width = width;
+      this.rowOffset = rowOffset;
+      this.colOffset = colOffset;
+    }
+  }
+}
@@ -2,15 +2,17 @@ package model.imageoperations.singlein;
 
 import enums.AxisName;
 import enums.ColorMapping;
-import model.RGBImage;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
+import model.TiledRGBImage;
 
 /**
  * This class represents the flip operation on a single image currently present in the memory.
  * It takes the image and flip along any of the existing axis as required by the client using this.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
  */
-public class Flip implements ImageOperation {
+public class Flip implements InPlaceOperation, BandOperation {
 
   private final int axisValue;
 
@@ -29,6 +31,17 @@ public class Flip implements ImageOperation {
 
   }
 
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * A horizontal flip only moves pixels within their row, a vertical flip needs the whole image.
+   *
+   * @return Integer signifying the halo rows a band needs, or -1 for the vertical flip.
+   */
+  @Override
+  public int getHaloRows() {
+    return axisValue == AxisName.horizontal.ordinal() ? 0 : -1;
+  }
+
   /**
    * The method performs an action on the existing image in memory of the image processing app.
    * Returns the images containing the data that can be accessed and operated by this interface.
@@ -43,37 +56,125 @@ public class Flip implements ImageOperation {
       throw new IllegalArgumentException("Image passed for flip is not as "
               + "expected, check again.\n");
     }
+    if (rgbImage instanceof TiledRGBImage) {
+      PixelView sourceView = rgbImage.getPixelView();
+      return ((TiledRGBImage) rgbImage).deriveImage(
+              (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> renderTile(sourceView,
+                      rowStart, colStart, tileHeight, tileWidth, tilePlanes));
+    }
+    PixelBuffer flippedBuffer = new PixelBuffer();
+    operation(rgbImage, flippedBuffer);
+    return flippedBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The pixels of the image are mirrored along the axis into the buffer.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for flip is not as "
+              + "expected, check again.\n");
+    }
     int height = rgbImage.getImageHeight();
     int width = rgbImage.getImageWidth();
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    if (this.axisValue == AxisName.horizontal.ordinal()) {
-      flipHorizontal(height, width, pixelMatrix);
+    destination.resize(height, width);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      if (this.axisValue == AxisName.horizontal.ordinal()) {
+        flipHorizontal(sourceView, k, height, width, destination.getChannelPlane(k));
+      }
+      if (this.axisValue == AxisName.vertical.ordinal()) {
+        flipVertical(sourceView, k, height, width, destination.getChannelPlane(k));
+      }
     }
-    if (this.axisValue == AxisName.vertical.ordinal()) {
-      flipVertical(height, width, pixelMatrix);
+  }
+
+  private void renderTile(PixelView sourceView, int rowStart, int colStart,
+                          int tileHeight, int tileWidth, byte[][] tilePlanes) {
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    for (int k = 0; k < tilePlanes.length; k++) {
+      byte[] plane = tilePlanes[k];
+      for (int i = 0; i < tileHeight; i++) {
+        int row = rowStart + i;
+        if (this.axisValue == AxisName.vertical.ordinal()) {
+          row = height - 1 - row;
+        }
+        for (int j = 0; j < tileWidth; j++) {
+          int col = colStart + j;
+          if (this.axisValue == AxisName.horizontal.ordinal()) {
+            col = width - 1 - col;
+          }
+          plane[i * tileWidth + j] = (byte) sourceView.getChannelValue(k, row * width + col);
+        }
+      }
     }
-    return new RGBImage(pixelMatrix);
   }
 
-  private void flipHorizontal(int height, int width, int[][][] pixelMatrix) {
+  private void flipHorizontal(PixelView sourceView, int channel,
+                              int height, int width, byte[] plane) {
     for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width / 2; j++) {
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          int currentValue = pixelMatrix[i][width - 1 - j][k];
-          pixelMatrix[i][width - 1 - j][k] = pixelMatrix[i][j][k];
-          pixelMatrix[i][j][k] = currentValue;
-        }
+      int rowStart = i * width;
+      for (int j = 0; j < width; j++) {
+        plane[rowStart + j] = (byte) sourceView.getChannelValue(channel,
+                rowStart + width - 1 - j);
       }
     }
   }
 
-  private void flipVertical(int height, int width, int[][][] pixelMatrix) {
-    for (int i = 0; i < height / 2; i++) {
+  private void flipVertical(PixelView sourceView, int channel,
+                            int height, int width, byte[] plane) {
+    for (int i = 0; i < height; i++) {
+      int rowStart = i * width;
+      int mirroredRowStart = (height - 1 - i) * width;
       for (int j = 0; j < width; j++) {
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          int currentValue = pixelMatrix[height - 1 - i][j][k];
-          pixelMatrix[height - 1 - i][j][k] = pixelMatrix[i][j][k];
-          pixelMatrix[i][j][k] = currentValue;
+        plane[rowStart + j] = (byte) sourceView.getChannelValue(channel, mirroredRowStart + j);
+      }
+    }
+  }
+
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. The mirrored pixels are swapped with each other, so only one row is buffered.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for flip in place "
+              + "is not as expected, check again.\n");
+    }
+    int height = image.getImageHeight();
+    int width = image.getImageWidth();
+    byte[] rowValues = new byte[width];
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      byte[] plane = image.getChannelPlane(k);
+      if (this.axisValue == AxisName.horizontal.ordinal()) {
+        for (int i = 0; i < height; i++) {
+          int rowStart = i * width;
+          for (int j = 0; j < width / 2; j++) {
+            byte value = plane[rowStart + j];
+            plane[rowStart + j] = plane[rowStart + width - 1 - j];
+            plane[rowStart + width - 1 - j] = value;
+          }
+        }
+      }
+      if (this.axisValue == AxisName.vertical.ordinal()) {
+        for (int i = 0; i < height / 2; i++) {
+          int rowStart = i * width;
+          int mirroredRowStart = (height - 1 - i) * width;
+          System.arraycopy(plane, rowStart, rowValues, 0, width);
+          System.arraycopy(plane, mirroredRowStart, plane, rowStart, width);
+          System.arraycopy(rowValues, 0, plane, mirroredRowStart, width);
         }
       }
     }
@@ -0,0 +1,143 @@
+package model.imageoperations.singlein;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ForkJoinTask;
+
+import enums.ColorMapping;
+import model.PixelView;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the haar wavelet transform of the channels of an image, held in doubles,
+ * together with the distinct magnitudes of its coefficients.
+ * The transform of the last image compressed is kept, so compressing the same image again by
+ * another percentage only needs a new threshold and the inverse transform. The image is known by
+ * its identity, and the hash of its pixels is compared as well, so an image whose pixels were
+ * assigned or changed in place since is transformed again. The transform is only held softly
+ * and no longer than the image itself, so it never keeps memory the application needs. The
+ * planes and the magnitudes are shared by every compression of the image and are never written.
+ */
+final class ForwardTransform {
+
+  private static SoftReference<ForwardTransform> lastTransform = new SoftReference<>(null);
+
+  private final WeakReference<RGBImageInterface> imageReference;
+
+  private final long pixelHash;
+
+  private final int height;
+
+  private final int width;
+
+  private final double[][] planes;
+
+  private final CoefficientMagnitudes magnitudes;
+
+  private ForwardTransform(RGBImageInterface rgbImage, long pixelHash, int height, int width,
+                           double[][] planes, CoefficientMagnitudes magnitudes) {
+    this.imageReference = new WeakReference<>(rgbImage);
+    this.pixelHash = pixelHash;
+    this.height = height;
+    this.width = width;
+    this.planes = planes;
+    this.magnitudes = magnitudes;
+  }
+
+  /**
+   * The method gives the transform of the image, the kept one if the image was the last one
+   * transformed and its pixels are the same, or else a new one which is then kept in its place.
+   * The channels of a new transform are transformed on the shared pool at the same time.
+   *
+   * @param rgbImage Image whose transform is needed.
+   * @return Transform of the channels of the image, whose planes are not to be written.
+   */
+  static ForwardTransform getTransform(RGBImageInterface rgbImage) {
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    long pixelHash = hashPixels(sourceView);
+    synchronized (ForwardTransform.class) {
+      ForwardTransform keptTransform = lastTransform.get();
+      if (keptTransform != null && keptTransform.imageReference.get() == rgbImage
+              && keptTransform.pixelHash == pixelHash && keptTransform.height == height
+              && keptTransform.width == width) {
+        return keptTransform;
+      }
+    }
+    int rows = Compression.getNearest2Power(height);
+    int cols = Compression.getNearest2Power(width);
+    double[][] planes = new double[ColorMapping.values().length][];
+    CoefficientMagnitudes[] channelMagnitudes = new CoefficientMagnitudes[planes.length];
+    ForkJoinTask<?>[] forwardTasks = new ForkJoinTask<?>[planes.length];
+    for (int k = 0; k < planes.length; k++) {
+      int channel = k;
+      forwardTasks[k] = ForkJoinTask.adapt(() -> {
+        planes[channel] = new double[rows * cols];
+        copyChannelToPlane(sourceView, channel, planes[channel], cols);
+        HaarWavelet.forward(planes[channel], rows, cols);
+        channelMagnitudes[channel] = new CoefficientMagnitudes();
+        channelMagnitudes[channel].addAll(planes[channel]);
+      });
+    }
+    ParallelBandOperation.invokeOnSharedPool(forwardTasks);
+    CoefficientMagnitudes magnitudes = channelMagnitudes[0];
+    for (int k = 1; k < channelMagnitudes.length; k++) {
+      magnitudes.addAll(channelMagnitudes[k]);
+    }
+    // sorts the large magnitudes once, so reading the shared set later never writes it
+    magnitudes.size();
+    ForwardTransform transform = new ForwardTransform(rgbImage, pixelHash, height, width,
+            planes, magnitudes);
+    synchronized (ForwardTransform.class) {
+      lastTransform = new SoftReference<>(transform);
+    }
+    return transform;
+  }
+
+  /**
+   * Getter method to get the planes of the coefficients of the channels, which are as high and
+   * as wide as the image padded to powers of two.
+   *
+   * @return Array of one plane of the coefficients for each channel, not to be written.
+   */
+  double[][] getPlanes() {
+    return planes;
+  }
+
+  /**
+   * Getter method to get the distinct magnitudes of the coefficients of all the channels.
+   *
+   * @return Set of the magnitudes, not to be added to.
+   */
+  CoefficientMagnitudes getMagnitudes() {
+    return magnitudes;
+  }
+
+  private static long hashPixels(PixelView sourceView) {
+    int width = sourceView.getImageWidth();
+    byte[] line = new byte[width];
+    long hash = 0xcbf29ce484222325L;
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      for (int i = 0; i < sourceView.getImageHeight(); i++) {
+        sourceView.copyChannelValues(k, i * width, line, 0, width);
+        for (byte value : line) {
+          hash = (hash ^ (value & 255)) * 0x100000001b3L;
+        }
+      }
+    }
+    return hash;
+  }
+
+  private static void copyChannelToPlane(PixelView sourceView, int channel, double[] plane,
+                                         int cols) {
+    int width = sourceView.getImageWidth();
+    byte[] line = new byte[width];
+    for (int i = 0; i < sourceView.getImageHeight(); i++) {
+      sourceView.copyChannelValues(channel, i * width, line, 0, width);
+      for (int j = 0; j < width; j++) {
+        plane[i * cols + j] = line[j] & 255;
+      }
+    }
+  }
+}
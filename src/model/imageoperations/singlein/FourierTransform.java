@@ -0,0 +1,173 @@
+package model.imageoperations.singlein;
+
+/**
+ * This class represents the plan of a two dimensional discrete fourier transform of a block whose
+ * height and width are powers of two. The tables of the rotations and of the reversed indices are
+ * worked out once when the plan is made and shared by every block transformed with it.
+ * The block is held as two row major arrays of the real and the imaginary parts, and the pass
+ * along the columns moves whole rows at a time so that it reads the memory in order.
+ */
+final class FourierTransform {
+
+  private final int rows;
+
+  private final int cols;
+
+  private final double[] rowCos;
+
+  private final double[] rowSin;
+
+  private final int[] rowReversed;
+
+  private final double[] colCos;
+
+  private final double[] colSin;
+
+  private final int[] colReversed;
+
+  /**
+   * Constructor takes the size of the blocks to be transformed.
+   *
+   * @param rows Integer signifying the height of a block, which must be a power of two.
+   * @param cols Integer signifying the width of a block, which must be a power of two.
+   * @throws IllegalArgumentException Throws exception if the height or width is not a power of
+   *                                  two.
+   */
+  FourierTransform(int rows, int cols) throws IllegalArgumentException {
+    if (rows <= 0 || cols <= 0 || Integer.bitCount(rows) != 1 || Integer.bitCount(cols) != 1) {
+      throw new IllegalArgumentException("Size passed for the fourier transform "
+              + "is not a power of two, check again.\n");
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.rowCos = cosTable(cols);
+    this.rowSin = sinTable(cols);
+    this.rowReversed = reversedIndices(cols);
+    this.colCos = cosTable(rows);
+    this.colSin = sinTable(rows);
+    this.colReversed = reversedIndices(rows);
+  }
+
+  /**
+   * Getter method to get the height of the blocks transformed by this plan.
+   *
+   * @return Integer signifying the number of rows of a block.
+   */
+  int getRows() {
+    return rows;
+  }
+
+  /**
+   * Getter method to get the width of the blocks transformed by this plan.
+   *
+   * @return Integer signifying the number of columns of a block.
+   */
+  int getCols() {
+    return cols;
+  }
+
+  /**
+   * The method replaces the block by its fourier transform, or by its inverse transform without
+   * the division by the number of values in the block.
+   *
+   * @param real      Array of the real parts of the block, row by row.
+   * @param imaginary Array of the imaginary parts of the block, row by row.
+   * @param inverse   True if the inverse transform is to be done.
+   */
+  void transform(double[] real, double[] imaginary, boolean inverse) {
+    double sign = inverse ? -1 : 1;
+    for (int i = 0; i < rows; i++) {
+      transformRow(real, imaginary, i * cols, sign);
+    }
+    transformColumns(real, imaginary, sign);
+  }
+
+  private void transformRow(double[] real, double[] imaginary, int start, double sign) {
+    for (int j = 0; j < cols; j++) {
+      int reversed = rowReversed[j];
+      if (reversed > j) {
+        swap(real, start + j, start + reversed);
+        swap(imaginary, start + j, start + reversed);
+      }
+    }
+    for (int half = 1; half < cols; half *= 2) {
+      int step = cols / (2 * half);
+      for (int group = 0; group < cols; group += 2 * half) {
+        for (int j = 0; j < half; j++) {
+          double cos = rowCos[j * step];
+          double sin = sign * rowSin[j * step];
+          int top = start + group + j;
+          int bottom = top + half;
+          double bottomReal = real[bottom] * cos + imaginary[bottom] * sin;
+          double bottomImaginary = imaginary[bottom] * cos - real[bottom] * sin;
+          real[bottom] = real[top] - bottomReal;
+          imaginary[bottom] = imaginary[top] - bottomImaginary;
+          real[top] += bottomReal;
+          imaginary[top] += bottomImaginary;
+        }
+      }
+    }
+  }
+
+  private void transformColumns(double[] real, double[] imaginary, double sign) {
+    for (int i = 0; i < rows; i++) {
+      int reversed = colReversed[i];
+      if (reversed > i) {
+        for (int j = 0; j < cols; j++) {
+          swap(real, i * cols + j, reversed * cols + j);
+          swap(imaginary, i * cols + j, reversed * cols + j);
+        }
+      }
+    }
+    for (int half = 1; half < rows; half *= 2) {
+      int step = rows / (2 * half);
+      for (int group = 0; group < rows; group += 2 * half) {
+        for (int i = 0; i < half; i++) {
+          double cos = colCos[i * step];
+          double sin = sign * colSin[i * step];
+          int top = (group + i) * cols;
+          int bottom = top + half * cols;
+          for (int j = 0; j < cols; j++) {
+            double bottomReal = real[bottom + j] * cos + imaginary[bottom + j] * sin;
+            double bottomImaginary = imaginary[bottom + j] * cos - real[bottom + j] * sin;
+            real[bottom + j] = real[top + j] - bottomReal;
+            imaginary[bottom + j] = imaginary[top + j] - bottomImaginary;
+            real[top + j] += bottomReal;
+            imaginary[top + j] += bottomImaginary;
+          }
+        }
+      }
+    }
+  }
+
+  private static void swap(double[] values, int first, int second) {
+    double value = values[first];
+    values[first] = values[second];
+    values[second] = value;
+  }
+
+  private static double[] cosTable(int size) {
+    double[] table = new double[Math.max(1, size / 2)];
+    for (int j = 0; j < table.length; j++) {
+      table[j] = Math.cos(2 * Math.PI * j / size);
+    }
+    return table;
+  }
+
+  private static double[] sinTable(int size) {
+    double[] table = new double[Math.max(1, size / 2)];
+    for (int j = 0; j < table.length; j++) {
+      table[j] = Math.sin(2 * Math.PI * j / size);
+    }
+    return table;
+  }
+
+  private static int[] reversedIndices(int size) {
+    int bits = Integer.numberOfTrailingZeros(size);
+    int[] reversed = new int[size];
+    for (int j = 0; j < size; j++) {
+      reversed[j] = bits == 0 ? 0 : Integer.reverse(j) >>> (32 - bits);
+    }
+    return reversed;
+  }
+}
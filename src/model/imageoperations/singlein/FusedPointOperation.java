@@ -0,0 +1,197 @@
+package model.imageoperations.singlein;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.PixelView;
+import model.RGBImageInterface;
+
+/**
+ * This class represents a chain of per pixel operations which are run as one single operation.
+ * Every pixel is read once from the source, passed through all the operations of the chain in
+ * order and written once to the result, so a chain of any length costs one pass over the image.
+ * Consecutive operations which map every channel on their own are composed into one lookup
+ * table, and consecutive color matrices are merged into one matrix where that is exact, so for
+ * example sepia followed by a single channel filter is a single matrix per pixel.
+ * The result is the same as running the operations one after the other on full images.
+ */
+public class FusedPointOperation implements PointOperation {
+
+  private final PointOperation[] pointOperations;
+
+  private final PointOperation[] fusedStages;
+
+  /**
+   * Constructor takes the operations of the chain in the order in which they need to be applied.
+   *
+   * @param pointOperations List of per pixel operations, the first one is applied first.
+   * @throws IllegalArgumentException Throws exception if the list is empty or has a null entry.
+   */
+  public FusedPointOperation(List<PointOperation> pointOperations)
+          throws IllegalArgumentException {
+    if (pointOperations == null || pointOperations.isEmpty()
+            || pointOperations.contains(null)) {
+      throw new IllegalArgumentException("Operations passed for the fused "
+              + "operation are not as expected, check again.\n");
+    }
+    this.pointOperations = pointOperations.toArray(new PointOperation[0]);
+    this.fusedStages = composeStages(this.pointOperations);
+  }
+
+  /**
+   * The method creates a new chain which runs the operation passed after this whole chain.
+   * This chain is not changed, so it can still be used on its own.
+   *
+   * @param pointOperation Per pixel operation to apply on the result of this chain.
+   * @return A new chain containing the operations of this chain followed by the one passed.
+   * @throws IllegalArgumentException Throws exception if the operation passed is a null reference.
+   */
+  public FusedPointOperation andThen(PointOperation pointOperation)
+          throws IllegalArgumentException {
+    PointOperation[] chainedOperations = Arrays.copyOf(pointOperations,
+            pointOperations.length + 1);
+    chainedOperations[pointOperations.length] = pointOperation;
+    return new FusedPointOperation(Arrays.asList(chainedOperations));
+  }
+
+  /**
+   * Getter method to get the number of operations which are run in the single pass.
+   *
+   * @return Integer signifying the length of the chain.
+   */
+  public int getOperationCount() {
+    return pointOperations.length;
+  }
+
+  /**
+   * The method performs the whole chain on the existing image in a single pass.
+   * Returns the images containing the data that can be accessed and operated by this interface.
+   *
+   * @param rgbImage Image currently in memory on which the working is to be done.
+   * @return An image as the result of the action performed on the former image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    PixelBuffer fusedBuffer = new PixelBuffer();
+    operation(rgbImage, fusedBuffer);
+    return fusedBuffer.toImage();
+  }
+
+  /**
+   * The method performs the whole chain on the existing image and writes the result into the
+   * buffer, reading and writing every pixel only once.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for the fused operation "
+              + "is not as expected, check again.\n");
+    }
+    if (fusedStages.length == 1) {
+      fusedStages[0].operation(rgbImage, destination);
+      return;
+    }
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    destination.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    byte[][] planes = getPlanes(destination);
+    int[] rgbPixel = new int[ColorMapping.values().length];
+    for (int index = 0; index < pixelCount; index++) {
+      for (int k = 0; k < rgbPixel.length; k++) {
+        rgbPixel[k] = sourceView.getChannelValue(k, index);
+      }
+      operationOnPixel(rgbPixel);
+      for (int k = 0; k < rgbPixel.length; k++) {
+        planes[k][index] = (byte) rgbPixel[k];
+      }
+    }
+  }
+
+  /**
+   * The method performs the whole chain on the pixels held by the buffer and overwrites them
+   * with the result, reading and writing every pixel only once.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for the fused operation in place "
+              + "is not as expected, check again.\n");
+    }
+    if (fusedStages.length == 1) {
+      fusedStages[0].operationInPlace(image);
+      return;
+    }
+    int pixelCount = image.getImageHeight() * image.getImageWidth();
+    byte[][] planes = getPlanes(image);
+    int[] rgbPixel = new int[ColorMapping.values().length];
+    for (int index = 0; index < pixelCount; index++) {
+      for (int k = 0; k < rgbPixel.length; k++) {
+        rgbPixel[k] = planes[k][index] & 255;
+      }
+      operationOnPixel(rgbPixel);
+      for (int k = 0; k < rgbPixel.length; k++) {
+        planes[k][index] = (byte) rgbPixel[k];
+      }
+    }
+  }
+
+  /**
+   * The method passes the channel values of a single pixel through every operation of the chain.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    for (PointOperation pointOperation : fusedStages) {
+      pointOperation.operationOnPixel(rgbPixel);
+    }
+  }
+
+  private static PointOperation[] composeStages(PointOperation[] pointOperations) {
+    List<PointOperation> stages = new ArrayList<>();
+    for (PointOperation pointOperation : pointOperations) {
+      PointOperation lastStage = stages.isEmpty() ? null : stages.get(stages.size() - 1);
+      ColorMatrix colorMatrix = pointOperation instanceof MatrixOperation
+              ? ((MatrixOperation) pointOperation).getColorMatrix() : null;
+      ColorMatrix composedMatrix = colorMatrix != null && lastStage instanceof ColorMatrixOperation
+              ? ((ColorMatrixOperation) lastStage).getColorMatrix().andThen(colorMatrix) : null;
+      if (pointOperation instanceof LookupOperation
+              && lastStage instanceof LookupTableOperation) {
+        LookupTable composedTable = ((LookupTableOperation) lastStage).getLookupTable()
+                .andThen(((LookupOperation) pointOperation).getLookupTable());
+        stages.set(stages.size() - 1, new LookupTableOperation(composedTable));
+      } else if (composedMatrix != null) {
+        stages.set(stages.size() - 1, new ColorMatrixOperation(composedMatrix));
+      } else if (pointOperation instanceof LookupOperation) {
+        stages.add(new LookupTableOperation(
+                ((LookupOperation) pointOperation).getLookupTable()));
+      } else if (colorMatrix != null) {
+        stages.add(new ColorMatrixOperation(colorMatrix));
+      } else {
+        stages.add(pointOperation);
+      }
+    }
+    return stages.toArray(new PointOperation[0]);
+  }
+
+  private byte[][] getPlanes(PixelBuffer buffer) {
+    byte[][] planes = new byte[ColorMapping.values().length][];
+    for (int k = 0; k < planes.length; k++) {
+      planes[k] = buffer.getChannelPlane(k);
+    }
+    return planes;
+  }
+
+}
@@ -1,18 +1,26 @@
 package model.imageoperations.singlein;
 
+import enums.ColorMapping;
 import enums.GreyScaleType;
-import model.RGBImage;
+import model.CopyOnWritePixels;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
 
 /**
  * This class represents the greyscale operation on a single image currently present in the memory.
  * Takes the greyscale type and performs the action on it to get a new black-white image.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
+ * The luma and intensity greyscale are linear, so they are computed with a color matrix.
  */
-public class GreyScale implements ImageOperation {
+public class GreyScale implements MatrixOperation {
 
   private final int greyScaleOperationType;
 
+  private final GreyScaleType greyFilter;
+
+  private final ColorMatrix greyMatrix;
+
   /**
    * This constructor takes greyscale type which will be used for greyscale action on an image.
    *
@@ -25,6 +33,8 @@ public class GreyScale implements ImageOperation {
               + "not defined. Please try again.\n");
     }
     this.greyScaleOperationType = greyScaleOperationType;
+    this.greyFilter = findOrdinalName(greyScaleOperationType);
+    this.greyMatrix = getGreyMatrix(greyFilter);
   }
 
   /**
@@ -37,22 +47,85 @@ public class GreyScale implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    if (greyMatrix != null) {
+      PixelBuffer greyBuffer = new PixelBuffer();
+      greyMatrix.apply(rgbImage.getTransientPixelView(), greyBuffer);
+      return greyBuffer.toImage();
+    }
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    CopyOnWritePixels pixels = new CopyOnWritePixels(sourceView);
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    int[] rgbPixel = new int[ColorMapping.values().length];
+    for (int index = 0; index < pixelCount; index++) {
+      for (int k = 0; k < rgbPixel.length; k++) {
+        rgbPixel[k] = sourceView.getChannelValue(k, index);
+      }
+      operationOnPixel(rgbPixel);
+      for (int k = 0; k < rgbPixel.length; k++) {
+        if (rgbPixel[k] != sourceView.getChannelValue(k, index)) {
+          pixels.setChannelValue(k, index, rgbPixel[k]);
+        }
+      }
+    }
+    return pixels.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * All the channels of a pixel are set to the grey value computed for that pixel.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    if (greyMatrix != null) {
+      greyMatrix.apply(sourceView, destination);
+      return;
+    }
+    destination.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    GreyScaleType typeofGreyFilter = findOrdinalName(greyScaleOperationType);
+    byte[][] planes = new byte[ColorMapping.values().length][];
+    for (int k = 0; k < planes.length; k++) {
+      planes[k] = destination.getChannelPlane(k);
+    }
+    int[] rgbPixel = new int[ColorMapping.values().length];
+    for (int index = 0; index < pixelCount; index++) {
+      for (int k = 0; k < rgbPixel.length; k++) {
+        rgbPixel[k] = sourceView.getChannelValue(k, index);
+      }
+      if (typeofGreyFilter != null) {
+        rgbPixel = typeofGreyFilter.calculateReturnPixelValue(rgbPixel);
+      }
+      for (int k = 0; k < rgbPixel.length; k++) {
+        planes[k][index] = (byte) rgbPixel[k];
+      }
+    }
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for grey scale "
               + "images conversion is not as expected, check again. \n");
     }
-    int height = rgbImage.getImageHeight();
-    int width = rgbImage.getImageWidth();
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    GreyScaleType typeofGreyFilter = findOrdinalName(greyScaleOperationType);
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        if (typeofGreyFilter != null) {
-          pixelMatrix[i][j] = typeofGreyFilter.calculateReturnPixelValue(pixelMatrix[i][j]);
-        }
-      }
+  }
+
+  private static ColorMatrix getGreyMatrix(GreyScaleType typeofGreyFilter) {
+    if (typeofGreyFilter == GreyScaleType.luma) {
+      double[] lumaWeights = {0.2125, 0.7152, 0.0722};
+      return new ColorMatrix(new double[][]{lumaWeights, lumaWeights, lumaWeights});
+    } else if (typeofGreyFilter == GreyScaleType.intensity) {
+      double[] sumWeights = {1, 1, 1};
+      return new ColorMatrix(new double[][]{sumWeights, sumWeights, sumWeights},
+              ColorMapping.values().length);
     }
-    return new RGBImage(pixelMatrix);
+    return null;
   }
 
   private static GreyScaleType findOrdinalName(int greyScaleOperationType) {
@@ -64,4 +137,67 @@ public class GreyScale implements ImageOperation {
     return null;
   }
 
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. All the channels of a pixel are read before any of them is overwritten.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for grey scale in place "
+              + "is not as expected, check again.\n");
+    }
+    if (greyMatrix != null) {
+      greyMatrix.applyInPlace(image);
+      return;
+    }
+    int pixelCount = image.getImageHeight() * image.getImageWidth();
+    GreyScaleType typeofGreyFilter = findOrdinalName(greyScaleOperationType);
+    byte[][] planes = new byte[ColorMapping.values().length][];
+    for (int k = 0; k < planes.length; k++) {
+      planes[k] = image.getChannelPlane(k);
+    }
+    int[] rgbPixel = new int[ColorMapping.values().length];
+    for (int index = 0; index < pixelCount; index++) {
+      for (int k = 0; k < rgbPixel.length; k++) {
+        rgbPixel[k] = planes[k][index] & 255;
+      }
+      if (typeofGreyFilter != null) {
+        rgbPixel = typeofGreyFilter.calculateReturnPixelValue(rgbPixel);
+      }
+      for (int k = 0; k < rgbPixel.length; k++) {
+        planes[k][index] = (byte) rgbPixel[k];
+      }
+    }
+  }
+
+  /**
+   * The method sets every channel value of a single pixel to its grey value.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    if (greyMatrix != null) {
+      greyMatrix.multiplyPixel(rgbPixel);
+    } else if (greyFilter != null) {
+      int[] greyPixel = greyFilter.calculateReturnPixelValue(rgbPixel);
+      System.arraycopy(greyPixel, 0, rgbPixel, 0, rgbPixel.length);
+    }
+  }
+
+  /**
+   * Getter method to get the matrix giving the grey value of a pixel for the luma and the
+   * intensity greyscale. The value greyscale takes the maximum of the channels, so it has none.
+   *
+   * @return The color matrix of the operation, or null for the value greyscale.
+   */
+  @Override
+  public ColorMatrix getColorMatrix() {
+    return greyMatrix;
+  }
+
 }
@@ -0,0 +1,327 @@
+package model.imageoperations.singlein;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class represents the haar wavelet transform of a plane whose height and width are each a
+ * power of two, held row by row in a single array of doubles or of floats.
+ * Every level replaces each pair of values by their sum and their difference, both divided by the
+ * square root of two, first along every row and then along every column, and the next level runs
+ * on the sums only. Once the pairs of a side are used up, the levels left go on along the other
+ * side only, so a wide or a tall plane does not have to be padded to a square.
+ * Along a row the sums of a level are moved to the front and the differences right after them,
+ * so the next level reads a shorter run of the row in order instead of picking every other value
+ * out of the whole row. Along the columns the pairs are updated in place, so the sums of a level
+ * stay at every other row and the pass pairs whole rows, which also reads the memory in order.
+ * The values are the same as the ones of a transform which moves all the sums to the front, only
+ * stored at other positions, and the inverse transform puts the pixels back in their order.
+ * The rows of a pass along the rows, and the columns of a pass along the columns, are independent
+ * of each other, so the passes of a large plane are split into bands run on the shared pool. Each
+ * value is worked out by the same steps whatever the split, so the result does not depend on it.
+ */
+public final class HaarWavelet {
+
+  /**
+   * Smallest number of values worked on by a band of a pass run on its own task.
+   */
+  public static final int MIN_BAND_VALUES = 1 << 15;
+
+  private static final double ROOT_TWO = Math.sqrt(2);
+
+  private static final float ROOT_TWO_FLOAT = (float) Math.sqrt(2);
+
+  /**
+   * The method replaces the plane by its haar wavelet transform.
+   *
+   * @param plane Array of the values of the plane, row by row.
+   * @param size  Integer signifying the height and width of the plane, a power of two.
+   */
+  public static void forward(double[] plane, int size) {
+    forward(plane, size, size);
+  }
+
+  /**
+   * The method replaces the haar wavelet transform of a plane by the plane itself.
+   *
+   * @param plane Array of the transformed values of the plane, row by row.
+   * @param size  Integer signifying the height and width of the plane, a power of two.
+   */
+  public static void inverse(double[] plane, int size) {
+    inverse(plane, size, size);
+  }
+
+  /**
+   * The method replaces the plane by its haar wavelet transform.
+   *
+   * @param plane Array of the values of the plane, row by row.
+   * @param rows  Integer signifying the height of the plane, a power of two.
+   * @param cols  Integer signifying the width of the plane, a power of two.
+   */
+  public static void forward(double[] plane, int rows, int cols) {
+    for (int stride = 1; stride < Math.max(rows, cols); stride *= 2) {
+      int levelStride = stride;
+      if (stride < cols) {
+        runInBands(rows, cols / stride,
+                (start, end) -> transformRows(plane, start, end, cols, cols / levelStride, false));
+      }
+      if (stride < rows) {
+        runInBands(cols, rows / stride,
+                (start, end) -> transformColumns(plane, rows, cols, levelStride, start, end));
+      }
+    }
+  }
+
+  /**
+   * The method replaces the haar wavelet transform of a plane by the plane itself.
+   *
+   * @param plane Array of the transformed values of the plane, row by row.
+   * @param rows  Integer signifying the height of the plane, a power of two.
+   * @param cols  Integer signifying the width of the plane, a power of two.
+   */
+  public static void inverse(double[] plane, int rows, int cols) {
+    for (int stride = Math.max(rows, cols) / 2; stride >= 1; stride /= 2) {
+      inverseLevel(plane, rows, cols, stride);
+    }
+  }
+
+  /**
+   * The method undoes a single level of the haar wavelet transform of a plane. The levels are to
+   * be undone from the one of the largest stride down to the one of stride 1, and the level of a
+   * stride only reads the coefficients from its part of the plane and the parts of the larger
+   * strides, so a plane can be rebuilt while its coefficients are still being read.
+   *
+   * @param plane  Array of the partly transformed values of the plane, row by row.
+   * @param rows   Integer signifying the height of the plane, a power of two.
+   * @param cols   Integer signifying the width of the plane, a power of two.
+   * @param stride Integer signifying the stride of the level, a power of two below the larger
+   *               side of the plane.
+   */
+  public static void inverseLevel(double[] plane, int rows, int cols, int stride) {
+    if (stride < rows) {
+      runInBands(cols, rows / stride,
+              (start, end) -> transformColumns(plane, rows, cols, stride, start, end));
+    }
+    if (stride < cols) {
+      runInBands(rows, cols / stride,
+              (start, end) -> transformRows(plane, start, end, cols, cols / stride, true));
+    }
+  }
+
+  /**
+   * Getter method to get the stride of the first part of the coefficients of a plane, which is
+   * the stride of the first level undone by the inverse transform or 1 for a single value.
+   *
+   * @param rows Integer signifying the height of the plane, a power of two.
+   * @param cols Integer signifying the width of the plane, a power of two.
+   * @return Integer signifying the largest stride of a part of the plane.
+   */
+  public static int getTopStride(int rows, int cols) {
+    return Math.max(1, Math.max(rows, cols) / 2);
+  }
+
+  /**
+   * Getter method to get the first column of a row which belongs to the part of the coefficients
+   * of a stride. The part of a stride holds the coefficients first read when the level of that
+   * stride is undone, so every coefficient of a plane belongs to the part of exactly one stride,
+   * and a row has a single run of columns in each part, which may be empty.
+   *
+   * @param rows   Integer signifying the height of the plane, a power of two.
+   * @param cols   Integer signifying the width of the plane, a power of two.
+   * @param stride Integer signifying the stride of the part, from the top stride down to 1.
+   * @param row    Integer signifying the row of the plane.
+   * @return Integer signifying the first column of the run of the row in the part.
+   */
+  public static int getPartStart(int rows, int cols, int stride, int row) {
+    return 2 * stride < cols ? cols / (2 * stride) : 0;
+  }
+
+  /**
+   * Getter method to get the column after the last one of a row which belongs to the part of the
+   * coefficients of a stride. The run of the row is empty when this is not after its start.
+   *
+   * @param rows   Integer signifying the height of the plane, a power of two.
+   * @param cols   Integer signifying the width of the plane, a power of two.
+   * @param stride Integer signifying the stride of the part, from the top stride down to 1.
+   * @param row    Integer signifying the row of the plane.
+   * @return Integer signifying the column after the run of the row in the part.
+   */
+  public static int getPartEnd(int rows, int cols, int stride, int row) {
+    int rowStride = rows == 1 ? 0 : row == 0 ? rows / 2 : Integer.lowestOneBit(row);
+    if (rowStride > stride) {
+      return 0;
+    }
+    if (rowStride == stride || stride == 1) {
+      return cols;
+    }
+    return stride < cols ? cols / stride : 0;
+  }
+
+  /**
+   * The method replaces the plane by its haar wavelet transform, worked out in floats.
+   *
+   * @param plane Array of the values of the plane, row by row.
+   * @param size  Integer signifying the height and width of the plane, a power of two.
+   */
+  public static void forward(float[] plane, int size) {
+    forward(plane, size, size);
+  }
+
+  /**
+   * The method replaces the haar wavelet transform of a plane by the plane itself, worked out in
+   * floats.
+   *
+   * @param plane Array of the transformed values of the plane, row by row.
+   * @param size  Integer signifying the height and width of the plane, a power of two.
+   */
+  public static void inverse(float[] plane, int size) {
+    inverse(plane, size, size);
+  }
+
+  /**
+   * The method replaces the plane by its haar wavelet transform, worked out in floats.
+   *
+   * @param plane Array of the values of the plane, row by row.
+   * @param rows  Integer signifying the height of the plane, a power of two.
+   * @param cols  Integer signifying the width of the plane, a power of two.
+   */
+  public static void forward(float[] plane, int rows, int cols) {
+    for (int stride = 1; stride < Math.max(rows, cols); stride *= 2) {
+      int levelStride = stride;
+      if (stride < cols) {
+        runInBands(rows, cols / stride,
+                (start, end) -> transformRows(plane, start, end, cols, cols / levelStride, false));
+      }
+      if (stride < rows) {
+        runInBands(cols, rows / stride,
+                (start, end) -> transformColumns(plane, rows, cols, levelStride, start, end));
+      }
+    }
+  }
+
+  /**
+   * The method replaces the haar wavelet transform of a plane by the plane itself, worked out in
+   * floats.
+   *
+   * @param plane Array of the transformed values of the plane, row by row.
+   * @param rows  Integer signifying the height of the plane, a power of two.
+   * @param cols  Integer signifying the width of the plane, a power of two.
+   */
+  public static void inverse(float[] plane, int rows, int cols) {
+    for (int stride = Math.max(rows, cols) / 2; stride >= 1; stride /= 2) {
+      int levelStride = stride;
+      if (stride < rows) {
+        runInBands(cols, rows / stride,
+                (start, end) -> transformColumns(plane, rows, cols, levelStride, start, end));
+      }
+      if (stride < cols) {
+        runInBands(rows, cols / stride,
+                (start, end) -> transformRows(plane, start, end, cols, cols / levelStride, true));
+      }
+    }
+  }
+
+  private static void runInBands(int lineCount, int valuesPerLine, LineRange lineRange) {
+    long valueCount = (long) lineCount * valuesPerLine;
+    int bandCount = (int) Math.min(Math.min(lineCount, valueCount / MIN_BAND_VALUES),
+            ParallelBandOperation.getSharedPool().getParallelism());
+    if (bandCount <= 1) {
+      lineRange.transform(0, lineCount);
+      return;
+    }
+    ForkJoinTask<?>[] bandTasks = new ForkJoinTask<?>[bandCount];
+    for (int band = 0; band < bandCount; band++) {
+      int start = (int) ((long) lineCount * band / bandCount);
+      int end = (int) ((long) lineCount * (band + 1) / bandCount);
+      bandTasks[band] = ForkJoinTask.adapt(() -> lineRange.transform(start, end));
+    }
+    ParallelBandOperation.invokeOnSharedPool(bandTasks);
+  }
+
+  private static void transformRows(double[] plane, int rowStart, int rowEnd, int cols,
+                                    int length, boolean inverse) {
+    int half = length / 2;
+    double[] differences = new double[half];
+    for (int row = rowStart; row < rowEnd; row++) {
+      int start = row * cols;
+      if (inverse) {
+        System.arraycopy(plane, start + half, differences, 0, half);
+        for (int i = half - 1; i >= 0; i--) {
+          double a = plane[start + i];
+          double b = differences[i];
+          plane[start + 2 * i] = (a + b) / ROOT_TWO;
+          plane[start + 2 * i + 1] = (a - b) / ROOT_TWO;
+        }
+      } else {
+        for (int i = 0; i < half; i++) {
+          double a = plane[start + 2 * i];
+          double b = plane[start + 2 * i + 1];
+          plane[start + i] = (a + b) / ROOT_TWO;
+          differences[i] = (a - b) / ROOT_TWO;
+        }
+        System.arraycopy(differences, 0, plane, start + half, half);
+      }
+    }
+  }
+
+  private static void transformColumns(double[] plane, int rows, int cols, int stride,
+                                       int colStart, int colEnd) {
+    for (int row = 0; row + stride < rows; row += 2 * stride) {
+      int firstStart = row * cols;
+      int secondStart = (row + stride) * cols;
+      for (int j = colStart; j < colEnd; j++) {
+        double a = plane[firstStart + j];
+        double b = plane[secondStart + j];
+        plane[firstStart + j] = (a + b) / ROOT_TWO;
+        plane[secondStart + j] = (a - b) / ROOT_TWO;
+      }
+    }
+  }
+
+  private static void transformRows(float[] plane, int rowStart, int rowEnd, int cols,
+                                    int length, boolean inverse) {
+    int half = length / 2;
+    float[] differences = new float[half];
+    for (int row = rowStart; row < rowEnd; row++) {
+      int start = row * cols;
+      if (inverse) {
+        System.arraycopy(plane, start + half, differences, 0, half);
+        for (int i = half - 1; i >= 0; i--) {
+          float a = plane[start + i];
+          float b = differences[i];
+          plane[start + 2 * i] = (a + b) / ROOT_TWO_FLOAT;
+          plane[start + 2 * i + 1] = (a - b) / ROOT_TWO_FLOAT;
+        }
+      } else {
+        for (int i = 0; i < half; i++) {
+          float a = plane[start + 2 * i];
+          float b = plane[start + 2 * i + 1];
+          plane[start + i] = (a + b) / ROOT_TWO_FLOAT;
+          differences[i] = (a - b) / ROOT_TWO_FLOAT;
+        }
+        System.arraycopy(differences, 0, plane, start + half, half);
+      }
+    }
+  }
+
+  private static void transformColumns(float[] plane, int rows, int cols, int stride,
+                                       int colStart, int colEnd) {
+    for (int row = 0; row + stride < rows; row += 2 * stride) {
+      int firstStart = row * cols;
+      int secondStart = (row + stride) * cols;
+      for (int j = colStart; j < colEnd; j++) {
+        float a = plane[firstStart + j];
+        float b = plane[secondStart + j];
+        plane[firstStart + j] = (a + b) / ROOT_TWO_FLOAT;
+        plane[secondStart + j] = (a - b) / ROOT_TWO_FLOAT;
+      }
+    }
+  }
+
+  /**
+   * This interface represents the work of a pass of a level on a range of its lines.
+   */
+  private interface LineRange {
+
+    void transform(int start, int end);
+  }
+}
@@ -7,7 +7,8 @@ import java.awt.image.BufferedImage;
 import java.util.Arrays;
 
 
-import model.RGBImage;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
@@ -51,20 +52,36 @@ public class Histogram implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    PixelBuffer histogramBuffer = new PixelBuffer();
+    operation(rgbImage, histogramBuffer);
+    return histogramBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The buffer is resized to the fixed size of the histogram graph, not the size of the image.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for histogram image "
               + "transformation is not as expected, check again.\n");
     }
     setBackground();
-    int[][][] pixelMatrix = rgbImage.getPixel();
+    PixelView sourceView = rgbImage.getTransientPixelView();
     int cumulativePeakMaxVal = 0;
     for (int i = 0; i < ColorMapping.values().length; i++) {
-      colorDepthFreqMap[i] = singleChannelFreq(pixelMatrix, i);
+      colorDepthFreqMap[i] = singleChannelFreq(sourceView, i);
       cumulativePeakMaxVal = Math.max(cumulativePeakMaxVal, getMaxFreq(colorDepthFreqMap[i]));
     }
     drawHistogram(colorDepthFreqMap, cumulativePeakMaxVal);
-
-    return new RGBImage(convertBufferToPixelMat());
+    destination.resize(histogramImageHeight, histogramImageWidth);
+    convertBufferToPlanes(destination);
   }
 
   private void drawHistogram(int[][] channelPixelValues, int maxPeakFreq) {
@@ -90,14 +107,12 @@ public class Histogram implements ImageOperation {
     return max;
   }
 
-  private int[] singleChannelFreq(int[][][] pixelMatrix, int channelVal) {
+  private int[] singleChannelFreq(PixelView sourceView, int channelVal) {
     int[] freqMap = new int[256];
     Arrays.fill(freqMap, 0);
-    for (int[][] matrix : pixelMatrix) {
-      for (int[] ints : matrix) {
-        int channelDepthValue = ints[channelVal];
-        freqMap[channelDepthValue]++;
-      }
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int index = 0; index < pixelCount; index++) {
+      freqMap[sourceView.getChannelValue(channelVal, index)]++;
     }
     return freqMap;
   }
@@ -113,21 +128,23 @@ public class Histogram implements ImageOperation {
 
   private void setBackground() {
     this.g.setBackground(Color.WHITE);
+    this.g.setColor(Color.WHITE);
     this.g.fillRect(0, 0, histogramImageWidth, histogramImageHeight);
   }
 
-  private int[][][] convertBufferToPixelMat() {
-    int[][][] resultImgMat = new int
-            [histogramImageHeight][histogramImageWidth][ColorMapping.values().length];
+  private void convertBufferToPlanes(PixelBuffer destination) {
+    byte[] redPlane = destination.getChannelPlane(ColorMapping.red.ordinal());
+    byte[] greenPlane = destination.getChannelPlane(ColorMapping.green.ordinal());
+    byte[] bluePlane = destination.getChannelPlane(ColorMapping.blue.ordinal());
     for (int i = 0; i < histogramImageHeight; i++) {
       for (int j = 0; j < histogramImageWidth; j++) {
         int rgbCellValue = rgbHistogramGraph.getRGB(j, i);
-        resultImgMat[i][j][ColorMapping.red.ordinal()] = (rgbCellValue >> 16) & 255;
-        resultImgMat[i][j][ColorMapping.green.ordinal()] = (rgbCellValue >> 8) & 255;
-        resultImgMat[i][j][ColorMapping.blue.ordinal()] = (rgbCellValue) & 255;
+        int pixelIndex = i * histogramImageWidth + j;
+        redPlane[pixelIndex] = (byte) (rgbCellValue >> 16);
+        greenPlane[pixelIndex] = (byte) (rgbCellValue >> 8);
+        bluePlane[pixelIndex] = (byte) rgbCellValue;
       }
     }
-    return resultImgMat;
   }
 
 }
@@ -1,11 +1,13 @@
 package model.imageoperations.singlein;
 
-
+import model.PixelBuffer;
 import model.RGBImageInterface;
 
 /**
  * The interface represents an image operation which returns a modified version of the existing one.
  * It operates on an existing image and return back a newly modified image of same depth.
+ * The result can also be written into a destination buffer supplied by the caller, which lets
+ * repeated operations reuse the same memory instead of creating a new image every time.
  */
 public interface ImageOperation {
 
@@ -18,4 +20,16 @@ public interface ImageOperation {
    * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
    */
   RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException;
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The buffer is resized to the dimensions of the result and every value of it is overwritten.
+   * The source image is not changed and the buffer must not be the storage of the source image.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException;
 }
@@ -0,0 +1,20 @@
+package model.imageoperations.singlein;
+
+import model.PixelBuffer;
+
+/**
+ * The interface represents an image operation which can write its result over its own input.
+ * Every pixel of the result only depends on pixels which are read before they are overwritten,
+ * so the operation needs no second copy of the image while it runs.
+ */
+public interface InPlaceOperation extends ImageOperation {
+
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. The size of the image held by the buffer does not change.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  void operationInPlace(PixelBuffer image) throws IllegalArgumentException;
+}
@@ -1,6 +1,8 @@
 package model.imageoperations.singlein;
 
-import model.RGBImage;
+import model.CopyOnWritePixels;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
@@ -8,9 +10,11 @@ import enums.ColorMapping;
  * This class represents the level adjustment operation on rbg pixel values of the image.
  * The class uses three points black point, midpoint and white point which are to be fit in the
  * quadratic equation to get the desired curve.
+ * The curve is evaluated once for every possible channel value and kept in a lookup table, so the
+ * pixels of the image are only mapped through the table.
  * It implements the ImageOperation interface.
  */
-public class LevelsAdjustment implements ImageOperation {
+public class LevelsAdjustment implements LookupOperation {
 
   private final double blackPoint;
 
@@ -18,6 +22,8 @@ public class LevelsAdjustment implements ImageOperation {
 
   private final double highlightPoint;
 
+  private final LookupTable lookupTable;
+
   /**
    * This method is the constructor of the class which implements ImageOperation interface.
    *
@@ -37,6 +43,12 @@ public class LevelsAdjustment implements ImageOperation {
     this.blackPoint = blackPoint;
     this.midPoint = midPoint;
     this.highlightPoint = highlightPoint;
+    double denominator = computeDenominator();
+    double a = computeA(denominator);
+    double b = computeB(denominator);
+    double c = computeC(denominator);
+    this.lookupTable = LookupTable.compile((channel, value) -> Math.max(0, Math.min(255,
+            computePixelAdjustment(value, a, b, c))));
   }
 
   /**
@@ -49,25 +61,43 @@ public class LevelsAdjustment implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    CopyOnWritePixels pixels = new CopyOnWritePixels(sourceView);
+    adjustLevelImage(sourceView, pixels);
+    return pixels.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * Every channel value of the image is mapped through the curve of the levels.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    lookupTable.apply(rgbImage.getTransientPixelView(), destination);
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for levels adjustment image "
               + "transformation is not as expected, check again.\n");
     }
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    double denominator = computeDenominator();
-    double a = computeA(denominator);
-    double b = computeB(denominator);
-    double c = computeC(denominator);
-    adjustLevelImage(pixelMatrix, a, b, c);
-    return new RGBImage(pixelMatrix);
   }
 
-  private void adjustLevelImage(int[][][] pixelMatrix, double a, double b, double c) {
-    for (int i = 0; i < pixelMatrix.length; i++) {
-      for (int j = 0; j < pixelMatrix[i].length; j++) {
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          pixelMatrix[i][j][k] = computePixelAdjustment(pixelMatrix[i][j][k], a, b, c);
-          pixelMatrix[i][j][k] = Math.max(0, Math.min(255, pixelMatrix[i][j][k]));
+  private void adjustLevelImage(PixelView sourceView, CopyOnWritePixels pixels) {
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      for (int index = 0; index < pixelCount; index++) {
+        int oldValue = sourceView.getChannelValue(k, index);
+        int value = lookupTable.lookup(k, oldValue);
+        if (value != oldValue) {
+          pixels.setChannelValue(k, index, value);
         }
       }
     }
@@ -104,4 +134,40 @@ public class LevelsAdjustment implements ImageOperation {
     return numerator / denominator;
   }
 
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. Each channel value is mapped through the curve where it is stored.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for levels adjustment in place "
+              + "is not as expected, check again.\n");
+    }
+    lookupTable.applyInPlace(image);
+  }
+
+  /**
+   * The method moves each channel value of a single pixel along the levels curve.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    lookupTable.lookupPixel(rgbPixel);
+  }
+
+  /**
+   * Getter method to get the table giving the level adjusted value of every channel value.
+   *
+   * @return The lookup table of the operation.
+   */
+  @Override
+  public LookupTable getLookupTable() {
+    return lookupTable;
+  }
+
 }
@@ -0,0 +1,16 @@
+package model.imageoperations.singlein;
+
+/**
+ * This interface represents a per pixel operation which maps every channel on its own, so that
+ * the whole operation can be stored as a lookup table. Consecutive operations of this kind are
+ * composed into a single table when they are chained.
+ */
+public interface LookupOperation extends PointOperation {
+
+  /**
+   * Getter method to get the table giving the result of the operation for every channel value.
+   *
+   * @return The lookup table of the operation.
+   */
+  LookupTable getLookupTable();
+}
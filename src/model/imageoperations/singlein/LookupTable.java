@@ -0,0 +1,222 @@
+package model.imageoperations.singlein;
+
+import java.util.function.IntBinaryOperator;
+
+import enums.ColorMapping;
+import model.CopyOnWritePixels;
+import model.PixelBuffer;
+import model.PixelView;
+import model.RGBImageInterface;
+
+/**
+ * This class represents a per channel mapping of the 256 possible values of a sample.
+ * A mapping like the brightness or levels curve is computed once for every value of every channel
+ * and stored in a 256 entry table, so applying it to an image is a single table read per sample
+ * without any arithmetic or clamping. Two tables can be composed into one, which lets a chain of
+ * such mappings cost the same as a single one. The tables are never changed once created.
+ * A channel whose table only adds a shift and clamps, like brightness and color correction, is
+ * run by the vector kernel of the shift where the vector API can be used, and by the table read
+ * otherwise.
+ */
+public final class LookupTable {
+
+  private static final int TABLE_SIZE = 256;
+
+  private static final int NO_SHIFT = Integer.MIN_VALUE;
+
+  private final byte[][] channelTables;
+
+  private final int[] channelShifts;
+
+  private LookupTable(byte[][] channelTables) {
+    this.channelTables = channelTables;
+    this.channelShifts = new int[channelTables.length];
+    for (int k = 0; k < channelTables.length; k++) {
+      channelShifts[k] = findShift(channelTables[k]);
+    }
+  }
+
+  /**
+   * The method creates a table by computing the mapping for every value of every channel.
+   *
+   * @param channelMapping Mapping taking the channel and the old value and giving the new value.
+   * @return A table containing the result of the mapping for all the values.
+   * @throws IllegalArgumentException Throws exception if the mapping is null or gives a value
+   *                                  outside the range of 0 to 255.
+   */
+  public static LookupTable compile(IntBinaryOperator channelMapping)
+          throws IllegalArgumentException {
+    if (channelMapping == null) {
+      throw new IllegalArgumentException("Mapping passed for the lookup table "
+              + "cannot be a null reference.\n");
+    }
+    byte[][] channelTables = new byte[ColorMapping.values().length][TABLE_SIZE];
+    for (int k = 0; k < channelTables.length; k++) {
+      for (int value = 0; value < TABLE_SIZE; value++) {
+        int mappedValue = channelMapping.applyAsInt(k, value);
+        if (mappedValue < 0 || mappedValue >= TABLE_SIZE) {
+          throw new IllegalArgumentException("Value: " + mappedValue + " given by the mapping "
+                  + "is outside the allowed range of 0 to 255.\n");
+        }
+        channelTables[k][value] = (byte) mappedValue;
+      }
+    }
+    return new LookupTable(channelTables);
+  }
+
+  /**
+   * The method creates a single table which gives the same result as applying this table and
+   * then the table passed. Neither of the two tables is changed.
+   *
+   * @param nextTable Table which needs to be applied on the result of this table.
+   * @return A table which maps every value in a single read as both the tables together.
+   * @throws IllegalArgumentException Throws exception if the table passed is a null reference.
+   */
+  public LookupTable andThen(LookupTable nextTable) throws IllegalArgumentException {
+    if (nextTable == null) {
+      throw new IllegalArgumentException("Table passed for the lookup table composition "
+              + "cannot be a null reference.\n");
+    }
+    byte[][] composedTables = new byte[channelTables.length][TABLE_SIZE];
+    for (int k = 0; k < channelTables.length; k++) {
+      for (int value = 0; value < TABLE_SIZE; value++) {
+        composedTables[k][value] = nextTable.channelTables[k][channelTables[k][value] & 255];
+      }
+    }
+    return new LookupTable(composedTables);
+  }
+
+  /**
+   * Getter method to get the value which a value of a channel is mapped to.
+   *
+   * @param channel Integer representing the color channel mapping with the Enum data.
+   * @param value   Integer between 0 and 255 signifying the old value of the sample.
+   * @return Integer between 0 and 255 signifying the new value of the sample.
+   */
+  public int lookup(int channel, int value) {
+    return channelTables[channel][value] & 255;
+  }
+
+  /**
+   * The method checks if the table leaves every value of the channel unchanged.
+   *
+   * @param channel Integer representing the color channel mapping with the Enum data.
+   * @return True if every value is mapped to itself, false otherwise.
+   */
+  public boolean isIdentity(int channel) {
+    for (int value = 0; value < TABLE_SIZE; value++) {
+      if ((channelTables[channel][value] & 255) != value) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The method maps the channel values of a single pixel through the table.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  public void lookupPixel(int[] rgbPixel) {
+    for (int k = 0; k < rgbPixel.length; k++) {
+      rgbPixel[k] = channelTables[k][rgbPixel[k]] & 255;
+    }
+  }
+
+  /**
+   * The method maps every sample of the view through the table and writes it into the buffer.
+   * The buffer is resized to the size of the view. Each channel is copied into the buffer in bulk
+   * and then mapped where it is stored, so the inner loop is a plain table read on a byte array.
+   *
+   * @param sourceView  View of the image whose samples need to be mapped.
+   * @param destination Buffer into which the mapped samples are written.
+   */
+  public void apply(PixelView sourceView, PixelBuffer destination) {
+    destination.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int k = 0; k < channelTables.length; k++) {
+      byte[] plane = destination.getChannelPlane(k);
+      sourceView.copyChannelValues(k, 0, plane, 0, pixelCount);
+      applyToPlane(k, plane, pixelCount);
+    }
+  }
+
+  /**
+   * The method maps every sample of the view through the table and gives back a new image.
+   * The channels which the table leaves unchanged are shared with the image behind the view
+   * without a copy, while the others are mapped in bulk into new planes the way apply does.
+   *
+   * @param sourceView View of the image whose samples need to be mapped.
+   * @return An image containing the mapped samples.
+   */
+  public RGBImageInterface applyToImage(PixelView sourceView) {
+    boolean[] identityChannels = new boolean[channelTables.length];
+    boolean anyIdentity = false;
+    for (int k = 0; k < channelTables.length; k++) {
+      identityChannels[k] = isIdentity(k);
+      anyIdentity |= identityChannels[k];
+    }
+    PixelBuffer mappedBuffer = new PixelBuffer();
+    if (!anyIdentity) {
+      apply(sourceView, mappedBuffer);
+      return mappedBuffer.toImage();
+    }
+    try {
+      mappedBuffer.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+      int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+      CopyOnWritePixels pixels = new CopyOnWritePixels(sourceView);
+      for (int k = 0; k < channelTables.length; k++) {
+        if (!identityChannels[k]) {
+          byte[] plane = mappedBuffer.getChannelPlane(k);
+          sourceView.copyChannelValues(k, 0, plane, 0, pixelCount);
+          applyToPlane(k, plane, pixelCount);
+          pixels.replaceChannel(k, mappedBuffer.getPixelView());
+        }
+      }
+      return pixels.toImage();
+    } finally {
+      mappedBuffer.close();
+    }
+  }
+
+  /**
+   * The method maps every sample held by the buffer through the table, overwriting it.
+   *
+   * @param image Buffer holding the samples which are replaced by the mapped values.
+   */
+  public void applyInPlace(PixelBuffer image) {
+    int pixelCount = image.getImageHeight() * image.getImageWidth();
+    for (int k = 0; k < channelTables.length; k++) {
+      applyToPlane(k, image.getChannelPlane(k), pixelCount);
+    }
+  }
+
+  private void applyToPlane(int channel, byte[] plane, int pixelCount) {
+    int index = 0;
+    PlaneKernels vectorKernels = PlaneKernels.getVectorKernels();
+    if (vectorKernels != null && channelShifts[channel] != NO_SHIFT) {
+      index = vectorKernels.shiftPlane(plane, pixelCount, channelShifts[channel]);
+    }
+    byte[] table = channelTables[channel];
+    for (; index < pixelCount; index++) {
+      plane[index] = table[plane[index] & 255];
+    }
+  }
+
+  private static int findShift(byte[] table) {
+    int shift = (table[0] & 255) == 255 ? 255 : -255;
+    for (int value = 0; value < TABLE_SIZE; value++) {
+      int mappedValue = table[value] & 255;
+      if (mappedValue > 0 && mappedValue < 255) {
+        shift = mappedValue - value;
+        break;
+      }
+    }
+    for (int value = 0; value < TABLE_SIZE; value++) {
+      if ((table[value] & 255) != Math.max(0, Math.min(255, value + shift))) {
+        return NO_SHIFT;
+      }
+    }
+    return shift;
+  }
+}
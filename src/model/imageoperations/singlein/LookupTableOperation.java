@@ -0,0 +1,95 @@
+package model.imageoperations.singlein;
+
+import model.PixelBuffer;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the operation which maps every channel value of an image through a given
+ * lookup table. It is used to run a composed table, for example one built from a chain of
+ * brightness and levels adjustment operations, as a single operation.
+ */
+public class LookupTableOperation implements LookupOperation {
+
+  private final LookupTable lookupTable;
+
+  /**
+   * Constructor takes the table through which the channel values of the image are mapped.
+   *
+   * @param lookupTable Table giving the new value for every value of every channel.
+   * @throws IllegalArgumentException Throws exception if the table passed is a null reference.
+   */
+  public LookupTableOperation(LookupTable lookupTable) throws IllegalArgumentException {
+    if (lookupTable == null) {
+      throw new IllegalArgumentException("Table passed for the lookup table operation "
+              + "cannot be a null reference.\n");
+    }
+    this.lookupTable = lookupTable;
+  }
+
+  /**
+   * The method performs an action on the existing image in memory of the image processing app.
+   * Returns the images containing the data that can be accessed and operated by this interface.
+   *
+   * @param rgbImage Image currently in memory on which the working is to be done.
+   * @return An image as the result of the action performed on the former image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    PixelBuffer tableBuffer = new PixelBuffer();
+    operation(rgbImage, tableBuffer);
+    return tableBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for the lookup table operation "
+              + "is not as expected, check again.\n");
+    }
+    lookupTable.apply(rgbImage.getTransientPixelView(), destination);
+  }
+
+  /**
+   * The method maps the pixels held by the buffer through the table and overwrites them.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for the lookup table operation in place "
+              + "is not as expected, check again.\n");
+    }
+    lookupTable.applyInPlace(image);
+  }
+
+  /**
+   * The method maps the channel values of a single pixel through the table.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    lookupTable.lookupPixel(rgbPixel);
+  }
+
+  /**
+   * Getter method to get the table giving the result of the operation for every channel value.
+   *
+   * @return The lookup table of the operation.
+   */
+  @Override
+  public LookupTable getLookupTable() {
+    return lookupTable;
+  }
+}
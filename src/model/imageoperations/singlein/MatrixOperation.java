@@ -0,0 +1,17 @@
+package model.imageoperations.singlein;
+
+/**
+ * This interface represents a per pixel operation which is a linear transform of the channels of
+ * a pixel, so that the whole operation can be stored as a color matrix. Consecutive operations
+ * of this kind are merged into a single matrix when they are chained, if it is exact.
+ */
+public interface MatrixOperation extends PointOperation {
+
+  /**
+   * Getter method to get the matrix giving the result of the operation for a pixel.
+   *
+   * @return The color matrix of the operation, or null if this instance of the operation is not
+   *         a linear transform.
+   */
+  ColorMatrix getColorMatrix();
+}
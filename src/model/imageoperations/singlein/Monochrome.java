@@ -1,19 +1,28 @@
 package model.imageoperations.singlein;
 
 
+import java.util.Arrays;
+
 import enums.ColorMapping;
-import model.RGBImage;
+import model.CopyOnWritePixels;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
+import model.TiledRGBImage;
 
 /**
  * This class represents the Monochrome operation on a single image currently present in the memory.
  * Takes the color component type and performs the action on it to get a new color-greyscale image.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
  */
-public class Monochrome implements ImageOperation {
+public class Monochrome implements LookupOperation, MatrixOperation {
 
   private final int colorComponent;
 
+  private final LookupTable lookupTable;
+
+  private final ColorMatrix colorMatrix;
+
   /**
    * This constructor takes color component type which will be used for color-greyscale action.
    *
@@ -26,6 +35,11 @@ public class Monochrome implements ImageOperation {
               + "is not defined in the system. Try again.\n");
     }
     this.colorComponent = colorComponent;
+    this.lookupTable = LookupTable.compile((channel, value) -> channel == colorComponent
+            ? value : 0);
+    double[][] weights = new double[ColorMapping.values().length][ColorMapping.values().length];
+    weights[colorComponent][colorComponent] = 1;
+    this.colorMatrix = new ColorMatrix(weights);
   }
 
   /**
@@ -38,23 +52,121 @@ public class Monochrome implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    if (rgbImage instanceof TiledRGBImage) {
+      PixelView sourceView = rgbImage.getPixelView();
+      return ((TiledRGBImage) rgbImage).deriveImage(
+              (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> renderTile(sourceView,
+                      rowStart, colStart, tileHeight, tileWidth, tilePlanes));
+    }
+    CopyOnWritePixels pixels = new CopyOnWritePixels(rgbImage.getTransientPixelView());
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      if (k != colorComponent) {
+        pixels.clearChannel(k);
+      }
+    }
+    return pixels.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The chosen channel is copied as it is and the other channels are set to zero.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    destination.resize(sourceView.getImageHeight(), sourceView.getImageWidth());
+    int pixelCount = sourceView.getImageHeight() * sourceView.getImageWidth();
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      byte[] plane = destination.getChannelPlane(k);
+      if (k != colorComponent) {
+        Arrays.fill(plane, (byte) 0);
+        continue;
+      }
+      for (int index = 0; index < pixelCount; index++) {
+        plane[index] = (byte) sourceView.getChannelValue(k, index);
+      }
+    }
+  }
+
+  private void checkValidImage(RGBImageInterface rgbImage) {
     if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
       throw new IllegalArgumentException("Image passed for monochrome images "
               + "is not as expected, check again.\n");
     }
-    int height = rgbImage.getImageHeight();
-    int width = rgbImage.getImageWidth();
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        for (int k = 0; k < ColorMapping.values().length; k++) {
-          if (k != colorComponent) {
-            pixelMatrix[i][j][k] = 0;
-          }
-        }
+  }
+
+  private void renderTile(PixelView sourceView, int rowStart, int colStart,
+                          int tileHeight, int tileWidth, byte[][] tilePlanes) {
+    int width = sourceView.getImageWidth();
+    byte[] plane = tilePlanes[colorComponent];
+    for (int i = 0; i < tileHeight; i++) {
+      int sourceRowStart = (rowStart + i) * width + colStart;
+      for (int j = 0; j < tileWidth; j++) {
+        plane[i * tileWidth + j] = (byte) sourceView.getChannelValue(colorComponent,
+                sourceRowStart + j);
       }
     }
-    return new RGBImage(pixelMatrix);
+  }
+
+  /**
+   * The method performs the action on the pixels held by the buffer and overwrites them with
+   * the result. The chosen channel is kept as it is and the other channels are set to zero.
+   *
+   * @param image Buffer holding the pixels which are replaced by the result of the action.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operationInPlace(PixelBuffer image) throws IllegalArgumentException {
+    if (image == null || image.getImageHeight() <= 0 || image.getImageWidth() <= 0) {
+      throw new IllegalArgumentException("Image passed for monochrome in place "
+              + "is not as expected, check again.\n");
+    }
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      if (k != colorComponent) {
+        Arrays.fill(image.getChannelPlane(k), (byte) 0);
+      }
+    }
+  }
+
+  /**
+   * The method keeps the chosen channel value of a single pixel and sets the others to zero.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  @Override
+  public void operationOnPixel(int[] rgbPixel) {
+    for (int k = 0; k < rgbPixel.length; k++) {
+      if (k != colorComponent) {
+        rgbPixel[k] = 0;
+      }
+    }
+  }
+
+  /**
+   * Getter method to get the table which keeps the values of the chosen channel only.
+   *
+   * @return The lookup table of the operation.
+   */
+  @Override
+  public LookupTable getLookupTable() {
+    return lookupTable;
+  }
+
+  /**
+   * Getter method to get the matrix which keeps the values of the chosen channel only.
+   *
+   * @return The color matrix of the operation.
+   */
+  @Override
+  public ColorMatrix getColorMatrix() {
+    return colorMatrix;
   }
 
 }
@@ -0,0 +1,229 @@
+package model.imageoperations.singlein;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.PixelView;
+import model.RGBImageInterface;
+import model.RowBandImage;
+import model.TiledRGBImage;
+
+/**
+ * This class represents a buffer/ intermediate which runs an image operation on several threads.
+ * The image is split into horizontal bands of rows and every band, along with the halo rows the
+ * operation needs above and below it, is run through the operation as an image of its own on a
+ * fork/join pool shared by the whole application. The rows of a band are then copied into their
+ * place in the result, so the result is exactly the same as the one of a single run.
+ * Operations which need the whole image, images too small to be worth splitting and tiled images,
+ * which are computed tile by tile when read, are run on the calling thread as usual.
+ * The number of threads of the shared pool is set with the system property
+ * imageprocessing.parallelism and is the number of processors when it is not set.
+ */
+public class ParallelBandOperation implements ImageOperation {
+
+  /**
+   * Smallest number of pixels of an image for which the operation is split into bands.
+   */
+  public static final int MIN_PARALLEL_PIXELS = 1 << 16;
+
+  private static final int MIN_BAND_ROWS = 8;
+
+  private static final ForkJoinPool SHARED_POOL = new ForkJoinPool(Math.max(1,
+          Integer.getInteger("imageprocessing.parallelism",
+                  Runtime.getRuntime().availableProcessors())));
+
+  private final ImageOperation imageOperation;
+
+  private final int parallelism;
+
+  /**
+   * Constructor takes the operation which is split into as many bands as the shared pool has
+   * threads.
+   *
+   * @param imageOperation The image operation which needs to be run on the bands of the image.
+   * @throws IllegalArgumentException Throws exception if the operation is a null reference.
+   */
+  public ParallelBandOperation(ImageOperation imageOperation) throws IllegalArgumentException {
+    this(imageOperation, SHARED_POOL.getParallelism());
+  }
+
+  /**
+   * Constructor takes the operation and the largest number of bands the image is split into.
+   * The bands are run on the shared pool, so no more bands run at a time than it has threads.
+   *
+   * @param imageOperation The image operation which needs to be run on the bands of the image.
+   * @param parallelism    Integer signifying the largest number of bands, 1 runs the operation
+   *                       on the calling thread.
+   * @throws IllegalArgumentException Throws exception if the operation is a null reference or
+   *                                  the parallelism is not positive.
+   */
+  public ParallelBandOperation(ImageOperation imageOperation, int parallelism)
+          throws IllegalArgumentException {
+    if (imageOperation == null || parallelism <= 0) {
+      throw new IllegalArgumentException("Illegal parameters passed for the "
+              + "parallel operation on an image.\n");
+    }
+    this.imageOperation = imageOperation;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Getter method to get the fork/join pool on which the bands of all the images are run.
+   *
+   * @return The pool shared by all the parallel operations of the application.
+   */
+  public static ForkJoinPool getSharedPool() {
+    return SHARED_POOL;
+  }
+
+  /**
+   * The method runs the tasks passed on the shared pool and waits for all of them to finish.
+   * A single task is run on the calling thread, and tasks passed from a thread of a pool are
+   * forked into that pool, so the thread helps with them instead of blocking.
+   *
+   * @param tasks Array of the tasks which need to be run.
+   */
+  public static void invokeOnSharedPool(ForkJoinTask<?>[] tasks) {
+    if (tasks.length == 1) {
+      tasks[0].invoke();
+    } else if (ForkJoinTask.inForkJoinPool()) {
+      ForkJoinTask.invokeAll(tasks);
+    } else {
+      SHARED_POOL.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+  }
+
+  /**
+   * Getter method to get the number of bands the image passed is split into by this operation.
+   *
+   * @param rgbImage Image on which the operation needs to be run.
+   * @return Integer signifying the number of bands, 1 if the operation runs on the calling thread.
+   */
+  public int getBandCount(RGBImageInterface rgbImage) {
+    if (!(imageOperation instanceof BandOperation) || rgbImage == null
+            || rgbImage instanceof TiledRGBImage || rgbImage.getImageHeight() <= 0
+            || (long) rgbImage.getImageHeight() * rgbImage.getImageWidth() < MIN_PARALLEL_PIXELS
+            || ((BandOperation) imageOperation).getHaloRows() < 0) {
+      return 1;
+    }
+    return Math.max(1, Math.min(parallelism, rgbImage.getImageHeight() / MIN_BAND_ROWS));
+  }
+
+  /**
+   * The method performs the operation on the existing image, one band of rows per task.
+   * Returns the images containing the data that can be accessed and operated by this interface.
+   *
+   * @param rgbImage Image currently in memory on which the working is to be done.
+   * @return An image as the result of the action performed on the former image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    int bandCount = getBandCount(rgbImage);
+    if (bandCount == 1) {
+      return imageOperation.operation(rgbImage);
+    }
+    PixelBuffer resultBuffer = new PixelBuffer();
+    operateOnBands(rgbImage, resultBuffer, bandCount);
+    return resultBuffer.toImage();
+  }
+
+  /**
+   * The method performs the operation on the existing image, one band of rows per task, and
+   * writes the result into the buffer.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    int bandCount = getBandCount(rgbImage);
+    if (bandCount == 1) {
+      imageOperation.operation(rgbImage, destination);
+      return;
+    }
+    operateOnBands(rgbImage, destination, bandCount);
+  }
+
+  private void operateOnBands(RGBImageInterface rgbImage, PixelBuffer destination,
+                              int bandCount) {
+    int height = rgbImage.getImageHeight();
+    destination.resize(height, rgbImage.getImageWidth());
+    byte[][] planes = new byte[ColorMapping.values().length][];
+    for (int k = 0; k < planes.length; k++) {
+      planes[k] = destination.getChannelPlane(k);
+    }
+    SHARED_POOL.invoke(new BandTask(rgbImage.getTransientPixelView(),
+            ((BandOperation) imageOperation).getHaloRows(), bandCount, 0, bandCount, planes));
+  }
+
+  private void operateOnBand(PixelView sourceView, int haloRows, int rowStart, int rowEnd,
+                             byte[][] planes) {
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    int windowStart = Math.max(0, rowStart - haloRows);
+    int windowEnd = Math.min(height, rowEnd + haloRows);
+    try (PixelBuffer bandBuffer = new PixelBuffer()) {
+      imageOperation.operation(new RowBandImage(sourceView, windowStart, windowEnd - windowStart),
+              bandBuffer);
+      if (bandBuffer.getImageHeight() != windowEnd - windowStart
+              || bandBuffer.getImageWidth() != width) {
+        throw new IllegalStateException("Operation run on a band changed "
+                + "the size of the band.\n");
+      }
+      for (int k = 0; k < planes.length; k++) {
+        System.arraycopy(bandBuffer.getChannelPlane(k), (rowStart - windowStart) * width,
+                planes[k], rowStart * width, (rowEnd - rowStart) * width);
+      }
+    }
+  }
+
+  /**
+   * This class represents the task of running a range of bands, which it splits in two until a
+   * single band is left, so idle threads of the pool can take over half of the work.
+   */
+  private final class BandTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PixelView sourceView;
+
+    private final int haloRows;
+
+    private final int bandCount;
+
+    private final int bandStart;
+
+    private final int bandEnd;
+
+    private final byte[][] planes;
+
+    private BandTask(PixelView sourceView, int haloRows, int bandCount, int bandStart,
+                     int bandEnd, byte[][] planes) {
+      this.sourceView = sourceView;
+      this.haloRows = haloRows;
+      this.bandCount = bandCount;
+      this.bandStart = bandStart;
+      this.bandEnd = bandEnd;
+      this.planes = planes;
+    }
+
+    @Override
+    protected void compute() {
+      if (bandEnd - bandStart == 1) {
+        long height = sourceView.getImageHeight();
+        operateOnBand(sourceView, haloRows, (int) (height * bandStart / bandCount),
+                (int) (height * bandEnd / bandCount), planes);
+        return;
+      }
+      int bandMiddle = (bandStart + bandEnd) >>> 1;
+      invokeAll(new BandTask(sourceView, haloRows, bandCount, bandStart, bandMiddle, planes),
+              new BandTask(sourceView, haloRows, bandCount, bandMiddle, bandEnd, planes));
+    }
+  }
+}
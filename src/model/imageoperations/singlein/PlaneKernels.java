@@ -0,0 +1,57 @@
+package model.imageoperations.singlein;
+
+/**
+ * This class represents the kernels which run the arithmetic of the per sample operations over
+ * whole channel planes with the SIMD instructions of the processor, through the vector API.
+ * Only the shift of a plane has a kernel, as it works on the bytes of the plane directly. The
+ * matrix transforms and the curves stay on their plain loops and tables, because widening the
+ * bytes to doubles and back is not compiled to vector instructions by the vector API of JDK 17,
+ * and a general 256 entry table has no vector form.
+ * The vector API lives in the incubator module jdk.incubator.vector, which is only present from
+ * JDK 16 on and only when the application is started with --add-modules jdk.incubator.vector, so
+ * the kernels are kept in the src-vector source folder, built apart from the rest of the code,
+ * and are loaded when they are first needed. When the module or the kernels are missing, or the
+ * system property imageprocessing.vector is false, no kernels are given and the operations run
+ * their plain loops, which give exactly the same values.
+ * Each kernel works on the part of the planes which fills whole vectors and gives back the index
+ * where it stopped, and the plain loop of the operation carries on from that index.
+ */
+abstract class PlaneKernels {
+
+  private static final String KERNELS_CLASS =
+          "model.imageoperations.singlein.VectorPlaneKernels";
+
+  private static final PlaneKernels VECTOR_KERNELS = loadVectorKernels();
+
+  /**
+   * Getter method to get the vector kernels of the running application.
+   *
+   * @return The kernels, or null if the vector API cannot be used and the plain loops are to run.
+   */
+  static PlaneKernels getVectorKernels() {
+    return VECTOR_KERNELS;
+  }
+
+  /**
+   * The method adds a shift to every value of a plane, clamping the result between 0 and 255.
+   *
+   * @param plane      Array of the values of the plane, overwritten with the result.
+   * @param pixelCount Integer signifying the number of values of the plane.
+   * @param delta      Integer between -255 and 255 added to every value.
+   * @return Integer signifying the index up to which the values were shifted.
+   */
+  abstract int shiftPlane(byte[] plane, int pixelCount, int delta);
+
+  private static PlaneKernels loadVectorKernels() {
+    if (!Boolean.parseBoolean(System.getProperty("imageprocessing.vector", "true"))
+            || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return null;
+    }
+    try {
+      return (PlaneKernels) Class.forName(KERNELS_CLASS).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      // the kernels were not built, so the plain loops are used
+      return null;
+    }
+  }
+}
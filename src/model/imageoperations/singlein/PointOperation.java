@@ -0,0 +1,30 @@
+package model.imageoperations.singlein;
+
+/**
+ * This interface represents an operation where each pixel of the result only depends on the
+ * same pixel of the source image, like the brightness, levels or sepia operations.
+ * Such operations can be chained and run together in a single pass over the image, one pixel at
+ * a time, instead of reading and writing a full image for every operation of the chain.
+ * They need no halo rows, so they can also be run on any band of the image.
+ */
+public interface PointOperation extends InPlaceOperation, BandOperation {
+
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * A per pixel operation only reads the row itself.
+   *
+   * @return Integer signifying the halo rows a band needs, which is zero.
+   */
+  @Override
+  default int getHaloRows() {
+    return 0;
+  }
+
+  /**
+   * The method performs the action on the channel values of a single pixel.
+   * The values passed are replaced by the result of the action, which is within 0 to 255.
+   *
+   * @param rgbPixel Array of the channel values of the pixel, overwritten with the result.
+   */
+  void operationOnPixel(int[] rgbPixel);
+}
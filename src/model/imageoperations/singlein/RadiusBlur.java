@@ -0,0 +1,188 @@
+package model.imageoperations.singlein;
+
+import enums.BlurType;
+import enums.ColorMapping;
+import model.PixelBuffer;
+import model.PixelView;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the blur operation of any strength on a single image in the memory.
+ * A box blur sets each pixel to the rounded mean of the square of pixels within the radius around
+ * it, leaving out the pixels outside the image. A gaussian blur of a standard deviation is run as
+ * three box blurs whose sizes are chosen to give the closest spread to the gaussian.
+ * Every box blur keeps a running sum along the rows and a running sum of those along the columns,
+ * so its cost per pixel is the same for a radius of 1 and a radius of 50.
+ */
+public class RadiusBlur implements BandOperation {
+
+  private static final int GAUSSIAN_PASSES = 3;
+
+  private final int[] passRadii;
+
+  /**
+   * This constructor takes the blur type and its strength.
+   *
+   * @param blurType Integer representing the blur type mapping with the Enum data.
+   * @param radius   Radius of the box in pixels for the box blur, which must be a whole number,
+   *                 or the standard deviation in pixels for the gaussian blur.
+   * @throws IllegalArgumentException Throws exception if the blur type is not defined or the
+   *                                  radius is negative or not a whole number for the box blur.
+   */
+  public RadiusBlur(int blurType, double radius) throws IllegalArgumentException {
+    if (blurType < 0 || blurType >= BlurType.values().length) {
+      throw new IllegalArgumentException("Blur operation value passed "
+              + "is not defined in the system. Try again.\n");
+    }
+    if (Double.isNaN(radius) || radius < 0 || radius > Integer.MAX_VALUE / GAUSSIAN_PASSES
+            || (blurType == BlurType.box.ordinal() && radius != Math.rint(radius))) {
+      throw new IllegalArgumentException("Radius: " + radius + " passed for the blur "
+              + "is not as expected, check again.\n");
+    }
+    if (blurType == BlurType.box.ordinal()) {
+      this.passRadii = new int[]{(int) radius};
+    } else {
+      this.passRadii = getGaussianRadii(radius);
+    }
+  }
+
+  private static int[] getGaussianRadii(double sigma) {
+    double variance = 12 * sigma * sigma;
+    int lowerSize = (int) Math.floor(Math.sqrt(variance / GAUSSIAN_PASSES + 1));
+    if (lowerSize % 2 == 0) {
+      lowerSize--;
+    }
+    long lowerCount = Math.round((variance - GAUSSIAN_PASSES * (double) lowerSize * lowerSize
+            - 4.0 * GAUSSIAN_PASSES * lowerSize - 3.0 * GAUSSIAN_PASSES)
+            / (-4.0 * lowerSize - 4));
+    int[] radii = new int[GAUSSIAN_PASSES];
+    for (int pass = 0; pass < radii.length; pass++) {
+      int size = pass < lowerCount ? lowerSize : lowerSize + 2;
+      radii[pass] = (size - 1) / 2;
+    }
+    return radii;
+  }
+
+  /**
+   * Getter method to get the radius of every box blur run by this operation, in order.
+   *
+   * @return Array of the radii of the box blurs.
+   */
+  public int[] getPassRadii() {
+    return passRadii.clone();
+  }
+
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * Every box blur spreads a pixel over its radius, so the halo is the sum of the radii.
+   *
+   * @return Integer signifying the halo rows a band needs.
+   */
+  @Override
+  public int getHaloRows() {
+    long haloRows = 0;
+    for (int radius : passRadii) {
+      haloRows += radius;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, haloRows);
+  }
+
+  /**
+   * The method performs an action on the existing image in memory of the image processing app.
+   * Returns the images containing the data that can be accessed and operated by this interface.
+   *
+   * @param rgbImage Image currently in memory on which the working is to be done.
+   * @return An image as the result of the action performed on the former image.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
+    PixelBuffer blurredBuffer = new PixelBuffer();
+    operation(rgbImage, blurredBuffer);
+    return blurredBuffer.toImage();
+  }
+
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The channels are copied into the buffer and every box blur is then run over them in place.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for the blur "
+              + "is not as expected, check again.\n");
+    }
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    destination.resize(height, width);
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      byte[] plane = destination.getChannelPlane(k);
+      sourceView.copyChannelValues(k, 0, plane, 0, height * width);
+      for (int radius : passRadii) {
+        if (radius > 0) {
+          blurPlane(plane, height, width, radius);
+        }
+      }
+    }
+  }
+
+  private static void blurPlane(byte[] plane, int height, int width, int radius) {
+    int rowRadius = Math.min(radius, height);
+    int colRadius = Math.min(radius, width);
+    int ringSize = Math.min(2 * rowRadius + 1, height);
+    int[][] rowSums = new int[ringSize][width];
+    long[] columnSums = new long[width];
+    int[] columnCounts = new int[width];
+    for (int j = 0; j < width; j++) {
+      columnCounts[j] = Math.min(width - 1, j + colRadius) - Math.max(0, j - colRadius) + 1;
+    }
+    for (int row = 0; row < Math.min(rowRadius, height); row++) {
+      addRow(plane, row, width, colRadius, rowSums[row % ringSize], columnSums);
+    }
+    for (int i = 0; i < height; i++) {
+      int leavingRow = i - rowRadius - 1;
+      if (leavingRow >= 0) {
+        int[] leavingSums = rowSums[leavingRow % ringSize];
+        for (int j = 0; j < width; j++) {
+          columnSums[j] -= leavingSums[j];
+        }
+      }
+      int enteringRow = i + rowRadius;
+      if (enteringRow < height) {
+        addRow(plane, enteringRow, width, colRadius, rowSums[enteringRow % ringSize],
+                columnSums);
+      }
+      long rowCount = Math.min(height - 1, i + rowRadius) - Math.max(0, i - rowRadius) + 1;
+      int rowStart = i * width;
+      for (int j = 0; j < width; j++) {
+        long count = rowCount * columnCounts[j];
+        plane[rowStart + j] = (byte) ((columnSums[j] + count / 2) / count);
+      }
+    }
+  }
+
+  private static void addRow(byte[] plane, int row, int width, int colRadius, int[] rowSum,
+                             long[] columnSums) {
+    int rowStart = row * width;
+    int sum = 0;
+    for (int j = 0; j < Math.min(colRadius, width); j++) {
+      sum += plane[rowStart + j] & 255;
+    }
+    for (int j = 0; j < width; j++) {
+      if (j + colRadius < width) {
+        sum += plane[rowStart + j + colRadius] & 255;
+      }
+      if (j - colRadius - 1 >= 0) {
+        sum -= plane[rowStart + j - colRadius - 1] & 255;
+      }
+      rowSum[j] = sum;
+      columnSums[j] += sum;
+    }
+  }
+}
@@ -1,18 +1,21 @@
 package model.imageoperations.singlein;
 
-import enums.ColorMapping;
 import enums.KernelImage;
-import model.RGBImage;
+import model.PixelBuffer;
+import model.PixelView;
 import model.RGBImageInterface;
+import model.TiledRGBImage;
 
 /**
  * This class represents the sharpness operation on a single image currently present in the memory.
  * It takes the kernel type (blur / sharpen) and performs the action on it to get a new image.
  * It checks for validity of inputs passed to it and exception is thrown if invalid.
+ * The kernel is run by the convolution engine, which splits the blur kernel into a row and a
+ * column pass and handles the pixels away from the edges without any bounds check.
  */
-public class Sharpness implements ImageOperation {
+public class Sharpness implements BandOperation {
 
-  private final int kernelOperation;
+  private final Convolution convolution;
 
   /**
    * This constructor takes kernel filter type which will be used during the operation of the image.
@@ -21,11 +24,24 @@ public class Sharpness implements ImageOperation {
    * @throws IllegalArgumentException Throws exception if an invalid kernel type is passed as args.
    */
   public Sharpness(int kernelOperation) throws IllegalArgumentException {
-    if (kernelOperation < 0 || kernelOperation >= KernelImage.values().length) {
+    KernelImage kernelType = getKernelType(kernelOperation);
+    if (kernelType == null) {
       throw new IllegalArgumentException("Sharpening operation value passed "
               + "is not defined in the system. Try again.\n");
     }
-    this.kernelOperation = kernelOperation;
+    this.convolution = new Convolution(kernelType.kernel);
+  }
+
+  /**
+   * This constructor takes the kernel of a filter which is not one of the defined kernel types.
+   *
+   * @param kernel Matrix of weights with an odd number of rows and columns, whose centre is the
+   *               weight of the pixel itself.
+   * @throws IllegalArgumentException Throws exception if the kernel is not of odd dimensions or
+   *                                  has a weight which is not a finite number.
+   */
+  public Sharpness(double[][] kernel) throws IllegalArgumentException {
+    this.convolution = new Convolution(kernel);
   }
 
   private static KernelImage getKernelType(int kernelOrdinal) {
@@ -37,6 +53,17 @@ public class Sharpness implements ImageOperation {
     return null;
   }
 
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * A row of the result is filtered using the rows within half the kernel height of it.
+   *
+   * @return Integer signifying the halo rows a band needs, which is the kernel radius.
+   */
+  @Override
+  public int getHaloRows() {
+    return convolution.getRowRadius();
+  }
+
   /**
    * The method performs an action on the existing image in memory of the image processing app.
    * Returns the images containing the data that can be accessed and operated by this interface.
@@ -47,65 +74,39 @@ public class Sharpness implements ImageOperation {
    */
   @Override
   public RGBImageInterface operation(RGBImageInterface rgbImage) throws IllegalArgumentException {
-    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
-      throw new IllegalArgumentException("Image passed for changing the "
-              + "sharpness is not as expected, check again.\n");
-    }
-    int[][][] pixelMatrix = rgbImage.getPixel();
-    KernelImage kernelType = getKernelType(kernelOperation);
-    int[][][] resultMat = null;
-    if (kernelType == null) {
-      throw new IllegalArgumentException("Wrong parameter passed for kernel type.\n");
+    checkValidImage(rgbImage);
+    if (rgbImage instanceof TiledRGBImage) {
+      PixelView sourceView = rgbImage.getPixelView();
+      return ((TiledRGBImage) rgbImage).deriveImage(
+              (rowStart, colStart, tileHeight, tileWidth, tilePlanes) -> convolution
+                      .applyToRegion(sourceView, rowStart, colStart, tileHeight, tileWidth,
+                              tilePlanes));
     }
-    resultMat = applyFilter(kernelType.kernel, pixelMatrix);
-    return new RGBImage(resultMat);
+    PixelBuffer sharpenedBuffer = new PixelBuffer();
+    convolution.apply(rgbImage.getTransientPixelView(), sharpenedBuffer);
+    return sharpenedBuffer.toImage();
   }
 
-  private int[][][] applyFilter(double[][] kernel, int[][][] imageMatrix) {
-    int height = getHeightPixelMatrix(imageMatrix);
-    int width = getWidthPixelMatrix(imageMatrix);
-    int[][][] imagePixelSharper = new int[height][width][ColorMapping.values().length];
-
-    for (int color = 0; color < ColorMapping.values().length; color++) {
-      for (int i = 0; i < height; i++) {
-        for (int j = 0; j < width; j++) {
-          double sum = calculateKernelFilterValue(imageMatrix, kernel, i, j, color);
-          imagePixelSharper[i][j][color] = (int) Math.min(255, Math.max(0, sum));
-        }
-      }
-    }
-    return imagePixelSharper;
-  }
-
-  private int getHeightPixelMatrix(int[][][] pixelMatrix) {
-    return pixelMatrix.length;
-  }
-
-  private int getWidthPixelMatrix(int[][][] pixelMatrix) {
-    if (pixelMatrix != null) {
-      return pixelMatrix[0].length;
-    }
-    return 0;
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * Each channel is filtered with the kernel in the same way as by the other operation.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    checkValidImage(rgbImage);
+    convolution.apply(rgbImage.getTransientPixelView(), destination);
   }
 
-
-  private double calculateKernelFilterValue(int[][][] imageMatrix, double[][] kernel,
-                                            int i, int j, int color) {
-    int height = getHeightPixelMatrix(imageMatrix);
-    int width = getWidthPixelMatrix(imageMatrix);
-    int rowMidPoint = (kernel.length / 2);
-    int colMidPoint = (kernel[0].length / 2);
-    double sum = 0.0;
-
-    for (int xOffset = -rowMidPoint; xOffset <= rowMidPoint; xOffset++) {
-      for (int yOffset = -colMidPoint; yOffset <= colMidPoint; yOffset++) {
-        if (i + xOffset >= 0 && i + xOffset < height && j + yOffset >= 0 && j + yOffset < width) {
-          sum += (double) imageMatrix[i + xOffset][j + yOffset][color]
-                  * kernel[rowMidPoint + xOffset][colMidPoint + yOffset];
-        }
-      }
+  private void checkValidImage(RGBImageInterface rgbImage) {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for changing the "
+              + "sharpness is not as expected, check again.\n");
     }
-    return sum;
   }
 
 }
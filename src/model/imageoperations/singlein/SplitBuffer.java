@@ -1,5 +1,10 @@
 package model.imageoperations.singlein;
 
+import model.AbstractRGBImage;
+import model.CopyOnWritePixels;
+import model.PixelBuffer;
+import model.PixelView;
+import model.PlaneBufferPool;
 import model.RGBImage;
 import model.RGBImageInterface;
 import enums.ColorMapping;
@@ -10,7 +15,7 @@ import enums.ColorMapping;
  * It takes the split percentage and the image operation object to perform the action.
  * The preview function works with any image operation that can be accessed using the img interface.
  */
-public class SplitBuffer implements ImageOperation {
+public class SplitBuffer implements BandOperation {
 
   private final double splitPercentage;
 
@@ -32,6 +37,20 @@ public class SplitBuffer implements ImageOperation {
     this.imageOperation = imageOperation;
   }
 
+  /**
+   * Getter method to get the number of source rows above and below a row which decide its result.
+   * The split is made along the columns, so a band needs the same halo as the wrapped operation.
+   *
+   * @return Integer signifying the halo rows a band needs, or -1 if the image cannot be split.
+   */
+  @Override
+  public int getHaloRows() {
+    if (imageOperation instanceof BandOperation) {
+      return ((BandOperation) imageOperation).getHaloRows();
+    }
+    return -1;
+  }
+
   /**
    * The method performs an action on the existing image in memory of the image processing app.
    * It provides a subset of pixel values to the imageOperation object for applying changes.
@@ -49,35 +68,120 @@ public class SplitBuffer implements ImageOperation {
       throw new IllegalArgumentException("Image passed for to the "
               + "buffer is not as expected, check again.\n");
     }
-    int[][][] rgbPixel = rgbImage.getPixel();
-    double estimation = (splitPercentage * rgbImage.getImageWidth()) / 100.0;
+    int height = rgbImage.getImageHeight();
+    int width = rgbImage.getImageWidth();
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    CopyOnWritePixels resultPixels = new CopyOnWritePixels(sourceView);
+    double estimation = (splitPercentage * width) / 100.0;
     int splitWidth = (int) Math.round(estimation);
+    if (splitWidth == 0) {
+      return resultPixels.toImage();
+    }
     try {
-      int[][][] imageOperationMatrix = getPixelMatSubset(rgbPixel,
-              rgbImage.getImageHeight(), splitWidth);
-      RGBImageInterface operatedImage = imageOperation.operation(
-              new RGBImage(imageOperationMatrix));
-      int[][][] operatedPixelMatrix = operatedImage.getPixel();
-      copyContentsMatrix(rgbPixel, operatedPixelMatrix,
-              operatedImage.getImageHeight(), operatedImage.getImageWidth());
+      if (splitWidth == width) {
+        return imageOperation.operation(rgbImage);
+      }
+      try (RGBImage splitImage = new RGBImage(height, splitWidth,
+              getPlaneSubset(sourceView, height, splitWidth))) {
+        RGBImageInterface operatedImage = imageOperation.operation(splitImage);
+        copyContentsPlanes(resultPixels, width, operatedImage.getTransientPixelView());
+        if (operatedImage instanceof AbstractRGBImage) {
+          ((AbstractRGBImage) operatedImage).close();
+        }
+      }
     } catch (IllegalArgumentException ex) {
-      return new RGBImage(rgbPixel);
+      return resultPixels.toImage();
     }
-    return new RGBImage(rgbPixel);
+    return resultPixels.toImage();
   }
 
-  private int[][][] getPixelMatSubset(int[][][] pixelMatOriginal, int height, int width) {
-    int[][][] resultMat = new int[height][width][ColorMapping.values().length];
-    copyContentsMatrix(resultMat, pixelMatOriginal, height, width);
-    return resultMat;
+  /**
+   * The method performs an action on the existing image and writes the result into the buffer.
+   * The left part of the buffer gets the result of the operation and the rest of it gets the
+   * pixels of the original image. The buffer holds the original image if the operation fails.
+   *
+   * @param rgbImage    Image currently in memory on which the working is to be done.
+   * @param destination Buffer into which the result of the action is written.
+   * @throws IllegalArgumentException Throws exception if the parameter passed is invalid.
+   */
+  @Override
+  public void operation(RGBImageInterface rgbImage, PixelBuffer destination)
+          throws IllegalArgumentException {
+    if (rgbImage == null || rgbImage.getImageWidth() <= 0 || rgbImage.getImageHeight() <= 0) {
+      throw new IllegalArgumentException("Image passed for to the "
+              + "buffer is not as expected, check again.\n");
+    }
+    int height = rgbImage.getImageHeight();
+    int width = rgbImage.getImageWidth();
+    PixelView sourceView = rgbImage.getTransientPixelView();
+    int splitWidth = (int) Math.round((splitPercentage * width) / 100.0);
+    try {
+      if (splitWidth == width) {
+        imageOperation.operation(rgbImage, destination);
+        return;
+      }
+    } catch (IllegalArgumentException ex) {
+      destination.resize(height, width);
+      copyRegionPlanes(sourceView, destination);
+      return;
+    }
+    destination.resize(height, width);
+    copyRegionPlanes(sourceView, destination);
+    if (splitWidth == 0) {
+      return;
+    }
+    try (RGBImage splitImage = new RGBImage(height, splitWidth,
+            getPlaneSubset(sourceView, height, splitWidth));
+         PixelBuffer operatedBuffer = new PixelBuffer()) {
+      imageOperation.operation(splitImage, operatedBuffer);
+      copyRegionPlanes(operatedBuffer.getPixelView(), destination);
+    } catch (IllegalArgumentException ex) {
+      // the buffer keeps the original image when the operation fails
+    }
+  }
+
+  private byte[][] getPlaneSubset(PixelView sourceView, int height, int width) {
+    byte[][] resultPlanes = PlaneBufferPool.getDefault()
+            .borrowPlanes(ColorMapping.values().length, height * width);
+    for (int k = 0; k < resultPlanes.length; k++) {
+      for (int i = 0; i < height; i++) {
+        int sourceRowStart = i * sourceView.getImageWidth();
+        for (int j = 0; j < width; j++) {
+          resultPlanes[k][i * width + j] = (byte) sourceView.getChannelValue(k,
+                  sourceRowStart + j);
+        }
+      }
+    }
+    return resultPlanes;
+  }
+
+  private void copyRegionPlanes(PixelView regionView, PixelBuffer destination) {
+    int height = regionView.getImageHeight();
+    int width = regionView.getImageWidth();
+    int destinationWidth = destination.getImageWidth();
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      byte[] plane = destination.getChannelPlane(k);
+      for (int i = 0; i < height; i++) {
+        for (int j = 0; j < width; j++) {
+          plane[i * destinationWidth + j] = (byte) regionView.getChannelValue(k, i * width + j);
+        }
+      }
+    }
   }
 
-  private void copyContentsMatrix(int[][][] nonUpdatedMatrix,
-                                  int[][][] updatedMatrix, int height, int width) {
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        System.arraycopy(updatedMatrix[i][j], 0, nonUpdatedMatrix[i][j],
-                0, ColorMapping.values().length);
+  private void copyContentsPlanes(CopyOnWritePixels nonUpdatedPixels, int nonUpdatedWidth,
+                                  PixelView updatedView) {
+    int height = updatedView.getImageHeight();
+    int width = updatedView.getImageWidth();
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      for (int i = 0; i < height; i++) {
+        for (int j = 0; j < width; j++) {
+          int index = i * nonUpdatedWidth + j;
+          int updatedValue = updatedView.getChannelValue(k, i * width + j);
+          if (nonUpdatedPixels.getChannelValue(k, index) != updatedValue) {
+            nonUpdatedPixels.setChannelValue(k, index, updatedValue);
+          }
+        }
       }
     }
   }
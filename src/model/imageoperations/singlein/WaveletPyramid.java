@@ -0,0 +1,162 @@
+package model.imageoperations.singlein;
+
+import java.util.concurrent.ForkJoinTask;
+
+import model.PixelBuffer;
+import model.RGBImageInterface;
+
+/**
+ * This class represents the haar wavelet coefficients of the channels of an image, from which
+ * the image can be rebuilt at any of the resolutions of the wavelet pyramid.
+ * The image at level n is 2^n times smaller along each side than the image, down to a single
+ * pixel, and each of its pixels is the mean of a block of 2^n by 2^n pixels of the image. Once
+ * the levels of the inverse transform down to a stride are undone, the sum of each block sits at
+ * the first row of the block and in the first columns of that row, so the image at that level is
+ * read off the planes without undoing the finer levels. Level 0 is the whole image.
+ * The planes are worked on in place, so the levels are to be asked from the coarsest down, and
+ * each one carries on from the levels undone for the one asked before it. A coarse preview can
+ * then be refined up to the whole image for the cost of a single inverse transform.
+ */
+public final class WaveletPyramid {
+
+  private final double[][] planes;
+
+  private final int height;
+
+  private final int width;
+
+  private final int rows;
+
+  private final int cols;
+
+  private int undoneStride;
+
+  /**
+   * The constructor takes the planes of the coefficients of the channels and the size of the
+   * image they were worked out from. The planes are as high and as wide as the image padded to
+   * powers of two, laid out the way the haar wavelet leaves them, and are kept by the pyramid.
+   *
+   * @param planes Array of one plane of the coefficients for each channel.
+   * @param height Integer signifying the height of the image.
+   * @param width  Integer signifying the width of the image.
+   * @throws IllegalArgumentException Throws exception if the planes do not fit the image.
+   */
+  public WaveletPyramid(double[][] planes, int height, int width)
+          throws IllegalArgumentException {
+    if (planes == null || planes.length == 0 || height <= 0 || width <= 0) {
+      throw new IllegalArgumentException("Coefficients passed for the wavelet "
+              + "pyramid are not as expected, check again.\n");
+    }
+    this.rows = Compression.getNearest2Power(height);
+    this.cols = Compression.getNearest2Power(width);
+    for (double[] plane : planes) {
+      if (plane == null || plane.length != rows * cols) {
+        throw new IllegalArgumentException("Coefficients passed for the wavelet "
+                + "pyramid are not as expected, check again.\n");
+      }
+    }
+    this.planes = planes;
+    this.height = height;
+    this.width = width;
+    this.undoneStride = Math.max(rows, cols);
+  }
+
+  /**
+   * Getter method to get the number of levels of the pyramid, the coarsest of which is a single
+   * pixel.
+   *
+   * @return Integer signifying the number of levels, which are numbered from 0.
+   */
+  public int getLevelCount() {
+    return Integer.numberOfTrailingZeros(Math.max(rows, cols)) + 1;
+  }
+
+  /**
+   * The method rebuilds the image at the level of the pyramid passed. The levels of the inverse
+   * transform which are not yet undone down to that level are undone on the shared pool, one
+   * channel per task.
+   *
+   * @param level Integer signifying the level of the pyramid, 0 for the whole image.
+   * @return An image 2^level times smaller along each side, down to a single pixel.
+   * @throws IllegalArgumentException Throws exception if the level is not within the pyramid or
+   *                                  is coarser than a level already asked.
+   */
+  public RGBImageInterface getImage(int level) throws IllegalArgumentException {
+    if (level < 0 || level >= getLevelCount()) {
+      throw new IllegalArgumentException("Level: " + level + " passed for the wavelet "
+              + "pyramid is not within its " + getLevelCount() + " levels.\n");
+    }
+    int stride = 1 << level;
+    if (stride > undoneStride) {
+      throw new IllegalArgumentException("Level: " + level + " passed for the wavelet "
+              + "pyramid is coarser than the level already rebuilt.\n");
+    }
+    int firstStride = undoneStride / 2;
+    ForkJoinTask<?>[] inverseTasks = new ForkJoinTask<?>[planes.length];
+    for (int k = 0; k < planes.length; k++) {
+      double[] plane = planes[k];
+      inverseTasks[k] = ForkJoinTask.adapt(() -> {
+        for (int levelStride = firstStride; levelStride >= stride; levelStride /= 2) {
+          HaarWavelet.inverseLevel(plane, rows, cols, levelStride);
+        }
+      });
+    }
+    ParallelBandOperation.invokeOnSharedPool(inverseTasks);
+    undoneStride = stride;
+    PixelBuffer imageBuffer = new PixelBuffer();
+    imageBuffer.resize(getApproximationLength(height, rows, stride),
+            getApproximationLength(width, cols, stride));
+    for (int k = 0; k < planes.length; k++) {
+      copyApproximationToChannel(planes[k], rows, cols, stride, imageBuffer.getChannelPlane(k),
+              height, width);
+    }
+    return imageBuffer.toImage();
+  }
+
+  /**
+   * The method gives the height or the width of the image rebuilt at the stride of a level.
+   *
+   * @param length       Integer signifying the height or the width of the image.
+   * @param paddedLength Integer signifying the same side of the planes, a power of two.
+   * @param stride       Integer signifying the stride of the level, 2 to the power of the level.
+   * @return Integer signifying the number of blocks of the level along the side of the image.
+   */
+  public static int getApproximationLength(int length, int paddedLength, int stride) {
+    int blockLength = Math.min(stride, paddedLength);
+    return (length + blockLength - 1) / blockLength;
+  }
+
+  /**
+   * The method writes the image at the stride of a level into a channel, from a plane whose
+   * levels down to that stride are undone. Each pixel is the sum of its block divided by the
+   * number of pixels of the block which are within the image, so the blocks along the padded
+   * edges are not darkened, rounded and kept between 0 and 255 the way the compression does. At
+   * the stride 1 this gives the same channel as the compression.
+   *
+   * @param plane   Array of the values of the plane, row by row.
+   * @param rows    Integer signifying the height of the plane, a power of two.
+   * @param cols    Integer signifying the width of the plane, a power of two.
+   * @param stride  Integer signifying the stride of the level, 2 to the power of the level.
+   * @param channel Array of the values of the channel at the level, row by row.
+   * @param height  Integer signifying the height of the whole image.
+   * @param width   Integer signifying the width of the whole image.
+   */
+  public static void copyApproximationToChannel(double[] plane, int rows, int cols, int stride,
+                                                byte[] channel, int height, int width) {
+    int blockRows = Math.min(stride, rows);
+    int blockCols = Math.min(stride, cols);
+    double blockScale = Math.sqrt((double) blockRows * blockCols);
+    int approximationHeight = getApproximationLength(height, rows, stride);
+    int approximationWidth = getApproximationLength(width, cols, stride);
+    for (int i = 0; i < approximationHeight; i++) {
+      int pixelRows = Math.min(blockRows, height - i * blockRows);
+      int start = i * blockRows * cols;
+      for (int j = 0; j < approximationWidth; j++) {
+        int pixelCount = pixelRows * Math.min(blockCols, width - j * blockCols);
+        double mean = plane[start + j] * blockScale / pixelCount;
+        int value = (int) Math.round(Math.abs(mean));
+        channel[i * approximationWidth + j] = (byte) Math.max(0, Math.min(255, value));
+      }
+    }
+  }
+}
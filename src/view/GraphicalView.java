@@ -10,6 +10,7 @@ import java.awt.LayoutManager;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,12 +55,14 @@ public class GraphicalView extends JFrame implements IView {
 
   private final Map<String, ActionListener> buttonActions;
 
+  private final List<JButton> operationButtons;
+
   private final String[] ioOperations = {"Load Image", "Exit App", "Save Image"};
 
   private final String[] imgOp = {"Visualize Red Component", "Visualize Green Component",
       "Visualize Blue Component", "Flip Horizontal", "Flip Vertical",
       "Blur", "Sharpen", "Greyscale", "Sepia", "Compression",
-      "Color Correction", "Level Adjustment"};
+      "Color Correction", "Level Adjustment", "Custom Filter"};
 
   private final String[] changeImage = {"Save Operation", "Cancel Operation"};
 
@@ -87,6 +90,7 @@ public class GraphicalView extends JFrame implements IView {
             this.features.changeSharpness(KernelImage.Sharpen.ordinal()));
     buttonActions.put("Sepia", evt -> this.features.sepia());
     buttonActions.put("Color Correction", evt -> this.features.colorCorrection());
+    buttonActions.put("Custom Filter", evt -> this.features.customFilter());
   }
 
   private void addMultiInSplitPreview() {
@@ -160,6 +164,21 @@ public class GraphicalView extends JFrame implements IView {
     return resultList;
   }
 
+  /**
+   * The method is used to show a dialog box for getting a line of text needed by the controller.
+   * Whenever required the controller commands the view to open the dialog box to get the input.
+   * The dialog opened using this method takes the kernel of a filter or the path of its file.
+   *
+   * @param operationTitle The title of the opened dialog box which is displayed to the user.
+   * @param labelText      The Text for the input field present in the dialog box.
+   * @return String typed by the user, or null if the dialog box is closed.
+   */
+  @Override
+  public String displayDialogTextInput(String operationTitle, String labelText) {
+    return JOptionPane.showInputDialog(this, labelText, operationTitle,
+            JOptionPane.QUESTION_MESSAGE);
+  }
+
   /**
    * These methods helps to get the input file path of the image when an image is loaded.
    * The function takes the file path from the external environment when ordered by controller.
@@ -170,8 +189,8 @@ public class GraphicalView extends JFrame implements IView {
   public String getInputFilePath() {
     JFileChooser selectFile = new JFileChooser(".");
     FileNameExtensionFilter fileExtensions = new FileNameExtensionFilter("PPM, JPG,"
-            + " JPEG, PNG Images",
-            "jpg", "jpeg", "png", "ppm");
+            + " JPEG, PNG, RGBP, RGBW Images",
+            "jpg", "jpeg", "png", "ppm", "rgbp", "rgbw");
     selectFile.setFileFilter(fileExtensions);
     int retrievalResult = selectFile.showOpenDialog(GraphicalView.this);
     if (retrievalResult == JFileChooser.APPROVE_OPTION) {
@@ -191,8 +210,8 @@ public class GraphicalView extends JFrame implements IView {
   public String getOutputFilePath() {
     JFileChooser selectFile = new JFileChooser(".");
     FileNameExtensionFilter fileExtensions = new FileNameExtensionFilter("PPM, JPG, "
-            + "JPEG, PNG Images",
-            "jpg", "jpeg", "png", "ppm");
+            + "JPEG, PNG, RGBP, RGBW Images",
+            "jpg", "jpeg", "png", "ppm", "rgbp", "rgbw");
     selectFile.setFileFilter(fileExtensions);
     int retrievalResult = selectFile.showSaveDialog(GraphicalView.this);
     if (retrievalResult == JFileChooser.APPROVE_OPTION) {
@@ -215,6 +234,7 @@ public class GraphicalView extends JFrame implements IView {
     this.setSize(new Dimension(700, 500));
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     this.buttonActions = new HashMap<>();
+    this.operationButtons = new ArrayList<>();
     setButtonActions();
   }
 
@@ -304,6 +324,20 @@ public class GraphicalView extends JFrame implements IView {
     this.features = features;
   }
 
+  /**
+   * The method is used to enable or disable the buttons which load, save or change the image.
+   * The controller disables them while an image is still being read, so that no operation is
+   * applied to the image which is about to be replaced, and enables them again once it is read.
+   *
+   * @param isEnabled Boolean signifying whether the buttons can be pressed by the user.
+   */
+  @Override
+  public void setOperationsEnabled(boolean isEnabled) {
+    for (JButton button : this.operationButtons) {
+      button.setEnabled(isEnabled);
+    }
+  }
+
   private JPanel getLiveImagePanel(Image image, String title, int x, int y) {
     JPanel imagePanel = new JPanel();
     TitledBorder imageBorder = BorderFactory.createTitledBorder(title);
@@ -355,6 +389,9 @@ public class GraphicalView extends JFrame implements IView {
       if (event != null) {
         button.addActionListener(event);
       }
+      if (!s.equals("Exit App")) {
+        this.operationButtons.add(button);
+      }
       panel.add(button);
     }
   }
@@ -63,6 +63,15 @@ public interface IView {
    */
   void setFeatures(Features features);
 
+  /**
+   * The method is used to enable or disable the buttons which load, save or change the image.
+   * The controller disables them while an image is still being read, so that no operation is
+   * applied to the image which is about to be replaced, and enables them again once it is read.
+   *
+   * @param isEnabled Boolean signifying whether the buttons can be pressed by the user.
+   */
+  void setOperationsEnabled(boolean isEnabled);
+
   /**
    * These methods helps to get the input file path of the image when an image is loaded.
    * The function takes the file path from the external environment when ordered by controller.
@@ -102,4 +111,15 @@ public interface IView {
    */
   List<Integer> displayDialogMultiINPreview(MultiInputSliderDialogInterface levelAdjustDialog);
 
+  /**
+   * The method is used to show a dialog box for getting a line of text needed by the controller.
+   * Whenever required the controller commands the view to open the dialog box to get the input.
+   * The dialog opened using this method takes the kernel of a filter or the path of its file.
+   *
+   * @param operationTitle The title of the opened dialog box which is displayed to the user.
+   * @param labelText      The Text for the input field present in the dialog box.
+   * @return String typed by the user, or null if the dialog box is closed.
+   */
+  String displayDialogTextInput(String operationTitle, String labelText);
+
 }
@@ -0,0 +1,56 @@
+package controller.filehandling;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import controller.filehandling.reader.KernelReader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the reading of the kernels of the custom filters, from files and inline.
+ */
+public class KernelReaderTest {
+
+  /**
+   * The test checks that an inline kernel is read with its fractions, and that a kernel file is
+   * read with its comments left out.
+   *
+   * @throws IOException Throws exception if the kernel file could not be written or read.
+   */
+  @Test
+  public void testInlineAndFile() throws IOException {
+    double[][] expected = {{1.0 / 16, 1.0 / 8, 1.0 / 16}, {0.125, 0.25, 0.125},
+        {-1, 0, 1e-3}};
+    assertArrayEquals(expected, KernelReader.readKernel("1/16,1/8,1/16; 0.125 0.25 0.125;"
+            + " -1, 0 ,1e-3"));
+    File kernelFile = File.createTempFile("kernel-reader-test", ".txt");
+    kernelFile.deleteOnExit();
+    Files.write(kernelFile.toPath(), ("# blur with an edge\n1/16 1/8 1/16\n\n"
+            + "0.125,0.25,0.125 # centre row\n-1 0 1e-3\n").getBytes(StandardCharsets.UTF_8));
+    assertArrayEquals(expected, KernelReader.readKernel(kernelFile.getPath()));
+  }
+
+  /**
+   * The test checks that kernels with no weights or with weights which are not numbers are
+   * rejected.
+   *
+   * @throws IOException Throws exception if the kernel file could not be read.
+   */
+  @Test
+  public void testInvalidKernel() throws IOException {
+    for (String kernelSource : new String[]{null, "", " ; ", "1,a,1", "1/x"}) {
+      try {
+        KernelReader.readKernel(kernelSource);
+        fail("Test for invalid kernel failed.");
+      } catch (IllegalArgumentException ex) {
+        // test passes if the exception is thrown
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package controller.filehandling;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.InputMismatchException;
+import java.util.Set;
+
+import controller.filehandling.reader.FileReader;
+import controller.filehandling.reader.RawPlanarReader;
+import controller.filehandling.writer.FileWriter;
+import controller.filehandling.writer.OutputWriterInterface;
+import model.OffHeapRGBImage;
+import model.RGBImage;
+import model.RGBImageInterface;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the operations on images stored in the native raw planar format.
+ */
+public class RawPlanarTest {
+
+  private File imageFile;
+
+  private int[][][] pixelMatrix;
+
+  /**
+   * SetUp() is used to initialise a 3x4 pixel matrix and a temporary raw planar file path.
+   *
+   * @throws IOException Throws exception if the temporary file could not be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    imageFile = File.createTempFile("raw-planar-test", "." + RawPlanarReader.FILE_EXTENSION);
+    imageFile.deleteOnExit();
+    pixelMatrix = new int[][][]{
+            {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}},
+            {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}},
+            {{54, 215, 14}, {103, 87, 31}, {247, 171, 122}, {167, 77, 110}}
+    };
+  }
+
+  /**
+   * The test checks that an image saved in the raw format is loaded back with the same pixels.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    OutputWriterInterface writer = new FileWriter(imageFile.getPath());
+    writer.write(new RGBImage(pixelMatrix));
+    assertEquals(RawPlanarReader.HEADER_SIZE + 3 * 4 * 3, imageFile.length());
+
+    FileReader reader = new FileReader(imageFile.getPath());
+    RGBImageInterface loadedImage = reader.readImage();
+    assertTrue(loadedImage instanceof OffHeapRGBImage);
+    assertEquals(3, loadedImage.getImageHeight());
+    assertEquals(4, loadedImage.getImageWidth());
+    assertArrayEquals(pixelMatrix, loadedImage.getPixel());
+    assertArrayEquals(pixelMatrix, reader.read());
+    assertArrayEquals(new RGBImage(pixelMatrix).changeBrightness(20).getPixel(),
+            loadedImage.changeBrightness(20).getPixel());
+  }
+
+  /**
+   * The test checks that an image loaded from a raw file keeps its pixels when it is saved back to
+   * the same path, changed and as it is, and that the file saved is loaded with the new pixels.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testSaveToLoadedPath() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    RGBImageInterface loadedImage = new FileReader(imageFile.getPath()).readImage();
+
+    new FileWriter(imageFile.getPath()).write(loadedImage);
+    assertArrayEquals(pixelMatrix, loadedImage.getPixel());
+    assertArrayEquals(pixelMatrix, new FileReader(imageFile.getPath()).read());
+
+    RGBImageInterface brighterImage = loadedImage.changeBrightness(20);
+    new FileWriter(imageFile.getPath()).write(brighterImage);
+    assertArrayEquals(pixelMatrix, loadedImage.getPixel());
+    assertArrayEquals(new RGBImage(pixelMatrix).changeBrightness(20).getPixel(),
+            new FileReader(imageFile.getPath()).read());
+    assertEquals(RawPlanarReader.HEADER_SIZE + 3 * 4 * 3, imageFile.length());
+  }
+
+  /**
+   * The test checks that a new file is saved with the permissions a plain file created in the same
+   * directory gets, and that a file saved over keeps its own permissions.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testSavedFilePermissions() throws IOException {
+    Path directory = Files.createTempDirectory("raw-planar-test");
+    if (!Files.getFileStore(directory).supportsFileAttributeView("posix")) {
+      Files.delete(directory);
+      return;
+    }
+    Path plainFile = directory.resolve("plain.txt");
+    new FileOutputStream(plainFile.toFile()).close();
+    Path savedFile = directory.resolve("saved." + RawPlanarReader.FILE_EXTENSION);
+    new FileWriter(savedFile.toString()).write(new RGBImage(pixelMatrix));
+    assertEquals(Files.getPosixFilePermissions(plainFile),
+            Files.getPosixFilePermissions(savedFile));
+
+    Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+    Files.setPosixFilePermissions(savedFile, permissions);
+    new FileWriter(savedFile.toString()).write(new RGBImage(pixelMatrix));
+    assertEquals(permissions, Files.getPosixFilePermissions(savedFile));
+    assertArrayEquals(pixelMatrix, new FileReader(savedFile.toString()).read());
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      int fileCount = 0;
+      for (Path file : files) {
+        Files.delete(file);
+        fileCount++;
+      }
+      assertEquals(2, fileCount);
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * The test checks that a file whose header is corrupted is not loaded.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testCorruptedHeader() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    try (RandomAccessFile file = new RandomAccessFile(imageFile, "rw")) {
+      file.seek(0);
+      file.writeInt(0x50334233);
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that a file which is shorter than its header says is not loaded.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testTruncatedFile() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    try (RandomAccessFile file = new RandomAccessFile(imageFile, "rw")) {
+      file.setLength(file.length() - 1);
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+    try (FileOutputStream out = new FileOutputStream(imageFile)) {
+      out.write(new byte[]{0x52, 0x47});
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package controller.filehandling;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.InputMismatchException;
+
+import controller.filehandling.reader.FileReader;
+import controller.filehandling.reader.WaveletReader;
+import controller.filehandling.writer.FileWriter;
+import controller.filehandling.writer.WaveletWriter;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.Compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the operations on images stored in the native wavelet format.
+ */
+public class WaveletFormatTest {
+
+  private File imageFile;
+
+  private int[][][] pixelMatrix;
+
+  /**
+   * SetUp() is used to initialise a 37x53 pixel matrix and a temporary wavelet file path.
+   *
+   * @throws IOException Throws exception if the temporary file could not be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    imageFile = File.createTempFile("wavelet-test", "." + WaveletReader.FILE_EXTENSION);
+    imageFile.deleteOnExit();
+    pixelMatrix = new int[37][53][3];
+    for (int i = 0; i < 37; i++) {
+      for (int j = 0; j < 53; j++) {
+        pixelMatrix[i][j][0] = (i * 7 + j * 3) % 256;
+        pixelMatrix[i][j][1] = (i * j + 11 * j) % 256;
+        pixelMatrix[i][j][2] = (i * i * 5 + j * 13) % 256;
+      }
+    }
+  }
+
+  /**
+   * The test checks that an image saved in the wavelet format without compression is loaded back
+   * with the same pixels, for a small image which is not a square as well.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+
+    FileReader reader = new FileReader(imageFile.getPath());
+    RGBImageInterface loadedImage = reader.readImage();
+    assertEquals(37, loadedImage.getImageHeight());
+    assertEquals(53, loadedImage.getImageWidth());
+    assertArrayEquals(pixelMatrix, loadedImage.getPixel());
+    assertArrayEquals(pixelMatrix, reader.read());
+
+    int[][][] smallMatrix = new int[][][]{
+            {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}},
+            {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}}
+    };
+    new FileWriter(imageFile.getPath()).write(new RGBImage(smallMatrix));
+    assertArrayEquals(smallMatrix, new FileReader(imageFile.getPath()).read());
+  }
+
+  /**
+   * The test checks that an image saved in the wavelet format with compression is loaded back
+   * with the pixels of the compressed image, and that its file is smaller the more it is
+   * compressed.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testSaveCompressed() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    long fullLength = imageFile.length();
+    for (double percentage : new double[]{50, 90}) {
+      new FileWriter(imageFile.getPath(), percentage).write(new RGBImage(pixelMatrix));
+      assertArrayEquals(new RGBImage(pixelMatrix).compressImage(percentage).getPixel(),
+              new FileReader(imageFile.getPath()).readImage().getPixel());
+      assertTrue(imageFile.length() < fullLength);
+    }
+  }
+
+  /**
+   * The test checks that a level of the pyramid is read off a wavelet file without its end, along
+   * with the size of the whole image, and that a level of an image of another format is the same
+   * as the level of its compression. The
+   * level read off the wavelet file is rebuilt without the corrections at the end of the file,
+   * so its values are only expected to be within one of the level of the compressed image.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testLoadLevel() throws IOException {
+    new FileWriter(imageFile.getPath(), 50).write(new RGBImage(pixelMatrix));
+    try (RandomAccessFile file = new RandomAccessFile(imageFile, "rw")) {
+      file.setLength(file.length() * 3 / 4);
+    }
+    try (FileInputStream in = new FileInputStream(imageFile)) {
+      assertArrayEquals(new int[]{37, 53}, WaveletReader.readDimensions(in));
+    }
+    int[][][] expected = new RGBImage(pixelMatrix).compressImage(50, 3).getPixel();
+    int[][][] thumbnail = new FileReader(imageFile.getPath(), 3).read();
+    assertEquals(5, thumbnail.length);
+    assertEquals(7, thumbnail[0].length);
+    for (int i = 0; i < expected.length; i++) {
+      for (int j = 0; j < expected[0].length; j++) {
+        for (int k = 0; k < expected[0][0].length; k++) {
+          assertEquals(expected[i][j][k], thumbnail[i][j][k], 1);
+        }
+      }
+    }
+
+    File ppmFile = File.createTempFile("wavelet-test", ".ppm");
+    ppmFile.deleteOnExit();
+    new FileWriter(ppmFile.getPath()).write(new RGBImage(pixelMatrix));
+    assertArrayEquals(new RGBImage(pixelMatrix).compressImage(0, 2).getPixel(),
+            new FileReader(ppmFile.getPath(), 2).read());
+    try {
+      new FileReader(imageFile.getPath(), 7).read();
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that the percentage found for a target size keeps the wavelet file within
+   * it, and that a percentage a little smaller does not.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testPercentageForSize() throws IOException {
+    RGBImageInterface rgbImage = new RGBImage(pixelMatrix);
+    new FileWriter(imageFile.getPath()).write(rgbImage);
+    long targetBytes = imageFile.length() / 3;
+    double percentage = WaveletWriter.findPercentageForSize(rgbImage, targetBytes);
+    assertTrue(percentage > 0 && percentage < 100);
+    new FileWriter(imageFile.getPath(), percentage).write(rgbImage);
+    assertTrue(imageFile.length() <= targetBytes);
+    new FileWriter(imageFile.getPath(),
+            percentage - 2 * Compression.PERCENTAGE_PRECISION).write(rgbImage);
+    assertTrue(imageFile.length() > targetBytes);
+    assertEquals(0, WaveletWriter.findPercentageForSize(rgbImage, Long.MAX_VALUE), 0);
+  }
+
+  /**
+   * The test checks that a file whose header is corrupted is not loaded.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testCorruptedHeader() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    try (RandomAccessFile file = new RandomAccessFile(imageFile, "rw")) {
+      file.seek(0);
+      file.writeInt(0x50334233);
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that a header giving an image too large for the memory of the application is
+   * rejected before the planes of the image are allocated.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testOversizedHeader() throws IOException {
+    int[][] dimensions = new int[][]{{32768, 32768}, {1, 1 << 30}, {Integer.MAX_VALUE, 1},
+        {46341, 46341}};
+    for (int[] dimension : dimensions) {
+      try (DataOutputStream out = new DataOutputStream(new FileOutputStream(imageFile))) {
+        out.writeInt(WaveletReader.MAGIC_NUMBER);
+        out.writeInt(WaveletReader.FORMAT_VERSION);
+        out.writeInt(dimension[0]);
+        out.writeInt(dimension[1]);
+        out.writeInt(3);
+        out.writeInt(WaveletReader.QUANTIZATION_BITS);
+      }
+      assertEquals(WaveletReader.HEADER_SIZE, imageFile.length());
+      try {
+        new FileReader(imageFile.getPath()).readImage();
+        fail("Test failed");
+      } catch (InputMismatchException ex) {
+        // catch to pass the test
+      }
+    }
+  }
+
+  /**
+   * The test checks that a file which ends before all of its coefficients is not loaded.
+   *
+   * @throws IOException Throws exception if the input/output is invalid.
+   */
+  @Test
+  public void testTruncatedFile() throws IOException {
+    new FileWriter(imageFile.getPath()).write(new RGBImage(pixelMatrix));
+    try (RandomAccessFile file = new RandomAccessFile(imageFile, "rw")) {
+      file.setLength(file.length() / 2);
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+    try (FileOutputStream out = new FileOutputStream(imageFile)) {
+      out.write(new byte[]{0x52, 0x47});
+    }
+    try {
+      new FileReader(imageFile.getPath()).readImage();
+      fail("Test failed");
+    } catch (InputMismatchException ex) {
+      // catch to pass the test
+    }
+  }
+}
@@ -6,12 +6,15 @@ import org.junit.Test;
 import java.awt.Image;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import controller.RGBImageControllerInterface;
 import controller.features.Features;
 import controller.graphicalcontroller.GraphicalController;
 import controller.graphicalcontroller.GraphicalControllerInterface;
+import model.PixelView;
+import model.RGBImage;
 import model.RGBImageInterface;
 import view.IView;
 import view.dialogmenus.multiipdialog.MultiInputSliderDialogInterface;
@@ -101,6 +104,16 @@ public class GraphicsControllerViewModel {
       viewLogData.append("Features from the mock view model.");
     }
 
+    /**
+     * To check the log information for the enabling or disabling of the operations of the view.
+     *
+     * @param isEnabled Boolean signifying whether the buttons can be pressed by the user.
+     */
+    @Override
+    public void setOperationsEnabled(boolean isEnabled) {
+      viewLogData.append("Operations enabled: ").append(isEnabled).append(".");
+    }
+
     /**
      * To check the log information for the getting the input file path from the view to controller.
      *
@@ -151,6 +164,19 @@ public class GraphicsControllerViewModel {
       viewLogData.append("Multiple Split Preview");
       return new ArrayList<>(List.of(1, 2, 3, 4));
     }
+
+    /**
+     * To check the log information for the text input dialog from the view.
+     *
+     * @param operationTitle The title of the opened dialog box which is displayed to the user.
+     * @param labelText      The Text for the input field present in the dialog box.
+     * @return Constant string of a 3 x 3 kernel for checking log.
+     */
+    @Override
+    public String displayDialogTextInput(String operationTitle, String labelText) {
+      viewLogData.append("Text Input");
+      return "0,1,0; 1,-4,1; 0,1,0";
+    }
   }
 
   /**
@@ -342,6 +368,20 @@ public class GraphicsControllerViewModel {
       return this;
     }
 
+    /**
+     * Method represents the compression operation part on the image rebuilt at a lower resolution.
+     *
+     * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+     * @param level                 Level of the wavelet pyramid, 0 for the whole compressed image.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface compressImage(double compressionPercentage, int level) {
+      modelLogData.append("Image compression Operation. "
+              + "Compression Percentage: " + compressionPercentage + " Level: " + level);
+      return this;
+    }
+
     /**
      * Method represents the color correction part on an existing image.
      * The intensity values for different channels are aligned long the common global max peak.
@@ -355,6 +395,53 @@ public class GraphicsControllerViewModel {
       return this;
     }
 
+    /**
+     * Method represents the color matrix transformation on an existing image.
+     * This method is used to log the data for the mock model.
+     *
+     * @param colorMatrix     3 x 3 matrix where the row c holds the weights for the channel c.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface colorMatrixImage(double[][] colorMatrix, double splitPercentage) {
+      modelLogData.append("Color matrix on an image. Matrix: "
+              + Arrays.deepToString(colorMatrix) + " Split percent: " + splitPercentage);
+      return this;
+    }
+
+    /**
+     * Method represents the blur of any strength on an existing image.
+     * This method is used to log the data for the mock model.
+     *
+     * @param blurType        Containing the mapping to an Enum which store the blur types.
+     * @param radius          Radius of the box blur or standard deviation of the gaussian blur.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface radiusBlurImage(int blurType, double radius,
+                                             double splitPercentage) {
+      modelLogData.append("Radius blur on an image. Blur type: " + blurType + " Radius: " + radius
+              + " Split percent: " + splitPercentage);
+      return this;
+    }
+
+    /**
+     * Method represents the filtering of an existing image with a kernel given by the user.
+     * This method is used to log the data for the mock model.
+     *
+     * @param kernel          Matrix of weights with an odd number of rows and columns.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface convolveImage(double[][] kernel, double splitPercentage) {
+      modelLogData.append("Convolve an image. Kernel: " + Arrays.deepToString(kernel)
+              + " Split percent: " + splitPercentage);
+      return this;
+    }
+
     /**
      * Get height of the image currently in use.
      *
@@ -377,6 +464,30 @@ public class GraphicsControllerViewModel {
       return 4;
     }
 
+    /**
+     * Get a single channel value of a pixel of the image currently in use.
+     *
+     * @param channel    Integer representing the color channel mapping with the Enum data.
+     * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+     * @return Zero default value.
+     */
+    @Override
+    public int getChannelValue(int channel, int pixelIndex) {
+      modelLogData.append("Get channel value of an image.");
+      return 0;
+    }
+
+    /**
+     * Get a read-only view of the pixels of the image currently in use.
+     *
+     * @return Default view of an image.
+     */
+    @Override
+    public PixelView getPixelView() {
+      modelLogData.append("Get pixel view of an image.");
+      return new RGBImage(new int[4][4][3]).getPixelView();
+    }
+
     /**
      * Get pixel matrix of the image currently in use.
      *
@@ -473,6 +584,31 @@ public class GraphicsControllerViewModel {
 
   }
 
+  /**
+   * This method tests whether the custom filter functionality sends correct data to model & view.
+   * It checks the data received to model and view against the expected log data.
+   * The test passes if assertions are true else it fails.
+   */
+  @Test
+  public void testCustomFilter() {
+    controllerInterface.applyCustomFilter();
+    String expResultView = "Features from the mock view model."
+            + "Text Input"
+            + "Single Split Preview"
+            + "Display image from the mock view model."
+            + "Display histogram from the mock view model.";
+    String expResultModel = "loading the image."
+            + "Get width of an image.Get height of an image."
+            + "Convolve an image. Kernel: [[0.0, 1.0, 0.0], [1.0, -4.0, 1.0], [0.0, 1.0, 0.0]] "
+            + "Split percent: 0.0"
+            + "Convolve an image. Kernel: [[0.0, 1.0, 0.0], [1.0, -4.0, 1.0], [0.0, 1.0, 0.0]] "
+            + "Split percent: 100.0"
+            + "Get pixel view of an image.Histogram operation on an image."
+            + "Get pixel view of an image.";
+    assertEquals(expResultView, viewLog.toString());
+    assertEquals(expResultModel, modelLog.toString());
+  }
+
   /**
    * This method tests whether the greyscale functionality sends correct data to model and view.
    * It checks the data received to model and view against the expected log data.
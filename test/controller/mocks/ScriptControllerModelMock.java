@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,17 +15,23 @@ import controller.imagecommands.multiincommand.CombineChannelsCommand;
 import controller.imagecommands.multioutcommand.SplitChannelsCommand;
 import controller.imagecommands.singleincommands.BrightnessCommand;
 import controller.imagecommands.singleincommands.ColorCorrectionCommand;
+import controller.imagecommands.singleincommands.ColorMatrixCommand;
 import controller.imagecommands.singleincommands.ColorTransformationCommand;
 import controller.imagecommands.singleincommands.CompressCommand;
+import controller.imagecommands.singleincommands.ConvolveCommand;
 import controller.imagecommands.singleincommands.FlipImageCommand;
 import controller.imagecommands.singleincommands.GreyScaleCommand;
 import controller.imagecommands.singleincommands.HistogramCommand;
 import controller.imagecommands.singleincommands.LevelAdjustmentCommand;
+import controller.imagecommands.singleincommands.RadiusBlurCommand;
 import controller.imagecommands.singleincommands.RGBFilterCommand;
 import controller.imagecommands.singleincommands.SharpnessCommand;
+import model.PixelView;
+import model.RGBImage;
 import model.RGBImageInterface;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * This class represents the mock testing of controller.
@@ -220,6 +227,20 @@ public class ScriptControllerModelMock {
       return this.imageObj;
     }
 
+    /**
+     * Method represents the compression operation part on the image rebuilt at a lower resolution.
+     *
+     * @param compressionPercentage Percent of the image that needs to be thrown on the operation.
+     * @param level                 Level of the wavelet pyramid, 0 for the whole compressed image.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface compressImage(double compressionPercentage, int level) {
+      logData.append("Image compression Operation. "
+              + "Compression Percentage: " + compressionPercentage + " Level: " + level);
+      return this.imageObj;
+    }
+
     /**
      * Method represents the color correction part on an existing image.
      * The intensity values for different channels are aligned long the common global max peak.
@@ -233,6 +254,53 @@ public class ScriptControllerModelMock {
       return this.imageObj;
     }
 
+    /**
+     * Method represents the color matrix transformation on an existing image.
+     * This method is used to log the data for the mock model.
+     *
+     * @param colorMatrix     3 x 3 matrix where the row c holds the weights for the channel c.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface colorMatrixImage(double[][] colorMatrix, double splitPercentage) {
+      logData.append("Color matrix on an image. Matrix: "
+              + Arrays.deepToString(colorMatrix) + " Split percent: " + splitPercentage);
+      return this.imageObj;
+    }
+
+    /**
+     * Method represents the blur of any strength on an existing image.
+     * This method is used to log the data for the mock model.
+     *
+     * @param blurType        Containing the mapping to an Enum which store the blur types.
+     * @param radius          Radius of the box blur or standard deviation of the gaussian blur.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface radiusBlurImage(int blurType, double radius,
+                                             double splitPercentage) {
+      logData.append("Radius blur on an image. Blur type: " + blurType + " Radius: " + radius
+              + " Split percent: " + splitPercentage);
+      return this.imageObj;
+    }
+
+    /**
+     * Method represents the filtering of an existing image with a kernel given by the user.
+     * This method is used to log the data for the mock model.
+     *
+     * @param kernel          Matrix of weights with an odd number of rows and columns.
+     * @param splitPercentage Double value representing the split ratio of original & modified img.
+     * @return An image as the result of the action performed on the present image.
+     */
+    @Override
+    public RGBImageInterface convolveImage(double[][] kernel, double splitPercentage) {
+      logData.append("Convolve an image. Kernel: " + Arrays.deepToString(kernel)
+              + " Split percent: " + splitPercentage);
+      return this.imageObj;
+    }
+
     /**
      * Get height of the image currently in use.
      *
@@ -255,6 +323,30 @@ public class ScriptControllerModelMock {
       return 0;
     }
 
+    /**
+     * Get a single channel value of a pixel of the image currently in use.
+     *
+     * @param channel    Integer representing the color channel mapping with the Enum data.
+     * @param pixelIndex Integer signifying the row-major position of the pixel in the image.
+     * @return Zero default value.
+     */
+    @Override
+    public int getChannelValue(int channel, int pixelIndex) {
+      logData.append("Get channel value of an image.");
+      return 0;
+    }
+
+    /**
+     * Get a read-only view of the pixels of the image currently in use.
+     *
+     * @return Default view of an image.
+     */
+    @Override
+    public PixelView getPixelView() {
+      logData.append("Get pixel view of an image.");
+      return new RGBImage().getPixelView();
+    }
+
     /**
      * Get pixel matrix of the image currently in use.
      *
@@ -412,6 +504,81 @@ public class ScriptControllerModelMock {
             + "split percent:50.0", mockModel.logData.toString());
   }
 
+  /**
+   * The test method is used to check if the custom color matrix is passed to the model row by row.
+   *
+   * @throws IOException Throws exception if the input is invalid.
+   */
+  @Test
+  public void testColorMatrixController() throws IOException {
+    StringBuilder log = new StringBuilder();
+    MockModel mockModel = new MockModel(log, null);
+    String[] ar = new String[]{"0", "0", "1", "0", "1", "0", "1", "0", "0.5",
+        "Koala", "Koala-swap", "split", "30"};
+    RGBImageCommandInterface controller = new ColorMatrixCommand(ar);
+    Map<String, RGBImageInterface> mp = new HashMap<>();
+    mp.put("Koala", mockModel);
+    controller.execute(mp);
+    assertEquals("loading the image.Color matrix on an image. Matrix: [[0.0, 0.0, 1.0], "
+            + "[0.0, 1.0, 0.0], [1.0, 0.0, 0.5]] Split percent: 30.0",
+            mockModel.logData.toString());
+    try {
+      new ColorMatrixCommand(new String[]{"1", "0", "0", "Koala", "Koala-swap"});
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test method is used to blur an image by a radius with the split preview.
+   *
+   * @throws IOException Throws exception if the input is invalid.
+   */
+  @Test
+  public void testRadiusBlurController() throws IOException {
+    StringBuilder log = new StringBuilder();
+    MockModel mockModel = new MockModel(log, null);
+    String[] ar = new String[]{"1", "2.5", "Koala", "Koala-gaussian", "split", "40"};
+    RGBImageCommandInterface controller = new RadiusBlurCommand(ar);
+    Map<String, RGBImageInterface> mp = new HashMap<>();
+    mp.put("Koala", mockModel);
+    controller.execute(mp);
+    assertEquals("loading the image.Radius blur on an image. Blur type: 1 Radius: 2.5 "
+            + "Split percent: 40.0", mockModel.logData.toString());
+    try {
+      new RadiusBlurCommand(new String[]{"0", "Koala", "Koala-box"});
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test method is used to filter an image with an inline kernel with the split preview.
+   *
+   * @throws IOException Throws exception if the input is invalid.
+   */
+  @Test
+  public void testConvolveController() throws IOException {
+    StringBuilder log = new StringBuilder();
+    MockModel mockModel = new MockModel(log, null);
+    String[] ar = new String[]{"-1,0,1;-2,0,2;-1,0,1", "Koala", "Koala-edges", "split", "30"};
+    RGBImageCommandInterface controller = new ConvolveCommand(ar);
+    Map<String, RGBImageInterface> mp = new HashMap<>();
+    mp.put("Koala", mockModel);
+    controller.execute(mp);
+    assertEquals("loading the image.Convolve an image. Kernel: [[-1.0, 0.0, 1.0], "
+            + "[-2.0, 0.0, 2.0], [-1.0, 0.0, 1.0]] Split percent: 30.0",
+            mockModel.logData.toString());
+    try {
+      new ConvolveCommand(new String[]{"Koala", "Koala-edges"});
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
   /**
    * The test method is used to combine red, green and blue images into a single greyscale image.
    *
@@ -541,4 +708,23 @@ public class ScriptControllerModelMock {
             + "Compression Percentage: 40.0", mockModel.logData.toString());
   }
 
+  /**
+   * The test method is used to check the compression operation of the image at a level of its
+   * wavelet pyramid.
+   *
+   * @throws IOException Throws exception if the input is invalid.
+   */
+  @Test
+  public void testCompressionLevel() throws IOException {
+    StringBuilder log = new StringBuilder();
+    MockModel mockModel = new MockModel(log, null);
+    String[] ar = new String[]{"40", "Koala", "Koala-thumbnail", "level", "3"};
+    RGBImageCommandInterface controller = new CompressCommand(ar);
+    Map<String, RGBImageInterface> mp = new HashMap<>();
+    mp.put("Koala", mockModel);
+    controller.execute(mp);
+    assertEquals("loading the image.Image compression Operation. "
+            + "Compression Percentage: 40.0 Level: 3", mockModel.logData.toString());
+  }
+
 }
@@ -0,0 +1,165 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import controller.filehandling.writer.PPMWriter;
+import controller.imagecommands.singleincommands.BrightnessCommand;
+import controller.imagecommands.singleincommands.ColorTransformationCommand;
+import enums.AxisName;
+import enums.ColorMapping;
+import enums.GreyScaleType;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Class to test the operations which overwrite the image they are called on.
+ */
+public class InPlaceOperationTest {
+
+  private final int[][][] pixelMatrix = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}}
+  };
+
+  private RGBImageInterface operate(RGBImage rgbImage, int operation) {
+    switch (operation) {
+      case 0:
+        return rgbImage.changeBrightness(-40);
+      case 1:
+        return rgbImage.flipImage(AxisName.horizontal.ordinal());
+      case 2:
+        return rgbImage.flipImage(AxisName.vertical.ordinal());
+      case 3:
+        return rgbImage.getSingleComponentImage(ColorMapping.blue.ordinal());
+      case 4:
+        return rgbImage.greyScaleImage(GreyScaleType.intensity.ordinal(), 100);
+      case 5:
+        return rgbImage.sepiaImage(100);
+      default:
+        return rgbImage.levelsAdjustment(10, 120, 240, 100);
+    }
+  }
+
+  private RGBImageInterface overwrite(RGBImage rgbImage, int operation) {
+    rgbImage.setOverwritable(true);
+    try {
+      return operate(rgbImage, operation);
+    } finally {
+      rgbImage.setOverwritable(false);
+    }
+  }
+
+  /**
+   * The test checks that every in-place operation gives the same pixels as a new image would.
+   */
+  @Test
+  public void testSameResultAsNewImage() {
+    for (int operation = 0; operation < 7; operation++) {
+      RGBImageInterface expected = operate(new RGBImage(pixelMatrix), operation);
+      RGBImage rgbImage = new RGBImage(pixelMatrix);
+      RGBImageInterface result = overwrite(rgbImage, operation);
+      assertSame(rgbImage, result);
+      assertArrayEquals(expected.getPixel(), result.getPixel());
+    }
+    RGBImage rgbImage = new RGBImage(pixelMatrix);
+    assertNotSame(rgbImage, rgbImage.changeBrightness(10));
+    rgbImage.setOverwritable(true);
+    assertNotSame(rgbImage, rgbImage.sepiaImage(50));
+  }
+
+  /**
+   * The test checks that overwriting an image never changes another image sharing its planes.
+   */
+  @Test
+  public void testSharedPlanesNotChanged() {
+    RGBImage rgbImage = new RGBImage(pixelMatrix);
+    RGBImage redImage = (RGBImage) rgbImage.getSingleComponentImage(ColorMapping.red.ordinal());
+    int[][][] expected = redImage.changeBrightness(-40).getPixel();
+    assertSame(redImage, overwrite(redImage, 0));
+    assertArrayEquals(pixelMatrix, rgbImage.getPixel());
+    assertArrayEquals(expected, redImage.getPixel());
+  }
+
+  /**
+   * The test checks that a view taken before an image is overwritten keeps showing the pixels the
+   * image had when the view was taken, while the image itself shows the new pixels.
+   */
+  @Test
+  public void testEarlierViewsNotChanged() {
+    for (int operation = 0; operation < 7; operation++) {
+      RGBImageInterface expected = operate(new RGBImage(pixelMatrix), operation);
+      RGBImage rgbImage = new RGBImage(pixelMatrix);
+      PixelView earlierView = rgbImage.getPixelView();
+      assertSame(rgbImage, overwrite(rgbImage, operation));
+      assertArrayEquals(expected.getPixel(), rgbImage.getPixel());
+      for (int i = 0; i < pixelMatrix.length; i++) {
+        for (int j = 0; j < pixelMatrix[0].length; j++) {
+          for (int k = 0; k < pixelMatrix[0][0].length; k++) {
+            assertEquals(pixelMatrix[i][j][k],
+                    earlierView.getChannelValue(k, i * pixelMatrix[0].length + j));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that scanning or saving an image does not make the next in-place operation
+   * copy its planes, so a transient view taken before shows the pixels written in place.
+   *
+   * @throws IOException Throws exception if the image could not be written to the stream.
+   */
+  @Test
+  public void testScansDoNotCopyPlanes() throws IOException {
+    for (int operation = 0; operation < 7; operation++) {
+      RGBImageInterface expected = operate(new RGBImage(pixelMatrix), operation);
+      RGBImage rgbImage = new RGBImage(pixelMatrix);
+      PixelView transientView = rgbImage.getTransientPixelView();
+      assertArrayEquals(pixelMatrix, rgbImage.getPixel());
+      PPMWriter.writeToStorageDisk(rgbImage, new ByteArrayOutputStream());
+      rgbImage.getPixelHistogram();
+      assertSame(rgbImage, overwrite(rgbImage, operation));
+      int[][][] expectedPixels = expected.getPixel();
+      for (int i = 0; i < pixelMatrix.length; i++) {
+        for (int j = 0; j < pixelMatrix[0].length; j++) {
+          for (int k = 0; k < pixelMatrix[0][0].length; k++) {
+            assertEquals(expectedPixels[i][j][k],
+                    transientView.getChannelValue(k, i * pixelMatrix[0].length + j));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that the script commands only overwrite an image when its name is reused.
+   */
+  @Test
+  public void testCommandsOverwriteSameName() {
+    Map<String, RGBImageInterface> cachedImage = new HashMap<>();
+    RGBImageInterface rgbImage = new RGBImage(pixelMatrix);
+    cachedImage.put("image", rgbImage);
+    new BrightnessCommand(new String[]{"20", "image", "image"}).execute(cachedImage);
+    assertSame(rgbImage, cachedImage.get("image"));
+    new ColorTransformationCommand(new String[]{"image", "image"}).execute(cachedImage);
+    assertSame(rgbImage, cachedImage.get("image"));
+    assertArrayEquals(new RGBImage(pixelMatrix).changeBrightness(20).sepiaImage(100).getPixel(),
+            rgbImage.getPixel());
+
+    new BrightnessCommand(new String[]{"20", "image", "other"}).execute(cachedImage);
+    assertNotSame(rgbImage, cachedImage.get("other"));
+    cachedImage.put("alias", rgbImage);
+    new BrightnessCommand(new String[]{"20", "image", "image"}).execute(cachedImage);
+    assertNotSame(rgbImage, cachedImage.get("image"));
+    assertSame(rgbImage, cachedImage.get("alias"));
+  }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.Test;
+
+import enums.AxisName;
+import enums.ColorMapping;
+import enums.GreyScaleType;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the image which keeps its per pixel operations pending until it is read.
+ */
+public class LazyRGBImageTest {
+
+  private final int[][][] pixelMatrix = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}}
+  };
+
+  /**
+   * The test checks that a chain of operations is only recorded and gives the same pixels as
+   * running the operations one after the other on normal images.
+   */
+  @Test
+  public void testFusedChainSameResult() {
+    LazyRGBImage lazyImage = new LazyRGBImage(new RGBImage(pixelMatrix));
+    RGBImageInterface result = lazyImage.changeBrightness(30)
+            .levelsAdjustment(20, 110, 230, 100)
+            .sepiaImage(100)
+            .greyScaleImage(GreyScaleType.luma.ordinal(), 100);
+    assertTrue(result instanceof LazyRGBImage);
+    assertEquals(4, ((LazyRGBImage) result).getPendingOperationCount());
+    assertEquals(pixelMatrix.length, result.getImageHeight());
+    assertEquals(pixelMatrix[0].length, result.getImageWidth());
+    assertEquals(4, ((LazyRGBImage) result).getPendingOperationCount());
+
+    int[][][] expected = new RGBImage(pixelMatrix).changeBrightness(30)
+            .levelsAdjustment(20, 110, 230, 100)
+            .sepiaImage(100)
+            .greyScaleImage(GreyScaleType.luma.ordinal(), 100).getPixel();
+    assertArrayEquals(expected, result.getPixel());
+    assertEquals(0, ((LazyRGBImage) result).getPendingOperationCount());
+    assertEquals(0, lazyImage.getPendingOperationCount());
+    assertArrayEquals(pixelMatrix, lazyImage.getPixel());
+  }
+
+  /**
+   * The test checks that the other operations read the pending pixels and stay lazy after that.
+   */
+  @Test
+  public void testOtherOperationsStayLazy() {
+    RGBImageInterface lazyImage = new LazyRGBImage(new RGBImage(pixelMatrix))
+            .getSingleComponentImage(ColorMapping.green.ordinal());
+    RGBImageInterface flippedImage = lazyImage.flipImage(AxisName.vertical.ordinal());
+    assertTrue(flippedImage instanceof LazyRGBImage);
+    RGBImageInterface result = flippedImage.changeBrightness(-20).sepiaImage(50);
+
+    int[][][] expected = new RGBImage(pixelMatrix)
+            .getSingleComponentImage(ColorMapping.green.ordinal())
+            .flipImage(AxisName.vertical.ordinal())
+            .changeBrightness(-20).sepiaImage(50).getPixel();
+    assertArrayEquals(expected, result.getPixel());
+  }
+
+  /**
+   * The test checks that closing a lazy image does not change the images created from it.
+   */
+  @Test
+  public void testCloseKeepsDerivedImages() {
+    LazyRGBImage lazyImage = new LazyRGBImage(new RGBImage(pixelMatrix));
+    RGBImageInterface brighterImage = lazyImage.changeBrightness(15);
+    lazyImage.close();
+    assertEquals(0, lazyImage.getImageHeight());
+    assertArrayEquals(new RGBImage(pixelMatrix).changeBrightness(15).getPixel(),
+            brighterImage.getPixel());
+    try {
+      new LazyRGBImage(null);
+      fail("Test for null object passing failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package model;
+
+import org.junit.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+import enums.AxisName;
+import enums.GreyScaleType;
+import enums.KernelImage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the image whose pixels are stored outside the java heap.
+ */
+public class OffHeapRGBImageTest {
+
+  private final int[][][] smallResImage = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}}
+  };
+
+  /**
+   * The test checks that the off-heap image keeps the same pixels as the matrix passed to it.
+   */
+  @Test
+  public void testPixelsOfImage() {
+    OffHeapRGBImage rgbImage = new OffHeapRGBImage(smallResImage);
+    assertEquals(3, rgbImage.getImageHeight());
+    assertEquals(4, rgbImage.getImageWidth());
+    assertEquals(250, rgbImage.getChannelValue(2, 8));
+    assertEquals(255, rgbImage.getPixelView().getChannelValue(1, 9));
+    assertArrayEquals(smallResImage, rgbImage.getPixel());
+    OffHeapRGBImage copyImage = new OffHeapRGBImage(new RGBImage(smallResImage).getPixelView());
+    assertArrayEquals(smallResImage, copyImage.getPixel());
+  }
+
+  /**
+   * The test checks that the operations give the same result as on the heap backed image.
+   */
+  @Test
+  public void testOperationsMatchHeapImage() {
+    RGBImageInterface heapImage = new RGBImage(smallResImage);
+    RGBImageInterface offHeapImage = new OffHeapRGBImage(smallResImage);
+    assertArrayEquals(heapImage.changeBrightness(40).getPixel(),
+            offHeapImage.changeBrightness(40).getPixel());
+    assertArrayEquals(heapImage.flipImage(AxisName.vertical.ordinal()).getPixel(),
+            offHeapImage.flipImage(AxisName.vertical.ordinal()).getPixel());
+    assertArrayEquals(heapImage.changeSharpness(KernelImage.Sharpen.ordinal(), 50).getPixel(),
+            offHeapImage.changeSharpness(KernelImage.Sharpen.ordinal(), 50).getPixel());
+    assertArrayEquals(heapImage.greyScaleImage(GreyScaleType.luma.ordinal(), 100).getPixel(),
+            offHeapImage.greyScaleImage(GreyScaleType.luma.ordinal(), 100).getPixel());
+    assertArrayEquals(heapImage.compressImage(50).getPixel(),
+            offHeapImage.compressImage(50).getPixel());
+    assertArrayEquals(heapImage.getPixelHistogram().getPixel(),
+            offHeapImage.getPixelHistogram().getPixel());
+  }
+
+  /**
+   * The test checks that a view keeps its pixels after the image is assigned new values.
+   */
+  @Test
+  public void testViewSnapshot() {
+    OffHeapRGBImage rgbImage = new OffHeapRGBImage(smallResImage);
+    PixelView pixelView = rgbImage.getPixelView();
+    rgbImage.checkAndAssignValues(new int[][][]{{{1, 2, 3}}});
+    assertEquals(1, rgbImage.getImageWidth());
+    assertEquals(145, pixelView.getChannelValue(0, 0));
+    assertEquals(1, rgbImage.getChannelValue(0, 0));
+  }
+
+  /**
+   * The test checks that a closed image cannot be used anymore.
+   */
+  @Test
+  public void testClosedImage() {
+    OffHeapRGBImage rgbImage = new OffHeapRGBImage(smallResImage);
+    PixelView pixelView = rgbImage.getPixelView();
+    rgbImage.close();
+    rgbImage.close();
+    assertTrue(rgbImage.isClosed());
+    assertEquals(0, rgbImage.getImageHeight());
+    try {
+      rgbImage.getPixelView();
+      fail("Test failed");
+    } catch (IllegalStateException ex) {
+      // catch to pass the test
+    }
+    try {
+      rgbImage.checkAndAssignValues(smallResImage);
+      fail("Test failed");
+    } catch (IllegalStateException ex) {
+      // catch to pass the test
+    }
+    try {
+      pixelView.getChannelValue(0, 0);
+      fail("Test failed");
+    } catch (IllegalStateException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that closing an image frees its direct buffers right away, without waiting for
+   * the garbage collector.
+   */
+  @Test
+  public void testCloseFreesDirectMemory() {
+    BufferPoolMXBean directPool = null;
+    for (BufferPoolMXBean bufferPool
+            : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      if (bufferPool.getName().equals("direct")) {
+        directPool = bufferPool;
+      }
+    }
+    assertNotNull(directPool);
+    int[][][] largeImage = new int[256][512][3];
+    long imageSize = 256L * 512 * 3;
+    long usedBefore = directPool.getMemoryUsed();
+    OffHeapRGBImage rgbImage = new OffHeapRGBImage(largeImage);
+    assertTrue(directPool.getMemoryUsed() >= usedBefore + imageSize);
+    rgbImage.close();
+    assertTrue(directPool.getMemoryUsed() < usedBefore + imageSize);
+  }
+
+  /**
+   * The test checks that invalid inputs are not accepted by the off-heap image.
+   */
+  @Test
+  public void testInvalidImage() {
+    try {
+      new OffHeapRGBImage(new int[][][]{{{1, 2, 300}}});
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+    try {
+      new OffHeapRGBImage(new RGBImage().getPixelView());
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+}
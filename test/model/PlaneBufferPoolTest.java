@@ -0,0 +1,179 @@
+package model;
+
+import org.junit.Test;
+
+import enums.AxisName;
+import enums.ColorMapping;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the pool of channel planes which are recycled between the images.
+ */
+public class PlaneBufferPoolTest {
+
+  private final int[][][] oddSizeImage = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}}
+  };
+
+  /**
+   * The test checks that a released plane is borrowed again only for the same length.
+   */
+  @Test
+  public void testPlanesReusedBySize() {
+    PlaneBufferPool planePool = new PlaneBufferPool(false, 1024);
+    byte[] plane = planePool.borrowPlane(12);
+    assertEquals(0, planePool.getFreePlaneCount(12));
+    planePool.releasePlane(plane);
+    assertEquals(1, planePool.getFreePlaneCount(12));
+    assertNotSame(plane, planePool.borrowPlane(13));
+    assertSame(plane, planePool.borrowPlane(12));
+    assertEquals(0, planePool.getFreePlaneCount(12));
+  }
+
+  /**
+   * The test checks that a shared plane returns to the pool only after the last owner releases it.
+   */
+  @Test
+  public void testSharedPlaneReleasedByLastOwner() {
+    PlaneBufferPool planePool = new PlaneBufferPool(false, 1024);
+    byte[] plane = planePool.borrowPlane(20);
+    planePool.retainPlane(plane);
+    planePool.releasePlane(plane);
+    assertEquals(0, planePool.getFreePlaneCount(20));
+    planePool.releasePlane(plane);
+    assertEquals(1, planePool.getFreePlaneCount(20));
+    planePool.releasePlane(new byte[20]);
+    assertEquals(1, planePool.getFreePlaneCount(20));
+  }
+
+  /**
+   * The test checks that a plane owned by an object which is never closed returns to the pool
+   * only once that object is garbage collected.
+   *
+   * @throws InterruptedException Throws exception if the wait for the collection is interrupted.
+   */
+  @Test
+  public void testPlaneReleasedWhenHolderCollected() throws InterruptedException {
+    PlaneBufferPool planePool = new PlaneBufferPool(false, 1024);
+    byte[] plane = planePool.borrowPlane(20);
+    Object holder = new Object();
+    planePool.retainPlaneWhileReachable(plane, holder);
+    planePool.releasePlane(plane);
+    assertEquals(0, planePool.getFreePlaneCount(20));
+    holder = null;
+    for (int attempt = 0; attempt < 100 && planePool.getFreePlaneCount(20) == 0; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertEquals(1, planePool.getFreePlaneCount(20));
+  }
+
+  /**
+   * The test checks that the pool does not keep more free planes than its maximum size.
+   */
+  @Test
+  public void testMaximumRetainedSize() {
+    PlaneBufferPool planePool = new PlaneBufferPool(false, 30);
+    byte[] firstPlane = planePool.borrowPlane(20);
+    byte[] secondPlane = planePool.borrowPlane(20);
+    planePool.releasePlane(firstPlane);
+    planePool.releasePlane(secondPlane);
+    assertEquals(1, planePool.getFreePlaneCount(20));
+  }
+
+  /**
+   * The test checks that the debug mode reports a plane which is released twice.
+   */
+  @Test
+  public void testDebugDoubleRelease() {
+    PlaneBufferPool planePool = new PlaneBufferPool(true, 1024);
+    byte[] plane = planePool.borrowPlane(8);
+    planePool.releasePlane(plane);
+    try {
+      planePool.releasePlane(plane);
+      fail("Test failed");
+    } catch (IllegalStateException ex) {
+      // catch to pass the test
+    }
+    assertEquals(0, planePool.getLeakReports().size());
+  }
+
+  /**
+   * The test checks that closing the result of an operation gives its planes back to the pool,
+   * while the planes it shares with another image stay in use until that image is closed too.
+   */
+  @Test
+  public void testClosedImagesReturnPlanes() {
+    int planeLength = oddSizeImage.length * oddSizeImage[0].length;
+    PlaneBufferPool planePool = PlaneBufferPool.getDefault();
+    RGBImage rgbImage = new RGBImage(oddSizeImage);
+    AbstractRGBImage flippedImage = (AbstractRGBImage) rgbImage.flipImage(
+            AxisName.horizontal.ordinal());
+    int[][][] flippedPixels = flippedImage.getPixel();
+    int freePlanes = planePool.getFreePlaneCount(planeLength);
+    flippedImage.close();
+    assertEquals(freePlanes + ColorMapping.values().length,
+            planePool.getFreePlaneCount(planeLength));
+    assertEquals(0, flippedImage.getImageHeight());
+
+    AbstractRGBImage redImage = (AbstractRGBImage) rgbImage.getSingleComponentImage(
+            ColorMapping.red.ordinal());
+    freePlanes = planePool.getFreePlaneCount(planeLength);
+    rgbImage.close();
+    assertEquals(freePlanes + 2, planePool.getFreePlaneCount(planeLength));
+    assertEquals(oddSizeImage[2][3][0], redImage.getPixel()[2][3][0]);
+    redImage.close();
+    assertEquals(freePlanes + 2 + ColorMapping.values().length,
+            planePool.getFreePlaneCount(planeLength));
+
+    assertArrayEquals(flippedPixels,
+            new RGBImage(oddSizeImage).flipImage(AxisName.horizontal.ordinal()).getPixel());
+  }
+
+  /**
+   * The test checks that assigning new pixels to an image gives its earlier planes back to the
+   * pool, right away when no view reads them, and once the view reading them is collected
+   * otherwise, while the view still reads the earlier pixels until then.
+   *
+   * @throws InterruptedException Throws exception if the wait for the collection is interrupted.
+   */
+  @Test
+  public void testReassignedImageReturnsPlanes() throws InterruptedException {
+    int[][][] largeImage = new int[7][11][3];
+    for (int i = 0; i < largeImage.length; i++) {
+      for (int j = 0; j < largeImage[0].length; j++) {
+        largeImage[i][j] = new int[]{i * 11 + j, i, j};
+      }
+    }
+    int planeLength = largeImage.length * largeImage[0].length;
+    PlaneBufferPool planePool = PlaneBufferPool.getDefault();
+    RGBImage rgbImage = new RGBImage(largeImage);
+    int freePlanes = planePool.getFreePlaneCount(planeLength);
+    rgbImage.checkAndAssignValues(oddSizeImage);
+    assertEquals(freePlanes + ColorMapping.values().length,
+            planePool.getFreePlaneCount(planeLength));
+    assertArrayEquals(oddSizeImage, rgbImage.getPixel());
+
+    rgbImage.checkAndAssignValues(largeImage);
+    PixelView pixelView = rgbImage.getPixelView();
+    freePlanes = planePool.getFreePlaneCount(planeLength);
+    rgbImage.checkAndAssignValues(oddSizeImage);
+    assertEquals(freePlanes, planePool.getFreePlaneCount(planeLength));
+    assertEquals(largeImage[6][10][0], pixelView.getChannelValue(0, planeLength - 1));
+    pixelView = null;
+    for (int attempt = 0; attempt < 100
+            && planePool.getFreePlaneCount(planeLength) == freePlanes; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertEquals(freePlanes + ColorMapping.values().length,
+            planePool.getFreePlaneCount(planeLength));
+  }
+}
@@ -211,6 +211,101 @@ public class RGBImageTest {
     }
   }
 
+  /**
+   * The test checks that the index based channel getter returns the same data as the matrix.
+   */
+  @Test
+  public void testChannelValueGetter() {
+    RGBImageInterface rgbImg = new RGBImage(pixelMatrix);
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 4; j++) {
+        for (int k = 0; k < 3; k++) {
+          assertEquals(pixelMatrix[i][j][k], rgbImg.getChannelValue(k, i * 4 + j));
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that an image created from packed planes keeps the unsigned channel values.
+   */
+  @Test
+  public void testPackedPlanesConstructor() {
+    byte[][] planes = new byte[][]{
+            {(byte) 255, 0, (byte) 128, 7},
+            {1, 2, 3, 4},
+            {(byte) 200, (byte) 201, (byte) 202, (byte) 203}
+    };
+    RGBImageInterface rgbImg = new RGBImage(2, 2, planes);
+    assertEquals(2, rgbImg.getImageHeight());
+    assertEquals(2, rgbImg.getImageWidth());
+    int[][][] actualMat = rgbImg.getPixel();
+    assertEquals(255, actualMat[0][0][0]);
+    assertEquals(128, actualMat[1][0][0]);
+    assertEquals(4, actualMat[1][1][1]);
+    assertEquals(203, actualMat[1][1][2]);
+    try {
+      new RGBImage(3, 2, planes);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that a pixel view keeps its snapshot after the image is reassigned.
+   */
+  @Test
+  public void testPixelViewSnapshot() {
+    RGBImageInterface rgbImg = new RGBImage(new int[][][]{{{10, 20, 30}, {40, 50, 60}}});
+    PixelView pixelView = rgbImg.getPixelView();
+    rgbImg.checkAndAssignValues(new int[][][]{{{1, 2, 3}, {4, 5, 6}}, {{7, 8, 9}, {0, 0, 0}}});
+    assertEquals(1, pixelView.getImageHeight());
+    assertEquals(2, pixelView.getImageWidth());
+    assertEquals(10, pixelView.getChannelValue(0, 0));
+    assertEquals(60, pixelView.getChannelValue(2, 1));
+    assertEquals(7, rgbImg.getPixelView().getChannelValue(0, 2));
+  }
+
+  /**
+   * The test checks that writes on a copy on write image never reach the source image.
+   */
+  @Test
+  public void testCopyOnWritePixels() {
+    RGBImageInterface rgbImg = new RGBImage(new int[][][]{{{10, 20, 30}, {40, 50, 60}}});
+    CopyOnWritePixels pixels = new CopyOnWritePixels(rgbImg.getPixelView());
+    pixels.setChannelValue(1, 0, 255);
+    pixels.clearChannel(2);
+    RGBImageInterface resultImg = pixels.toImage();
+    pixels.setChannelValue(0, 1, 0);
+    assertEquals(20, rgbImg.getChannelValue(1, 0));
+    assertEquals(30, rgbImg.getChannelValue(2, 0));
+    assertEquals(255, resultImg.getChannelValue(1, 0));
+    assertEquals(0, resultImg.getChannelValue(2, 1));
+    assertEquals(40, resultImg.getChannelValue(0, 1));
+    assertEquals(0, pixels.toImage().getChannelValue(0, 1));
+    try {
+      new CopyOnWritePixels(null);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that pixel values outside the 0 to 255 range are rejected by the model.
+   */
+  @Test
+  public void testOutOfRangePixelValue() {
+    pixelMatrix[1][2][1] = 256;
+    try {
+      new RGBImage(pixelMatrix);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
   /**
    * The test is used to check if the image has been blurred correctly.
    */
@@ -0,0 +1,142 @@
+package model;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import enums.AxisName;
+import enums.ColorMapping;
+import enums.KernelImage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class to test the image which is split into tiles that are computed lazily.
+ */
+public class TiledRGBImageTest {
+
+  private int[][][] getTestMatrix(int height, int width) {
+    int[][][] pixelMatrix = new int[height][width][ColorMapping.values().length];
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          pixelMatrix[i][j][k] = (i * 37 + j * 91 + k * 53) % 256;
+        }
+      }
+    }
+    return pixelMatrix;
+  }
+
+  /**
+   * The test checks that the tiled image keeps the same pixels as the matrix passed to it.
+   */
+  @Test
+  public void testPixelsOfImage() {
+    int[][][] pixelMatrix = getTestMatrix(7, 9);
+    TiledRGBImage tiledImage = new TiledRGBImage(new RGBImage(pixelMatrix).getPixelView(), 4);
+    assertEquals(7, tiledImage.getImageHeight());
+    assertEquals(9, tiledImage.getImageWidth());
+    assertEquals(4, tiledImage.getTileSize());
+    assertArrayEquals(pixelMatrix, tiledImage.getPixel());
+    assertEquals(6, tiledImage.getMaterializedTileCount());
+    assertArrayEquals(pixelMatrix, new TiledRGBImage(pixelMatrix).getPixel());
+  }
+
+  /**
+   * The test checks that a tile is only computed when one of its pixels is read.
+   */
+  @Test
+  public void testLazyTiles() {
+    TiledRGBImage tiledImage = new TiledRGBImage(
+            new RGBImage(getTestMatrix(7, 9)).getPixelView(), 4);
+    RGBImageInterface brighterImage = tiledImage.changeBrightness(30);
+    assertTrue(brighterImage instanceof TiledRGBImage);
+    assertEquals(0, tiledImage.getMaterializedTileCount());
+    assertEquals(0, ((TiledRGBImage) brighterImage).getMaterializedTileCount());
+    brighterImage.getChannelValue(0, 5 * 9 + 8);
+    assertEquals(1, ((TiledRGBImage) brighterImage).getMaterializedTileCount());
+    assertEquals(1, tiledImage.getMaterializedTileCount());
+  }
+
+  /**
+   * The test checks that a copied tiled image computes all of its tiles right away and keeps no
+   * reference to the view it was copied from, so closing its source leaves its pixels unchanged.
+   *
+   * @throws InterruptedException Throws exception if the wait for the collection is interrupted.
+   */
+  @Test
+  public void testCopiedTiles() throws InterruptedException {
+    int[][][] pixelMatrix = getTestMatrix(7, 9);
+    RGBImage sourceImage = new RGBImage(pixelMatrix);
+    PixelView sourceView = sourceImage.getPixelView();
+    WeakReference<PixelView> sourceReference = new WeakReference<>(sourceView);
+    TiledRGBImage tiledImage = TiledRGBImage.copyOf(sourceView, 4);
+    assertEquals(6, tiledImage.getMaterializedTileCount());
+    sourceView = null;
+    sourceImage.close();
+    assertArrayEquals(pixelMatrix, tiledImage.getPixel());
+    for (int attempt = 0; attempt < 100 && sourceReference.get() != null; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(sourceReference.get());
+    assertArrayEquals(pixelMatrix, tiledImage.changeBrightness(0).getPixel());
+  }
+
+  /**
+   * The test checks that the tiled operations give the same result as on the heap backed image.
+   */
+  @Test
+  public void testOperationsMatchHeapImage() {
+    int[][][] pixelMatrix = getTestMatrix(11, 13);
+    RGBImageInterface heapImage = new RGBImage(pixelMatrix);
+    for (int tileSize = 1; tileSize <= 14; tileSize += 3) {
+      RGBImageInterface tiledImage = new TiledRGBImage(heapImage.getPixelView(), tileSize);
+      assertArrayEquals(heapImage.changeBrightness(-70).getPixel(),
+              tiledImage.changeBrightness(-70).getPixel());
+      for (AxisName axisName : AxisName.values()) {
+        assertArrayEquals(heapImage.flipImage(axisName.ordinal()).getPixel(),
+                tiledImage.flipImage(axisName.ordinal()).getPixel());
+      }
+      for (ColorMapping colorMapping : ColorMapping.values()) {
+        assertArrayEquals(heapImage.getSingleComponentImage(colorMapping.ordinal()).getPixel(),
+                tiledImage.getSingleComponentImage(colorMapping.ordinal()).getPixel());
+      }
+      for (KernelImage kernelImage : KernelImage.values()) {
+        assertArrayEquals(heapImage.changeSharpness(kernelImage.ordinal(), 100).getPixel(),
+                tiledImage.changeSharpness(kernelImage.ordinal(), 100).getPixel());
+        assertArrayEquals(heapImage.changeSharpness(kernelImage.ordinal(), 40).getPixel(),
+                tiledImage.changeSharpness(kernelImage.ordinal(), 40).getPixel());
+      }
+    }
+  }
+
+  /**
+   * The test checks that invalid inputs are not accepted by the tiled image.
+   */
+  @Test
+  public void testInvalidImage() {
+    try {
+      new TiledRGBImage(new RGBImage(getTestMatrix(2, 2)).getPixelView(), 0);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+    try {
+      new TiledRGBImage(null, 4);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+    try {
+      new TiledRGBImage(4, 4, 2, null);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+}
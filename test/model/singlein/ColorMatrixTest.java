@@ -0,0 +1,138 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import enums.ColorMapping;
+import enums.GreyScaleType;
+import model.PixelBuffer;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.ColorMatrix;
+import model.imageoperations.singlein.ColorTransformation;
+import model.imageoperations.singlein.FusedPointOperation;
+import model.imageoperations.singlein.GreyScale;
+import model.imageoperations.singlein.Monochrome;
+import model.imageoperations.singlein.PointOperation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate the color matrices which the linear color operations run with.
+ */
+public class ColorMatrixTest {
+
+  private final int[][][] pixelMatrix = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}}
+  };
+
+  /**
+   * The test checks that the luma and intensity matrices give the same grey value as the
+   * greyscale types compute on their own, for many random pixels.
+   */
+  @Test
+  public void testGreyMatricesSameAsGreyScaleType() {
+    Random random = new Random(7);
+    for (GreyScaleType greyScaleType : new GreyScaleType[]{GreyScaleType.luma,
+        GreyScaleType.intensity}) {
+      ColorMatrix greyMatrix = new GreyScale(greyScaleType.ordinal()).getColorMatrix();
+      for (int i = 0; i < 100000; i++) {
+        int[] rgbPixel = {random.nextInt(256), random.nextInt(256), random.nextInt(256)};
+        int[] expected = greyScaleType.calculateReturnPixelValue(rgbPixel.clone());
+        greyMatrix.multiplyPixel(rgbPixel);
+        assertArrayEquals(expected, rgbPixel);
+      }
+    }
+    assertNull(new GreyScale(GreyScaleType.value.ordinal()).getColorMatrix());
+  }
+
+  /**
+   * The test checks that the matrices are merged only when the result does not change, and that
+   * a merged chain gives the same image as the operations run one after the other.
+   */
+  @Test
+  public void testMergedMatrices() {
+    ColorMatrix sepiaMatrix = new ColorTransformation().getColorMatrix();
+    ColorMatrix redMatrix = new Monochrome(ColorMapping.red.ordinal()).getColorMatrix();
+    ColorMatrix lumaMatrix = new GreyScale(GreyScaleType.luma.ordinal()).getColorMatrix();
+    assertNotNull(sepiaMatrix.andThen(redMatrix));
+    assertNotNull(redMatrix.andThen(sepiaMatrix));
+    assertNull(sepiaMatrix.andThen(lumaMatrix));
+
+    RGBImageInterface sourceImage = new RGBImage(pixelMatrix);
+    for (PointOperation[] chain : Arrays.asList(
+            new PointOperation[]{new ColorTransformation(),
+                new Monochrome(ColorMapping.green.ordinal())},
+            new PointOperation[]{new Monochrome(ColorMapping.blue.ordinal()),
+                new GreyScale(GreyScaleType.intensity.ordinal()), new ColorTransformation()},
+            new PointOperation[]{new ColorTransformation(),
+                new GreyScale(GreyScaleType.luma.ordinal()),
+                new Monochrome(ColorMapping.red.ordinal())})) {
+      RGBImageInterface expected = sourceImage;
+      for (PointOperation pointOperation : chain) {
+        expected = pointOperation.operation(expected);
+      }
+      assertArrayEquals(expected.getPixel(),
+              new FusedPointOperation(Arrays.asList(chain)).operation(sourceImage).getPixel());
+    }
+  }
+
+  /**
+   * The test checks that the plane kernels give the same values as the matrix gives for a single
+   * pixel, also for negative weights, sums above 255 and a divisor.
+   */
+  @Test
+  public void testPlanesSameAsPixel() {
+    Random random = new Random(5);
+    byte[][] planes = new byte[ColorMapping.values().length][64 * 64];
+    for (byte[] plane : planes) {
+      random.nextBytes(plane);
+    }
+    RGBImageInterface sourceImage = new RGBImage(64, 64, planes);
+    for (ColorMatrix colorMatrix : Arrays.asList(new ColorTransformation().getColorMatrix(),
+            new ColorMatrix(new double[][]{{-0.5, 1.7, 0.3}, {0.1, -2, 3.3}, {1, 1, 1}}),
+            new ColorMatrix(new double[][]{{1, 1, 1}, {0.5, 2, 0}, {0, 0, -1}}, 3))) {
+      try (PixelBuffer destination = new PixelBuffer()) {
+        colorMatrix.apply(sourceImage.getPixelView(), destination);
+        int[][][] sourcePixels = sourceImage.getPixel();
+        int[][][] resultPixels = destination.toImage().getPixel();
+        for (int i = 0; i < sourcePixels.length; i++) {
+          for (int j = 0; j < sourcePixels[0].length; j++) {
+            int[] rgbPixel = sourcePixels[i][j].clone();
+            colorMatrix.multiplyPixel(rgbPixel);
+            assertArrayEquals(rgbPixel, resultPixels[i][j]);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that a custom matrix swaps and mixes the channels of the image.
+   */
+  @Test
+  public void testCustomMatrix() {
+    double[][] swapMatrix = {{0, 0, 1}, {0, 1, 0}, {1, 0, 0.5}};
+    int[][][] result = new RGBImage(pixelMatrix).colorMatrixImage(swapMatrix, 100).getPixel();
+    for (int i = 0; i < pixelMatrix.length; i++) {
+      for (int j = 0; j < pixelMatrix[0].length; j++) {
+        int[] pixel = pixelMatrix[i][j];
+        assertArrayEquals(new int[]{pixel[2], pixel[1],
+            Math.min(255, (int) (pixel[0] + 0.5 * pixel[2]))}, result[i][j]);
+      }
+    }
+    try {
+      new RGBImage(pixelMatrix).colorMatrixImage(new double[][]{{1, 0, 0}, {0, 1, 0}}, 100);
+      fail("Test for invalid matrix failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+  }
+}
@@ -2,13 +2,19 @@ package model.singlein;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.TreeSet;
+
 import model.RGBImage;
 import model.RGBImageInterface;
 import enums.ColorMapping;
 
 import model.imageoperations.singlein.Compression;
+import model.imageoperations.singlein.HaarWavelet;
 import model.imageoperations.singlein.ImageOperation;
+import model.imageoperations.singlein.WaveletPyramid;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -202,6 +208,312 @@ public class CompressionTest {
     assertTrue(checkCompression(compressedImg1, resultMat1, 0));
   }
 
+  /**
+   * The test is used to check the haar wavelet done in place on a plane. The sums of a level are
+   * at the front of a row and at every other row, and the inverse gives back the plane.
+   */
+  @Test
+  public void testHaarWaveletInPlace() {
+    double[] plane = {1, 3, 5, 7};
+    HaarWavelet.forward(plane, 2);
+    assertArrayEquals(new double[]{8, -2, -4, 0}, plane, 1e-12);
+    HaarWavelet.inverse(plane, 2);
+    assertArrayEquals(new double[]{1, 3, 5, 7}, plane, 1e-12);
+
+    double[] largePlane = new double[64 * 64];
+    float[] largeFloatPlane = new float[64 * 64];
+    for (int n = 0; n < largePlane.length; n++) {
+      largePlane[n] = (n * 37) % 256;
+      largeFloatPlane[n] = (float) largePlane[n];
+    }
+    double[] original = largePlane.clone();
+    HaarWavelet.forward(largePlane, 64);
+    HaarWavelet.forward(largeFloatPlane, 64);
+    assertEquals(largePlane[0], largeFloatPlane[0], 1e-2);
+    HaarWavelet.inverse(largePlane, 64);
+    HaarWavelet.inverse(largeFloatPlane, 64);
+    for (int n = 0; n < largePlane.length; n++) {
+      assertEquals(original[n], largePlane[n], 1e-9);
+      assertEquals(original[n], largeFloatPlane[n], 1e-3);
+    }
+  }
+
+  /**
+   * The test is used to check the haar wavelet of a plane which is not a square. A single row and
+   * a single column give the same values, moved to the front along the row and left in place
+   * along the column, and a wide image is given back when nothing is removed.
+   */
+  @Test
+  public void testRectangularWavelet() {
+    double[] row = {1, 3, 5, 7};
+    double[] column = {1, 3, 5, 7};
+    HaarWavelet.forward(row, 1, 4);
+    HaarWavelet.forward(column, 4, 1);
+    assertArrayEquals(new double[]{8, -4, -Math.sqrt(2), -Math.sqrt(2)}, row, 1e-12);
+    assertArrayEquals(new double[]{8, -Math.sqrt(2), -4, -Math.sqrt(2)}, column, 1e-12);
+
+    double[] plane = new double[4 * 32];
+    double sum = 0;
+    for (int n = 0; n < plane.length; n++) {
+      plane[n] = (n * 37) % 256;
+      sum += plane[n];
+    }
+    double[] original = plane.clone();
+    HaarWavelet.forward(plane, 4, 32);
+    assertEquals(sum / Math.sqrt(plane.length), plane[0], 1e-9);
+    HaarWavelet.inverse(plane, 4, 32);
+    assertArrayEquals(original, plane, 1e-9);
+
+    int[][][] wideImage = new int[3][70][ColorMapping.values().length];
+    for (int i = 0; i < wideImage.length; i++) {
+      for (int j = 0; j < wideImage[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          wideImage[i][j][k] = (i * 70 + j * 3 + k * 41) % 256;
+        }
+      }
+    }
+    RGBImageInterface rgbImage = new RGBImage(wideImage);
+    assertTrue(checkCompression(new Compression(0).operation(rgbImage), wideImage, 0));
+    assertTrue(checkCompression(new Compression(0, true).operation(rgbImage), wideImage, 0));
+  }
+
+  /**
+   * The test checks that small images which are not squares are given back as they are when
+   * nothing is to be removed, in doubles and in floats, even though the rounded magnitudes of
+   * their coefficients may all be above some of the coefficients.
+   */
+  @Test
+  public void testZeroCompressionOfRectangles() {
+    int[][] shapes = {{2, 3}, {3, 2}, {4, 8}, {3, 8}, {5, 7}};
+    for (int[] shape : shapes) {
+      int[][][] pixelMatrix = new int[shape[0]][shape[1]][ColorMapping.values().length];
+      for (int i = 0; i < shape[0]; i++) {
+        for (int j = 0; j < shape[1]; j++) {
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            pixelMatrix[i][j][k] = (i * 97 + j * 53 + k * 29 + i * j * 17) % 256;
+          }
+        }
+      }
+      RGBImageInterface rgbImage = new RGBImage(pixelMatrix);
+      assertTrue(checkCompression(new Compression(0).operation(rgbImage), pixelMatrix, 0));
+      assertTrue(checkCompression(new Compression(0, true).operation(rgbImage), pixelMatrix, 0));
+    }
+  }
+
+  /**
+   * The test checks that each level of the pyramid of an image gives the means of its blocks, and
+   * that the levels asked from the coarsest down end at the compressed image.
+   */
+  @Test
+  public void testWaveletPyramid() {
+    int[][][] pixelMatrix = new int[37][53][ColorMapping.values().length];
+    for (int i = 0; i < pixelMatrix.length; i++) {
+      for (int j = 0; j < pixelMatrix[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          pixelMatrix[i][j][k] = (i * i * 3 + j * 7 + k * 41) % 256;
+        }
+      }
+    }
+    RGBImageInterface rgbImage = new RGBImage(pixelMatrix);
+    int[][][] thumbnail = rgbImage.compressImage(0, 2).getPixel();
+    assertEquals(10, thumbnail.length);
+    assertEquals(14, thumbnail[0].length);
+    for (int i = 0; i < thumbnail.length; i++) {
+      for (int j = 0; j < thumbnail[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          double sum = 0;
+          int count = 0;
+          for (int x = 4 * i; x < Math.min(4 * i + 4, 37); x++) {
+            for (int y = 4 * j; y < Math.min(4 * j + 4, 53); y++) {
+              sum += pixelMatrix[x][y][k];
+              count++;
+            }
+          }
+          assertEquals(sum / count, thumbnail[i][j][k], 0.5 + 1e-9);
+        }
+      }
+    }
+
+    WaveletPyramid pyramid = new Compression(50).getPyramid(rgbImage);
+    assertEquals(7, pyramid.getLevelCount());
+    int[][][] coarsest = pyramid.getImage(6).getPixel();
+    assertEquals(1, coarsest.length);
+    assertEquals(1, coarsest[0].length);
+    assertEquals(5, pyramid.getImage(3).getImageHeight());
+    assertArrayEquals(rgbImage.compressImage(50).getPixel(), pyramid.getImage(0).getPixel());
+    try {
+      pyramid.getImage(1);
+      fail("Test failed");
+    } catch (IllegalArgumentException ex) {
+      // catch to pass the test
+    }
+  }
+
+  /**
+   * The test checks that compressing an image again by other percentages gives the same pixels
+   * as compressing a new copy of it, and that an image whose pixels are assigned again is not
+   * compressed from the transform of its old pixels.
+   */
+  @Test
+  public void testRecompressionOfSameImage() {
+    int[][][] firstMatrix = new int[21][34][ColorMapping.values().length];
+    int[][][] secondMatrix = new int[21][34][ColorMapping.values().length];
+    for (int i = 0; i < firstMatrix.length; i++) {
+      for (int j = 0; j < firstMatrix[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          firstMatrix[i][j][k] = (i * 11 + j * j + k * 29) % 256;
+          secondMatrix[i][j][k] = (i * i + j * 5 + k * 67) % 256;
+        }
+      }
+    }
+    RGBImage rgbImage = new RGBImage(firstMatrix);
+    for (double percentage : new double[]{20, 60, 20, 95}) {
+      assertArrayEquals(new RGBImage(firstMatrix).compressImage(percentage).getPixel(),
+              rgbImage.compressImage(percentage).getPixel());
+    }
+    rgbImage.checkAndAssignValues(secondMatrix);
+    assertArrayEquals(new RGBImage(secondMatrix).compressImage(60).getPixel(),
+            rgbImage.compressImage(60).getPixel());
+  }
+
+  /**
+   * The test checks that the percentage found for a target peak signal to noise ratio meets the
+   * target, and that a percentage a little larger does not.
+   */
+  @Test
+  public void testPercentageForPsnr() {
+    int[][][] pixelMatrix = new int[40][40][ColorMapping.values().length];
+    for (int i = 0; i < pixelMatrix.length; i++) {
+      for (int j = 0; j < pixelMatrix[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          pixelMatrix[i][j][k] = (i * 6 + j * 3 + (i * j) % 23 + k * 50) % 256;
+        }
+      }
+    }
+    RGBImageInterface rgbImage = new RGBImage(pixelMatrix);
+    assertEquals(Double.POSITIVE_INFINITY, Compression.getPsnr(rgbImage.getPixelView(),
+            rgbImage.getPixelView()), 0);
+    double percentage = Compression.findPercentageForPsnr(rgbImage, 30);
+    assertTrue(percentage > 0 && percentage < 100);
+    assertTrue(Compression.getPsnr(rgbImage.getPixelView(),
+            rgbImage.compressImage(percentage).getPixelView()) >= 30);
+    assertTrue(Compression.getPsnr(rgbImage.getPixelView(), rgbImage.compressImage(
+            percentage + 2 * Compression.PERCENTAGE_PRECISION).getPixelView()) < 30);
+    assertEquals(100, Compression.findPercentageForPsnr(rgbImage, 0), 0);
+  }
+
+  /**
+   * The test checks that the parts of the levels hold each coefficient exactly once, and that
+   * undoing each level as soon as its part is known gives back the plane undone all at once.
+   */
+  @Test
+  public void testWaveletLevelParts() {
+    int[][] shapes = {{1, 1}, {1, 8}, {8, 1}, {4, 32}, {32, 4}, {16, 16}};
+    for (int[] shape : shapes) {
+      int rows = shape[0];
+      int cols = shape[1];
+      double[] coefficients = new double[rows * cols];
+      for (int n = 0; n < coefficients.length; n++) {
+        coefficients[n] = (n * 37) % 256 + 1;
+      }
+      HaarWavelet.forward(coefficients, rows, cols);
+      int[] partCount = new int[rows * cols];
+      double[] plane = new double[rows * cols];
+      for (int stride = HaarWavelet.getTopStride(rows, cols); stride >= 1; stride /= 2) {
+        for (int i = 0; i < rows; i++) {
+          int partEnd = HaarWavelet.getPartEnd(rows, cols, stride, i);
+          for (int j = HaarWavelet.getPartStart(rows, cols, stride, i); j < partEnd; j++) {
+            partCount[i * cols + j]++;
+            plane[i * cols + j] = coefficients[i * cols + j];
+          }
+        }
+        HaarWavelet.inverseLevel(plane, rows, cols, stride);
+      }
+      for (int count : partCount) {
+        assertEquals(1, count);
+      }
+      HaarWavelet.inverse(coefficients, rows, cols);
+      assertArrayEquals(coefficients, plane, 1e-9);
+    }
+  }
+
+  /**
+   * The test is used to check the compression with the coefficients held in floats, which gives
+   * back the image when nothing is removed and an image within one of the one with doubles.
+   */
+  @Test
+  public void testSinglePrecisionCompression() {
+    int[][][] smallResImage = new int[][][]{
+            {{145, 203, 132}, {248, 69, 80}, {20, 65, 98}, {20, 11, 211}},
+            {{95, 216, 181}, {243, 108, 173}, {96, 13, 96}, {172, 198, 224}},
+            {{54, 215, 14}, {103, 87, 31}, {246, 171, 122}, {168, 77, 110}}
+    };
+    RGBImageInterface rgbImage = new RGBImage(smallResImage);
+    assertTrue(checkCompression(new Compression(0, true).operation(rgbImage), smallResImage, 0));
+    int[][][] doublePixels = new Compression(50, false).operation(rgbImage).getPixel();
+    int[][][] floatPixels = new Compression(50, true).operation(rgbImage).getPixel();
+    for (int i = 0; i < doublePixels.length; i++) {
+      for (int j = 0; j < doublePixels[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          assertEquals(doublePixels[i][j][k], floatPixels[i][j][k], 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * The test is used to check that the threshold of a bright image, whose largest coefficients
+   * are beyond the small magnitudes, is picked from the distinct rounded magnitudes as before.
+   */
+  @Test
+  public void testThresholdOfLargeCoefficients() {
+    int height = 800;
+    int width = 1024;
+    int[][][] pixels = new int[height][width][ColorMapping.values().length];
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          pixels[i][j][k] = 200 + (i * i * 7 + j * j * 13 + i * j + k * 5) % 56;
+        }
+      }
+    }
+    RGBImageInterface rgbImage = new RGBImage(pixels);
+    for (double percentage : new double[]{10, 62.5, 99.9}) {
+      double[][] planes = new double[ColorMapping.values().length][width * width];
+      TreeSet<Double> magnitudes = new TreeSet<>();
+      for (int k = 0; k < planes.length; k++) {
+        for (int i = 0; i < height; i++) {
+          for (int j = 0; j < width; j++) {
+            planes[k][i * width + j] = pixels[i][j][k];
+          }
+        }
+        HaarWavelet.forward(planes[k], width);
+        for (double coefficient : planes[k]) {
+          magnitudes.add((double) Math.round(Math.abs(coefficient * 100)) / 100);
+        }
+      }
+      assertTrue(magnitudes.last() * 100 > 1 << 24);
+      int cnt = (int) Math.round(magnitudes.size() * percentage / 100);
+      double threshold = magnitudes.size() > cnt ? new ArrayList<>(magnitudes).get(cnt)
+              : Double.POSITIVE_INFINITY;
+      int[][][] compressed = new Compression(percentage).operation(rgbImage).getPixel();
+      for (int k = 0; k < planes.length; k++) {
+        for (int n = 0; n < planes[k].length; n++) {
+          if (Math.abs(planes[k][n]) < threshold) {
+            planes[k][n] = 0;
+          }
+        }
+        HaarWavelet.inverse(planes[k], width);
+        for (int i = 0; i < height; i++) {
+          for (int j = 0; j < width; j++) {
+            int value = (int) Math.round(Math.abs(planes[k][i * width + j]));
+            assertEquals(Math.max(0, Math.min(255, value)), compressed[i][j][k]);
+          }
+        }
+      }
+    }
+  }
+
   private boolean checkCompression(RGBImageInterface imgMatrix, int[][][] smallMat, int delta) {
     int[][][] resultMatrixBright = imgMatrix.getPixel();
     for (int i = 0; i < resultMatrixBright.length; i++) {
@@ -0,0 +1,182 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import enums.ColorMapping;
+import enums.KernelImage;
+import model.PixelBuffer;
+import model.PixelView;
+import model.RGBImage;
+import model.imageoperations.singlein.Convolution;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate the convolution engine against a plain sum over every tap of the
+ * kernel, done in the order in which the sharpness operation used to add them.
+ */
+public class ConvolutionTest {
+
+  private static PixelView randomView(int height, int width) {
+    Random random = new Random(height * 31 + width);
+    byte[][] planes = new byte[ColorMapping.values().length][height * width];
+    for (byte[] plane : planes) {
+      random.nextBytes(plane);
+    }
+    return new RGBImage(height, width, planes).getPixelView();
+  }
+
+  private static byte[] expectedPlane(double[][] kernel, PixelView sourceView, int channel) {
+    int height = sourceView.getImageHeight();
+    int width = sourceView.getImageWidth();
+    byte[] plane = new byte[height * width];
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        double sum = 0.0;
+        for (int x = -kernel.length / 2; x <= kernel.length / 2; x++) {
+          for (int y = -kernel[0].length / 2; y <= kernel[0].length / 2; y++) {
+            if (i + x >= 0 && i + x < height && j + y >= 0 && j + y < width) {
+              sum += (double) sourceView.getChannelValue(channel, (i + x) * width + j + y)
+                      * kernel[x + kernel.length / 2][y + kernel[0].length / 2];
+            }
+          }
+        }
+        plane[i * width + j] = (byte) Math.min(255, Math.max(0, sum));
+      }
+    }
+    return plane;
+  }
+
+  /**
+   * The test checks the separable and full kernels against the plain sum, for images smaller
+   * than the kernel, single rows and columns and larger images.
+   */
+  @Test
+  public void testSameAsPlainSum() {
+    double[][] boxKernel = {{1.0 / 9, 1.0 / 9, 1.0 / 9}, {1.0 / 9, 1.0 / 9, 1.0 / 9},
+        {1.0 / 9, 1.0 / 9, 1.0 / 9}};
+    double[][] rowKernel = {{0.25, -1, 2.5, -1, 0.25}};
+    double[][] embossKernel = {{-2, -1, 0}, {-1, 1, 1}, {0, 1, 2}};
+    assertEquals(7, new Convolution(embossKernel).getTapCount());
+    assertTrue(new Convolution(embossKernel).usesFixedPoint());
+    assertTrue(new Convolution(KernelImage.Sharpen.kernel).usesFixedPoint());
+    assertFalse(new Convolution(boxKernel).usesFixedPoint());
+    assertTrue(new Convolution(KernelImage.Blur.kernel).isSeparable());
+    assertTrue(new Convolution(rowKernel).isSeparable());
+    assertFalse(new Convolution(KernelImage.Sharpen.kernel).isSeparable());
+    assertFalse(new Convolution(boxKernel).isSeparable());
+    for (double[][] kernel : Arrays.asList(KernelImage.Blur.kernel, KernelImage.Sharpen.kernel,
+            boxKernel, rowKernel, embossKernel, new double[][]{{0, 0, 0}})) {
+      Convolution convolution = new Convolution(kernel);
+      for (int[] size : new int[][]{{1, 1}, {1, 9}, {9, 1}, {2, 3}, {4, 4}, {23, 41}}) {
+        PixelView sourceView = randomView(size[0], size[1]);
+        try (PixelBuffer destination = new PixelBuffer()) {
+          convolution.apply(sourceView, destination);
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            assertArrayEquals(expectedPlane(kernel, sourceView, k),
+                    destination.getChannelPlane(k));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that a region of the image gets the same values as the same part of the
+   * whole convolved image.
+   */
+  @Test
+  public void testRegionSameAsWholeImage() {
+    PixelView sourceView = randomView(30, 37);
+    for (double[][] kernel : Arrays.asList(KernelImage.Blur.kernel,
+            KernelImage.Sharpen.kernel)) {
+      Convolution convolution = new Convolution(kernel);
+      byte[][] regionPlanes = new byte[ColorMapping.values().length][7 * 11];
+      convolution.applyToRegion(sourceView, 21, 3, 7, 11, regionPlanes);
+      for (int k = 0; k < regionPlanes.length; k++) {
+        byte[] expected = expectedPlane(kernel, sourceView, k);
+        for (int i = 0; i < 7; i++) {
+          assertArrayEquals(Arrays.copyOfRange(expected, (21 + i) * 37 + 3, (21 + i) * 37 + 14),
+                  Arrays.copyOfRange(regionPlanes[k], i * 11, (i + 1) * 11));
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that large kernels are multiplied in the frequency domain, giving the same
+   * values as the plain sum for whole number weights and values within one of it otherwise, for
+   * regions which span many blocks and regions smaller than the kernel.
+   */
+  @Test
+  public void testFourierSameAsPlainSum() {
+    Random random = new Random(5);
+    double[][] wholeKernel = new double[13][15];
+    double[][] fractionKernel = new double[21][11];
+    for (double[] kernelRow : wholeKernel) {
+      for (int y = 0; y < kernelRow.length; y++) {
+        kernelRow[y] = random.nextInt(7) - 3;
+      }
+    }
+    for (double[] kernelRow : fractionKernel) {
+      for (int y = 0; y < kernelRow.length; y++) {
+        kernelRow[y] = random.nextDouble() / 50;
+      }
+    }
+    assertFalse(new Convolution(KernelImage.Sharpen.kernel).usesFourierTransform());
+    for (double[][] kernel : Arrays.asList(wholeKernel, fractionKernel)) {
+      Convolution convolution = new Convolution(kernel);
+      assertTrue(convolution.usesFourierTransform());
+      for (int[] size : new int[][]{{1, 1}, {5, 3}, {17, 40}, {150, 260}}) {
+        PixelView sourceView = randomView(size[0], size[1]);
+        try (PixelBuffer destination = new PixelBuffer()) {
+          convolution.apply(sourceView, destination);
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            byte[] expected = expectedPlane(kernel, sourceView, k);
+            byte[] result = destination.getChannelPlane(k);
+            for (int n = 0; n < expected.length; n++) {
+              assertEquals(expected[n] & 255, result[n] & 255, kernel == wholeKernel ? 0 : 1);
+            }
+          }
+        }
+      }
+      PixelView sourceView = randomView(60, 70);
+      byte[][] regionPlanes = new byte[ColorMapping.values().length][9 * 50];
+      convolution.applyToRegion(sourceView, 44, 13, 9, 50, regionPlanes);
+      for (int k = 0; k < regionPlanes.length; k++) {
+        byte[] expected = expectedPlane(kernel, sourceView, k);
+        for (int i = 0; i < 9; i++) {
+          for (int j = 0; j < 50; j++) {
+            assertEquals(expected[(44 + i) * 70 + 13 + j] & 255,
+                    regionPlanes[k][i * 50 + j] & 255, kernel == wholeKernel ? 0 : 1);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that kernels of even size and with weights which are not numbers are
+   * rejected.
+   */
+  @Test
+  public void testInvalidKernel() {
+    for (double[][] kernel : Arrays.asList(null, new double[][]{{1, 1}},
+            new double[][]{{1, 1, 1}, {1, 1}, {1, 1, 1}},
+            new double[][]{{Double.NaN}})) {
+      try {
+        new Convolution(kernel);
+        fail("Test for invalid kernel failed.");
+      } catch (IllegalArgumentException ex) {
+        // test passes if the exception is thrown
+      }
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import enums.AxisName;
+import enums.ColorMapping;
+import enums.GreyScaleType;
+import enums.KernelImage;
+import model.PixelBuffer;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.TiledRGBImage;
+import model.imageoperations.singlein.Brightness;
+import model.imageoperations.singlein.ColorCorrection;
+import model.imageoperations.singlein.ColorTransformation;
+import model.imageoperations.singlein.Compression;
+import model.imageoperations.singlein.Flip;
+import model.imageoperations.singlein.GreyScale;
+import model.imageoperations.singlein.Histogram;
+import model.imageoperations.singlein.ImageOperation;
+import model.imageoperations.singlein.LevelsAdjustment;
+import model.imageoperations.singlein.Monochrome;
+import model.imageoperations.singlein.Sharpness;
+import model.imageoperations.singlein.SplitBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate the operations which write their result into a pixel buffer.
+ */
+public class DestinationBufferTest {
+
+  private final int[][][] pixelMatrix = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}},
+          {{54, 215, 14}, {103, 87, 31}, {247, 171, 122}, {167, 77, 110}, {60, 70, 80}}
+  };
+
+  private List<ImageOperation> getOperations() {
+    return Arrays.asList(new Brightness(35), new Brightness(-300),
+            new ColorCorrection(), new ColorTransformation(), new Compression(40),
+            new Flip(AxisName.horizontal.ordinal()), new Flip(AxisName.vertical.ordinal()),
+            new GreyScale(GreyScaleType.luma.ordinal()),
+            new GreyScale(GreyScaleType.value.ordinal()), new Histogram(),
+            new LevelsAdjustment(20, 100, 230), new Monochrome(ColorMapping.green.ordinal()),
+            new Sharpness(KernelImage.Blur.ordinal()), new Sharpness(KernelImage.Sharpen.ordinal()),
+            new SplitBuffer(60, new Sharpness(KernelImage.Sharpen.ordinal())),
+            new SplitBuffer(100, new Brightness(20)), new SplitBuffer(0, new Brightness(20)));
+  }
+
+  /**
+   * The test checks that every operation writes the same pixels as the image it returns.
+   */
+  @Test
+  public void testSameResultAsNewImage() {
+    for (RGBImageInterface sourceImage : Arrays.asList(new RGBImage(pixelMatrix),
+            new TiledRGBImage(new RGBImage(pixelMatrix).getPixelView(), 2))) {
+      for (ImageOperation imageOperation : getOperations()) {
+        PixelBuffer destination = new PixelBuffer();
+        imageOperation.operation(sourceImage, destination);
+        assertArrayEquals(imageOperation.operation(sourceImage).getPixel(),
+                destination.toImage().getPixel());
+      }
+    }
+  }
+
+  /**
+   * The test checks that running operations again on the same buffer reuses its planes.
+   */
+  @Test
+  public void testBufferReused() {
+    RGBImageInterface sourceImage = new RGBImage(pixelMatrix);
+    PixelBuffer destination = new PixelBuffer();
+    new Brightness(10).operation(sourceImage, destination);
+    byte[] redPlane = destination.getChannelPlane(ColorMapping.red.ordinal());
+    new Flip(AxisName.vertical.ordinal()).operation(sourceImage, destination);
+    assertSame(redPlane, destination.getChannelPlane(ColorMapping.red.ordinal()));
+    assertEquals(pixelMatrix[3][1][0], destination.getPixelView().getChannelValue(0, 1));
+    new Histogram().operation(sourceImage, destination);
+    assertEquals(256, destination.getImageHeight());
+    assertEquals(256, destination.getImageWidth());
+    destination.close();
+    assertEquals(0, destination.getImageHeight());
+  }
+
+  /**
+   * The test checks that the invalid inputs are rejected by the buffer operations.
+   */
+  @Test
+  public void testInvalidInputs() {
+    for (ImageOperation imageOperation : getOperations()) {
+      try {
+        imageOperation.operation(null, new PixelBuffer());
+        fail("Test for null object passing failed.");
+      } catch (IllegalArgumentException ex) {
+        // test passes if the exception is thrown
+      }
+    }
+    try {
+      new PixelBuffer().getChannelPlane(0);
+      fail("Test for empty buffer failed.");
+    } catch (IllegalStateException ex) {
+      // test passes if the exception is thrown
+    }
+    try {
+      new PixelBuffer().resize(0, 4);
+      fail("Test for invalid dimensions failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import enums.ColorMapping;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.Brightness;
+import model.imageoperations.singlein.ColorTransformation;
+import model.imageoperations.singlein.FusedPointOperation;
+import model.imageoperations.singlein.LevelsAdjustment;
+import model.imageoperations.singlein.LookupTable;
+import model.imageoperations.singlein.LookupTableOperation;
+import model.imageoperations.singlein.Monochrome;
+import model.imageoperations.singlein.PointOperation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate the lookup tables which the per channel operations are run with.
+ */
+public class LookupTableTest {
+
+  private final int[][][] pixelMatrix = new int[][][]{
+          {{145, 203, 132}, {248, 69, 80}, {21, 65, 98}, {19, 11, 211}, {3, 4, 5}},
+          {{95, 216, 181}, {243, 108, 173}, {97, 13, 96}, {171, 198, 224}, {6, 7, 8}},
+          {{82, 12, 250}, {0, 255, 7}, {55, 6, 128}, {62, 91, 0}, {9, 10, 11}}
+  };
+
+  /**
+   * The test checks that a composed table gives the same value as the two tables one by one.
+   */
+  @Test
+  public void testComposedTable() {
+    LookupTable brightTable = new Brightness(-60).getLookupTable();
+    LookupTable levelsTable = new LevelsAdjustment(10, 90, 200).getLookupTable();
+    LookupTable composedTable = brightTable.andThen(levelsTable);
+    for (int k = 0; k < ColorMapping.values().length; k++) {
+      for (int value = 0; value < 256; value++) {
+        assertEquals(levelsTable.lookup(k, brightTable.lookup(k, value)),
+                composedTable.lookup(k, value));
+      }
+    }
+    assertTrue(new Brightness(0).getLookupTable().isIdentity(0));
+    assertFalse(new Monochrome(ColorMapping.red.ordinal()).getLookupTable().isIdentity(1));
+    assertTrue(new Monochrome(ColorMapping.red.ordinal()).getLookupTable().isIdentity(0));
+  }
+
+  /**
+   * The test checks that a chain with composed tables gives the same image as the operations
+   * run one after the other, also when other operations are present between the tables.
+   */
+  @Test
+  public void testFusedChainWithTables() {
+    RGBImageInterface sourceImage = new RGBImage(pixelMatrix);
+    PointOperation[] chain = new PointOperation[]{new Brightness(40),
+        new LevelsAdjustment(20, 100, 230), new ColorTransformation(), new Brightness(-15),
+        new Monochrome(ColorMapping.blue.ordinal())};
+    RGBImageInterface expected = sourceImage;
+    for (PointOperation pointOperation : chain) {
+      expected = pointOperation.operation(expected);
+    }
+    FusedPointOperation fusedOperation = new FusedPointOperation(Arrays.asList(chain));
+    assertArrayEquals(expected.getPixel(), fusedOperation.operation(sourceImage).getPixel());
+
+    FusedPointOperation tableOnly = new FusedPointOperation(Arrays.asList(chain[0], chain[1]));
+    assertArrayEquals(chain[1].operation(chain[0].operation(sourceImage)).getPixel(),
+            tableOnly.operation(sourceImage).getPixel());
+    assertEquals(2, tableOnly.getOperationCount());
+  }
+
+  /**
+   * The test checks that an image mapped through a table which leaves some of the channels
+   * unchanged gives the mapped values, and that closing it leaves the source image as it is.
+   */
+  @Test
+  public void testApplyToImage() {
+    RGBImage sourceImage = new RGBImage(pixelMatrix);
+    for (LookupTable lookupTable : new LookupTable[]{new Brightness(35).getLookupTable(),
+        new Monochrome(ColorMapping.green.ordinal()).getLookupTable(),
+        new Brightness(0).getLookupTable()}) {
+      RGBImage mappedImage = (RGBImage) lookupTable.applyToImage(sourceImage.getPixelView());
+      int[][][] mappedPixels = mappedImage.getPixel();
+      for (int i = 0; i < pixelMatrix.length; i++) {
+        for (int j = 0; j < pixelMatrix[0].length; j++) {
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            assertEquals(lookupTable.lookup(k, pixelMatrix[i][j][k]), mappedPixels[i][j][k]);
+          }
+        }
+      }
+      mappedImage.close();
+      assertArrayEquals(pixelMatrix, sourceImage.getPixel());
+    }
+  }
+
+  /**
+   * The test checks that tables which shift and clamp the values, and tables which are close to
+   * a shift without being one, map every value of an image as long as many vectors, including
+   * the values left over after the last whole vector.
+   */
+  @Test
+  public void testShiftedPlanes() {
+    int[][][] largePixels = new int[67][131][3];
+    for (int i = 0; i < largePixels.length; i++) {
+      for (int j = 0; j < largePixels[0].length; j++) {
+        for (int k = 0; k < ColorMapping.values().length; k++) {
+          largePixels[i][j][k] = (i * 131 + j * 7 + k * 85) % 256;
+        }
+      }
+    }
+    RGBImage sourceImage = new RGBImage(largePixels);
+    for (LookupTable lookupTable : new LookupTable[]{new Brightness(255).getLookupTable(),
+        new Brightness(-255).getLookupTable(), new Brightness(1).getLookupTable(),
+        LookupTable.compile((channel, value) -> Math.max(0, Math.min(255,
+                value + channel * 90 - 100))),
+        LookupTable.compile((channel, value) -> value == 200 ? 7
+                : Math.min(255, value + 20)),
+        LookupTable.compile((channel, value) -> value < 128 ? 0 : 255)}) {
+      RGBImage mappedImage = (RGBImage) lookupTable.applyToImage(sourceImage.getPixelView());
+      int[][][] mappedPixels = mappedImage.getPixel();
+      for (int i = 0; i < largePixels.length; i++) {
+        for (int j = 0; j < largePixels[0].length; j++) {
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            assertEquals(lookupTable.lookup(k, largePixels[i][j][k]), mappedPixels[i][j][k]);
+          }
+        }
+      }
+      mappedImage.close();
+    }
+  }
+
+  /**
+   * The test checks that a mapping outside the range of a sample is rejected.
+   */
+  @Test
+  public void testInvalidMapping() {
+    try {
+      LookupTable.compile((channel, value) -> value + 1);
+      fail("Test for out of range mapping failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+    try {
+      new LookupTableOperation(null);
+      fail("Test for null object passing failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import enums.AxisName;
+import enums.ColorMapping;
+import enums.KernelImage;
+import model.PixelBuffer;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.Brightness;
+import model.imageoperations.singlein.ColorCorrection;
+import model.imageoperations.singlein.ColorTransformation;
+import model.imageoperations.singlein.Flip;
+import model.imageoperations.singlein.FusedPointOperation;
+import model.imageoperations.singlein.ImageOperation;
+import model.imageoperations.singlein.LevelsAdjustment;
+import model.imageoperations.singlein.ParallelBandOperation;
+import model.imageoperations.singlein.PointOperation;
+import model.imageoperations.singlein.Sharpness;
+import model.imageoperations.singlein.SplitBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate that the operations split into bands of rows give the same
+ * image as the operations run on the whole image.
+ */
+public class ParallelBandOperationTest {
+
+  private static RGBImageInterface randomImage(int height, int width) {
+    Random random = new Random(11);
+    byte[][] planes = new byte[ColorMapping.values().length][height * width];
+    for (byte[] plane : planes) {
+      random.nextBytes(plane);
+    }
+    return new RGBImage(height, width, planes);
+  }
+
+  /**
+   * The test checks that the kernel, split, flip and per pixel operations give the same image
+   * for any number of bands, including the rows next to the edges of the bands.
+   */
+  @Test
+  public void testSameAsSequential() {
+    RGBImageInterface sourceImage = randomImage(301, 257);
+    for (ImageOperation imageOperation : Arrays.asList(
+            new Sharpness(KernelImage.Blur.ordinal()),
+            new Sharpness(KernelImage.Sharpen.ordinal()),
+            new SplitBuffer(37, new Sharpness(KernelImage.Sharpen.ordinal())),
+            new Flip(AxisName.horizontal.ordinal()),
+            new FusedPointOperation(Arrays.<PointOperation>asList(new Brightness(30),
+                    new LevelsAdjustment(20, 100, 230), new ColorTransformation())))) {
+      int[][][] expected = imageOperation.operation(sourceImage).getPixel();
+      for (int parallelism : new int[]{2, 3, 8}) {
+        ParallelBandOperation parallelOperation = new ParallelBandOperation(imageOperation,
+                parallelism);
+        assertEquals(parallelism, parallelOperation.getBandCount(sourceImage));
+        assertArrayEquals(expected, parallelOperation.operation(sourceImage).getPixel());
+        try (PixelBuffer destination = new PixelBuffer()) {
+          parallelOperation.operation(sourceImage, destination);
+          assertArrayEquals(expected, destination.toImage().getPixel());
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that operations which need the whole image and small images are not split.
+   */
+  @Test
+  public void testSequentialFallback() {
+    RGBImageInterface largeImage = randomImage(300, 300);
+    assertEquals(1, new ParallelBandOperation(new Flip(AxisName.vertical.ordinal()), 4)
+            .getBandCount(largeImage));
+    assertEquals(1, new ParallelBandOperation(new ColorCorrection(), 4)
+            .getBandCount(largeImage));
+    assertEquals(1, new ParallelBandOperation(new SplitBuffer(50, new ColorCorrection()), 4)
+            .getBandCount(largeImage));
+    assertEquals(1, new ParallelBandOperation(new Brightness(10), 1).getBandCount(largeImage));
+
+    RGBImageInterface smallImage = randomImage(20, 30);
+    ParallelBandOperation parallelOperation = new ParallelBandOperation(
+            new Sharpness(KernelImage.Blur.ordinal()), 4);
+    assertEquals(1, parallelOperation.getBandCount(smallImage));
+    assertArrayEquals(new Sharpness(KernelImage.Blur.ordinal()).operation(smallImage).getPixel(),
+            parallelOperation.operation(smallImage).getPixel());
+    try {
+      new ParallelBandOperation(new Brightness(10), 0);
+      fail("Test for invalid parallelism failed.");
+    } catch (IllegalArgumentException ex) {
+      // test passes if the exception is thrown
+    }
+  }
+}
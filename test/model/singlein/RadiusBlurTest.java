@@ -0,0 +1,119 @@
+package model.singlein;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import enums.BlurType;
+import enums.ColorMapping;
+import model.RGBImage;
+import model.RGBImageInterface;
+import model.imageoperations.singlein.ParallelBandOperation;
+import model.imageoperations.singlein.RadiusBlur;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The class is used to validate the blur of any radius on an image.
+ */
+public class RadiusBlurTest {
+
+  private static RGBImageInterface randomImage(int height, int width) {
+    Random random = new Random(height * 17 + width);
+    byte[][] planes = new byte[ColorMapping.values().length][height * width];
+    for (byte[] plane : planes) {
+      random.nextBytes(plane);
+    }
+    return new RGBImage(height, width, planes);
+  }
+
+  /**
+   * The test checks the box blur against the rounded mean of the pixels within the radius,
+   * including radii larger than the image.
+   */
+  @Test
+  public void testBoxBlurIsRoundedMean() {
+    RGBImageInterface sourceImage = randomImage(13, 21);
+    int[][][] sourcePixels = sourceImage.getPixel();
+    for (int radius : new int[]{0, 1, 4, 30}) {
+      int[][][] result = new RadiusBlur(BlurType.box.ordinal(), radius).operation(sourceImage)
+              .getPixel();
+      for (int i = 0; i < sourcePixels.length; i++) {
+        for (int j = 0; j < sourcePixels[0].length; j++) {
+          for (int k = 0; k < ColorMapping.values().length; k++) {
+            long sum = 0;
+            long count = 0;
+            for (int x = Math.max(0, i - radius);
+                 x <= Math.min(sourcePixels.length - 1, i + radius); x++) {
+              for (int y = Math.max(0, j - radius);
+                   y <= Math.min(sourcePixels[0].length - 1, j + radius); y++) {
+                sum += sourcePixels[x][y][k];
+                count++;
+              }
+            }
+            assertEquals((sum + count / 2) / count, result[i][j][k]);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The test checks that the gaussian blur runs three box blurs of the expected sizes, and that
+   * running the blur on bands of the image gives the same image.
+   */
+  @Test
+  public void testGaussianBlur() {
+    assertArrayEquals(new int[]{0, 0, 1},
+            new RadiusBlur(BlurType.gaussian.ordinal(), 1).getPassRadii());
+    assertArrayEquals(new int[]{4, 4, 5},
+            new RadiusBlur(BlurType.gaussian.ordinal(), 5).getPassRadii());
+    assertEquals(13, new RadiusBlur(BlurType.gaussian.ordinal(), 5).getHaloRows());
+
+    RGBImageInterface sourceImage = randomImage(290, 260);
+    for (RadiusBlur blur : new RadiusBlur[]{new RadiusBlur(BlurType.gaussian.ordinal(), 3.5),
+        new RadiusBlur(BlurType.box.ordinal(), 50)}) {
+      assertArrayEquals(blur.operation(sourceImage).getPixel(),
+              new ParallelBandOperation(blur, 5).operation(sourceImage).getPixel());
+    }
+  }
+
+  /**
+   * The test checks that the split preview blurs only the left part of the image, and that
+   * invalid radii are rejected.
+   */
+  @Test
+  public void testSplitAndInvalidRadius() {
+    RGBImageInterface sourceImage = randomImage(10, 20);
+    int[][][] sourcePixels = sourceImage.getPixel();
+    int[][][] splitPixels = sourceImage.radiusBlurImage(BlurType.box.ordinal(), 2, 50)
+            .getPixel();
+    int[][][] leftPixels = new RadiusBlur(BlurType.box.ordinal(), 2).operation(
+            new RGBImage(copyColumns(sourcePixels, 10))).getPixel();
+    for (int i = 0; i < sourcePixels.length; i++) {
+      for (int j = 0; j < sourcePixels[0].length; j++) {
+        assertArrayEquals(j < 10 ? leftPixels[i][j] : sourcePixels[i][j], splitPixels[i][j]);
+      }
+    }
+    for (double radius : new double[]{-1, 1.5, Double.NaN}) {
+      try {
+        new RadiusBlur(BlurType.box.ordinal(), radius);
+        fail("Test for invalid radius failed.");
+      } catch (IllegalArgumentException ex) {
+        // test passes if the exception is thrown
+      }
+    }
+  }
+
+  private static int[][][] copyColumns(int[][][] pixels, int width) {
+    int[][][] columns = new int[pixels.length][width][];
+    for (int i = 0; i < pixels.length; i++) {
+      for (int j = 0; j < width; j++) {
+        columns[i][j] = pixels[i][j].clone();
+      }
+    }
+    return columns;
+  }
+}